@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import org.mini2Dx.core.JvmLocks;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.collision.util.SingleThreadedCollisionBox;
+import org.mini2Dx.core.collision.util.SingleThreadedCollisionCircle;
+import org.mini2Dx.core.util.InterpolationTracker;
+import org.mini2Dx.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Compares the per-move cost of {@link CollisionBox} and {@link CollisionCircle}
+ * against {@link SingleThreadedCollisionBox} and {@link SingleThreadedCollisionCircle},
+ * both standalone and while stored in a {@link RegionQuadTree}
+ */
+public class CollisionMovePerformanceTest {
+	private static final float WORLD_SIZE = 4096f;
+	private static final float ELEMENT_SIZE = 16f;
+	private static final int ELEMENT_LIMIT = 16;
+	private static final int TOTAL_ELEMENTS = 10000;
+
+	@State(Scope.Thread)
+	public static class TestState {
+		@Param({"CollisionBox", "SingleThreadedCollisionBox", "CollisionCircle", "SingleThreadedCollisionCircle"})
+		public String implementation;
+
+		@Param({"false", "true"})
+		public boolean inQuadTree;
+
+		public final Random random = new Random(1234L);
+		public final Array<CollisionArea> elements = new Array<CollisionArea>();
+
+		public RegionQuadTree<CollisionArea> quadTree;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			Mdx.locks = new JvmLocks();
+			InterpolationTracker.deregisterAll();
+
+			elements.clear();
+			for(int i = 0; i < TOTAL_ELEMENTS; i++) {
+				elements.add(newElement(randomPosition(), randomPosition()));
+			}
+			quadTree = new RegionQuadTree<CollisionArea>(ELEMENT_LIMIT, 0f, 0f, WORLD_SIZE, WORLD_SIZE);
+			if(inQuadTree) {
+				quadTree.addAll(elements);
+			}
+		}
+
+		public CollisionArea newElement(float x, float y) {
+			switch(implementation) {
+			case "SingleThreadedCollisionBox":
+				return new SingleThreadedCollisionBox(x, y, ELEMENT_SIZE, ELEMENT_SIZE);
+			case "CollisionCircle":
+				return new CollisionCircle(x, y, ELEMENT_SIZE * 0.5f);
+			case "SingleThreadedCollisionCircle":
+				return new SingleThreadedCollisionCircle(x, y, ELEMENT_SIZE * 0.5f);
+			default:
+			case "CollisionBox":
+				return new CollisionBox(x, y, ELEMENT_SIZE, ELEMENT_SIZE);
+			}
+		}
+
+		public float randomPosition() {
+			return ELEMENT_SIZE + (random.nextFloat() * (WORLD_SIZE - (ELEMENT_SIZE * 2f)));
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	public void testMove(TestState state) {
+		CollisionArea element = state.elements.get(state.random.nextInt(state.elements.size));
+		element.setXY(state.randomPosition(), state.randomPosition());
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	public void testMoveAndInterpolate(TestState state, Blackhole blackhole) {
+		CollisionArea element = state.elements.get(state.random.nextInt(state.elements.size));
+		element.preUpdate();
+		element.setXY(state.randomPosition(), state.randomPosition());
+		element.interpolate(0.5f);
+		blackhole.consume(element.getRenderX());
+	}
+}
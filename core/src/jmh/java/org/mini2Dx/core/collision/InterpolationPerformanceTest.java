@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import org.mini2Dx.core.JvmLocks;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.TimestepMode;
+import org.mini2Dx.core.collision.util.CollisionBoxStore;
+import org.mini2Dx.core.util.InterpolationTracker;
+import org.mini2Dx.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+
+/**
+ * Compares a full preUpdate/move/interpolate frame of individually tracked
+ * {@link CollisionBox} instances against a {@link CollisionBoxStore}
+ */
+public class InterpolationPerformanceTest {
+	private static final float WORLD_SIZE = 4096f;
+
+	@State(Scope.Thread)
+	public static class TestState {
+		@Param({"CollisionBox", "CollisionBoxStore"})
+		public String implementation;
+
+		@Param({"1000", "30000"})
+		public int totalElements;
+
+		public final Random random = new Random(1234L);
+		public final Array<CollisionArea> elements = new Array<CollisionArea>();
+
+		public CollisionBoxStore store;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			Mdx.locks = new JvmLocks();
+			Mdx.timestepMode = TimestepMode.PHYSICS;
+			InterpolationTracker.deregisterAll();
+
+			elements.clear();
+			if(implementation.equals("CollisionBoxStore")) {
+				store = new CollisionBoxStore(totalElements);
+			}
+			for(int i = 0; i < totalElements; i++) {
+				final float x = random.nextFloat() * WORLD_SIZE;
+				final float y = random.nextFloat() * WORLD_SIZE;
+				if(store != null) {
+					elements.add(store.collisionBox(i + 1, x, y, 16f, 16f));
+				} else {
+					elements.add(new CollisionBox(i + 1, x, y, 16f, 16f));
+				}
+			}
+		}
+
+		@TearDown(Level.Iteration)
+		public void teardown() {
+			for(int i = 0; i < elements.size; i++) {
+				elements.get(i).dispose();
+			}
+			if(store != null) {
+				store.dispose();
+				store = null;
+			}
+			Mdx.timestepMode = TimestepMode.DEFAULT;
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	public void testFrame(TestState state) {
+		InterpolationTracker.preUpdate();
+		for(int i = 0; i < state.elements.size; i++) {
+			final CollisionArea element = state.elements.get(i);
+			element.setXY(element.getX() + 1f, element.getY() + 1f);
+		}
+		InterpolationTracker.interpolate(0.5f);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	public void testInterpolate(TestState state) {
+		InterpolationTracker.interpolate(0.5f);
+	}
+}
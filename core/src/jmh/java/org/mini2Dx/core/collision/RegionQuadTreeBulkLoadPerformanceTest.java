@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import org.mini2Dx.core.JvmLocks;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.util.InterpolationTracker;
+import org.mini2Dx.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures level load style population of {@link RegionQuadTree} with static
+ * tile-sized collision boxes, comparing individual inserts against bulk
+ * loading and {@link RegionQuadTree#rebuild()}
+ */
+public class RegionQuadTreeBulkLoadPerformanceTest {
+	private static final float TILE_SIZE = 32f;
+	private static final int ELEMENT_LIMIT = 16;
+
+	@State(Scope.Thread)
+	public static class TestState {
+		@Param({"10000", "50000", "100000"})
+		public int totalElements;
+
+		public final Array<CollisionBox> elements = new Array<CollisionBox>();
+		public float worldSize;
+		public RegionQuadTree<CollisionBox> quadTree;
+
+		@Setup(Level.Trial)
+		public void setupElements() {
+			Mdx.locks = new JvmLocks();
+			InterpolationTracker.deregisterAll();
+
+			final int tilesPerRow = (int) Math.ceil(Math.sqrt(totalElements));
+			worldSize = tilesPerRow * TILE_SIZE;
+
+			elements.clear();
+			for(int i = 0; i < totalElements; i++) {
+				elements.add(new CollisionBox((i % tilesPerRow) * TILE_SIZE, (i / tilesPerRow) * TILE_SIZE, TILE_SIZE, TILE_SIZE));
+			}
+		}
+
+		@Setup(Level.Invocation)
+		public void setupQuadTree() {
+			quadTree = new RegionQuadTree<CollisionBox>(ELEMENT_LIMIT, 0f, 0f, worldSize, worldSize);
+		}
+
+		@TearDown(Level.Invocation)
+		public void teardownQuadTree() {
+			quadTree.removeAll(elements);
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.SingleShotTime)
+	public void testIndividualInserts(TestState state, Blackhole blackhole) {
+		for(int i = 0; i < state.elements.size; i++) {
+			state.quadTree.add(state.elements.get(i));
+		}
+		blackhole.consume(state.quadTree.getTotalQuads());
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.SingleShotTime)
+	public void testBulkLoad(TestState state, Blackhole blackhole) {
+		state.quadTree.addAll(state.elements);
+		blackhole.consume(state.quadTree.getTotalQuads());
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.SingleShotTime)
+	public void testRebuild(TestState state, Blackhole blackhole) {
+		state.quadTree.addAll(state.elements);
+		state.quadTree.rebuild();
+		blackhole.consume(state.quadTree.getTotalQuads());
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import org.mini2Dx.core.JvmLocks;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.geom.LineSegment;
+import org.mini2Dx.core.geom.Point;
+import org.mini2Dx.core.geom.Rectangle;
+import org.mini2Dx.core.util.InterpolationTracker;
+import org.mini2Dx.gdx.utils.Array;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Compares insert, move and query throughput of {@link SpatialHash} against
+ * {@link RegionQuadTree} and {@link ConcurrentRegionQuadTree}
+ */
+public class SpatialHashPerformanceTest {
+	private static final float WORLD_SIZE = 4096f;
+	private static final float ELEMENT_SIZE = 16f;
+	private static final float CELL_SIZE = 64f;
+	private static final int ELEMENT_LIMIT = 16;
+
+	@State(Scope.Thread)
+	public static class TestState {
+		@Param({"SpatialHash", "RegionQuadTree", "ConcurrentRegionQuadTree"})
+		public String implementation;
+
+		@Param({"1000", "10000", "100000"})
+		public int totalElements;
+
+		public final Random random = new Random(1234L);
+		public final Array<CollisionBox> elements = new Array<CollisionBox>();
+		public final Array<CollisionBox> result = new Array<CollisionBox>(1024);
+
+		public final Rectangle queryArea = new Rectangle(0f, 0f, 256f, 256f);
+		public final LineSegment queryLineSegment = new LineSegment(0f, 0f, WORLD_SIZE, WORLD_SIZE);
+		public final Point queryPoint = new Point();
+
+		public QuadTree<CollisionBox> quadTree;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			Mdx.locks = new JvmLocks();
+			InterpolationTracker.deregisterAll();
+
+			elements.clear();
+			for(int i = 0; i < totalElements; i++) {
+				elements.add(new CollisionBox(randomPosition(), randomPosition(), ELEMENT_SIZE, ELEMENT_SIZE));
+			}
+			quadTree = newQuadTree();
+			quadTree.addAll(elements);
+		}
+
+		public QuadTree<CollisionBox> newQuadTree() {
+			switch(implementation) {
+			case "RegionQuadTree":
+				return new RegionQuadTree<CollisionBox>(ELEMENT_LIMIT, 0f, 0f, WORLD_SIZE, WORLD_SIZE);
+			case "ConcurrentRegionQuadTree":
+				return new ConcurrentRegionQuadTree<CollisionBox>(ELEMENT_LIMIT, 0f, 0f, WORLD_SIZE, WORLD_SIZE);
+			default:
+			case "SpatialHash":
+				return new SpatialHash<CollisionBox>(totalElements, CELL_SIZE, CELL_SIZE, 0f, 0f, WORLD_SIZE, WORLD_SIZE);
+			}
+		}
+
+		public float randomPosition() {
+			return random.nextFloat() * (WORLD_SIZE - ELEMENT_SIZE);
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	public void testInsert(TestState state, Blackhole blackhole) {
+		QuadTree<CollisionBox> quadTree = state.newQuadTree();
+		quadTree.addAll(state.elements);
+		blackhole.consume(quadTree.getTotalElements());
+		quadTree.removeAll(state.elements);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	public void testMove(TestState state) {
+		CollisionBox element = state.elements.get(state.random.nextInt(state.elements.size));
+		float x = Math.max(0f, Math.min(WORLD_SIZE - ELEMENT_SIZE, element.getX() + (state.random.nextFloat() * 8f) - 4f));
+		float y = Math.max(0f, Math.min(WORLD_SIZE - ELEMENT_SIZE, element.getY() + (state.random.nextFloat() * 8f) - 4f));
+		element.setXY(x, y);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	public void testQueryArea(TestState state, Blackhole blackhole) {
+		state.queryArea.setXY(state.randomPosition(), state.randomPosition());
+		state.result.clear();
+		state.quadTree.getElementsWithinArea(state.result, state.queryArea);
+		blackhole.consume(state.result.size);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	public void testQueryPoint(TestState state, Blackhole blackhole) {
+		state.queryPoint.set(state.randomPosition(), state.randomPosition());
+		state.result.clear();
+		state.quadTree.getElementsContainingPoint(state.result, state.queryPoint);
+		blackhole.consume(state.result.size);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	public void testQueryLineSegment(TestState state, Blackhole blackhole) {
+		state.result.clear();
+		state.quadTree.getElementsIntersectingLineSegment(state.result, state.queryLineSegment);
+		blackhole.consume(state.result.size);
+	}
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright 2020 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.serialization;
+
+import org.mini2Dx.core.JvmLocks;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.exception.SerializationException;
+import org.mini2Dx.core.reflect.jvm.JvmReflection;
+import org.mini2Dx.core.serialization.annotation.Field;
+import org.mini2Dx.core.serialization.aot.AotSerializerGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares reflective {@link JsonSerializer} throughput against the
+ * {@link GeneratedJsonSerializer} produced by {@link AotSerializerGenerator}
+ */
+public class JsonSerializerPerformanceTest {
+
+	@State(Scope.Thread)
+	public static class TestState {
+		@Param({"Reflection", "Generated"})
+		public String implementation;
+
+		public JsonSerializer serializer;
+		public BenchmarkObject object;
+		public String json;
+
+		private GeneratedJsonSerializer generatedSerializer;
+
+		@Setup(Level.Trial)
+		public void compile() throws Exception {
+			Mdx.reflect = new JvmReflection();
+			Mdx.locks = new JvmLocks();
+			if(implementation.equals("Generated")) {
+				generatedSerializer = compileGeneratedSerializer(BenchmarkObject.class);
+			}
+		}
+
+		@Setup(Level.Iteration)
+		public void setup() throws SerializationException {
+			AotSerializationData.clear();
+			if(generatedSerializer != null) {
+				AotSerializationData.registerSerializer(generatedSerializer);
+			}
+
+			serializer = new JsonSerializer();
+			object = new BenchmarkObject();
+			object.setId(1024);
+			object.setName("benchmark");
+			object.x = 128.5f;
+			object.y = 256.25f;
+			object.visible = true;
+			object.timestamp = System.currentTimeMillis();
+			json = serializer.toJson(object);
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value= Mode.Throughput)
+	public String testToJson(TestState state) throws SerializationException {
+		return state.serializer.toJson(state.object);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value= Mode.Throughput)
+	public BenchmarkObject testFromJson(TestState state) throws SerializationException {
+		return state.serializer.fromJson(state.json, BenchmarkObject.class);
+	}
+
+	private static GeneratedJsonSerializer compileGeneratedSerializer(Class clazz) throws Exception {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if(compiler == null) {
+			throw new IllegalStateException("Benchmarks must be run with a JDK to compile generated serializers");
+		}
+		final String className = AotSerializerGenerator.getSerializerClassName(clazz);
+		final Path directory = Files.createTempDirectory("mdx-aot");
+		final Path sourceFile = directory.resolve(className.replace('.', File.separatorChar) + ".java");
+		Files.createDirectories(sourceFile.getParent());
+		Files.write(sourceFile, AotSerializerGenerator.generateSource(clazz).getBytes(StandardCharsets.UTF_8));
+
+		final String classpath = System.getProperty("java.class.path") + File.pathSeparator +
+				new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+		if(compiler.run(null, null, null, "-classpath", classpath, "-d", directory.toString(), sourceFile.toString()) != 0) {
+			throw new IllegalStateException("Could not compile " + sourceFile);
+		}
+		final ClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() },
+				clazz.getClassLoader());
+		return (GeneratedJsonSerializer) classLoader.loadClass(className).newInstance();
+	}
+
+	public static class BenchmarkObject {
+		@Field
+		private int id;
+		@Field
+		private String name;
+		@Field
+		public float x;
+		@Field
+		public float y;
+		@Field
+		public boolean visible;
+		@Field
+		public long timestamp;
+
+		public int getId() {
+			return id;
+		}
+
+		public void setId(int id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
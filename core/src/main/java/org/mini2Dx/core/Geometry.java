@@ -15,6 +15,7 @@
  ******************************************************************************/
 package org.mini2Dx.core;
 
+import org.mini2Dx.core.collections.PoolStatistics;
 import org.mini2Dx.core.geom.*;
 import org.mini2Dx.gdx.utils.Queue;
 
@@ -38,6 +39,17 @@ public class Geometry {
     final Queue<RegularPentagon> regularPentagons = new Queue<RegularPentagon>(DEFAULT_POOL_SIZE * 2);
     final Queue<Triangle> triangles = new Queue<Triangle>(DEFAULT_POOL_SIZE * 2);
 
+    private final PoolStatistics circleStatistics = new PoolStatistics();
+    private final PoolStatistics equilateralTriangleStatistics = new PoolStatistics();
+    private final PoolStatistics lineStatistics = new PoolStatistics();
+    private final PoolStatistics lineSegmentStatistics = new PoolStatistics();
+    private final PoolStatistics pointStatistics = new PoolStatistics();
+    private final PoolStatistics polygonStatistics = new PoolStatistics();
+    private final PoolStatistics rectangleStatistics = new PoolStatistics();
+    private final PoolStatistics regularHexagonStatistics = new PoolStatistics();
+    private final PoolStatistics regularPentagonStatistics = new PoolStatistics();
+    private final PoolStatistics triangleStatistics = new PoolStatistics();
+
     private boolean initialised = false;
 
     public Geometry() {
@@ -72,8 +84,10 @@ public class Geometry {
     public Circle circle() {
         synchronized (circles) {
             if (circles.size == 0) {
+                circleStatistics.recordMiss();
                 return new Circle(this);
             }
+            circleStatistics.recordHit();
             final Circle result = circles.removeFirst();
             result.setDisposed(false);
             return result;
@@ -87,6 +101,7 @@ public class Geometry {
     public void release(Circle circle) {
         synchronized (circles) {
             circles.addLast(circle);
+            circleStatistics.recordFree();
         }
     }
 
@@ -97,8 +112,10 @@ public class Geometry {
     public EquilateralTriangle equilateralTriangle() {
         synchronized (equilateralTriangles) {
             if (equilateralTriangles.size == 0) {
+                equilateralTriangleStatistics.recordMiss();
                 return new EquilateralTriangle(this);
             }
+            equilateralTriangleStatistics.recordHit();
             final EquilateralTriangle result = equilateralTriangles.removeFirst();
             result.setDisposed(false);
             return result;
@@ -112,6 +129,7 @@ public class Geometry {
     public void release(EquilateralTriangle equilateralTriangle) {
         synchronized (equilateralTriangles) {
             equilateralTriangles.addLast(equilateralTriangle);
+            equilateralTriangleStatistics.recordFree();
         }
     }
 
@@ -122,8 +140,10 @@ public class Geometry {
     public Line line() {
         synchronized (lines) {
             if (lines.size == 0) {
+                lineStatistics.recordMiss();
                 return new Line(this);
             }
+            lineStatistics.recordHit();
             final Line result = lines.removeFirst();
             result.setDisposed(false);
             return result;
@@ -137,6 +157,7 @@ public class Geometry {
     public void release(Line line) {
         synchronized (lines) {
             lines.addLast(line);
+            lineStatistics.recordFree();
         }
     }
 
@@ -147,8 +168,10 @@ public class Geometry {
     public LineSegment lineSegment() {
         synchronized (lineSegments) {
             if (lineSegments.size == 0) {
+                lineSegmentStatistics.recordMiss();
                 return new LineSegment(this);
             }
+            lineSegmentStatistics.recordHit();
             final LineSegment result = lineSegments.removeFirst();
             result.setDisposed(false);
             return result;
@@ -162,6 +185,7 @@ public class Geometry {
     public void release(LineSegment lineSegment) {
         synchronized (lineSegments) {
             lineSegments.addLast(lineSegment);
+            lineSegmentStatistics.recordFree();
         }
     }
 
@@ -172,8 +196,10 @@ public class Geometry {
     public Point point() {
         synchronized (points) {
             if (points.size == 0) {
+                pointStatistics.recordMiss();
                 return new Point(this);
             }
+            pointStatistics.recordHit();
             final Point result = points.removeFirst();
             result.setDisposed(false);
             return result;
@@ -187,6 +213,7 @@ public class Geometry {
     public void release(Point point) {
         synchronized (points) {
             points.addLast(point);
+            pointStatistics.recordFree();
         }
     }
 
@@ -197,8 +224,10 @@ public class Geometry {
     public Polygon polygon() {
         synchronized (polygons) {
             if (polygons.size == 0) {
+                polygonStatistics.recordMiss();
                 return polygon(new float[]{0f, 0f, 1f, 0f, 1f, 1f, 0f, 1f});
             }
+            polygonStatistics.recordHit();
             final Polygon result = polygons.removeFirst();
             result.setDisposed(false);
             return result;
@@ -213,8 +242,10 @@ public class Geometry {
     public Polygon polygon(float [] vertices) {
         synchronized (polygons) {
             if (polygons.size == 0) {
+                polygonStatistics.recordMiss();
                 return new Polygon(this, vertices);
             }
+            polygonStatistics.recordHit();
             final Polygon result = polygons.removeFirst();
             result.setVertices(vertices);
             result.setDisposed(false);
@@ -229,6 +260,7 @@ public class Geometry {
     public void release(Polygon polygon) {
         synchronized (polygons) {
             polygons.addLast(polygon);
+            polygonStatistics.recordFree();
         }
     }
 
@@ -239,8 +271,10 @@ public class Geometry {
     public Rectangle rectangle() {
         synchronized (rectangles) {
             if (rectangles.size == 0) {
+                rectangleStatistics.recordMiss();
                 return new Rectangle(this);
             }
+            rectangleStatistics.recordHit();
             final Rectangle result = rectangles.removeFirst();
             result.setDisposed(false);
             return result;
@@ -254,6 +288,7 @@ public class Geometry {
     public void release(Rectangle rectangle) {
         synchronized (rectangles) {
             rectangles.addLast(rectangle);
+            rectangleStatistics.recordFree();
         }
     }
 
@@ -264,8 +299,10 @@ public class Geometry {
     public RegularHexagon regularHexagon() {
         synchronized (regularHexagons) {
             if (regularHexagons.size == 0) {
+                regularHexagonStatistics.recordMiss();
                 return new RegularHexagon(this);
             }
+            regularHexagonStatistics.recordHit();
             final RegularHexagon result = regularHexagons.removeFirst();
             result.setDisposed(false);
             return result;
@@ -279,6 +316,7 @@ public class Geometry {
     public void release(RegularHexagon regularHexagon) {
         synchronized (regularHexagons) {
             regularHexagons.addLast(regularHexagon);
+            regularHexagonStatistics.recordFree();
         }
     }
 
@@ -289,8 +327,10 @@ public class Geometry {
     public RegularPentagon regularPentagon() {
         synchronized (regularPentagons) {
             if (regularPentagons.size == 0) {
+                regularPentagonStatistics.recordMiss();
                 return new RegularPentagon(this);
             }
+            regularPentagonStatistics.recordHit();
             final RegularPentagon result = regularPentagons.removeFirst();
             result.setDisposed(false);
             return result;
@@ -304,6 +344,7 @@ public class Geometry {
     public void release(RegularPentagon regularPentagon) {
         synchronized (regularPentagons) {
             regularPentagons.addLast(regularPentagon);
+            regularPentagonStatistics.recordFree();
         }
     }
 
@@ -314,8 +355,10 @@ public class Geometry {
     public Triangle triangle(float x1, float y1, float x2, float y2, float x3, float y3) {
         synchronized (triangles) {
             if (triangles.size == 0) {
+                triangleStatistics.recordMiss();
                 return new Triangle(this, x1, y1, x2, y2, x3, y3);
             }
+            triangleStatistics.recordHit();
             final Triangle result = triangles.removeFirst();
             result.setPosition(x1, y1, x2, y2, x3, y3);
             result.setDisposed(false);
@@ -330,6 +373,7 @@ public class Geometry {
     public void release(Triangle triangle) {
         synchronized (triangles) {
             triangles.addLast(triangle);
+            triangleStatistics.recordFree();
         }
     }
 
@@ -343,6 +387,14 @@ public class Geometry {
         }
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for {@link Circle} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getCirclePoolStatistics() {
+        return circleStatistics;
+    }
+
     /**
      * Returns the total {@link EquilateralTriangle} instances currently in the pool
      * @return Total available {@link EquilateralTriangle} instances excluding {@link EquilateralTriangle} instances already allocated
@@ -353,6 +405,14 @@ public class Geometry {
         }
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for {@link EquilateralTriangle} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getEquilateralTrianglePoolStatistics() {
+        return equilateralTriangleStatistics;
+    }
+
     /**
      * Returns the total {@link Line} instances currently in the pool
      * @return Total available lines excluding {@link Line} instances already allocated
@@ -363,6 +423,14 @@ public class Geometry {
         }
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for {@link Line} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getLinePoolStatistics() {
+        return lineStatistics;
+    }
+
     /**
      * Returns the total {@link LineSegment} instances currently in the pool
      * @return Total available {@link LineSegment} instances excluding {@link LineSegment} instances already allocated
@@ -373,6 +441,14 @@ public class Geometry {
         }
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for {@link LineSegment} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getLineSegmentPoolStatistics() {
+        return lineSegmentStatistics;
+    }
+
     /**
      * Returns the total {@link Point} instances currently in the pool
      * @return Total available {@link Point} instances excluding {@link Point} instances already allocated
@@ -383,6 +459,14 @@ public class Geometry {
         }
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for {@link Point} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getPointPoolStatistics() {
+        return pointStatistics;
+    }
+
     /**
      * Returns the total {@link Polygon} instances currently in the pool
      * @return Total available {@link Polygon} instances excluding {@link Polygon} instances already allocated
@@ -393,6 +477,14 @@ public class Geometry {
         }
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for {@link Polygon} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getPolygonPoolStatistics() {
+        return polygonStatistics;
+    }
+
     /**
      * Returns the total {@link Rectangle} instances currently in the pool
      * @return Total available {@link Rectangle} instances excluding {@link Rectangle} instances already allocated
@@ -403,6 +495,14 @@ public class Geometry {
         }
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for {@link Rectangle} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getRectanglePoolStatistics() {
+        return rectangleStatistics;
+    }
+
     /**
      * Returns the total {@link RegularHexagon} instances currently in the pool
      * @return Total available {@link RegularHexagon} instances excluding {@link RegularHexagon} instances already allocated
@@ -413,6 +513,14 @@ public class Geometry {
         }
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for {@link RegularHexagon} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getRegularHexagonPoolStatistics() {
+        return regularHexagonStatistics;
+    }
+
     /**
      * Returns the total {@link RegularPentagon} instances currently in the pool
      * @return Total available {@link RegularPentagon} instances excluding {@link RegularPentagon} instances already allocated
@@ -423,6 +531,14 @@ public class Geometry {
         }
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for {@link RegularPentagon} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getRegularPentagonPoolStatistics() {
+        return regularPentagonStatistics;
+    }
+
     /**
      * Returns the total {@link Triangle} instances currently in the pool
      * @return Total available {@link Triangle} instances excluding {@link Triangle} instances already allocated
@@ -432,4 +548,12 @@ public class Geometry {
             return triangles.size;
         }
     }
+
+    /**
+     * Returns the {@link PoolStatistics} for {@link Triangle} instances
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getTrianglePoolStatistics() {
+        return triangleStatistics;
+    }
 }
@@ -417,6 +417,20 @@ public interface Graphics {
      */
     public void drawSpriteCache(SpriteCache spriteCache, int cacheId);
 
+    /**
+     * Draws a subset of the images in a {@link SpriteCache}
+     *
+     * @param spriteCache
+     *            The {@link SpriteCache} to draw
+     * @param cacheId
+     *            The cacheId to draw
+     * @param offset
+     *            The index of the first image to draw
+     * @param length
+     *            The number of images to draw
+     */
+    public void drawSpriteCache(SpriteCache spriteCache, int cacheId, int offset, int length);
+
     /**
      * Draws a {@link ParticleEffect} to screen
      *
@@ -823,6 +837,30 @@ public interface Graphics {
      */
     public long getFrameId();
 
+    /**
+     * Returns if primitive batching is enabled. See {@link #setPrimitiveBatchingEnabled(boolean)}
+     *
+     * @return False by default
+     */
+    public boolean isPrimitiveBatchingEnabled();
+
+    /**
+     * Sets if lines, shapes and polygons are drawn into the same batch as
+     * textures. This avoids a flush each time a frame switches between
+     * drawing shapes and textures. Outlines (e.g. circles and polygons) are
+     * drawn using the line height when enabled.
+     *
+     * @param enabled True if primitives should be batched with textures
+     */
+    public void setPrimitiveBatchingEnabled(boolean enabled);
+
+    /**
+     * Returns the amount of draw calls (batch flushes) issued during the previous frame
+     *
+     * @return 0 if no frame has been rendered yet
+     */
+    public int getDrawCalls();
+
     /**
      * Returns the current min texture filter.
      *
@@ -44,6 +44,15 @@ public abstract class GraphicsUtils {
 
 	public abstract Pixmap newPixmap(FileHandle file);
 
+	/**
+	 * Returns if {@link #newPixmap(FileHandle)} can be called from threads other than the game thread.
+	 * When true, asset loaders decode images in parallel and only upload textures on the game thread.
+	 * @return False by default
+	 */
+	public boolean isAsyncPixmapLoadingSupported() {
+		return false;
+	}
+
 	public abstract Texture newTexture(FileHandle file);
 
 	public abstract Texture newTexture(FileHandle file, PixmapFormat format);
@@ -134,4 +143,11 @@ public abstract class GraphicsUtils {
 	public abstract CustomCursor newCustomCursor(Pixmap upPixmap, Pixmap downPixmap, int xHotspot, int yHotspot);
 
 	public abstract SpriteCache newSpriteCache();
+
+	/**
+	 * Creates a new {@link SpriteCache}
+	 * @param size The maximum number of images the {@link SpriteCache} can hold across all its caches
+	 * @return The platform-specific implementation of {@link SpriteCache}
+	 */
+	public abstract SpriteCache newSpriteCache(int size);
 }
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core;
+
+import org.mini2Dx.core.exception.MdxException;
+import org.mini2Dx.core.exception.PlayerDataException;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.ObjectMap;
+import org.mini2Dx.gdx.utils.ObjectSet;
+
+/**
+ * Splits a save game into named sections that are each stored in their own
+ * file within a directory of the {@link PlayerData} location. Only sections
+ * that have changed since the last save are written.<br>
+ * <br>
+ * Sections are marked dirty when set via {@link #setSection(String, Object)}.
+ * If a section object is modified in place, call {@link #markDirty(String)}
+ * so that it is included in the next save.
+ */
+public class IncrementalSave {
+	private final PlayerData playerData;
+	private final PlayerDataFormat format;
+	private final String[] directory;
+
+	private final ObjectMap<String, Object> sections = new ObjectMap<String, Object>();
+	private final ObjectSet<String> dirtySections = new ObjectSet<String>();
+
+	/**
+	 * Constructor
+	 * @param playerData The {@link PlayerData} to write sections to
+	 * @param format The {@link PlayerDataFormat} to write sections in
+	 * @param directory The directory path that section files are stored in
+	 */
+	public IncrementalSave(PlayerData playerData, PlayerDataFormat format, String... directory) {
+		this.playerData = playerData;
+		this.format = format;
+		this.directory = directory;
+	}
+
+	/**
+	 * Sets the object for a section and marks it dirty
+	 * @param name The section name
+	 * @param section The object to be written for the section
+	 */
+	public synchronized void setSection(String name, Object section) {
+		sections.put(name, section);
+		dirtySections.add(name);
+	}
+
+	/**
+	 * Marks a section dirty so that it is written on the next save
+	 * @param name The section name
+	 */
+	public synchronized void markDirty(String name) {
+		if(!sections.containsKey(name)) {
+			throw new MdxException("No section named " + name);
+		}
+		dirtySections.add(name);
+	}
+
+	/**
+	 * Reads a section from its file. The section is not marked dirty.
+	 * @param clazz The {@link Class} of the section
+	 * @param name The section name
+	 * @param <T> The type of the section
+	 * @return The section object
+	 * @throws PlayerDataException Thrown if the section could not be read
+	 */
+	public <T> T readSection(Class<T> clazz, String name) throws PlayerDataException {
+		final T result = playerData.read(clazz, format, getFilepath(name));
+		synchronized (this) {
+			sections.put(name, result);
+			dirtySections.remove(name);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns if a section file exists
+	 * @param name The section name
+	 * @return True if the section has been saved previously
+	 * @throws PlayerDataException Thrown if the game data location cannot be accessed
+	 */
+	public boolean hasSavedSection(String name) throws PlayerDataException {
+		return playerData.hasFile(getFilepath(name));
+	}
+
+	/**
+	 * Returns the object for a section
+	 * @param name The section name
+	 * @param <T> The type of the section
+	 * @return Null if the section has not been set or read
+	 */
+	public synchronized <T> T getSection(String name) {
+		return (T) sections.get(name);
+	}
+
+	public synchronized boolean isDirty(String name) {
+		return dirtySections.contains(name);
+	}
+
+	public synchronized boolean hasDirtySections() {
+		return dirtySections.size > 0;
+	}
+
+	/**
+	 * Writes all dirty sections and blocks until complete
+	 * @throws PlayerDataException Thrown if a section could not be written.
+	 * Sections that were not written remain dirty.
+	 */
+	public void save() throws PlayerDataException {
+		createWrite().write();
+	}
+
+	/**
+	 * Writes all dirty sections on {@link Mdx#executor}. Section objects
+	 * must not be modified until the returned {@link PlayerDataWriteFuture} is finished.
+	 * @return A {@link PlayerDataWriteFuture} to check for completion and errors.
+	 * Sections that were not written remain dirty.
+	 */
+	public PlayerDataWriteFuture saveAsync() {
+		final PlayerDataWriteFuture result = createWrite();
+		playerData.submitWrite(result);
+		return result;
+	}
+
+	private synchronized PlayerDataWriteFuture createWrite() {
+		final Array<String> names = new Array<String>(dirtySections.size);
+		final Array<Object> objects = new Array<Object>(dirtySections.size);
+		for(String name : dirtySections) {
+			names.add(name);
+			objects.add(sections.get(name));
+		}
+		dirtySections.clear();
+
+		return new PlayerDataWriteFuture() {
+			@Override
+			protected void write() throws PlayerDataException {
+				int written = 0;
+				try {
+					for(; written < names.size; written++) {
+						playerData.write(objects.get(written), format, getFilepath(names.get(written)));
+					}
+				} finally {
+					if(written < names.size) {
+						restoreDirty(names, written);
+					}
+				}
+			}
+		};
+	}
+
+	private synchronized void restoreDirty(Array<String> names, int fromIndex) {
+		for(int i = fromIndex; i < names.size; i++) {
+			dirtySections.add(names.get(i));
+		}
+	}
+
+	private String[] getFilepath(String name) {
+		final String[] result = new String[directory.length + 1];
+		System.arraycopy(directory, 0, result, 0, directory.length);
+		result[directory.length] = name + format.getFileExtension();
+		return result;
+	}
+
+	public PlayerDataFormat getFormat() {
+		return format;
+	}
+}
@@ -18,7 +18,14 @@ package org.mini2Dx.core;
 import org.mini2Dx.core.util.JvmZlibStream;
 import org.mini2Dx.core.util.ZlibStream;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
 public abstract class JvmPlatformUtils extends PlatformUtils {
+    private boolean garbageCollectionCountSupported = true;
+    private List garbageCollectors;
+
     @Override
     public long nanoTime() {
         return System.nanoTime();
@@ -44,6 +51,27 @@ public abstract class JvmPlatformUtils extends PlatformUtils {
         return getTotalMemory() - getAvailableMemory();
     }
 
+    @Override
+    public long getGarbageCollectionCount() {
+        if(!garbageCollectionCountSupported) {
+            return super.getGarbageCollectionCount();
+        }
+        try {
+            if(garbageCollectors == null) {
+                garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+            }
+            long result = 0L;
+            for(int i = 0; i < garbageCollectors.size(); i++) {
+                result += Math.max(0L, ((GarbageCollectorMXBean) garbageCollectors.get(i)).getCollectionCount());
+            }
+            return result;
+        } catch (LinkageError e) {
+            //java.lang.management is not available on all JVMs (e.g. Android)
+            garbageCollectionCountSupported = false;
+            return super.getGarbageCollectionCount();
+        }
+    }
+
     @Override
     public ZlibStream decompress(byte[] compressedData) {
         return new JvmZlibStream(compressedData);
@@ -16,6 +16,7 @@
 package org.mini2Dx.core;
 
 import org.mini2Dx.core.collision.Collisions;
+import org.mini2Dx.core.serialization.BinarySerializer;
 import org.mini2Dx.core.serialization.JsonSerializer;
 import org.mini2Dx.core.serialization.XmlSerializer;
 
@@ -30,6 +31,11 @@ public class Mdx {
      */
     public static Audio audio;
 
+    /**
+     * Binary serialization API
+     */
+    public static BinarySerializer binary;
+
     /**
      * Object pool for {@link org.mini2Dx.core.collision.CollisionObject} classes
      */
@@ -105,6 +111,11 @@ public class Mdx {
      */
     public static PlayerData playerData;
 
+    /**
+     * Per-frame profiler
+     */
+    public static final Profiler profiler = new Profiler();
+
     /**
      * API for reflection
      */
@@ -120,6 +131,11 @@ public class Mdx {
      */
     public static TimestepMode timestepMode = TimestepMode.DEFAULT;
 
+    /**
+     * Returns the {@link TimestepScheduler} used when {@link #timestepMode} is {@link TimestepMode#ADAPTIVE}
+     */
+    public static TimestepScheduler timestepScheduler;
+
     /**
      * XML serialization API
      */
@@ -24,6 +24,8 @@ import java.util.Locale;
 public class PerformanceTracker {
     private static final String DURATION_PREFIX = "Avg update duration:: ";
     private static final String RENDER_PREFIX = "Avg render duration:: ";
+    private static final String UPDATE_PERCENTILES_PREFIX = "Update p50/p95/p99/max:: ";
+    private static final String RENDER_PERCENTILES_PREFIX = "Render p50/p95/p99/max:: ";
     private static final String UPDATE_PREFIX = "Updates / second:: ";
     private static final String FRAMES_PREFIX = "Frames / second:: ";
     private static final String MEMORY_PREFIX = "Memory usage:: ";
@@ -133,10 +135,15 @@ public class PerformanceTracker {
         }
 
         lastMessagesUpdate = currentTime;
-        messages[0] = DURATION_PREFIX + String.format(Locale.ENGLISH, "%.3f", Mdx.platformUtils.getAverageUpdateDuration() / 1000000)
-                + MS;
-        messages[1] = RENDER_PREFIX + String.format(Locale.ENGLISH, "%.3f", Mdx.platformUtils.getAverageRenderDuration() / 1000000)
-                + MS;
+        if(Mdx.profiler.isEnabled()) {
+            messages[0] = getPercentilesMessage(UPDATE_PERCENTILES_PREFIX, Profiler.UPDATE);
+            messages[1] = getPercentilesMessage(RENDER_PERCENTILES_PREFIX, Profiler.RENDER);
+        } else {
+            messages[0] = DURATION_PREFIX + String.format(Locale.ENGLISH, "%.3f", Mdx.platformUtils.getAverageUpdateDuration() / 1000000)
+                    + MS;
+            messages[1] = RENDER_PREFIX + String.format(Locale.ENGLISH, "%.3f", Mdx.platformUtils.getAverageRenderDuration() / 1000000)
+                    + MS;
+        }
         messages[2] = UPDATE_PREFIX + Mdx.platformUtils.getUpdatesPerSecond();
         messages[3] = FRAMES_PREFIX + Mdx.platformUtils.getFramesPerSecond();
         messages[4] = MEMORY_PREFIX + getHumanReadableByteValue(Mdx.platformUtils.getUsedMemory()) + "/"
@@ -145,6 +152,12 @@ public class PerformanceTracker {
     }
 
 
+    private static String getPercentilesMessage(String prefix, String scope) {
+        return prefix + String.format(Locale.ENGLISH, "%.3f / %.3f / %.3f / %.3f",
+                Mdx.profiler.getPercentile(scope, 50f) / 1000000.0, Mdx.profiler.getPercentile(scope, 95f) / 1000000.0,
+                Mdx.profiler.getPercentile(scope, 99f) / 1000000.0, Mdx.profiler.getMax(scope) / 1000000.0) + MS;
+    }
+
     private static float getLineWidth(Graphics g) {
         if(glyphLayout == null) {
             glyphLayout = g.getFont().newGlyphLayout();
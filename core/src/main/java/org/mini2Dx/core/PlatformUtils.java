@@ -77,6 +77,14 @@ public abstract class PlatformUtils {
      */
     public abstract boolean isGameThread();
 
+    /**
+     * Gets the total number of garbage collections since the game started
+     * @return -1 if the platform does not report garbage collections
+     */
+    public long getGarbageCollectionCount() {
+        return -1L;
+    }
+
     /**
      * Internal usage only: marks the beginning of update operations
      */
@@ -90,6 +98,7 @@ public abstract class PlatformUtils {
         }
         updates++;
 
+        Mdx.profiler.begin(Profiler.UPDATE);
         updateStart = nanoTime();
     }
 
@@ -97,6 +106,7 @@ public abstract class PlatformUtils {
      * Internal usage only: marks the beginning of rendering operations
      */
     public void markRenderBegin() {
+        Mdx.profiler.begin(Profiler.RENDER);
         renderStart = nanoTime();
     }
 
@@ -108,6 +118,8 @@ public abstract class PlatformUtils {
         long renderDuration = time - renderStart;
 
         averageRenderDuration.mark(renderDuration);
+        Mdx.profiler.end();
+        Mdx.profiler.endFrame();
     }
 
     /**
@@ -118,6 +130,7 @@ public abstract class PlatformUtils {
         long updateDuration = time - updateStart;
 
         averageUpdateDuration.mark(updateDuration);
+        Mdx.profiler.end();
     }
 
     /**
@@ -132,6 +145,8 @@ public abstract class PlatformUtils {
             frameSecondStart = time;
         }
         frames++;
+
+        Mdx.profiler.beginFrame();
     }
 
     /**
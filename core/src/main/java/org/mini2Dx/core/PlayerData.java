@@ -20,8 +20,10 @@ import org.mini2Dx.core.exception.SerializationException;
 import org.mini2Dx.core.files.FileHandle;
 import org.mini2Dx.core.serialization.GameDataOutputStream;
 import org.mini2Dx.core.serialization.annotation.Field;
+import org.mini2Dx.gdx.utils.Array;
 
 import java.io.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Common interface for reading/writing player data, e.g. game saves, preferences,
@@ -38,6 +40,11 @@ import java.io.*;
 public abstract class PlayerData {
     private static final String LOGGING_TAG = PlayerData.class.getSimpleName();
 
+    private final Array<PlayerDataWriteFuture> pendingWrites = new Array<PlayerDataWriteFuture>();
+    private final AtomicInteger tmpFileCounter = new AtomicInteger();
+    private final Object replaceLock = new Object();
+    private boolean processingWrites = false;
+
     /**
      * Returns a {@link FileHandle} for a file or directory within the save data directory
      * @param filepath The path broken up by directory/file
@@ -123,29 +130,7 @@ public abstract class PlayerData {
      */
     public <T> void writeXml(T object, String... filepath)
             throws PlayerDataException {
-        if (filepath.length == 0) {
-            throw new PlayerDataException("No file path specified");
-        }
-        try {
-            ensureDirectoryExistsForFile(filepath);
-            StringWriter writer = new StringWriter();
-            Mdx.xml.toXml(object, writer);
-
-            FileHandle file = resolve(filepath);
-            FileHandle tmpFile = resolveTmp(filepath);
-            tmpFile.writeString(writer.toString(), false);
-            writer.flush();
-            writer.close();
-
-            if(file.exists()) {
-                file.delete();
-            }
-            tmpFile.moveTo(file);
-        } catch (SerializationException e) {
-            throw new PlayerDataException(e);
-        } catch (IOException e) {
-            throw new PlayerDataException(e);
-        }
+        write(object, PlayerDataFormat.XML, filepath);
     }
 
     /**
@@ -193,22 +178,275 @@ public abstract class PlayerData {
      */
     public <T> void writeJson(T object, String... filepath)
             throws PlayerDataException {
+        write(object, PlayerDataFormat.JSON, filepath);
+    }
+
+    /**
+     * Converts binary data from a file into an object. Note the object must use the
+     * mini2Dx data annotations.
+     *
+     * @param <T> The type of {@link Class} to read
+     * @param clazz
+     *            The object {@link Class} to convert the binary data into
+     * @param filepath
+     *            The path to the binary file. This will be resolved as a path
+     *            within the game data location.
+     * @return The resulting object
+     * @throws PlayerDataException
+     *             Thrown if the data is invalid, the file does not exist or the
+     *             game data location cannot be accessed.
+     */
+    public <T> T readBinary(Class<T> clazz, String... filepath)
+            throws PlayerDataException {
         if (filepath.length == 0) {
             throw new PlayerDataException("No file path specified");
         }
+        try {
+            final InputStream inputStream = resolve(filepath).read();
+            try {
+                return Mdx.binary.fromBinary(inputStream, clazz);
+            } finally {
+                inputStream.close();
+            }
+        } catch (SerializationException e) {
+            throw new PlayerDataException(e);
+        } catch (IOException e) {
+            throw new PlayerDataException(e);
+        }
+    }
+
+    /**
+     * Writes an object as uncompressed binary data to a file. Note the object must
+     * use the mini2Dx data annotations.
+     *
+     * @param <T> The type of {@link Class} to write
+     * @param object
+     *            The object to be written to the file
+     * @param filepath
+     *            The path to the binary file. This will be resolved as a path
+     *            within the game data location.
+     * @throws PlayerDataException
+     *             Thrown if the game data location cannot be accessed or the
+     *             data cannot be written to the file.
+     */
+    public <T> void writeBinary(T object, String... filepath)
+            throws PlayerDataException {
+        writeBinary(object, false, filepath);
+    }
+
+    /**
+     * Writes an object as binary data to a file. The data is streamed to a
+     * temporary file which replaces the existing file once complete. Note the
+     * object must use the mini2Dx data annotations.
+     *
+     * @param <T> The type of {@link Class} to write
+     * @param object
+     *            The object to be written to the file
+     * @param compress
+     *            True if the data should be compressed
+     * @param filepath
+     *            The path to the binary file. This will be resolved as a path
+     *            within the game data location.
+     * @throws PlayerDataException
+     *             Thrown if the game data location cannot be accessed or the
+     *             data cannot be written to the file.
+     */
+    public <T> void writeBinary(T object, boolean compress, String... filepath)
+            throws PlayerDataException {
+        write(object, compress ? PlayerDataFormat.COMPRESSED_BINARY : PlayerDataFormat.BINARY, filepath);
+    }
+
+    /**
+     * Converts a file into an object. Note the object must use the mini2Dx
+     * data annotations.
+     *
+     * @param <T> The type of {@link Class} to read
+     * @param clazz
+     *            The object {@link Class} to convert the file into
+     * @param format
+     *            The {@link PlayerDataFormat} the file was written in
+     * @param filepath
+     *            The path to the file. This will be resolved as a path
+     *            within the game data location.
+     * @return The resulting object
+     * @throws PlayerDataException
+     *             Thrown if the data is invalid, the file does not exist or the
+     *             game data location cannot be accessed.
+     */
+    public <T> T read(Class<T> clazz, PlayerDataFormat format, String... filepath)
+            throws PlayerDataException {
+        switch (format) {
+        case XML:
+            return readXml(clazz, filepath);
+        case BINARY:
+        case COMPRESSED_BINARY:
+            return readBinary(clazz, filepath);
+        case JSON:
+        default:
+            return readJson(clazz, filepath);
+        }
+    }
+
+    /**
+     * Writes an object to a file. The object is serialized directly into a
+     * temporary file which replaces the existing file once complete. If
+     * serialization fails the existing file is left unchanged. Concurrent
+     * writes to the same path each use their own temporary file and the last
+     * write to complete replaces the file. Note the object must use the
+     * mini2Dx data annotations.
+     *
+     * @param <T> The type of {@link Class} to write
+     * @param object
+     *            The object to be written to the file
+     * @param format
+     *            The {@link PlayerDataFormat} to write the file in
+     * @param filepath
+     *            The path to the file. This will be resolved as a path
+     *            within the game data location.
+     * @throws PlayerDataException
+     *             Thrown if the game data location cannot be accessed or the
+     *             data cannot be written to the file.
+     */
+    public <T> void write(T object, PlayerDataFormat format, String... filepath)
+            throws PlayerDataException {
+        if (filepath.length == 0) {
+            throw new PlayerDataException("No file path specified");
+        }
+        final FileHandle file;
+        final FileHandle tmpFile;
+        final DataOutputStream outputStream;
         try {
             ensureDirectoryExistsForFile(filepath);
-            FileHandle file = resolve(filepath);
-            FileHandle tmpFile = resolveTmp(filepath);
-            tmpFile.writeString(Mdx.json.toJson(object), false);
-            if(file.exists()) {
-                file.delete();
+            file = resolve(filepath);
+            tmpFile = resolveTmp(getUniqueTmpFilepath(filepath));
+            outputStream = new DataOutputStream(tmpFile.write(false));
+        } catch (IOException e) {
+            throw new PlayerDataException(e);
+        }
+        boolean serialized = false;
+        try {
+            switch (format) {
+            case XML:
+                // Closes the stream on success
+                Mdx.xml.toXml(object, new BufferedWriter(new OutputStreamWriter(outputStream, "UTF-8")));
+                break;
+            case BINARY:
+            case COMPRESSED_BINARY:
+                Mdx.binary.toBinary(object, outputStream, format == PlayerDataFormat.COMPRESSED_BINARY);
+                outputStream.close();
+                break;
+            case JSON:
+            default:
+                final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, "UTF-8"));
+                Mdx.json.toJson(object, writer);
+                writer.close();
+                break;
             }
-            tmpFile.moveTo(file);
+            serialized = true;
         } catch (SerializationException e) {
             throw new PlayerDataException(e);
         } catch (IOException e) {
             throw new PlayerDataException(e);
+        } finally {
+            if (!serialized) {
+                // Keeps the existing file rather than replacing it with partial data
+                closeQuietly(outputStream);
+                deleteQuietly(tmpFile);
+            }
+        }
+
+        try {
+            // Concurrent writes to the same path stream to their own temporary files, only the replacement is serialized
+            synchronized (replaceLock) {
+                if (file.exists() && !file.delete()) {
+                    throw new IOException("Could not delete " + file.path());
+                }
+                tmpFile.moveTo(file);
+            }
+        } catch (Exception e) {
+            throw new PlayerDataException(e);
+        }
+    }
+
+    private String[] getUniqueTmpFilepath(String[] filepath) {
+        final String[] result = new String[filepath.length];
+        System.arraycopy(filepath, 0, result, 0, filepath.length);
+        result[result.length - 1] = result[result.length - 1] + "." + tmpFileCounter.incrementAndGet();
+        return result;
+    }
+
+    /**
+     * Writes an object to a file on {@link Mdx#executor}. See
+     * {@link #write(Object, PlayerDataFormat, String...)} for details.<br>
+     * <br>
+     * Asynchronous writes are performed one at a time in the order they were
+     * queued. The object must not be modified until the returned
+     * {@link PlayerDataWriteFuture} is finished. If no executor is available
+     * the write is performed immediately.
+     *
+     * @param <T> The type of {@link Class} to write
+     * @param object
+     *            The object to be written to the file
+     * @param format
+     *            The {@link PlayerDataFormat} to write the file in
+     * @param filepath
+     *            The path to the file. This will be resolved as a path
+     *            within the game data location.
+     * @return A {@link PlayerDataWriteFuture} to check for completion and errors
+     */
+    public <T> PlayerDataWriteFuture writeAsync(final T object, final PlayerDataFormat format, final String... filepath) {
+        final PlayerDataWriteFuture result = new PlayerDataWriteFuture() {
+            @Override
+            protected void write() throws PlayerDataException {
+                PlayerData.this.write(object, format, filepath);
+            }
+        };
+        submitWrite(result);
+        return result;
+    }
+
+    void submitWrite(PlayerDataWriteFuture write) {
+        synchronized (pendingWrites) {
+            pendingWrites.add(write);
+            if (processingWrites) {
+                return;
+            }
+            processingWrites = true;
+        }
+        if (Mdx.executor == null) {
+            processPendingWrites();
+            return;
+        }
+        Mdx.executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                processPendingWrites();
+            }
+        });
+    }
+
+    private void processPendingWrites() {
+        boolean completed = false;
+        try {
+            while (true) {
+                final PlayerDataWriteFuture write;
+                synchronized (pendingWrites) {
+                    if (pendingWrites.size == 0) {
+                        processingWrites = false;
+                        completed = true;
+                        return;
+                    }
+                    write = pendingWrites.removeIndex(0);
+                }
+                write.run();
+            }
+        } finally {
+            if (!completed) {
+                // Allows the next submitted write to resume processing the queue
+                synchronized (pendingWrites) {
+                    processingWrites = false;
+                }
+            }
         }
     }
 
@@ -255,17 +493,19 @@ public abstract class PlayerData {
         try {
             ensureDirectoryExistsForFile(filepath);
             final FileHandle file = resolve(filepath);
-            final FileHandle tmpFile = resolveTmp(filepath);
+            final FileHandle tmpFile = resolveTmp(getUniqueTmpFilepath(filepath));
             final OutputStream outputStream = tmpFile.write(false);
             final GameDataOutputStream result = new GameDataOutputStream(outputStream);
             result.setCloseListener(new GameDataOutputStream.CloseListener() {
                 @Override
                 public void onClose() {
                     try {
-                        if(file.exists()) {
-                            file.delete();
+                        synchronized (replaceLock) {
+                            if(file.exists()) {
+                                file.delete();
+                            }
+                            tmpFile.moveTo(file);
                         }
-                        tmpFile.moveTo(file);
                     } catch (Exception e) {
                         Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
                     }
@@ -435,4 +675,20 @@ public abstract class PlayerData {
         }
         parent.mkdirs();
     }
+
+    private void closeQuietly(DataOutputStream outputStream) {
+        try {
+            outputStream.close();
+        } catch (IOException e) {
+            Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
+        }
+    }
+
+    private void deleteQuietly(FileHandle fileHandle) {
+        try {
+            fileHandle.delete();
+        } catch (IOException e) {
+            Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
+        }
+    }
 }
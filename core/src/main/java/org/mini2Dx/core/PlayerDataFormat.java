@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright 2020 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core;
+
+/**
+ * The formats {@link PlayerData} can read and write objects in
+ */
+public enum PlayerDataFormat {
+	/**
+	 * Serialized via {@link Mdx#json}
+	 */
+	JSON(".json"),
+	/**
+	 * Serialized via {@link Mdx#xml}
+	 */
+	XML(".xml"),
+	/**
+	 * Serialized via {@link Mdx#binary}
+	 */
+	BINARY(".bin"),
+	/**
+	 * Serialized via {@link Mdx#binary} with compression enabled
+	 */
+	COMPRESSED_BINARY(".bin");
+
+	private final String fileExtension;
+
+	PlayerDataFormat(String fileExtension) {
+		this.fileExtension = fileExtension;
+	}
+
+	/**
+	 * Returns the file extension used for files in this format
+	 * @return The file extension including the leading '.'
+	 */
+	public String getFileExtension() {
+		return fileExtension;
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright 2020 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core;
+
+import org.mini2Dx.core.exception.PlayerDataException;
+import org.mini2Dx.core.executor.AsyncFuture;
+
+/**
+ * A write queued via {@link PlayerData#writeAsync(Object, PlayerDataFormat, String...)}
+ * or {@link IncrementalSave#saveAsync()}. Writes are performed on
+ * {@link Mdx#executor} one at a time in the order they were queued.
+ */
+public abstract class PlayerDataWriteFuture implements AsyncFuture {
+	private static final String LOGGING_TAG = PlayerDataWriteFuture.class.getSimpleName();
+
+	private volatile boolean finished = false;
+	private volatile PlayerDataException exception;
+
+	/**
+	 * Performs the write. Called on the executor thread.
+	 * @throws PlayerDataException Thrown if the data could not be written
+	 */
+	protected abstract void write() throws PlayerDataException;
+
+	void run() {
+		try {
+			write();
+		} catch (PlayerDataException e) {
+			exception = e;
+		} catch (RuntimeException e) {
+			exception = new PlayerDataException(e);
+		} catch (Throwable e) {
+			exception = new PlayerDataException(e.getMessage(), e);
+		}
+		finished = true;
+		if(exception != null && Mdx.log != null) {
+			Mdx.log.error(LOGGING_TAG, exception.getMessage(), exception);
+		}
+	}
+
+	@Override
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Returns if the write completed without errors
+	 * @return False if the write failed or is not yet finished
+	 */
+	public boolean isSuccessful() {
+		return finished && exception == null;
+	}
+
+	/**
+	 * Returns the error that caused the write to fail
+	 * @return Null if the write succeeded or is not yet finished
+	 */
+	public PlayerDataException getException() {
+		return exception;
+	}
+}
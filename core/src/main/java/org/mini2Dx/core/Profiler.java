@@ -0,0 +1,531 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core;
+
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.ObjectIntMap;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Records nested, named timing scopes for each frame into a fixed size ring
+ * buffer of frame history.<br>
+ * <br>
+ * The game loop records the {@link #UPDATE}, {@link #PHYSICS},
+ * {@link #INTERPOLATE} and {@link #RENDER} scopes. Games can add their own
+ * scopes by calling {@link #begin(String)} and {@link #end()} on the game
+ * thread, e.g. <code>Mdx.profiler.begin("ai")</code>. Recording does not
+ * allocate once a scope name has been seen for the first time.<br>
+ * <br>
+ * Profiling is disabled by default. Call {@link #setEnabled(boolean)} to start recording.
+ */
+public class Profiler {
+	public static final String FRAME = "frame";
+	public static final String UPDATE = "update";
+	public static final String PHYSICS = "physics";
+	public static final String INTERPOLATE = "interpolate";
+	public static final String RENDER = "render";
+
+	/**
+	 * The default number of frames kept in history
+	 */
+	public static int DEFAULT_HISTORY_SIZE = 300;
+	/**
+	 * The default maximum number of scopes recorded per frame
+	 */
+	public static int DEFAULT_MAX_SCOPES_PER_FRAME = 256;
+
+	private static final int MAX_DEPTH = 32;
+
+	private final int historySize;
+	private final int maxScopesPerFrame;
+
+	private int [] eventScopes;
+	private long [] eventStarts;
+	private long [] eventDurations;
+	private final int [] frameEventCounts;
+	private final long [] frameStarts;
+	private final long [] frameDurations;
+	private final long [] frameAllocatedBytes;
+	private final int [] frameGarbageCollections;
+
+	private final ObjectIntMap<String> scopeIds = new ObjectIntMap<String>();
+	private final Array<String> scopeNames = new Array<String>();
+	private long [][] scopeDurations = new long[8][];
+	private long [][] scopeCalls = new long[8][];
+	private final long [] sortBuffer;
+
+	private final int [] stack = new int[MAX_DEPTH];
+	private int depth;
+	private int droppedScopes;
+
+	private boolean enabled;
+	private boolean recordingFrame;
+	private int frameIndex = -1;
+	private long totalFrames;
+	private int historyFrames;
+	private long frameStartMemory;
+	private long frameStartGarbageCollections;
+
+	/**
+	 * Constructs a {@link Profiler} with {@link #DEFAULT_HISTORY_SIZE} and {@link #DEFAULT_MAX_SCOPES_PER_FRAME}
+	 */
+	public Profiler() {
+		this(DEFAULT_HISTORY_SIZE, DEFAULT_MAX_SCOPES_PER_FRAME);
+	}
+
+	/**
+	 * Constructor
+	 * @param historySize The number of frames to keep in history
+	 * @param maxScopesPerFrame The maximum number of scopes recorded per frame. Further scopes in a frame are dropped.
+	 */
+	public Profiler(int historySize, int maxScopesPerFrame) {
+		this.historySize = historySize;
+		this.maxScopesPerFrame = maxScopesPerFrame;
+
+		frameEventCounts = new int[historySize];
+		frameStarts = new long[historySize];
+		frameDurations = new long[historySize];
+		frameAllocatedBytes = new long[historySize];
+		frameGarbageCollections = new int[historySize];
+		sortBuffer = new long[historySize];
+
+		getScopeId(FRAME);
+		getScopeId(UPDATE);
+		getScopeId(PHYSICS);
+		getScopeId(INTERPOLATE);
+		getScopeId(RENDER);
+	}
+
+	/**
+	 * Internal usage only: marks the beginning of a frame
+	 */
+	public void beginFrame() {
+		if(!enabled) {
+			return;
+		}
+		if(recordingFrame) {
+			endFrame();
+		}
+		if(eventScopes == null) {
+			//Allocated on first use so that a disabled profiler does not hold the scope history
+			eventScopes = new int[historySize * maxScopesPerFrame];
+			eventStarts = new long[historySize * maxScopesPerFrame];
+			eventDurations = new long[historySize * maxScopesPerFrame];
+		}
+		recordingFrame = true;
+		frameIndex = (frameIndex + 1) % historySize;
+		if(historyFrames == historySize) {
+			//The frame being recorded replaces the oldest frame in history
+			historyFrames--;
+		}
+		depth = 0;
+		frameEventCounts[frameIndex] = 0;
+		frameStarts[frameIndex] = Mdx.platformUtils.nanoTime();
+
+		for(int i = 0; i < scopeNames.size; i++) {
+			scopeDurations[i][frameIndex] = 0L;
+			scopeCalls[i][frameIndex] = 0L;
+		}
+		frameStartMemory = Mdx.platformUtils.getUsedMemory();
+		frameStartGarbageCollections = Mdx.platformUtils.getGarbageCollectionCount();
+	}
+
+	/**
+	 * Internal usage only: marks the end of a frame
+	 */
+	public void endFrame() {
+		if(!recordingFrame) {
+			return;
+		}
+		final long time = Mdx.platformUtils.nanoTime();
+		while(depth > 0) {
+			end(time);
+		}
+		recordingFrame = false;
+
+		final long duration = time - frameStarts[frameIndex];
+		frameDurations[frameIndex] = duration;
+		scopeDurations[0][frameIndex] = duration;
+		scopeCalls[0][frameIndex] = 1L;
+
+		final long garbageCollections = Mdx.platformUtils.getGarbageCollectionCount();
+		final long allocatedBytes = Mdx.platformUtils.getUsedMemory() - frameStartMemory;
+		frameAllocatedBytes[frameIndex] = allocatedBytes < 0L ? 0L : allocatedBytes;
+		if(garbageCollections < 0L) {
+			//Platform can't report collections, a drop in used memory means at least one occurred
+			frameGarbageCollections[frameIndex] = allocatedBytes < 0L ? 1 : 0;
+		} else {
+			frameGarbageCollections[frameIndex] = (int) (garbageCollections - frameStartGarbageCollections);
+		}
+		totalFrames++;
+		historyFrames++;
+	}
+
+	/**
+	 * Begins a scope. Scopes can be nested and must be ended with {@link #end()} on the same thread.
+	 * @param name The scope name
+	 */
+	public void begin(String name) {
+		if(!recordingFrame) {
+			return;
+		}
+		final int scopeId = getScopeId(name);
+		if(depth >= MAX_DEPTH) {
+			droppedScopes++;
+			depth++;
+			return;
+		}
+		final int eventCount = frameEventCounts[frameIndex];
+		if(eventCount == maxScopesPerFrame) {
+			droppedScopes++;
+			stack[depth++] = -1;
+			return;
+		}
+		final int event = (frameIndex * maxScopesPerFrame) + eventCount;
+		frameEventCounts[frameIndex] = eventCount + 1;
+
+		eventScopes[event] = scopeId;
+		eventStarts[event] = Mdx.platformUtils.nanoTime();
+		eventDurations[event] = -1L;
+		stack[depth++] = event;
+	}
+
+	/**
+	 * Ends the most recently begun scope
+	 */
+	public void end() {
+		if(!recordingFrame || depth == 0) {
+			return;
+		}
+		end(Mdx.platformUtils.nanoTime());
+	}
+
+	private void end(long time) {
+		depth--;
+		if(depth >= MAX_DEPTH) {
+			return;
+		}
+		final int event = stack[depth];
+		if(event < 0) {
+			return;
+		}
+		final long duration = time - eventStarts[event];
+		eventDurations[event] = duration;
+
+		final int scopeId = eventScopes[event];
+		scopeDurations[scopeId][frameIndex] += duration;
+		scopeCalls[scopeId][frameIndex]++;
+	}
+
+	private int getScopeId(String name) {
+		int result = scopeIds.get(name, -1);
+		if(result >= 0) {
+			return result;
+		}
+		result = scopeNames.size;
+		if(result == scopeDurations.length) {
+			scopeDurations = Arrays.copyOf(scopeDurations, result * 2);
+			scopeCalls = Arrays.copyOf(scopeCalls, result * 2);
+		}
+		scopeDurations[result] = new long[historySize];
+		scopeCalls[result] = new long[historySize];
+		scopeNames.add(name);
+		scopeIds.put(name, result);
+		return result;
+	}
+
+	/**
+	 * Returns the number of completed frames in history
+	 * @return At most the history size
+	 */
+	public int getTotalFramesInHistory() {
+		return historyFrames;
+	}
+
+	/**
+	 * Returns the total number of frames recorded since profiling was enabled
+	 * @return 0 if no frames have been recorded
+	 */
+	public long getTotalFrames() {
+		return totalFrames;
+	}
+
+	/**
+	 * Returns the duration percentile of a scope across the frame history.
+	 * The duration of a scope in a frame is the sum of all its occurrences in that frame.
+	 * Frames where the scope did not occur count as 0.
+	 * @param scope The scope name, e.g. {@link #UPDATE}
+	 * @param percentile The percentile between 0 and 100, e.g. 95 for p95
+	 * @return The duration in nanoseconds, 0 if no frames have been recorded
+	 */
+	public long getPercentile(String scope, float percentile) {
+		final int scopeId = scopeIds.get(scope, -1);
+		final int totalFrames = getTotalFramesInHistory();
+		if(scopeId < 0 || totalFrames == 0) {
+			return 0L;
+		}
+		copyCompletedFrames(scopeDurations[scopeId], sortBuffer);
+		Arrays.sort(sortBuffer, 0, totalFrames);
+
+		int index = (int) Math.ceil((percentile / 100f) * totalFrames) - 1;
+		if(index < 0) {
+			index = 0;
+		} else if(index >= totalFrames) {
+			index = totalFrames - 1;
+		}
+		return sortBuffer[index];
+	}
+
+	/**
+	 * Returns the maximum duration of a scope across the frame history
+	 * @param scope The scope name, e.g. {@link #RENDER}
+	 * @return The duration in nanoseconds, 0 if no frames have been recorded
+	 */
+	public long getMax(String scope) {
+		final int scopeId = scopeIds.get(scope, -1);
+		if(scopeId < 0) {
+			return 0L;
+		}
+		long result = 0L;
+		for(int i = getTotalFramesInHistory() - 1; i >= 0; i--) {
+			result = Math.max(result, scopeDurations[scopeId][getFrameIndex(i)]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the average duration of a scope across the frame history
+	 * @param scope The scope name, e.g. {@link #RENDER}
+	 * @return The duration in nanoseconds, 0 if no frames have been recorded
+	 */
+	public double getAverage(String scope) {
+		final int scopeId = scopeIds.get(scope, -1);
+		final int totalFrames = getTotalFramesInHistory();
+		if(scopeId < 0 || totalFrames == 0) {
+			return 0.0;
+		}
+		long sum = 0L;
+		for(int i = 0; i < totalFrames; i++) {
+			sum += scopeDurations[scopeId][getFrameIndex(i)];
+		}
+		return (double) sum / totalFrames;
+	}
+
+	/**
+	 * Returns the total duration of a scope in a completed frame
+	 * @param scope The scope name
+	 * @param framesAgo 0 for the most recently completed frame
+	 * @return The duration in nanoseconds, 0 if the scope did not occur
+	 */
+	public long getDuration(String scope, int framesAgo) {
+		final int scopeId = scopeIds.get(scope, -1);
+		if(scopeId < 0 || framesAgo >= getTotalFramesInHistory()) {
+			return 0L;
+		}
+		return scopeDurations[scopeId][getFrameIndex(framesAgo)];
+	}
+
+	/**
+	 * Returns how many times a scope occurred in a completed frame, e.g. the number of physics substeps
+	 * @param scope The scope name
+	 * @param framesAgo 0 for the most recently completed frame
+	 * @return 0 if the scope did not occur
+	 */
+	public int getCalls(String scope, int framesAgo) {
+		final int scopeId = scopeIds.get(scope, -1);
+		if(scopeId < 0 || framesAgo >= getTotalFramesInHistory()) {
+			return 0;
+		}
+		return (int) scopeCalls[scopeId][getFrameIndex(framesAgo)];
+	}
+
+	/**
+	 * Returns the growth in used memory during a completed frame.
+	 * This is an approximation of allocations and does not include memory that was collected during the frame.
+	 * @param framesAgo 0 for the most recently completed frame
+	 * @return The number of bytes
+	 */
+	public long getAllocatedBytes(int framesAgo) {
+		if(framesAgo >= getTotalFramesInHistory()) {
+			return 0L;
+		}
+		return frameAllocatedBytes[getFrameIndex(framesAgo)];
+	}
+
+	/**
+	 * Returns the number of garbage collections during a completed frame
+	 * @param framesAgo 0 for the most recently completed frame
+	 * @return 0 if no collections occurred
+	 */
+	public int getGarbageCollections(int framesAgo) {
+		if(framesAgo >= getTotalFramesInHistory()) {
+			return 0;
+		}
+		return frameGarbageCollections[getFrameIndex(framesAgo)];
+	}
+
+	/**
+	 * Returns the number of scopes that could not be recorded because
+	 * the maximum scopes per frame or nesting depth was exceeded
+	 * @return 0 if no scopes have been dropped
+	 */
+	public int getDroppedScopes() {
+		return droppedScopes;
+	}
+
+	private int getFrameIndex(int framesAgo) {
+		int result = (recordingFrame ? frameIndex - 1 : frameIndex) - framesAgo;
+		while(result < 0) {
+			result += historySize;
+		}
+		return result;
+	}
+
+	private void copyCompletedFrames(long [] values, long [] result) {
+		for(int i = getTotalFramesInHistory() - 1; i >= 0; i--) {
+			result[i] = values[getFrameIndex(i)];
+		}
+	}
+
+	/**
+	 * Writes the frame history in the Chrome trace event format.
+	 * The result can be opened in chrome://tracing or other compatible tools.
+	 * @param writer The {@link Writer} to write to. The writer is not closed.
+	 * @throws IOException Thrown if the data could not be written
+	 */
+	public void exportChromeTrace(Writer writer) throws IOException {
+		writer.write("{\"traceEvents\":[");
+		boolean first = true;
+		for(int i = getTotalFramesInHistory() - 1; i >= 0; i--) {
+			final int frame = getFrameIndex(i);
+			first = writeTraceEvent(writer, first, FRAME, frameStarts[frame], frameDurations[frame]);
+
+			final int eventOffset = frame * maxScopesPerFrame;
+			for(int j = 0; j < frameEventCounts[frame]; j++) {
+				final int event = eventOffset + j;
+				if(eventDurations[event] < 0L) {
+					continue;
+				}
+				first = writeTraceEvent(writer, first, scopeNames.get(eventScopes[event]), eventStarts[event], eventDurations[event]);
+			}
+
+			writer.write(",{\"name\":\"memory\",\"ph\":\"C\",\"pid\":1,\"tid\":1,\"ts\":");
+			writer.write(toMicroseconds(frameStarts[frame]));
+			writer.write(",\"args\":{\"allocatedBytes\":");
+			writer.write(Long.toString(frameAllocatedBytes[frame]));
+			writer.write(",\"garbageCollections\":");
+			writer.write(Integer.toString(frameGarbageCollections[frame]));
+			writer.write("}}");
+		}
+		writer.write("],\"displayTimeUnit\":\"ms\"}");
+		writer.flush();
+	}
+
+	/**
+	 * Writes the frame history to a file in the Chrome trace event format
+	 * @param fileHandle The {@link FileHandle} to write to
+	 * @throws IOException Thrown if the file could not be written
+	 */
+	public void exportChromeTrace(FileHandle fileHandle) throws IOException {
+		final Writer writer = fileHandle.writer(false, "UTF-8");
+		try {
+			exportChromeTrace(writer);
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static boolean writeTraceEvent(Writer writer, boolean first, String name, long start, long duration) throws IOException {
+		if(!first) {
+			writer.write(',');
+		}
+		writer.write("{\"name\":\"");
+		for(int i = 0; i < name.length(); i++) {
+			final char c = name.charAt(i);
+			if(c == '"' || c == '\\') {
+				writer.write('\\');
+			} else if(c < ' ') {
+				continue;
+			}
+			writer.write(c);
+		}
+		writer.write("\",\"ph\":\"X\",\"pid\":1,\"tid\":1,\"ts\":");
+		writer.write(toMicroseconds(start));
+		writer.write(",\"dur\":");
+		writer.write(toMicroseconds(duration));
+		writer.write('}');
+		return false;
+	}
+
+	private static String toMicroseconds(long nanos) {
+		final long micros = nanos / 1000L;
+		final long fraction = Math.abs(nanos % 1000L);
+		if(fraction == 0L) {
+			return Long.toString(micros);
+		}
+		final StringBuilder result = new StringBuilder();
+		if(nanos < 0L && micros == 0L) {
+			result.append('-');
+		}
+		result.append(micros).append('.');
+		if(fraction < 100L) {
+			result.append('0');
+		}
+		if(fraction < 10L) {
+			result.append('0');
+		}
+		result.append(fraction);
+		return result.toString();
+	}
+
+	/**
+	 * Clears all recorded frames
+	 */
+	public void clear() {
+		totalFrames = 0L;
+		historyFrames = 0;
+		frameIndex = -1;
+		depth = 0;
+		droppedScopes = 0;
+		recordingFrame = false;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets if frames are recorded. Disabling the profiler keeps the existing history.
+	 * @param enabled True to record frames
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		if(!enabled && recordingFrame) {
+			//Discard the incomplete frame, the oldest frame it replaced stays out of history
+			recordingFrame = false;
+			frameIndex = (frameIndex + historySize - 1) % historySize;
+			depth = 0;
+		}
+	}
+
+	public int getHistorySize() {
+		return historySize;
+	}
+}
@@ -29,5 +29,13 @@ public enum TimestepMode {
 	 * <br>
 	 * See <a href="https://gafferongames.com/post/fix_your_timestep/">Glenn Fiedler's Fix your timestep</a>
 	 */
-	PHYSICS
+	PHYSICS,
+	/**
+	 * Same as {@link #PHYSICS} but physics steps are scheduled by a {@link TimestepScheduler}.<br>
+	 * <br>
+	 * Frame durations are smoothed and the number of physics steps per frame is limited by a budget
+	 * based on their measured cost, so a slow frame does not cause more physics steps in the next.
+	 * The scheduler for the current game is available via {@link Mdx#timestepScheduler}.
+	 */
+	ADAPTIVE
 }
@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core;
+
+/**
+ * Schedules fixed physics steps for {@link TimestepMode#ADAPTIVE}.<br>
+ * <br>
+ * Each frame, the platform game loop calls {@link #beginFrame(long)} with
+ * the measured frame duration and then calls updatePhysics() while
+ * {@link #nextStep()} returns true. The scheduler protects against the
+ * "spiral of death" (physics steps taking longer than the time they simulate)
+ * by limiting each frame's steps to a budget based on the measured cost of
+ * previous steps. Owed steps that do not fit the budget are merged into
+ * larger steps (if {@link #setMaximumMergedSteps(int)} allows) or dropped.<br>
+ * <br>
+ * Frame durations are smoothed across frames and snapped to multiples of the
+ * target timestep to reduce jitter from inconsistent frame pacing. Rendering
+ * can optionally be limited to a lower rate than the loop via
+ * {@link #setTargetRenderInterval(long)}.
+ */
+public class TimestepScheduler {
+	/**
+	 * The default number of frames that frame durations are smoothed across
+	 */
+	public static int DEFAULT_SMOOTHING_FRAMES = 4;
+	/**
+	 * The default maximum number of physics steps per frame
+	 */
+	public static int DEFAULT_MAXIMUM_STEPS_PER_FRAME = 5;
+	/**
+	 * The default tolerance in nanoseconds for snapping frame durations to multiples of the target timestep
+	 */
+	public static long DEFAULT_SNAP_TOLERANCE_NANOS = 250000L;
+
+	private static final float STEP_COST_SMOOTHING = 0.1f;
+
+	private final long targetTimestepNanos;
+	private final long maximumFrameDeltaNanos;
+
+	private long [] frameDeltas = new long[DEFAULT_SMOOTHING_FRAMES];
+	private int frameDeltaIndex, totalFrameDeltas;
+	private long frameDeltaSum;
+	private long snapToleranceNanos = DEFAULT_SNAP_TOLERANCE_NANOS;
+
+	private int maximumStepsPerFrame = DEFAULT_MAXIMUM_STEPS_PER_FRAME;
+	private int maximumMergedSteps = 1;
+	private long stepBudgetNanos;
+	private long targetRenderIntervalNanos;
+
+	private long accumulator;
+	private long deltaNanos;
+	private long averageStepCostNanos;
+	private long stepNanos;
+	private int stepsRemaining;
+	private long stepStartTime = -1L;
+	private long firstStepStartTime;
+	private int frameSteps;
+
+	private long timeSinceRender = Long.MAX_VALUE / 2L;
+	private boolean shouldRender = true;
+	private boolean renderSkippingSupported = true;
+
+	private long totalSteps, droppedSteps, mergedSteps, skippedRenders;
+
+	/**
+	 * Constructor. The step budget defaults to the target timestep.
+	 * @param targetTimestepNanos The duration of a single physics step in nanoseconds
+	 * @param maximumFrameDeltaNanos The maximum frame duration in nanoseconds. Longer frames are clamped to this value.
+	 */
+	public TimestepScheduler(long targetTimestepNanos, long maximumFrameDeltaNanos) {
+		this.targetTimestepNanos = targetTimestepNanos;
+		this.maximumFrameDeltaNanos = maximumFrameDeltaNanos;
+		this.stepBudgetNanos = targetTimestepNanos;
+	}
+
+	/**
+	 * Begins a frame and plans its physics steps
+	 * @param frameDeltaNanos The measured duration since the previous frame in nanoseconds
+	 */
+	public void beginFrame(long frameDeltaNanos) {
+		if(stepStartTime >= 0L) {
+			endStep();
+		}
+		if(frameDeltaNanos < 0L) {
+			frameDeltaNanos = 0L;
+		} else if(frameDeltaNanos > maximumFrameDeltaNanos) {
+			frameDeltaNanos = maximumFrameDeltaNanos;
+		}
+		deltaNanos = snap(smooth(frameDeltaNanos));
+		accumulator += deltaNanos;
+
+		if(renderSkippingSupported) {
+			timeSinceRender += frameDeltaNanos;
+			shouldRender = timeSinceRender + snapToleranceNanos >= targetRenderIntervalNanos;
+			if(shouldRender) {
+				timeSinceRender = 0L;
+			} else {
+				skippedRenders++;
+			}
+		}
+
+		final int owedSteps = (int) Math.min(accumulator / targetTimestepNanos, Integer.MAX_VALUE);
+		int allowedSteps = maximumStepsPerFrame;
+		if(averageStepCostNanos > 0L) {
+			allowedSteps = (int) Math.min(allowedSteps, Math.max(1L, stepBudgetNanos / averageStepCostNanos));
+		}
+
+		frameSteps = 0;
+		stepNanos = targetTimestepNanos;
+		if(owedSteps <= allowedSteps) {
+			stepsRemaining = owedSteps;
+			return;
+		}
+		final int stepsPerMerge = Math.min(maximumMergedSteps, (owedSteps + allowedSteps - 1) / allowedSteps);
+		stepsRemaining = Math.min(allowedSteps, owedSteps / stepsPerMerge);
+		stepNanos = targetTimestepNanos * stepsPerMerge;
+		dropSteps(owedSteps - (stepsRemaining * stepsPerMerge));
+	}
+
+	/**
+	 * Advances to the next physics step of the current frame
+	 * @return True if a physics step should be run, false if all steps for this frame are complete
+	 */
+	public boolean nextStep() {
+		final long time = Mdx.platformUtils.nanoTime();
+		if(stepStartTime >= 0L) {
+			endStep(time);
+		} else {
+			firstStepStartTime = time;
+		}
+		if(stepsRemaining <= 0) {
+			return false;
+		}
+		if(frameSteps > 0 && time - firstStepStartTime >= stepBudgetNanos) {
+			//Steps are taking longer than planned
+			dropSteps((int) ((stepsRemaining * stepNanos) / targetTimestepNanos));
+			stepsRemaining = 0;
+			return false;
+		}
+		stepsRemaining--;
+		accumulator -= stepNanos;
+		stepStartTime = time;
+		return true;
+	}
+
+	private void endStep() {
+		endStep(Mdx.platformUtils.nanoTime());
+	}
+
+	private void endStep(long time) {
+		final long stepsPerMerge = stepNanos / targetTimestepNanos;
+		final long stepCost = (time - stepStartTime) / stepsPerMerge;
+		if(averageStepCostNanos == 0L) {
+			averageStepCostNanos = stepCost;
+		} else {
+			averageStepCostNanos += (long) ((stepCost - averageStepCostNanos) * STEP_COST_SMOOTHING);
+		}
+		stepStartTime = -1L;
+		frameSteps++;
+		totalSteps++;
+		//Merged steps are only counted once they have run, steps cut by the budget are counted as dropped
+		mergedSteps += stepsPerMerge - 1L;
+	}
+
+	private void dropSteps(int steps) {
+		if(steps <= 0) {
+			return;
+		}
+		accumulator -= steps * targetTimestepNanos;
+		droppedSteps += steps;
+	}
+
+	private long smooth(long frameDeltaNanos) {
+		if(totalFrameDeltas == frameDeltas.length) {
+			frameDeltaSum -= frameDeltas[frameDeltaIndex];
+		} else {
+			totalFrameDeltas++;
+		}
+		frameDeltas[frameDeltaIndex] = frameDeltaNanos;
+		frameDeltaSum += frameDeltaNanos;
+		frameDeltaIndex = (frameDeltaIndex + 1) % frameDeltas.length;
+		return frameDeltaSum / totalFrameDeltas;
+	}
+
+	private long snap(long frameDeltaNanos) {
+		final long multiple = (frameDeltaNanos + (targetTimestepNanos / 2L)) / targetTimestepNanos;
+		if(multiple == 0L) {
+			return frameDeltaNanos;
+		}
+		final long snapped = multiple * targetTimestepNanos;
+		if(Math.abs(frameDeltaNanos - snapped) <= snapToleranceNanos) {
+			return snapped;
+		}
+		return frameDeltaNanos;
+	}
+
+	/**
+	 * Returns the duration of the current physics step
+	 * @return The duration in seconds. This is the target timestep unless steps were merged.
+	 */
+	public float getStepSeconds() {
+		return stepNanos / 1000000000f;
+	}
+
+	/**
+	 * Returns the smoothed duration of the current frame
+	 * @return The duration in seconds
+	 */
+	public float getDeltaSeconds() {
+		return deltaNanos / 1000000000f;
+	}
+
+	/**
+	 * Returns the interpolation alpha between the previous and next physics step
+	 * @return A value between 0 and 1
+	 */
+	public float getAlpha() {
+		return Math.min(1f, Math.max(0f, (accumulator * 1f) / (targetTimestepNanos * 1f)));
+	}
+
+	/**
+	 * Returns if the current frame should be rendered based on the target render interval
+	 * @return True if the frame should be rendered
+	 */
+	public boolean shouldRender() {
+		return shouldRender;
+	}
+
+	/**
+	 * Returns the number of physics steps run in the previous frame
+	 * @return 0 if no steps were run
+	 */
+	public int getFrameSteps() {
+		return frameSteps;
+	}
+
+	/**
+	 * Returns the moving average duration of a single physics step
+	 * @return The duration in nanoseconds, 0 if no steps have been measured
+	 */
+	public long getAverageStepCostNanos() {
+		return averageStepCostNanos;
+	}
+
+	public long getTotalSteps() {
+		return totalSteps;
+	}
+
+	/**
+	 * Returns the number of owed physics steps that were discarded to stay within the step budget
+	 * @return 0 if no steps have been dropped
+	 */
+	public long getDroppedSteps() {
+		return droppedSteps;
+	}
+
+	/**
+	 * Returns the number of owed physics steps that were merged into larger steps
+	 * @return 0 if no steps have been merged
+	 */
+	public long getMergedSteps() {
+		return mergedSteps;
+	}
+
+	/**
+	 * Returns the number of frames not rendered due to the target render interval
+	 * @return 0 if no renders have been skipped
+	 */
+	public long getSkippedRenders() {
+		return skippedRenders;
+	}
+
+	/**
+	 * Resets the step and render metrics to 0
+	 */
+	public void resetMetrics() {
+		totalSteps = 0L;
+		droppedSteps = 0L;
+		mergedSteps = 0L;
+		skippedRenders = 0L;
+	}
+
+	public long getTargetTimestepNanos() {
+		return targetTimestepNanos;
+	}
+
+	public long getMaximumFrameDeltaNanos() {
+		return maximumFrameDeltaNanos;
+	}
+
+	public int getMaximumStepsPerFrame() {
+		return maximumStepsPerFrame;
+	}
+
+	/**
+	 * Sets the maximum number of physics steps per frame regardless of step budget
+	 * @param maximumStepsPerFrame A value of 1 or more
+	 */
+	public void setMaximumStepsPerFrame(int maximumStepsPerFrame) {
+		this.maximumStepsPerFrame = Math.max(1, maximumStepsPerFrame);
+	}
+
+	public int getMaximumMergedSteps() {
+		return maximumMergedSteps;
+	}
+
+	/**
+	 * Sets how many owed physics steps may be merged into a single larger step
+	 * when they do not fit the step budget. Merged steps pass a multiple of the
+	 * target timestep to updatePhysics().
+	 * @param maximumMergedSteps 1 (default) to always drop steps instead of merging
+	 */
+	public void setMaximumMergedSteps(int maximumMergedSteps) {
+		this.maximumMergedSteps = Math.max(1, maximumMergedSteps);
+	}
+
+	public long getStepBudgetNanos() {
+		return stepBudgetNanos;
+	}
+
+	/**
+	 * Sets the time per frame that may be spent on physics steps
+	 * @param stepBudgetNanos The budget in nanoseconds
+	 */
+	public void setStepBudgetNanos(long stepBudgetNanos) {
+		this.stepBudgetNanos = stepBudgetNanos;
+	}
+
+	public long getTargetRenderIntervalNanos() {
+		return targetRenderIntervalNanos;
+	}
+
+	/**
+	 * Sets the minimum time between rendered frames. Only applied on platforms
+	 * where {@link #isRenderSkippingSupported()} is true, on mobile platforms
+	 * the operating system drives rendering.
+	 * @param targetRenderIntervalNanos The interval in nanoseconds, 0 (default) to render every frame
+	 */
+	public void setTargetRenderInterval(long targetRenderIntervalNanos) {
+		this.targetRenderIntervalNanos = targetRenderIntervalNanos;
+	}
+
+	public boolean isRenderSkippingSupported() {
+		return renderSkippingSupported;
+	}
+
+	/**
+	 * Sets if the platform game loop can skip rendering frames. Platforms where the
+	 * operating system drives rendering disable this so that every frame is rendered
+	 * and no renders are counted as skipped.
+	 * @param renderSkippingSupported True (default) if {@link #shouldRender()} is applied by the game loop
+	 */
+	public void setRenderSkippingSupported(boolean renderSkippingSupported) {
+		this.renderSkippingSupported = renderSkippingSupported;
+		if(!renderSkippingSupported) {
+			shouldRender = true;
+		}
+	}
+
+	public long getSnapToleranceNanos() {
+		return snapToleranceNanos;
+	}
+
+	/**
+	 * Sets the tolerance for snapping frame durations to multiples of the target timestep
+	 * @param snapToleranceNanos The tolerance in nanoseconds, 0 to disable snapping
+	 */
+	public void setSnapToleranceNanos(long snapToleranceNanos) {
+		this.snapToleranceNanos = snapToleranceNanos;
+	}
+
+	public int getSmoothingFrames() {
+		return frameDeltas.length;
+	}
+
+	/**
+	 * Sets the number of frames that frame durations are averaged across
+	 * @param smoothingFrames 1 to disable smoothing
+	 */
+	public void setSmoothingFrames(int smoothingFrames) {
+		frameDeltas = new long[Math.max(1, smoothingFrames)];
+		frameDeltaIndex = 0;
+		totalFrameDeltas = 0;
+		frameDeltaSum = 0L;
+	}
+}
@@ -33,7 +33,9 @@ public interface AssetLoader<T> {
 	public boolean loadOnGameThread(AssetManager assetManager, AssetDescriptor<T> assetDescriptor, AsyncLoadingCache asyncLoadingCache, AssetLoaderResult<T> resultHolder);
 
 	/**
-	 * Returns an {@link Array} of assets that the requested asset depends on
+	 * Returns an {@link Array} of assets that the requested asset depends on.
+	 *
+	 * Note: This is called on a non-main thread by {@link AssetManager}
 	 * @param assetDescriptor A descriptor of the asset to be loaded
 	 * @param asyncLoadingCache Stores values loaded on other threads
 	 * @return An empty instance of {@link Array} or null if there's no dependencies
@@ -17,9 +17,20 @@ package org.mini2Dx.core.assets;
 
 import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.executor.AsyncFuture;
+import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.Disposable;
 
+/**
+ * Loads a single asset for an {@link AssetManager}.
+ *
+ * Resolving the file, retrieving dependencies and {@link AsyncAssetLoader} work are executed on {@link Mdx#executor}
+ * via {@link #prepare(AssetManager)} so that many tasks progress in parallel. Only
+ * {@link AssetLoader#loadOnGameThread(AssetManager, AssetDescriptor, AsyncLoadingCache, AssetLoaderResult)} is
+ * executed on the game thread once all dependencies are loaded.
+ *
+ * @param <T> The resulting type of the asset
+ */
 public class AssetLoadingTask<T> implements Runnable, Comparable<AssetLoadingTask>, Disposable {
 	private static final String LOGGING_TAG = AssetLoadingTask.class.getSimpleName();
 
@@ -27,12 +38,17 @@ public class AssetLoadingTask<T> implements Runnable, Comparable<AssetLoadingTas
 	private final AssetLoader<T> assetLoader;
 	private final AssetDescriptor<T> assetDescriptor;
 
+	private FileHandleResolver fileHandleResolver;
+	private RuntimeException failure;
+
 	private Array<AssetDescriptor> dependencies;
+	private int totalDependencies = -1;
 	private boolean dependenciesRetrieved = false;
 	private boolean dependenciesQueued = false;
 	private boolean dependenciesLoaded = false;
 
 	private boolean asyncCompleted;
+	private boolean prepared;
 	private AsyncFuture asyncFuture;
 	private AsyncLoadingCache asyncLoadingCache;
 
@@ -47,13 +63,34 @@ public class AssetLoadingTask<T> implements Runnable, Comparable<AssetLoadingTas
 		}
 	}
 
-	public boolean update(AssetManager assetManager) {
-		if(!dependenciesRetrieved) {
-			dependencies = assetLoader.getDependencies(assetDescriptor, asyncLoadingCache);
-			dependenciesRetrieved = true;
+	/**
+	 * Advances all loading stages that do not require the game thread. This never blocks.
+	 * @param assetManager The {@link AssetManager} executing the loading
+	 * @return True if the asset is ready for {@link #loadOnGameThread(AssetManager)}
+	 */
+	public boolean prepare(AssetManager assetManager) {
+		if(prepared) {
+			return true;
+		}
+		if(asyncFuture != null) {
+			if(!asyncFuture.isFinished()) {
+				return false;
+			}
+			asyncFuture = null;
+		}
+		if(failure != null) {
+			final RuntimeException result = failure;
+			failure = null;
+			throw result;
+		}
+		if(totalDependencies < 0 && dependenciesRetrieved) {
+			totalDependencies = dependencies == null ? 0 : dependencies.size;
+		}
 
-			dependenciesQueued = dependencies == null;
-			dependenciesLoaded = dependenciesQueued;
+		if(!dependenciesRetrieved) {
+			//Resolve the file and read dependencies off the game thread, loaders without dependencies continue straight to async loading
+			fileHandleResolver = assetManager.getFileHandleResolver();
+			asyncFuture = Mdx.executor.submit((Runnable) this);
 			return false;
 		}
 
@@ -62,7 +99,6 @@ public class AssetLoadingTask<T> implements Runnable, Comparable<AssetLoadingTas
 				assetManager.load(dependencies.get(i));
 			}
 			dependenciesQueued = true;
-			return false;
 		}
 
 		if(!dependenciesLoaded) {
@@ -75,16 +111,29 @@ public class AssetLoadingTask<T> implements Runnable, Comparable<AssetLoadingTas
 		}
 
 		if(!asyncCompleted) {
-			if(asyncFuture == null) {
-				asyncFuture = Mdx.executor.submit((Runnable) this);
-			}
-			asyncCompleted = asyncFuture.isFinished();
+			asyncFuture = Mdx.executor.submit((Runnable) this);
 			return false;
 		}
+		prepared = true;
+		return true;
+	}
 
+	/**
+	 * Returns if {@link #prepare(AssetManager)} has completed all stages that do not require the game thread
+	 * @return True if the asset is ready for {@link #loadOnGameThread(AssetManager)}
+	 */
+	public boolean isPrepared() {
+		return prepared;
+	}
+
+	/**
+	 * Executes the game thread stage of loading. Must only be called once {@link #prepare(AssetManager)} returns true.
+	 * @param assetManager The {@link AssetManager} executing the loading
+	 * @return True if the asset has been loaded
+	 */
+	public boolean loadOnGameThread(AssetManager assetManager) {
 		if(assetLoader.loadOnGameThread(assetManager, assetDescriptor, asyncLoadingCache, assetLoaderResult)) {
-			assetManager.getAssets().put(assetDescriptor.getFilePath(), new ReferenceCountedObject(assetLoaderResult.getResult()));
-			assetManager.getAssetDescriptors().put(assetDescriptor.getFilePath(), assetDescriptor);
+			assetManager.addLoadedAsset(assetDescriptor, assetLoaderResult.getResult(), dependencies);
 			return true;
 		}
 		return false;
@@ -92,12 +141,37 @@ public class AssetLoadingTask<T> implements Runnable, Comparable<AssetLoadingTas
 
 	@Override
 	public void run() {
+		if(!dependenciesRetrieved) {
+			try {
+				retrieveDependencies();
+			} catch (RuntimeException e) {
+				failure = e;
+				return;
+			}
+			if(!dependenciesLoaded) {
+				return;
+			}
+		}
+		if(asyncCompleted) {
+			return;
+		}
 		try {
 			AsyncAssetLoader<T> asyncAssetLoader = (AsyncAssetLoader) assetLoader;
 			asyncAssetLoader.loadOnAsyncThread(assetDescriptor, asyncLoadingCache);
 		} catch (Exception e) {
 			Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
 		}
+		asyncCompleted = true;
+	}
+
+	private void retrieveDependencies() {
+		if(assetDescriptor.getResolvedFileHandle() == null) {
+			assetDescriptor.setResolvedFileHandle(fileHandleResolver.resolve(assetDescriptor.getFilePath()));
+		}
+		dependencies = assetLoader.getDependencies(assetDescriptor, asyncLoadingCache);
+		dependenciesQueued = dependencies == null || dependencies.size == 0;
+		dependenciesLoaded = dependenciesQueued;
+		dependenciesRetrieved = true;
 	}
 
 	@Override
@@ -105,14 +179,16 @@ public class AssetLoadingTask<T> implements Runnable, Comparable<AssetLoadingTas
 		return Integer.compare(o.getTotalDependencies(), getTotalDependencies());
 	}
 
+	/**
+	 * Returns the total dependencies of the asset as observed by the game thread
+	 * @return -1 if the dependencies have not been retrieved yet
+	 */
 	public int getTotalDependencies() {
-		if(!dependenciesRetrieved) {
-			return -1;
-		}
-		if(dependencies == null) {
-			return 0;
-		}
-		return dependencies.size;
+		return totalDependencies;
+	}
+
+	public AssetDescriptor<T> getAssetDescriptor() {
+		return assetDescriptor;
 	}
 
 	@Override
@@ -16,6 +16,9 @@
 package org.mini2Dx.core.assets;
 
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.assets.estimator.FileSizeEstimator;
+import org.mini2Dx.core.assets.estimator.PixmapSizeEstimator;
+import org.mini2Dx.core.assets.estimator.TextureSizeEstimator;
 import org.mini2Dx.core.assets.loader.*;
 import org.mini2Dx.core.audio.Music;
 import org.mini2Dx.core.audio.Sound;
@@ -27,7 +30,9 @@ import org.mini2Dx.core.graphics.Texture;
 import org.mini2Dx.core.graphics.TextureAtlas;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.Disposable;
+import org.mini2Dx.gdx.utils.ObjectIntMap;
 import org.mini2Dx.gdx.utils.ObjectMap;
+import org.mini2Dx.gdx.utils.ObjectSet;
 
 import java.util.concurrent.TimeUnit;
 
@@ -44,6 +49,19 @@ import java.util.concurrent.TimeUnit;
  * Some assets will be wrapped in a wrapper class to track references to the asset. Calling dispose() on such assets decreases the reference count.
  * Once references to an asset are at zero, it will be disposed of by the AssetManager.
  * </p>
+ *
+ * <p>
+ * Loading is pipelined across {@link Mdx#executor}. File resolution, dependency retrieval and
+ * {@link AsyncAssetLoader} work for all queued assets run in parallel and only the game thread stage
+ * (e.g. uploading textures) is executed during {@link #update()} within {@link #UPDATE_TIMEBOX_MILLIS}.
+ * </p>
+ *
+ * <p>
+ * Each call to load() adds a reference to an asset and each call to {@link #unload(String)} removes one. Assets hold
+ * a reference to each of their dependencies until they are disposed. Assets with no references are kept resident
+ * while the estimated memory of all loaded assets fits within the {@link #setMemoryBudget(long)}, otherwise they
+ * are disposed in least recently used order. The default budget of 0 disposes assets as soon as they are unreferenced.
+ * </p>
  */
 public class AssetManager implements Disposable {
 	private static final String LOGGING_TAG = AssetManager.class.getSimpleName();
@@ -55,11 +73,23 @@ public class AssetManager implements Disposable {
 	private final FileHandleResolver fileHandleResolver;
 
 	private final ObjectMap<Class, AssetLoader> assetLoaders = new ObjectMap<Class, AssetLoader>();
+	private final ObjectMap<Class, AssetSizeEstimator> assetSizeEstimators = new ObjectMap<Class, AssetSizeEstimator>();
+	private final AssetSizeEstimator defaultAssetSizeEstimator = new FileSizeEstimator();
 	private final ObjectMap<String, ReferenceCountedObject> assets = new ObjectMap<String, ReferenceCountedObject>();
 	private final ObjectMap<String, AssetDescriptor> assetDescriptors = new ObjectMap<String, AssetDescriptor>();
 
 	private final Array<AssetDescriptor> loadingQueue = new Array<AssetDescriptor>(false, 32);
 	private final Array<AssetLoadingTask> loadingTasks = new Array<AssetLoadingTask>(false, 32);
+	private final ObjectMap<String, AssetDescriptor> pendingAssets = new ObjectMap<String, AssetDescriptor>();
+	private final ObjectIntMap<String> pendingReferences = new ObjectIntMap<String>();
+	private final ObjectSet<String> evictedAssets = new ObjectSet<String>();
+
+	private ReferenceCountedObject unreferencedHead, unreferencedTail;
+	private long memoryBudget = 0L;
+	private long residentBytes = 0L;
+	private long unreferencedBytes = 0L;
+	private long evictions = 0L;
+	private long reloads = 0L;
 
 	private float queuedAssets = 0f;
 	private float completedTasks = 0f;
@@ -79,14 +109,23 @@ public class AssetManager implements Disposable {
 			assetLoaders.put(Sound.class, new SoundLoader());
 			assetLoaders.put(Texture.class, new TextureLoader());
 			assetLoaders.put(TextureAtlas.class, new TextureAtlasLoader());
+
+			assetSizeEstimators.put(Pixmap.class, new PixmapSizeEstimator());
+			assetSizeEstimators.put(Texture.class, new TextureSizeEstimator());
 		}
 	}
 
 	public <T> T get(String filePath, Class<T> clazz) {
-		if(!assets.containsKey(filePath)) {
+		final ReferenceCountedObject asset = assets.get(filePath);
+		if(asset == null) {
 			throw new MdxException(filePath + " not yet loaded");
 		}
- 		return assets.get(filePath).getObject(clazz);
+		if(asset.unreferenced) {
+			//Keep recently used cached assets resident for longer
+			removeUnreferenced(asset);
+			addUnreferenced(asset);
+		}
+ 		return asset.getObject(clazz);
 	}
 
 	public <T> ObjectMap<String, T> getAll(Class<T> clazz) {
@@ -114,46 +153,190 @@ public class AssetManager implements Disposable {
 	}
 
 	public void load(AssetDescriptor assetDescriptor) {
-		if(assets.containsKey(assetDescriptor.getFilePath())) {
+		final ReferenceCountedObject loadedAsset = assets.get(assetDescriptor.getFilePath());
+		if(loadedAsset != null) {
+			if(loadedAsset.unreferenced) {
+				removeUnreferenced(loadedAsset);
+			}
+			loadedAsset.incrementCount();
 			return;
 		}
 		if(!assetLoaders.containsKey(assetDescriptor.getClazz())) {
 			throw new MdxException("No asset loader configured for " + assetDescriptor.getClazz().getName());
 		}
 
-		for(int i = 0; i < loadingQueue.size; i++) {
-			final AssetDescriptor queuedDescriptor = loadingQueue.get(i);
-			if(!queuedDescriptor.getFilePath().equals(assetDescriptor.getFilePath())) {
-				continue;
-			}
+		final AssetDescriptor queuedDescriptor = pendingAssets.get(assetDescriptor.getFilePath());
+		if(queuedDescriptor != null) {
 			if(!assetDescriptor.getClazz().equals(queuedDescriptor.getClazz())) {
 				throw new MdxException(assetDescriptor.getFilePath() + " already queued but with a different class type (queued: " +
 						queuedDescriptor.getClazz().getName() + ", attempting: " + assetDescriptor.getClazz().getName() + ")");
 			}
 			Mdx.log.debug(LOGGING_TAG, assetDescriptor.getFilePath() + " is already queued for loading");
+			pendingReferences.getAndIncrement(assetDescriptor.getFilePath(), 0, 1);
 			return;
 		}
+		if(evictedAssets.remove(assetDescriptor.getFilePath())) {
+			reloads++;
+		}
 
 		loadingQueue.add(assetDescriptor);
+		pendingAssets.put(assetDescriptor.getFilePath(), assetDescriptor);
+		pendingReferences.put(assetDescriptor.getFilePath(), 1);
 		queuedAssets++;
 	}
 
+	/**
+	 * Removes a reference to an asset. Once an asset has no references it is kept resident until
+	 * evicted to stay within the memory budget.
+	 * @param filePath The file path of the asset
+	 */
 	public void unload(String filePath) {
-		assets.remove(filePath);
-		assetDescriptors.remove(filePath);
+		final ReferenceCountedObject asset = assets.get(filePath);
+		if(asset == null) {
+			if(pendingAssets.containsKey(filePath)) {
+				//Asset will be cached or evicted as soon as it finishes loading
+				pendingReferences.getAndIncrement(filePath, 0, -1);
+			}
+			return;
+		}
+		if(asset.unreferenced) {
+			return;
+		}
+		asset.decrementCount();
+		if(asset.getReferenceCount() > 0) {
+			return;
+		}
+		addUnreferenced(asset);
+		evictToBudget();
+	}
+
+	/**
+	 * Disposes all assets that have no references
+	 */
+	public void evictUnreferencedAssets() {
+		while(unreferencedHead != null) {
+			evict(unreferencedHead);
+		}
+	}
+
+	void addLoadedAsset(AssetDescriptor assetDescriptor, Object asset, Array<AssetDescriptor> dependencies) {
+		final String filePath = assetDescriptor.getFilePath();
+
+		String[] dependencyPaths = null;
+		if(dependencies != null && dependencies.size > 0) {
+			dependencyPaths = new String[dependencies.size];
+			for(int i = 0; i < dependencies.size; i++) {
+				dependencyPaths[i] = dependencies.get(i).getFilePath();
+			}
+		}
+
+		final ReferenceCountedObject referenceCountedObject = new ReferenceCountedObject(filePath, asset,
+				estimateSize(assetDescriptor, asset), dependencyPaths);
+		referenceCountedObject.setReferenceCount(pendingReferences.remove(filePath, 1));
+		assets.put(filePath, referenceCountedObject);
+		assetDescriptors.put(filePath, assetDescriptor);
+		pendingAssets.remove(filePath);
+		residentBytes += referenceCountedObject.getEstimatedSize();
+
+		if(referenceCountedObject.getReferenceCount() <= 0) {
+			addUnreferenced(referenceCountedObject);
+		}
+		evictToBudget();
+	}
+
+	private long estimateSize(AssetDescriptor assetDescriptor, Object asset) {
+		final AssetSizeEstimator assetSizeEstimator = assetSizeEstimators.get(assetDescriptor.getClazz(), defaultAssetSizeEstimator);
+		try {
+			return Math.max(0L, assetSizeEstimator.estimateSize(assetDescriptor, asset));
+		} catch (Exception e) {
+			Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
+			return 0L;
+		}
+	}
+
+	private void evictToBudget() {
+		while(unreferencedHead != null && residentBytes > memoryBudget) {
+			evict(unreferencedHead);
+		}
+	}
+
+	private void evict(ReferenceCountedObject asset) {
+		removeUnreferenced(asset);
+		assets.remove(asset.getFilePath());
+		assetDescriptors.remove(asset.getFilePath());
+		evictedAssets.add(asset.getFilePath());
+		residentBytes -= asset.getEstimatedSize();
+		evictions++;
+
+		final Object object = asset.getObject(Object.class);
+		if(object instanceof Disposable) {
+			((Disposable) object).dispose();
+		}
+
+		final String[] dependencies = asset.getDependencies();
+		if(dependencies == null) {
+			return;
+		}
+		for(int i = 0; i < dependencies.length; i++) {
+			unload(dependencies[i]);
+		}
+	}
+
+	private void addUnreferenced(ReferenceCountedObject asset) {
+		asset.unreferenced = true;
+		asset.previousUnreferenced = unreferencedTail;
+		asset.nextUnreferenced = null;
+		if(unreferencedTail != null) {
+			unreferencedTail.nextUnreferenced = asset;
+		} else {
+			unreferencedHead = asset;
+		}
+		unreferencedTail = asset;
+		unreferencedBytes += asset.getEstimatedSize();
+	}
+
+	private void removeUnreferenced(ReferenceCountedObject asset) {
+		if(asset.previousUnreferenced != null) {
+			asset.previousUnreferenced.nextUnreferenced = asset.nextUnreferenced;
+		} else {
+			unreferencedHead = asset.nextUnreferenced;
+		}
+		if(asset.nextUnreferenced != null) {
+			asset.nextUnreferenced.previousUnreferenced = asset.previousUnreferenced;
+		} else {
+			unreferencedTail = asset.previousUnreferenced;
+		}
+		asset.previousUnreferenced = null;
+		asset.nextUnreferenced = null;
+		asset.unreferenced = false;
+		unreferencedBytes -= asset.getEstimatedSize();
 	}
 
 	public boolean update() {
 		final long startTime = System.nanoTime();
+		final long timeboxNanos = TimeUnit.MILLISECONDS.toNanos(UPDATE_TIMEBOX_MILLIS);
 
-		while(loadingQueue.size > 0) {
-			final AssetDescriptor assetDescriptor = loadingQueue.removeIndex(0);
-			assetDescriptor.setResolvedFileHandle(fileHandleResolver.resolve(assetDescriptor.getFilePath()));
-			final AssetLoader assetLoader = assetLoaders.get(assetDescriptor.getClazz());
-			loadingTasks.add(new AssetLoadingTask(assetLoader, assetDescriptor));
+		if(loadingQueue.size > 0) {
+			for(int i = 0; i < loadingQueue.size; i++) {
+				final AssetDescriptor assetDescriptor = loadingQueue.get(i);
+				final AssetLoader assetLoader = assetLoaders.get(assetDescriptor.getClazz());
+				loadingTasks.add(new AssetLoadingTask(assetLoader, assetDescriptor));
+			}
+			loadingQueue.clear();
 			loadingTasksDirty = true;
 		}
-		if(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(UPDATE_TIMEBOX_MILLIS)) {
+
+		//Kick off executor work for every task before the timeboxed game thread stage so that I/O and decoding run in parallel
+		for(int i = loadingTasks.size - 1; i >= 0; i--) {
+			final AssetLoadingTask loadingTask = loadingTasks.get(i);
+			try {
+				loadingTask.prepare(this);
+			} catch (RuntimeException e) {
+				removeFailedTask(i);
+				throw e;
+			}
+		}
+		if(System.nanoTime() - startTime >= timeboxNanos) {
 			return false;
 		}
 
@@ -163,23 +346,33 @@ public class AssetManager implements Disposable {
 			loadingTasksDirty = false;
 		}
 
-		if(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(UPDATE_TIMEBOX_MILLIS)) {
+		if(System.nanoTime() - startTime >= timeboxNanos) {
 			return false;
 		}
 
 		for(int i = loadingTasks.size - 1; i >= 0; i--) {
-			if(loadingTasks.get(i).update(this)) {
+			final AssetLoadingTask loadingTask = loadingTasks.get(i);
+			if(loadingTask.isPrepared() && loadingTask.loadOnGameThread(this)) {
 				loadingTasks.removeIndex(i);
 				completedTasks++;
 				loadingTasksDirty = true;
 			}
-			if(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(UPDATE_TIMEBOX_MILLIS)) {
+			if(System.nanoTime() - startTime >= timeboxNanos) {
 				return false;
 			}
 		}
 		return loadingTasks.size == 0 && loadingQueue.size == 0;
 	}
 
+	private void removeFailedTask(int index) {
+		final AssetLoadingTask loadingTask = loadingTasks.removeIndex(index);
+		final String filePath = loadingTask.getAssetDescriptor().getFilePath();
+		pendingAssets.remove(filePath);
+		pendingReferences.remove(filePath, 0);
+		loadingTask.dispose();
+		loadingTasksDirty = true;
+	}
+
 	public void finishLoading() {
 		while(!update()) {
 
@@ -196,6 +389,16 @@ public class AssetManager implements Disposable {
 		assetLoaders.put(clazz, assetLoader);
 	}
 
+	/**
+	 * Sets the {@link AssetSizeEstimator} to use for a specific class. Classes without an estimator are estimated by file size.
+	 * @param clazz The class to use the estimator for
+	 * @param assetSizeEstimator The {@link AssetSizeEstimator}
+	 * @param <T> The class type
+	 */
+	public <T> void setAssetSizeEstimator(Class<T> clazz, AssetSizeEstimator<T> assetSizeEstimator) {
+		assetSizeEstimators.put(clazz, assetSizeEstimator);
+	}
+
 	/**
 	 * Clears all {@link AssetLoader}s so that new ones can be set
 	 */
@@ -206,6 +409,9 @@ public class AssetManager implements Disposable {
 	@Override
 	public void dispose() {
 		loadingQueue.clear();
+		loadingTasks.clear();
+		pendingAssets.clear();
+		pendingReferences.clear();
 	}
 
 	/**
@@ -240,6 +446,56 @@ public class AssetManager implements Disposable {
 		return queuedAssets - completedTasks;
 	}
 
+	/**
+	 * Returns the memory budget for loaded assets
+	 * @return The budget in bytes
+	 */
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Sets the memory budget for loaded assets. Assets with no references are disposed in least recently used
+	 * order while the estimated memory of all loaded assets exceeds the budget. Referenced assets are never disposed.
+	 * @param memoryBudget The budget in bytes. 0 disposes assets as soon as they have no references.
+	 */
+	public void setMemoryBudget(long memoryBudget) {
+		this.memoryBudget = Math.max(0L, memoryBudget);
+		evictToBudget();
+	}
+
+	/**
+	 * Returns the estimated memory of all loaded assets, including assets with no references
+	 * @return The size in bytes
+	 */
+	public long getResidentBytes() {
+		return residentBytes;
+	}
+
+	/**
+	 * Returns the estimated memory of loaded assets that have no references and can be evicted
+	 * @return The size in bytes
+	 */
+	public long getUnreferencedBytes() {
+		return unreferencedBytes;
+	}
+
+	/**
+	 * Returns the total assets disposed by this {@link AssetManager}
+	 * @return A value more than or equal zero
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Returns the total assets that were loaded again after being disposed
+	 * @return A value more than or equal zero
+	 */
+	public long getReloads() {
+		return reloads;
+	}
+
 	public FileHandleResolver getFileHandleResolver() {
 		return fileHandleResolver;
 	}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright 2019 Viridian Software Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.assets;
+
+/**
+ * Interface for estimating the memory usage of assets loaded by {@link AssetManager}
+ * @param <T> The type of asset to estimate
+ */
+public interface AssetSizeEstimator<T> {
+
+	/**
+	 * Estimates the memory usage of a loaded asset
+	 * @param assetDescriptor A descriptor of the loaded asset
+	 * @param asset The loaded asset
+	 * @return The estimated size in bytes
+	 */
+	public long estimateSize(AssetDescriptor<T> assetDescriptor, T asset);
+}
@@ -15,10 +15,20 @@
  ******************************************************************************/
 package org.mini2Dx.core.assets;
 
+/**
+ * Wraps an asset loaded by {@link AssetManager} and tracks references to it along with its estimated memory usage.
+ * Objects with no references remain resident in an LRU order until evicted by the {@link AssetManager}.
+ */
 public class ReferenceCountedObject {
 	private final Object object;
 
 	private int referenceCount;
+	private long estimatedSize;
+	private String filePath;
+	private String[] dependencies;
+
+	ReferenceCountedObject previousUnreferenced, nextUnreferenced;
+	boolean unreferenced;
 
 	public ReferenceCountedObject(Object object) {
 		super();
@@ -28,6 +38,13 @@ public class ReferenceCountedObject {
 		this.object = object;
 	}
 
+	ReferenceCountedObject(String filePath, Object object, long estimatedSize, String[] dependencies) {
+		this(object);
+		this.filePath = filePath;
+		this.estimatedSize = estimatedSize;
+		this.dependencies = dependencies;
+	}
+
 	public void incrementCount() {
 		referenceCount++;
 	}
@@ -47,4 +64,28 @@ public class ReferenceCountedObject {
 	public <T> T getObject(Class<T> type) {
 		return (T) object;
 	}
+
+	/**
+	 * Returns the estimated memory usage of the object
+	 * @return The size in bytes
+	 */
+	public long getEstimatedSize() {
+		return estimatedSize;
+	}
+
+	/**
+	 * Returns the file path the object was loaded from
+	 * @return Null if the object was not loaded by an {@link AssetManager}
+	 */
+	public String getFilePath() {
+		return filePath;
+	}
+
+	/**
+	 * Returns the file paths of the assets this object holds references to
+	 * @return Null if there are no dependencies
+	 */
+	public String[] getDependencies() {
+		return dependencies;
+	}
 }
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright 2019 Viridian Software Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.assets.estimator;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.assets.AssetDescriptor;
+import org.mini2Dx.core.assets.AssetSizeEstimator;
+import org.mini2Dx.core.files.FileHandle;
+
+/**
+ * Estimates the memory usage of an asset as the size of the file it was loaded from.
+ * Used for asset types that have no specific {@link AssetSizeEstimator}.
+ */
+public class FileSizeEstimator implements AssetSizeEstimator<Object> {
+	private static final String LOGGING_TAG = FileSizeEstimator.class.getSimpleName();
+
+	@Override
+	public long estimateSize(AssetDescriptor<Object> assetDescriptor, Object asset) {
+		final FileHandle fileHandle = assetDescriptor.getResolvedFileHandle();
+		if(fileHandle == null) {
+			return 0L;
+		}
+		try {
+			return Math.max(0L, fileHandle.length());
+		} catch (Exception e) {
+			Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
+			return 0L;
+		}
+	}
+}
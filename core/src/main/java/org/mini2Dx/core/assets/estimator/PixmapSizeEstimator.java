@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright 2019 Viridian Software Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.assets.estimator;
+
+import org.mini2Dx.core.assets.AssetDescriptor;
+import org.mini2Dx.core.assets.AssetSizeEstimator;
+import org.mini2Dx.core.graphics.Pixmap;
+
+/**
+ * Estimates the memory usage of a {@link Pixmap} based on its dimensions and format
+ */
+public class PixmapSizeEstimator implements AssetSizeEstimator<Pixmap> {
+
+	@Override
+	public long estimateSize(AssetDescriptor<Pixmap> assetDescriptor, Pixmap asset) {
+		final int bytesPerPixel;
+		switch(asset.getFormat()) {
+		case ALPHA:
+		case INTENSITY:
+			bytesPerPixel = 1;
+			break;
+		case LUMINANCE_ALPHA:
+		case RGB565:
+		case RGBA4444:
+			bytesPerPixel = 2;
+			break;
+		case RGB888:
+			bytesPerPixel = 3;
+			break;
+		default:
+			bytesPerPixel = 4;
+			break;
+		}
+		return (long) asset.getWidth() * asset.getHeight() * bytesPerPixel;
+	}
+}
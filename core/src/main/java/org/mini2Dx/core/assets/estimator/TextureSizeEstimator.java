@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright 2019 Viridian Software Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.assets.estimator;
+
+import org.mini2Dx.core.assets.AssetDescriptor;
+import org.mini2Dx.core.assets.AssetSizeEstimator;
+import org.mini2Dx.core.graphics.Texture;
+
+/**
+ * Estimates the memory usage of a {@link Texture} as 4 bytes per pixel
+ */
+public class TextureSizeEstimator implements AssetSizeEstimator<Texture> {
+	private static final int BYTES_PER_PIXEL = 4;
+
+	@Override
+	public long estimateSize(AssetDescriptor<Texture> assetDescriptor, Texture asset) {
+		return (long) asset.getWidth() * asset.getHeight() * BYTES_PER_PIXEL;
+	}
+}
@@ -20,15 +20,29 @@ import org.mini2Dx.core.assets.*;
 import org.mini2Dx.core.graphics.Pixmap;
 import org.mini2Dx.gdx.utils.Array;
 
-public class PixmapLoader implements AssetLoader<Pixmap> {
+public class PixmapLoader implements AsyncAssetLoader<Pixmap> {
+	private static final String CACHE_PIXMAP_KEY = "pixmap";
 
 	@Override
 	public boolean loadOnGameThread(AssetManager assetManager, AssetDescriptor<Pixmap> assetDescriptor,
 	                                AsyncLoadingCache asyncLoadingCache, AssetLoaderResult<Pixmap> resultHolder) {
-		resultHolder.setResult(Mdx.graphics.newPixmap(assetDescriptor.getResolvedFileHandle()));
+		final Pixmap pixmap = asyncLoadingCache.getCache(CACHE_PIXMAP_KEY, Pixmap.class);
+		if(pixmap != null) {
+			resultHolder.setResult(pixmap);
+		} else {
+			resultHolder.setResult(Mdx.graphics.newPixmap(assetDescriptor.getResolvedFileHandle()));
+		}
 		return true;
 	}
 
+	@Override
+	public void loadOnAsyncThread(AssetDescriptor assetDescriptor, AsyncLoadingCache asyncLoadingCache) {
+		if(!Mdx.graphics.isAsyncPixmapLoadingSupported()) {
+			return;
+		}
+		asyncLoadingCache.setCache(CACHE_PIXMAP_KEY, Mdx.graphics.newPixmap(assetDescriptor.getResolvedFileHandle()));
+	}
+
 	@Override
 	public Array<AssetDescriptor> getDependencies(AssetDescriptor assetDescriptor, AsyncLoadingCache asyncLoadingCache) {
 		return null;
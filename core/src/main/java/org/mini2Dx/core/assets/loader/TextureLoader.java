@@ -17,6 +17,7 @@ package org.mini2Dx.core.assets.loader;
 
 import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.assets.*;
+import org.mini2Dx.core.graphics.Pixmap;
 import org.mini2Dx.core.graphics.Texture;
 import org.mini2Dx.gdx.utils.Array;
 
@@ -25,10 +26,18 @@ import java.io.IOException;
 public class TextureLoader implements AsyncAssetLoader<Texture> {
 	private static final String LOGGING_TAG = TextureLoader.class.getSimpleName();
 	private static final String CACHE_TEXTURE_DATA_KEY = "textureData";
+	private static final String CACHE_PIXMAP_KEY = "pixmap";
 
 	@Override
 	public boolean loadOnGameThread(AssetManager assetManager, AssetDescriptor<Texture> assetDescriptor,
 	                                AsyncLoadingCache asyncLoadingCache, AssetLoaderResult<Texture> resultHolder) {
+		final Pixmap pixmap = asyncLoadingCache.getCache(CACHE_PIXMAP_KEY, Pixmap.class);
+		if(pixmap != null) {
+			//Image was decoded on the async thread, only the upload happens here
+			resultHolder.setResult(Mdx.graphics.newTexture(pixmap));
+			pixmap.dispose();
+			return true;
+		}
 		resultHolder.setResult(Mdx.graphics.newTexture(asyncLoadingCache.getCache(CACHE_TEXTURE_DATA_KEY, byte[].class)));
 		return true;
 	}
@@ -36,6 +45,10 @@ public class TextureLoader implements AsyncAssetLoader<Texture> {
 	@Override
 	public void loadOnAsyncThread(AssetDescriptor assetDescriptor, AsyncLoadingCache asyncLoadingCache) {
 		try {
+			if(Mdx.graphics.isAsyncPixmapLoadingSupported()) {
+				asyncLoadingCache.setCache(CACHE_PIXMAP_KEY, Mdx.graphics.newPixmap(assetDescriptor.getResolvedFileHandle()));
+				return;
+			}
 			asyncLoadingCache.setCache(CACHE_TEXTURE_DATA_KEY, assetDescriptor.getResolvedFileHandle().readBytes());
 		} catch (IOException e) {
 			Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections;
+
+/**
+ * Determines which key is removed from {@link LruObjectMap} and {@link LruIntMap} once the maximum capacity is reached
+ */
+public enum EvictionPolicy {
+	/**
+	 * Removes the least-recently used key
+	 */
+	LRU,
+	/**
+	 * Window TinyLFU. New keys enter a small LRU window and must have been used more frequently than
+	 * the least-recently used key of the main region to be retained. Suits caches where a burst of
+	 * one-off lookups should not evict frequently used keys.
+	 */
+	W_TINY_LFU
+}
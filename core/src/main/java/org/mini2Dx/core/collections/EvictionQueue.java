@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections;
+
+/**
+ * Tracks the access order of map entries in O(1) per operation for {@link LruObjectMap} and {@link LruIntMap}.
+ *
+ * Each entry occupies a slot in a set of index-linked lists. For {@link EvictionPolicy#LRU} a single list is
+ * used. For {@link EvictionPolicy#W_TINY_LFU} entries move through a window, probation and protected list
+ * and a {@link FrequencySketch} decides whether a new entry or the oldest probation entry is evicted.
+ */
+class EvictionQueue {
+	private static final int WINDOW = 0;
+	private static final int PROBATION = 1;
+	private static final int PROTECTED = 2;
+
+	private final FrequencySketch sketch;
+	private final int maxWindow, maxProtected;
+
+	private final int [] heads = new int[] { -1, -1, -1 };
+	private final int [] tails = new int[] { -1, -1, -1 };
+	private final int [] sizes = new int[3];
+
+	private int [] previous, next, hashes;
+	private byte [] segments;
+	private int totalSlots = 0;
+	private int freeSlot = -1;
+
+	EvictionQueue(EvictionPolicy policy, int initialCapacity, int maxCapacity) {
+		if(policy == EvictionPolicy.W_TINY_LFU) {
+			sketch = new FrequencySketch(maxCapacity);
+			maxWindow = Math.max(1, maxCapacity / 100);
+			maxProtected = (int) ((maxCapacity - maxWindow) * 0.8f);
+		} else {
+			sketch = null;
+			maxWindow = Integer.MAX_VALUE;
+			maxProtected = 0;
+		}
+
+		initialCapacity = Math.max(1, Math.min(initialCapacity, maxCapacity + 1));
+		previous = new int[initialCapacity];
+		next = new int[initialCapacity];
+		hashes = new int[initialCapacity];
+		segments = new byte[initialCapacity];
+	}
+
+	/**
+	 * Adds a new entry as the most recently used
+	 * @param hash The hash of the entry's key
+	 * @return The slot assigned to the entry
+	 */
+	int add(int hash) {
+		final int slot;
+		if(freeSlot >= 0) {
+			slot = freeSlot;
+			freeSlot = next[slot];
+		} else {
+			if(totalSlots == hashes.length) {
+				resize(totalSlots * 2);
+			}
+			slot = totalSlots++;
+		}
+		hashes[slot] = hash;
+		push(slot, WINDOW);
+
+		if(sketch == null) {
+			return slot;
+		}
+		sketch.increment(hash);
+		while(sizes[WINDOW] > maxWindow) {
+			move(tails[WINDOW], PROBATION);
+		}
+		return slot;
+	}
+
+	/**
+	 * Marks an entry as the most recently used
+	 * @param slot The entry's slot
+	 */
+	void access(int slot) {
+		if(sketch == null) {
+			move(slot, WINDOW);
+			return;
+		}
+		sketch.increment(hashes[slot]);
+		if(segments[slot] != PROBATION) {
+			move(slot, segments[slot]);
+			return;
+		}
+		move(slot, PROTECTED);
+		while(sizes[PROTECTED] > maxProtected) {
+			move(tails[PROTECTED], PROBATION);
+		}
+	}
+
+	/**
+	 * Removes an entry and frees its slot
+	 * @param slot The entry's slot
+	 */
+	void remove(int slot) {
+		unlink(slot);
+		next[slot] = freeSlot;
+		freeSlot = slot;
+	}
+
+	/**
+	 * Selects the entry to be evicted. The entry is not removed.
+	 * @return -1 if there are no entries
+	 */
+	int selectVictim() {
+		if(sketch == null) {
+			return tails[WINDOW];
+		}
+		final int candidate = heads[PROBATION];
+		if(candidate < 0) {
+			return tails[PROTECTED] >= 0 ? tails[PROTECTED] : tails[WINDOW];
+		}
+		int victim = tails[PROBATION];
+		if(victim == candidate) {
+			victim = tails[PROTECTED];
+			if(victim < 0) {
+				return candidate;
+			}
+		}
+		if(sketch.frequency(hashes[candidate]) > sketch.frequency(hashes[victim])) {
+			return victim;
+		}
+		return candidate;
+	}
+
+	/**
+	 * Returns the hash an entry was added with
+	 * @param slot The entry's slot
+	 * @return The hash passed to {@link #add(int)}
+	 */
+	int getHash(int slot) {
+		return hashes[slot];
+	}
+
+	void clear() {
+		for(int i = 0; i < 3; i++) {
+			heads[i] = -1;
+			tails[i] = -1;
+			sizes[i] = 0;
+		}
+		totalSlots = 0;
+		freeSlot = -1;
+		if(sketch != null) {
+			sketch.clear();
+		}
+	}
+
+	/**
+	 * Returns the total slots allocated, including freed slots
+	 * @return The exclusive upper bound of slot indices
+	 */
+	int getTotalSlots() {
+		return totalSlots;
+	}
+
+	private void move(int slot, int segment) {
+		unlink(slot);
+		push(slot, segment);
+	}
+
+	private void push(int slot, int segment) {
+		segments[slot] = (byte) segment;
+		previous[slot] = -1;
+		next[slot] = heads[segment];
+		if(heads[segment] >= 0) {
+			previous[heads[segment]] = slot;
+		} else {
+			tails[segment] = slot;
+		}
+		heads[segment] = slot;
+		sizes[segment]++;
+	}
+
+	private void unlink(int slot) {
+		final int segment = segments[slot];
+		final int previousSlot = previous[slot];
+		final int nextSlot = next[slot];
+		if(previousSlot >= 0) {
+			next[previousSlot] = nextSlot;
+		} else {
+			heads[segment] = nextSlot;
+		}
+		if(nextSlot >= 0) {
+			previous[nextSlot] = previousSlot;
+		} else {
+			tails[segment] = previousSlot;
+		}
+		sizes[segment]--;
+	}
+
+	private void resize(int capacity) {
+		previous = copyOf(previous, capacity);
+		next = copyOf(next, capacity);
+		hashes = copyOf(hashes, capacity);
+
+		final byte [] newSegments = new byte[capacity];
+		System.arraycopy(segments, 0, newSegments, 0, totalSlots);
+		segments = newSegments;
+	}
+
+	private int [] copyOf(int [] array, int capacity) {
+		final int [] result = new int[capacity];
+		System.arraycopy(array, 0, result, 0, totalSlots);
+		return result;
+	}
+}
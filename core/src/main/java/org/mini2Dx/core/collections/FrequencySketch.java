@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections;
+
+import org.mini2Dx.gdx.math.MathUtils;
+
+/**
+ * A count-min sketch of 4-bit counters used to estimate how often a key has been accessed.
+ * Counters are halved periodically so that estimates favour recent history.
+ */
+class FrequencySketch {
+	private static final int DEPTH = 4;
+	private static final int MAX_FREQUENCY = 15;
+	private static final int [] SEEDS = new int[] { 0x97cb3127, 0xb2af1a35, 0x5ae8a9f3, 0x7e3e2e8d };
+
+	private final byte [] table;
+	private final int width;
+	private final int sampleSize;
+	private int additions = 0;
+
+	FrequencySketch(int maxCapacity) {
+		maxCapacity = Math.max(16, maxCapacity);
+		width = MathUtils.nextPowerOfTwo(maxCapacity * 4);
+		table = new byte[width * DEPTH];
+		sampleSize = maxCapacity * 10;
+	}
+
+	void increment(int hash) {
+		boolean added = false;
+		for(int row = 0; row < DEPTH; row++) {
+			final int index = indexOf(hash, row);
+			if(table[index] < MAX_FREQUENCY) {
+				table[index]++;
+				added = true;
+			}
+		}
+		if(added && ++additions >= sampleSize) {
+			reset();
+		}
+	}
+
+	int frequency(int hash) {
+		int result = MAX_FREQUENCY;
+		for(int row = 0; row < DEPTH; row++) {
+			result = Math.min(result, table[indexOf(hash, row)]);
+		}
+		return result;
+	}
+
+	void clear() {
+		for(int i = 0; i < table.length; i++) {
+			table[i] = 0;
+		}
+		additions = 0;
+	}
+
+	private void reset() {
+		for(int i = 0; i < table.length; i++) {
+			table[i] = (byte) (table[i] >> 1);
+		}
+		additions /= 2;
+	}
+
+	private int indexOf(int hash, int row) {
+		int result = (hash ^ SEEDS[row]) * 0x9E3779B9;
+		result ^= result >>> 16;
+		return (row * width) + (result & (width - 1));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2020 See AUTHORS file
+ * Copyright 2019 See AUTHORS file
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,7 +21,10 @@ import org.mini2Dx.gdx.utils.IntMap;
 /**
  * Extends {@link IntMap} to implement least-recently used capabilities.
  * Once the specified maximum capacity is reached,
- * the key that has been used the least is removed from the map.
+ * the key that has been used least recently is removed from the map.
+ *
+ * Access order is tracked in O(1) per operation. Alternatively, {@link EvictionPolicy#W_TINY_LFU}
+ * can be used to also take access frequency into account.
  *
  * @param <V> The value type
  */
@@ -29,11 +32,14 @@ public class LruIntMap<V> extends IntMap<V> {
 	public static final int DEFAULT_MAX_CAPACITY = 128;
 
 	private final int maxCapacity;
-	private final IntIntMap accessCounter = new IntIntMap();
+	private final EvictionPolicy evictionPolicy;
+	private final EvictionQueue evictionQueue;
+	private final IntIntMap keySlots;
+
+	private long hits, misses, evictions;
 
 	public LruIntMap() {
-		super();
-		maxCapacity = DEFAULT_MAX_CAPACITY;
+		this(51, DEFAULT_MAX_CAPACITY);
 	}
 
 	public LruIntMap(int initialCapacity) {
@@ -49,81 +55,118 @@ public class LruIntMap<V> extends IntMap<V> {
 	}
 
 	public LruIntMap(int initialCapacity, int maxCapacity) {
-		super(initialCapacity);
-		this.maxCapacity = maxCapacity;
+		this(initialCapacity, maxCapacity, 0.8f);
 	}
 
 	public LruIntMap(int initialCapacity, int maxCapacity, float loadFactor) {
+		this(initialCapacity, maxCapacity, loadFactor, EvictionPolicy.LRU);
+	}
+
+	public LruIntMap(int initialCapacity, int maxCapacity, EvictionPolicy evictionPolicy) {
+		this(initialCapacity, maxCapacity, 0.8f, evictionPolicy);
+	}
+
+	public LruIntMap(int initialCapacity, int maxCapacity, float loadFactor, EvictionPolicy evictionPolicy) {
 		super(initialCapacity, loadFactor);
 		this.maxCapacity = maxCapacity;
+		this.evictionPolicy = evictionPolicy;
+		evictionQueue = new EvictionQueue(evictionPolicy, initialCapacity, maxCapacity);
+		keySlots = new IntIntMap(initialCapacity, loadFactor);
 	}
 
 	public LruIntMap(IntMap<? extends V> map, int maxCapacity) {
-		super(map);
-		this.maxCapacity = maxCapacity;
+		this(map.size, maxCapacity);
+		for(IntMap.Entry<? extends V> entry : map.entries()) {
+			putEntry(entry.key, entry.value);
+		}
 	}
 
 	@Override
 	public V put(int key, V value) {
-		while(super.size >= maxCapacity) {
-			purge();
-		}
-
-		final V result = super.put(key, value);
-		accessCounter.getAndIncrement(key, -1, 1);
-		return result;
+		return putEntry(key, value);
 	}
 
 	@Override
 	public void putAll(IntMap<? extends V> map) {
-		while(super.size >= maxCapacity) {
-			purge();
+		for(IntMap.Entry<? extends V> entry : map.entries()) {
+			putEntry(entry.key, entry.value);
+		}
+	}
+
+	private V putEntry(int key, V value) {
+		final int slot = keySlots.get(key, -1);
+		if(slot >= 0) {
+			evictionQueue.access(slot);
+			return super.put(key, value);
 		}
 
-		super.putAll(map);
+		final V result = super.put(key, value);
+		keySlots.put(key, evictionQueue.add(key));
+		while(super.size > maxCapacity) {
+			purge();
+		}
+		return result;
 	}
 
 	@Override
 	public V get(int key) {
-		final V result = super.get(key);
-		accessCounter.getAndIncrement(key, 0, 1);
-		return result;
+		recordAccess(key);
+		return super.get(key);
 	}
 
 	@Override
 	public V get(int key, V defaultValue) {
-		final V result = super.get(key, defaultValue);
-		accessCounter.getAndIncrement(key, 0, 1);
-		return result;
+		recordAccess(key);
+		return super.get(key, defaultValue);
 	}
 
 	@Override
 	public V remove(int key) {
-		final V result = super.remove(key);
-		accessCounter.remove(key, -1);
-		return result;
+		untrack(key);
+		return super.remove(key);
+	}
+
+	@Override
+	public void clear(int maximumCapacity) {
+		super.clear(maximumCapacity);
+		evictionQueue.clear();
+		keySlots.clear();
 	}
 
 	@Override
 	public void clear() {
 		super.clear();
-		accessCounter.clear();
+		evictionQueue.clear();
+		keySlots.clear();
+	}
+
+	private void recordAccess(int key) {
+		final int slot = keySlots.get(key, -1);
+		if(slot < 0) {
+			misses++;
+			return;
+		}
+		hits++;
+		evictionQueue.access(slot);
+	}
+
+	private void untrack(int key) {
+		final int slot = keySlots.remove(key, -1);
+		if(slot < 0) {
+			return;
+		}
+		evictionQueue.remove(slot);
 	}
 
 	private void purge() {
-		int smallestKey = 0;
-		int smallestCount = Integer.MAX_VALUE;
-
-		IntIntMap.Keys keys = accessCounter.keys();
-		while(keys.hasNext) {
-			final int key = keys.next();
-			final int count = accessCounter.get(key, 0);
-			if(count < smallestCount) {
-				smallestKey = key;
-				smallestCount = count;
-			}
+		final int slot = evictionQueue.selectVictim();
+		if(slot < 0) {
+			return;
 		}
-		remove(smallestKey);
+		final int key = evictionQueue.getHash(slot);
+		untrack(key);
+		super.remove(key);
+		evictions++;
 	}
 
 	/**
@@ -133,4 +176,57 @@ public class LruIntMap<V> extends IntMap<V> {
 	public int getMaxCapacity() {
 		return maxCapacity;
 	}
+
+	/**
+	 * Returns the {@link EvictionPolicy} used when the maximum capacity is reached
+	 * @return Defaults to {@link EvictionPolicy#LRU}
+	 */
+	public EvictionPolicy getEvictionPolicy() {
+		return evictionPolicy;
+	}
+
+	/**
+	 * Returns the number of get operations for keys that were in the map
+	 * @return 0 if no hits since creation or {@link #resetStatistics()}
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of get operations for keys that were not in the map
+	 * @return 0 if no misses since creation or {@link #resetStatistics()}
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of keys removed due to the maximum capacity being reached
+	 * @return 0 if no evictions since creation or {@link #resetStatistics()}
+	 */
+	public long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Returns the ratio of hits to total get operations
+	 * @return A value between 0 and 1, 0 if no get operations have occurred
+	 */
+	public float getHitRate() {
+		final long total = hits + misses;
+		if(total == 0) {
+			return 0f;
+		}
+		return hits / (float) total;
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters to 0
+	 */
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
 }
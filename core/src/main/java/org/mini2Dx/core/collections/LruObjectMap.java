@@ -21,7 +21,10 @@ import org.mini2Dx.gdx.utils.ObjectMap;
 /**
  * Extends {@link ObjectMap} to implement least-recently used capabilities.
  * Once the specified maximum capacity is reached,
- * the key that has been used the least is removed from the map.
+ * the key that has been used least recently is removed from the map.
+ *
+ * Access order is tracked in O(1) per operation. Alternatively, {@link EvictionPolicy#W_TINY_LFU}
+ * can be used to also take access frequency into account.
  *
  * @param <K> The key type
  * @param <V> The value type
@@ -30,11 +33,15 @@ public class LruObjectMap<K, V> extends ObjectMap<K, V> {
 	public static final int DEFAULT_MAX_CAPACITY = 128;
 
 	private final int maxCapacity;
-	private final ObjectIntMap<K> accessCounter = new ObjectIntMap<K>();
+	private final EvictionPolicy evictionPolicy;
+	private final EvictionQueue evictionQueue;
+	private final ObjectIntMap<K> keySlots;
+	private Object [] slotKeys;
+
+	private long hits, misses, evictions;
 
 	public LruObjectMap() {
-		super();
-		maxCapacity = DEFAULT_MAX_CAPACITY;
+		this(51, DEFAULT_MAX_CAPACITY);
 	}
 
 	public LruObjectMap(int initialCapacity) {
@@ -50,83 +57,137 @@ public class LruObjectMap<K, V> extends ObjectMap<K, V> {
 	}
 
 	public LruObjectMap(int initialCapacity, int maxCapacity) {
-		super(initialCapacity);
-		this.maxCapacity = maxCapacity;
+		this(initialCapacity, maxCapacity, 0.8f);
 	}
 
 	public LruObjectMap(int initialCapacity, int maxCapacity, float loadFactor) {
+		this(initialCapacity, maxCapacity, loadFactor, EvictionPolicy.LRU);
+	}
+
+	public LruObjectMap(int initialCapacity, int maxCapacity, EvictionPolicy evictionPolicy) {
+		this(initialCapacity, maxCapacity, 0.8f, evictionPolicy);
+	}
+
+	public LruObjectMap(int initialCapacity, int maxCapacity, float loadFactor, EvictionPolicy evictionPolicy) {
 		super(initialCapacity, loadFactor);
 		this.maxCapacity = maxCapacity;
+		this.evictionPolicy = evictionPolicy;
+		evictionQueue = new EvictionQueue(evictionPolicy, initialCapacity, maxCapacity);
+		keySlots = new ObjectIntMap<K>(initialCapacity, loadFactor);
+		slotKeys = new Object[Math.max(1, Math.min(initialCapacity, maxCapacity + 1))];
 	}
 
 	public LruObjectMap(ObjectMap<? extends K, ? extends V> map, int maxCapacity) {
-		super(map);
-		this.maxCapacity = maxCapacity;
+		this(map.size, maxCapacity);
+		for(ObjectMap.Entry<? extends K, ? extends V> entry : map.entries()) {
+			putEntry(entry.key, entry.value);
+		}
 	}
 
 	@Override
 	public V put(K key, V value) {
-		while(super.size >= maxCapacity) {
-			purge();
-		}
-
-		final V result = super.put(key, value);
-		accessCounter.getAndIncrement(key, -1, 1);
-		return result;
+		return putEntry(key, value);
 	}
 
 	@Override
 	public void putAll(ObjectMap<? extends K, ? extends V> map) {
-		while(super.size >= maxCapacity) {
-			purge();
+		for(ObjectMap.Entry<? extends K, ? extends V> entry : map.entries()) {
+			putEntry(entry.key, entry.value);
+		}
+	}
+
+	private V putEntry(K key, V value) {
+		final int slot = keySlots.get(key, -1);
+		if(slot >= 0) {
+			evictionQueue.access(slot);
+			return super.put(key, value);
 		}
 
-		super.putAll(map);
+		final V result = super.put(key, value);
+		track(key);
+		while(super.size > maxCapacity) {
+			purge();
+		}
+		return result;
 	}
 
 	@Override
 	public V get(K key) {
-		final V result = super.get(key);
-		accessCounter.getAndIncrement(key, 0, 1);
-		return result;
+		recordAccess(key);
+		return super.get(key);
 	}
 
 	@Override
 	public V get(K key, V defaultValue) {
-		final V result = super.get(key, defaultValue);
-		accessCounter.getAndIncrement(key, 0, 1);
-		return result;
+		recordAccess(key);
+		return super.get(key, defaultValue);
 	}
 
 	@Override
 	public V remove(K key) {
-		final V result = super.remove(key);
-		accessCounter.remove(key, -1);
-		return result;
+		untrack(key);
+		return super.remove(key);
+	}
+
+	@Override
+	public void clear(int maximumCapacity) {
+		super.clear(maximumCapacity);
+		clearTracking();
 	}
 
 	@Override
 	public void clear() {
 		super.clear();
-		accessCounter.clear();
+		clearTracking();
 	}
 
-	private void purge() {
-		K smallest = null;
-		int smallestCount = Integer.MAX_VALUE;
-
-		for(K key : accessCounter.keys()) {
-			final int count = accessCounter.get(key, 0);
-			if(count < smallestCount) {
-				smallest = key;
-				smallestCount = count;
-			}
+	private void recordAccess(K key) {
+		final int slot = keySlots.get(key, -1);
+		if(slot < 0) {
+			misses++;
+			return;
 		}
+		hits++;
+		evictionQueue.access(slot);
+	}
+
+	private void track(K key) {
+		final int slot = evictionQueue.add(key.hashCode());
+		if(slot >= slotKeys.length) {
+			final Object [] newSlotKeys = new Object[Math.max(slot + 1, slotKeys.length * 2)];
+			System.arraycopy(slotKeys, 0, newSlotKeys, 0, slotKeys.length);
+			slotKeys = newSlotKeys;
+		}
+		slotKeys[slot] = key;
+		keySlots.put(key, slot);
+	}
 
-		if(smallest == null) {
+	private void untrack(K key) {
+		final int slot = keySlots.remove(key, -1);
+		if(slot < 0) {
 			return;
 		}
-		remove(smallest);
+		evictionQueue.remove(slot);
+		slotKeys[slot] = null;
+	}
+
+	private void clearTracking() {
+		evictionQueue.clear();
+		keySlots.clear();
+		for(int i = 0; i < slotKeys.length; i++) {
+			slotKeys[i] = null;
+		}
+	}
+
+	private void purge() {
+		final int slot = evictionQueue.selectVictim();
+		if(slot < 0) {
+			return;
+		}
+		final K key = (K) slotKeys[slot];
+		untrack(key);
+		super.remove(key);
+		evictions++;
 	}
 
 	/**
@@ -136,4 +197,57 @@ public class LruObjectMap<K, V> extends ObjectMap<K, V> {
 	public int getMaxCapacity() {
 		return maxCapacity;
 	}
+
+	/**
+	 * Returns the {@link EvictionPolicy} used when the maximum capacity is reached
+	 * @return Defaults to {@link EvictionPolicy#LRU}
+	 */
+	public EvictionPolicy getEvictionPolicy() {
+		return evictionPolicy;
+	}
+
+	/**
+	 * Returns the number of get operations for keys that were in the map
+	 * @return 0 if no hits since creation or {@link #resetStatistics()}
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of get operations for keys that were not in the map
+	 * @return 0 if no misses since creation or {@link #resetStatistics()}
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of keys removed due to the maximum capacity being reached
+	 * @return 0 if no evictions since creation or {@link #resetStatistics()}
+	 */
+	public long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Returns the ratio of hits to total get operations
+	 * @return A value between 0 and 1, 0 if no get operations have occurred
+	 */
+	public float getHitRate() {
+		final long total = hits + misses;
+		if(total == 0) {
+			return 0f;
+		}
+		return hits / (float) total;
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters to 0
+	 */
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
 }
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe counters for an object pool. Can be used to size pools (e.g.
+ * {@link org.mini2Dx.core.Geometry#DEFAULT_POOL_SIZE}) from measured usage.
+ *
+ * A hit is an object obtained from the pool, a miss is an object that had to
+ * be allocated because the pool was empty. The high-water mark is the peak
+ * number of obtained objects that had not yet been freed.
+ */
+public class PoolStatistics {
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong frees = new AtomicLong();
+	private final AtomicInteger inUse = new AtomicInteger();
+	private final AtomicInteger highWaterMark = new AtomicInteger();
+
+	/**
+	 * Records an object obtained from the pool
+	 */
+	public void recordHit() {
+		record(1, 0, 0);
+	}
+
+	/**
+	 * Records an object allocated because the pool was empty
+	 */
+	public void recordMiss() {
+		record(0, 1, 0);
+	}
+
+	/**
+	 * Records an object returned to the pool
+	 */
+	public void recordFree() {
+		record(0, 0, 1);
+	}
+
+	/**
+	 * Records multiple operations at once
+	 * @param totalHits The total hits
+	 * @param totalMisses The total misses
+	 * @param totalFrees The total frees
+	 */
+	public void record(int totalHits, int totalMisses, int totalFrees) {
+		if(totalHits > 0) {
+			hits.addAndGet(totalHits);
+		}
+		if(totalMisses > 0) {
+			misses.addAndGet(totalMisses);
+		}
+		if(totalFrees > 0) {
+			frees.addAndGet(totalFrees);
+		}
+		final int current = inUse.addAndGet(totalHits + totalMisses - totalFrees);
+		int peak = highWaterMark.get();
+		while(current > peak && !highWaterMark.compareAndSet(peak, current)) {
+			peak = highWaterMark.get();
+		}
+	}
+
+	/**
+	 * Resets all counters to 0
+	 */
+	public void reset() {
+		hits.set(0);
+		misses.set(0);
+		frees.set(0);
+		inUse.set(0);
+		highWaterMark.set(0);
+	}
+
+	/**
+	 * Returns the number of objects obtained from the pool
+	 * @return 0 if no objects have been obtained from the pool
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of objects allocated because the pool was empty
+	 * @return 0 if the pool has never been empty when an object was requested
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the number of objects returned to the pool
+	 * @return 0 if no objects have been returned
+	 */
+	public long getFrees() {
+		return frees.get();
+	}
+
+	/**
+	 * Returns the ratio of hits to total obtain operations
+	 * @return A value between 0 and 1, 0 if no objects have been obtained
+	 */
+	public float getHitRate() {
+		final long totalHits = hits.get();
+		final long total = totalHits + misses.get();
+		if(total == 0) {
+			return 0f;
+		}
+		return totalHits / (float) total;
+	}
+
+	/**
+	 * Returns the number of obtained objects that have not yet been freed
+	 * @return 0 if all objects have been returned
+	 */
+	public int getInUse() {
+		return inUse.get();
+	}
+
+	/**
+	 * Returns the peak number of obtained objects that had not yet been freed
+	 * @return A suitable pool size to avoid misses
+	 */
+	public int getHighWaterMark() {
+		return highWaterMark.get();
+	}
+
+	@Override
+	public String toString() {
+		return "PoolStatistics [hits=" + hits.get() + ", misses=" + misses.get() + ", frees=" + frees.get()
+				+ ", inUse=" + inUse.get() + ", highWaterMark=" + highWaterMark.get() + "]";
+	}
+}
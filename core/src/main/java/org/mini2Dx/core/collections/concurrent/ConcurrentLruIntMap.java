@@ -16,6 +16,7 @@
 package org.mini2Dx.core.collections.concurrent;
 
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.collections.EvictionPolicy;
 import org.mini2Dx.core.collections.LruIntMap;
 import org.mini2Dx.core.lock.ReadWriteLock;
 import org.mini2Dx.gdx.utils.Collections;
@@ -53,6 +54,14 @@ public class ConcurrentLruIntMap<T> extends LruIntMap<T> implements ConcurrentCo
         super(initialCapacity, maxCapacity, loadFactor);
     }
 
+    public ConcurrentLruIntMap(int initialCapacity, int maxCapacity, EvictionPolicy evictionPolicy) {
+        super(initialCapacity, maxCapacity, evictionPolicy);
+    }
+
+    public ConcurrentLruIntMap(int initialCapacity, int maxCapacity, float loadFactor, EvictionPolicy evictionPolicy) {
+        super(initialCapacity, maxCapacity, loadFactor, evictionPolicy);
+    }
+
     /**
      * NOTE: read access to the other map is not thread-safe
      * @param map
@@ -89,17 +98,17 @@ public class ConcurrentLruIntMap<T> extends LruIntMap<T> implements ConcurrentCo
      */
     @Override
     public T get(int key, T defaultValue) {
-        lock.lockRead();
+        lock.lockWrite();
         T t = super.get(key, defaultValue);
-        lock.unlockRead();
+        lock.unlockWrite();
         return t;
     }
 
     @Override
     public T get(int key) {
-        lock.lockRead();
+        lock.lockWrite();
         T t = super.get(key);
-        lock.unlockRead();
+        lock.unlockWrite();
         return t;
     }
 
@@ -242,6 +251,45 @@ public class ConcurrentLruIntMap<T> extends LruIntMap<T> implements ConcurrentCo
         return i;
     }
 
+    @Override
+    public long getHitCount() {
+        lock.lockRead();
+        long l = super.getHitCount();
+        lock.unlockRead();
+        return l;
+    }
+
+    @Override
+    public long getMissCount() {
+        lock.lockRead();
+        long l = super.getMissCount();
+        lock.unlockRead();
+        return l;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        lock.lockRead();
+        long l = super.getEvictionCount();
+        lock.unlockRead();
+        return l;
+    }
+
+    @Override
+    public float getHitRate() {
+        lock.lockRead();
+        float f = super.getHitRate();
+        lock.unlockRead();
+        return f;
+    }
+
+    @Override
+    public void resetStatistics() {
+        lock.lockWrite();
+        super.resetStatistics();
+        lock.unlockWrite();
+    }
+
     /**
      * Returns an iterator for the entries in the map. Remove is supported.
      * <p>
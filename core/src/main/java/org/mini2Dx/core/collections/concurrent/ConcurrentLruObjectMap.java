@@ -16,6 +16,7 @@
 package org.mini2Dx.core.collections.concurrent;
 
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.collections.EvictionPolicy;
 import org.mini2Dx.core.collections.LruObjectMap;
 import org.mini2Dx.core.lock.ReadWriteLock;
 import org.mini2Dx.gdx.utils.ObjectMap;
@@ -52,6 +53,14 @@ public class ConcurrentLruObjectMap<K, V> extends LruObjectMap<K, V> implements
         super(initialCapacity, maxCapacity, loadFactor);
     }
 
+    public ConcurrentLruObjectMap(int initialCapacity, int maxCapacity, EvictionPolicy evictionPolicy) {
+        super(initialCapacity, maxCapacity, evictionPolicy);
+    }
+
+    public ConcurrentLruObjectMap(int initialCapacity, int maxCapacity, float loadFactor, EvictionPolicy evictionPolicy) {
+        super(initialCapacity, maxCapacity, loadFactor, evictionPolicy);
+    }
+
     /**
      * NOTE: read access to the other map is not thread-safe
      * @param map
@@ -69,6 +78,45 @@ public class ConcurrentLruObjectMap<K, V> extends LruObjectMap<K, V> implements
         return i;
     }
 
+    @Override
+    public long getHitCount() {
+        lock.lockRead();
+        long l = super.getHitCount();
+        lock.unlockRead();
+        return l;
+    }
+
+    @Override
+    public long getMissCount() {
+        lock.lockRead();
+        long l = super.getMissCount();
+        lock.unlockRead();
+        return l;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        lock.lockRead();
+        long l = super.getEvictionCount();
+        lock.unlockRead();
+        return l;
+    }
+
+    @Override
+    public float getHitRate() {
+        lock.lockRead();
+        float f = super.getHitRate();
+        lock.unlockRead();
+        return f;
+    }
+
+    @Override
+    public void resetStatistics() {
+        lock.lockWrite();
+        super.resetStatistics();
+        lock.unlockWrite();
+    }
+
     /**
      * Returns the old value associated with the specified key, or null.
      *
@@ -104,9 +152,9 @@ public class ConcurrentLruObjectMap<K, V> extends LruObjectMap<K, V> implements
      */
     @Override
     public V get(K key) {
-        lock.lockRead();
+        lock.lockWrite();
         V v = super.get(key);
-        lock.unlockRead();
+        lock.unlockWrite();
         return v;
     }
 
@@ -118,9 +166,9 @@ public class ConcurrentLruObjectMap<K, V> extends LruObjectMap<K, V> implements
      */
     @Override
     public V get(K key, V defaultValue) {
-        lock.lockRead();
+        lock.lockWrite();
         V v = super.get(key, defaultValue);
-        lock.unlockRead();
+        lock.unlockWrite();
         return v;
     }
 
@@ -16,19 +16,42 @@
 package org.mini2Dx.core.collections.concurrent;
 
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.collections.PoolStatistics;
 import org.mini2Dx.core.lock.ReadWriteLock;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.Pool;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A thread-safe {@link Pool}.
+ *
+ * By default every {@link #obtain()} and {@link #free(Object)} acquires the pool's write lock.
+ * When constructed with a magazine size greater than 0, each thread instead keeps two small
+ * magazines of free objects and only exchanges full magazines with a shared lock-free depot,
+ * so obtain and free are uncontended in the common case. In this mode the {@link #getLock()}
+ * is not used by obtain and free, {@link #getFree()} only counts the depot and the calling
+ * thread's magazines and {@link #clear()} only clears the depot and the calling thread's magazines.
+ *
+ * @param <T> The pooled object type
+ */
 public abstract class ConcurrentPool<T> extends Pool<T> implements ConcurrentCollection {
+    public static final int DEFAULT_MAGAZINE_SIZE = 32;
 
     protected ReadWriteLock lock = Mdx.locks.newReadWriteLock();
 
+    private final PoolStatistics statistics = new PoolStatistics();
+    private final int magazineSize;
+    private final AtomicReference<DepotNode> depot;
+    private final AtomicInteger depotSize;
+    private final ThreadLocal<ThreadCache> threadCaches;
+
     /**
      * Creates a pool with an initial capacity of 16 and no maximum.
      */
     public ConcurrentPool() {
-        super();
+        this(16);
     }
 
     /**
@@ -37,7 +60,7 @@ public abstract class ConcurrentPool<T> extends Pool<T> implements ConcurrentCol
      * @param initialCapacity
      */
     public ConcurrentPool(int initialCapacity) {
-        super(initialCapacity);
+        this(initialCapacity, Integer.MAX_VALUE);
     }
 
     /**
@@ -45,7 +68,31 @@ public abstract class ConcurrentPool<T> extends Pool<T> implements ConcurrentCol
      * @param max             The maximum number of free objects to store in this pool.
      */
     public ConcurrentPool(int initialCapacity, int max) {
+        this(initialCapacity, max, 0);
+    }
+
+    /**
+     * @param initialCapacity
+     * @param max             The maximum number of free objects to store in the shared depot.
+     * @param magazineSize    The number of free objects each thread caches locally, 0 to disable thread-local magazines
+     */
+    public ConcurrentPool(int initialCapacity, int max, int magazineSize) {
         super(initialCapacity, max);
+        this.magazineSize = magazineSize;
+        if (magazineSize > 0) {
+            depot = new AtomicReference<DepotNode>();
+            depotSize = new AtomicInteger();
+            threadCaches = new ThreadLocal<ThreadCache>() {
+                @Override
+                protected ThreadCache initialValue() {
+                    return new ThreadCache(ConcurrentPool.this.magazineSize);
+                }
+            };
+        } else {
+            depot = null;
+            depotSize = null;
+            threadCaches = null;
+        }
     }
 
     /**
@@ -54,12 +101,41 @@ public abstract class ConcurrentPool<T> extends Pool<T> implements ConcurrentCol
      */
     @Override
     public T obtain() {
+        if (magazineSize > 0) {
+            return obtainFromMagazine();
+        }
         lock.lockWrite();
+        if (super.getFree() == 0) {
+            statistics.recordMiss();
+        } else {
+            statistics.recordHit();
+        }
         T t = super.obtain();
         lock.unlockWrite();
         return t;
     }
 
+    private T obtainFromMagazine() {
+        final ThreadCache cache = threadCaches.get();
+        Object result = cache.pop();
+        if (result == null) {
+            final DepotNode node = popDepot();
+            if (node != null) {
+                cache.loaded.items = node.items;
+                cache.loaded.size = node.size;
+                result = cache.pop();
+            }
+        }
+        if (result == null) {
+            cache.misses++;
+            result = newObject();
+        } else {
+            cache.hits++;
+        }
+        flushStatistics(cache, false);
+        return (T) result;
+    }
+
     /**
      * Puts the specified object in the pool, making it eligible to be returned by {@link #obtain()}. If the pool already contains
      * {@link #max} free objects, the specified object is reset but not added to the pool.
@@ -70,11 +146,73 @@ public abstract class ConcurrentPool<T> extends Pool<T> implements ConcurrentCol
      */
     @Override
     public void free(T object) {
+        if (magazineSize > 0) {
+            freeToMagazine(object);
+            return;
+        }
         lock.lockWrite();
         super.free(object);
+        statistics.recordFree();
         lock.unlockWrite();
     }
 
+    private void freeToMagazine(T object) {
+        if (object == null) {
+            throw new IllegalArgumentException("object cannot be null.");
+        }
+        reset(object);
+
+        final ThreadCache cache = threadCaches.get();
+        cache.frees++;
+        if (!cache.push(object)) {
+            final Magazine full = cache.previous;
+            if (depotSize.get() < max) {
+                pushDepot(full.items, full.size);
+                full.items = new Object[magazineSize];
+            } else {
+                for (int i = 0; i < full.size; i++) {
+                    full.items[i] = null;
+                }
+            }
+            full.size = 0;
+            cache.swap();
+            cache.push(object);
+        }
+        flushStatistics(cache, false);
+    }
+
+    private DepotNode popDepot() {
+        while (true) {
+            final DepotNode head = depot.get();
+            if (head == null) {
+                return null;
+            }
+            if (depot.compareAndSet(head, head.next)) {
+                depotSize.addAndGet(-head.size);
+                return head;
+            }
+        }
+    }
+
+    private void pushDepot(Object[] items, int size) {
+        // Nodes are never re-used so a compare-and-set cannot succeed against a recycled head
+        final DepotNode node = new DepotNode(items, size);
+        do {
+            node.next = depot.get();
+        } while (!depot.compareAndSet(node.next, node));
+        depotSize.addAndGet(size);
+    }
+
+    private void flushStatistics(ThreadCache cache, boolean force) {
+        if (!force && cache.hits + cache.misses + cache.frees < magazineSize) {
+            return;
+        }
+        statistics.record(cache.hits, cache.misses, cache.frees);
+        cache.hits = 0;
+        cache.misses = 0;
+        cache.frees = 0;
+    }
+
     /**
      * Called when an object is freed to clear the state of the object for possible later reuse. The default implementation calls
      * {@link Poolable#reset()} if the object is {@link Poolable}.
@@ -100,7 +238,16 @@ public abstract class ConcurrentPool<T> extends Pool<T> implements ConcurrentCol
         if (isOtherConcurrent){
             ((ConcurrentCollection) objects).getLock().lockRead();
         }
-        super.freeAll(objects);
+        if (magazineSize > 0) {
+            for (int i = 0; i < objects.size; i++) {
+                final T object = objects.get(i);
+                if (object != null) {
+                    freeToMagazine(object);
+                }
+            }
+        } else {
+            super.freeAll(objects);
+        }
         if (isOtherConcurrent){
             ((ConcurrentCollection) objects).getLock().unlockRead();
         }
@@ -111,6 +258,12 @@ public abstract class ConcurrentPool<T> extends Pool<T> implements ConcurrentCol
      */
     @Override
     public void clear() {
+        if (magazineSize > 0) {
+            depot.set(null);
+            depotSize.set(0);
+            threadCaches.get().clear();
+            return;
+        }
         lock.lockWrite();
         super.clear();
         lock.unlockWrite();
@@ -121,14 +274,114 @@ public abstract class ConcurrentPool<T> extends Pool<T> implements ConcurrentCol
      */
     @Override
     public int getFree() {
+        if (magazineSize > 0) {
+            final ThreadCache cache = threadCaches.get();
+            return depotSize.get() + cache.loaded.size + cache.previous.size;
+        }
         lock.lockRead();
         int i = super.getFree();
         lock.unlockRead();
         return i;
     }
 
+    /**
+     * Returns the {@link PoolStatistics} for this pool. With thread-local magazines enabled, each thread
+     * publishes its counters after every magazine-sized batch of operations or when {@link #flushStatistics()} is called.
+     * @return The {@link PoolStatistics} instance
+     */
+    public PoolStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Publishes the calling thread's pending statistics when thread-local magazines are enabled
+     */
+    public void flushStatistics() {
+        if (magazineSize > 0) {
+            flushStatistics(threadCaches.get(), true);
+        }
+    }
+
+    /**
+     * Returns the number of free objects each thread caches locally
+     * @return 0 if thread-local magazines are disabled
+     */
+    public int getMagazineSize() {
+        return magazineSize;
+    }
+
     @Override
     public ReadWriteLock getLock() {
         return lock;
     }
+
+    private static class Magazine {
+        Object[] items;
+        int size;
+
+        Magazine(int capacity) {
+            items = new Object[capacity];
+        }
+    }
+
+    private static class ThreadCache {
+        Magazine loaded, previous;
+        int hits, misses, frees;
+
+        ThreadCache(int magazineSize) {
+            loaded = new Magazine(magazineSize);
+            previous = new Magazine(magazineSize);
+        }
+
+        Object pop() {
+            if (loaded.size == 0) {
+                if (previous.size == 0) {
+                    return null;
+                }
+                swap();
+            }
+            final Object result = loaded.items[--loaded.size];
+            loaded.items[loaded.size] = null;
+            return result;
+        }
+
+        boolean push(Object object) {
+            if (loaded.size == loaded.items.length) {
+                if (previous.size != 0) {
+                    return false;
+                }
+                swap();
+            }
+            loaded.items[loaded.size++] = object;
+            return true;
+        }
+
+        void swap() {
+            final Magazine magazine = loaded;
+            loaded = previous;
+            previous = magazine;
+        }
+
+        void clear() {
+            for (int i = 0; i < loaded.size; i++) {
+                loaded.items[i] = null;
+            }
+            for (int i = 0; i < previous.size; i++) {
+                previous.items[i] = null;
+            }
+            loaded.size = 0;
+            previous.size = 0;
+        }
+    }
+
+    private static class DepotNode {
+        final Object[] items;
+        final int size;
+        DepotNode next;
+
+        DepotNode(Object[] items, int size) {
+            this.items = items;
+            this.size = size;
+        }
+    }
 }
@@ -93,4 +93,16 @@ public interface CollisionArea extends CollisionObject, Sizeable {
 	 * @return
 	 */
 	public float getRawRenderHeight();
+
+	/**
+	 * Returns the x coordinate at the time {@link #preUpdate()} was last called
+	 * @return
+	 */
+	public float getPreviousX();
+
+	/**
+	 * Returns the y coordinate at the time {@link #preUpdate()} was last called
+	 * @return
+	 */
+	public float getPreviousY();
 }
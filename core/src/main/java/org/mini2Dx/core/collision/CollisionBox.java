@@ -58,10 +58,19 @@ public class CollisionBox extends Rectangle implements CollisionArea,
 	}
 
 	public CollisionBox(int id, float x, float y, float width, float height) {
+		this(id, x, y, width, height, Mdx.locks.newReadWriteLock(), Mdx.locks.newReadWriteLock());
+	}
+
+	/**
+	 * Constructs a {@link CollisionBox} with the specified listener locks. Subclasses that
+	 * override all listener methods may pass null to avoid allocating locks.
+	 */
+	protected CollisionBox(int id, float x, float y, float width, float height,
+			ReadWriteLock positionChangeListenerLock, ReadWriteLock sizeChangeListenerLock) {
 		super(x, y, width, height);
 
-		positionChangeListenerLock = Mdx.locks.newReadWriteLock();
-		sizeChangeListenerLock = Mdx.locks.newReadWriteLock();
+		this.positionChangeListenerLock = positionChangeListenerLock;
+		this.sizeChangeListenerLock = sizeChangeListenerLock;
 		addPostionChangeListener(this);
 		addSizeChangeListener(this);
 
@@ -191,6 +200,16 @@ public class CollisionBox extends Rectangle implements CollisionArea,
 		return renderRectangle.getHeight();
 	}
 
+	@Override
+	public float getPreviousX() {
+		return previousRectangle.getX();
+	}
+
+	@Override
+	public float getPreviousY() {
+		return previousRectangle.getY();
+	}
+
 	@Override
 	public void preUpdate() {
 		previousRectangle.set(this);
@@ -58,10 +58,19 @@ public class CollisionCircle extends Circle implements CollisionArea,
 	}
 
 	public CollisionCircle(int id, float centerX, float centerY, float radius) {
+		this(id, centerX, centerY, radius, Mdx.locks.newReadWriteLock(), Mdx.locks.newReadWriteLock());
+	}
+
+	/**
+	 * Constructs a {@link CollisionCircle} with the specified listener locks. Subclasses that
+	 * override all listener methods may pass null to avoid allocating locks.
+	 */
+	protected CollisionCircle(int id, float centerX, float centerY, float radius,
+			ReadWriteLock positionChangeListenerLock, ReadWriteLock sizeChangeListenerLock) {
 		super(centerX, centerY, radius);
 
-		positionChangeListenerLock = Mdx.locks.newReadWriteLock();
-		sizeChangeListenerLock = Mdx.locks.newReadWriteLock();
+		this.positionChangeListenerLock = positionChangeListenerLock;
+		this.sizeChangeListenerLock = sizeChangeListenerLock;
 		addPostionChangeListener(this);
 		addSizeChangeListener(this);
 
@@ -266,6 +275,16 @@ public class CollisionCircle extends Circle implements CollisionArea,
 		return renderCircle.getRadius() * 2f;
 	}
 
+	@Override
+	public float getPreviousX() {
+		return previousCircle.getX();
+	}
+
+	@Override
+	public float getPreviousY() {
+		return previousCircle.getY();
+	}
+
 	public int getRenderRadius() {
 		return renderRadius;
 	}
@@ -259,6 +259,16 @@ public class CollisionPolygon extends Polygon implements CollisionArea,
 		return renderPolygon.getHeight();
 	}
 
+	@Override
+	public float getPreviousX() {
+		return previousPolygon.getX();
+	}
+
+	@Override
+	public float getPreviousY() {
+		return previousPolygon.getY();
+	}
+
 	public int getRenderX(int index) {
 		return MathUtils.round(renderPolygon.getX(index));
 	}
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package org.mini2Dx.core.collision;
 
+import org.mini2Dx.core.collections.PoolStatistics;
 import org.mini2Dx.core.collision.util.*;
 import org.mini2Dx.core.util.InterpolationTracker;
 import org.mini2Dx.gdx.math.Vector2;
@@ -44,6 +45,24 @@ public class Collisions {
 	final Queue<StaticCollisionPoint> staticCollisionPoints = new Queue<StaticCollisionPoint>(DEFAULT_POOL_SIZE * 2);
 	final Queue<StaticCollisionPolygon> staticCollisionPolygons = new Queue<StaticCollisionPolygon>(DEFAULT_POOL_SIZE * 2);
 
+	final Queue<SingleThreadedCollisionBox> singleThreadedCollisionBoxes = new Queue<SingleThreadedCollisionBox>(DEFAULT_POOL_SIZE * 2);
+	final Queue<SingleThreadedCollisionCircle> singleThreadedCollisionCircles = new Queue<SingleThreadedCollisionCircle>(DEFAULT_POOL_SIZE * 2);
+
+	private final PoolStatistics collisionBoxStatistics = new PoolStatistics();
+	private final PoolStatistics collisionCircleStatistics = new PoolStatistics();
+	private final PoolStatistics collisionPointStatistics = new PoolStatistics();
+	private final PoolStatistics collisionPolygonStatistics = new PoolStatistics();
+	private final PoolStatistics quadTreeAwareCollisionBoxStatistics = new PoolStatistics();
+	private final PoolStatistics quadTreeAwareCollisionCircleStatistics = new PoolStatistics();
+	private final PoolStatistics quadTreeAwareCollisionPointStatistics = new PoolStatistics();
+	private final PoolStatistics quadTreeAwareCollisionPolygonStatistics = new PoolStatistics();
+	private final PoolStatistics staticCollisionBoxStatistics = new PoolStatistics();
+	private final PoolStatistics staticCollisionCircleStatistics = new PoolStatistics();
+	private final PoolStatistics staticCollisionPointStatistics = new PoolStatistics();
+	private final PoolStatistics staticCollisionPolygonStatistics = new PoolStatistics();
+	private final PoolStatistics singleThreadedCollisionBoxStatistics = new PoolStatistics();
+	private final PoolStatistics singleThreadedCollisionCircleStatistics = new PoolStatistics();
+
 	private boolean initialised = false;
 
 	public Collisions() {
@@ -78,10 +97,37 @@ public class Collisions {
 			staticCollisionCircles.removeLast().dispose();
 			staticCollisionPoints.addLast(new StaticCollisionPoint(CollisionIdSequence.nextId(),this));
 			staticCollisionPoints.removeLast().dispose();
+
+			singleThreadedCollisionBoxes.addLast(new SingleThreadedCollisionBox(CollisionIdSequence.nextId(),this));
+			singleThreadedCollisionBoxes.removeLast().dispose();
+			singleThreadedCollisionCircles.addLast(new SingleThreadedCollisionCircle(CollisionIdSequence.nextId(),this));
+			singleThreadedCollisionCircles.removeLast().dispose();
 		}
+		//Prefilled objects were never obtained so their release should not count as frees
+		resetPoolStatistics();
 		initialised = true;
 	}
 
+	/**
+	 * Resets the {@link PoolStatistics} of all pools
+	 */
+	public void resetPoolStatistics() {
+		collisionBoxStatistics.reset();
+		collisionCircleStatistics.reset();
+		collisionPointStatistics.reset();
+		collisionPolygonStatistics.reset();
+		quadTreeAwareCollisionBoxStatistics.reset();
+		quadTreeAwareCollisionCircleStatistics.reset();
+		quadTreeAwareCollisionPointStatistics.reset();
+		quadTreeAwareCollisionPolygonStatistics.reset();
+		staticCollisionBoxStatistics.reset();
+		staticCollisionCircleStatistics.reset();
+		staticCollisionPointStatistics.reset();
+		staticCollisionPolygonStatistics.reset();
+		singleThreadedCollisionBoxStatistics.reset();
+		singleThreadedCollisionCircleStatistics.reset();
+	}
+
 	public CollisionBox collisionBox() {
 		return collisionBox(CollisionIdSequence.nextId());
 	}
@@ -96,9 +142,11 @@ public class Collisions {
 		final CollisionBox result;
 		synchronized (collisionBoxes) {
 			if(collisionBoxes.size == 0) {
+				collisionBoxStatistics.recordMiss();
 				result = new CollisionBox(CollisionIdSequence.offset(id), this);
 				InterpolationTracker.deregister(result);
 			} else {
+				collisionBoxStatistics.recordHit();
 				result = collisionBoxes.removeFirst();
 			}
 		}
@@ -120,9 +168,11 @@ public class Collisions {
 		final CollisionCircle result;
 		synchronized (collisionCircles) {
 			if(collisionCircles.size == 0) {
+				collisionCircleStatistics.recordMiss();
 				result = new CollisionCircle(CollisionIdSequence.offset(id),this);
 				InterpolationTracker.deregister(result);
 			} else {
+				collisionCircleStatistics.recordHit();
 				result = collisionCircles.removeFirst();
 			}
 		}
@@ -144,9 +194,11 @@ public class Collisions {
 		final CollisionPoint result;
 		synchronized (collisionPoints) {
 			if(collisionPoints.size == 0) {
+				collisionPointStatistics.recordMiss();
 				result = new CollisionPoint(CollisionIdSequence.offset(id),this);
 				InterpolationTracker.deregister(result);
 			} else {
+				collisionPointStatistics.recordHit();
 				result = collisionPoints.removeFirst();
 			}
 		}
@@ -164,9 +216,11 @@ public class Collisions {
 		final CollisionPolygon result;
 		synchronized (collisionPolygons) {
 			if(collisionPolygons.size == 0) {
+				collisionPolygonStatistics.recordMiss();
 				result = new CollisionPolygon(CollisionIdSequence.offset(id), this, vertices);
 				InterpolationTracker.deregister(result);
 			} else {
+				collisionPolygonStatistics.recordHit();
 				result = collisionPolygons.removeFirst();
 			}
 		}
@@ -184,9 +238,11 @@ public class Collisions {
 		final CollisionPolygon result;
 		synchronized (collisionPolygons) {
 			if(collisionPolygons.size == 0) {
+				collisionPolygonStatistics.recordMiss();
 				result = new CollisionPolygon(CollisionIdSequence.offset(id), this, vectors);
 				InterpolationTracker.deregister(result);
 			} else {
+				collisionPolygonStatistics.recordHit();
 				result = collisionPolygons.removeFirst();
 			}
 		}
@@ -208,9 +264,11 @@ public class Collisions {
 		final QuadTreeAwareCollisionBox result;
 		synchronized (quadTreeAwareCollisionBoxes) {
 			if(quadTreeAwareCollisionBoxes.size == 0) {
+				quadTreeAwareCollisionBoxStatistics.recordMiss();
 				result = new QuadTreeAwareCollisionBox(CollisionIdSequence.offset(id), this);
 				InterpolationTracker.deregister(result);
 			} else {
+				quadTreeAwareCollisionBoxStatistics.recordHit();
 				result = quadTreeAwareCollisionBoxes.removeFirst();
 			}
 		}
@@ -232,9 +290,11 @@ public class Collisions {
 		final QuadTreeAwareCollisionCircle result;
 		synchronized (quadTreeAwareCollisionCircles) {
 			if(quadTreeAwareCollisionCircles.size == 0) {
+				quadTreeAwareCollisionCircleStatistics.recordMiss();
 				result = new QuadTreeAwareCollisionCircle(CollisionIdSequence.offset(id), this);
 				InterpolationTracker.deregister(result);
 			} else {
+				quadTreeAwareCollisionCircleStatistics.recordHit();
 				result = quadTreeAwareCollisionCircles.removeFirst();
 			}
 		}
@@ -256,9 +316,11 @@ public class Collisions {
 		final QuadTreeAwareCollisionPoint result;
 		synchronized (quadTreeAwareCollisionPoints) {
 			if(quadTreeAwareCollisionPoints.size == 0) {
+				quadTreeAwareCollisionPointStatistics.recordMiss();
 				result = new QuadTreeAwareCollisionPoint(CollisionIdSequence.offset(id), this);
 				InterpolationTracker.deregister(result);
 			} else {
+				quadTreeAwareCollisionPointStatistics.recordHit();
 				result = quadTreeAwareCollisionPoints.removeFirst();
 			}
 		}
@@ -276,9 +338,11 @@ public class Collisions {
 		final QuadTreeAwareCollisionPolygon result;
 		synchronized (quadTreeAwareCollisionPolygons) {
 			if(quadTreeAwareCollisionPolygons.size == 0) {
+				quadTreeAwareCollisionPolygonStatistics.recordMiss();
 				result = new QuadTreeAwareCollisionPolygon(CollisionIdSequence.offset(id), this, vertices);
 				InterpolationTracker.deregister(result);
 			} else {
+				quadTreeAwareCollisionPolygonStatistics.recordHit();
 				result = quadTreeAwareCollisionPolygons.removeFirst();
 			}
 		}
@@ -296,9 +360,11 @@ public class Collisions {
 		final QuadTreeAwareCollisionPolygon result;
 		synchronized (quadTreeAwareCollisionPolygons) {
 			if(quadTreeAwareCollisionPolygons.size == 0) {
+				quadTreeAwareCollisionPolygonStatistics.recordMiss();
 				result = new QuadTreeAwareCollisionPolygon(CollisionIdSequence.offset(id), this, vectors);
 				InterpolationTracker.deregister(result);
 			} else {
+				quadTreeAwareCollisionPolygonStatistics.recordHit();
 				result = quadTreeAwareCollisionPolygons.removeFirst();
 			}
 		}
@@ -320,8 +386,10 @@ public class Collisions {
 		final StaticCollisionBox result;
 		synchronized (staticCollisionBoxes) {
 			if(staticCollisionBoxes.size == 0) {
+				staticCollisionBoxStatistics.recordMiss();
 				result = new StaticCollisionBox(CollisionIdSequence.offset(id), this);
 			} else {
+				staticCollisionBoxStatistics.recordHit();
 				result = staticCollisionBoxes.removeFirst();
 			}
 		}
@@ -343,8 +411,10 @@ public class Collisions {
 		final StaticCollisionCircle result;
 		synchronized (staticCollisionCircles) {
 			if(staticCollisionCircles.size == 0) {
+				staticCollisionCircleStatistics.recordMiss();
 				result = new StaticCollisionCircle(CollisionIdSequence.offset(id),this);
 			} else {
+				staticCollisionCircleStatistics.recordHit();
 				result = staticCollisionCircles.removeFirst();
 			}
 		}
@@ -366,8 +436,10 @@ public class Collisions {
 		final StaticCollisionPoint result;
 		synchronized (staticCollisionPoints) {
 			if(staticCollisionPoints.size == 0) {
+				staticCollisionPointStatistics.recordMiss();
 				result = new StaticCollisionPoint(CollisionIdSequence.offset(id), this);
 			} else {
+				staticCollisionPointStatistics.recordHit();
 				result = staticCollisionPoints.removeFirst();
 			}
 		}
@@ -385,8 +457,10 @@ public class Collisions {
 		final StaticCollisionPolygon result;
 		synchronized (staticCollisionPolygons) {
 			if(staticCollisionPolygons.size == 0) {
+				staticCollisionPolygonStatistics.recordMiss();
 				result = new StaticCollisionPolygon(CollisionIdSequence.offset(id), this, vertices);
 			} else {
+				staticCollisionPolygonStatistics.recordHit();
 				result = staticCollisionPolygons.removeFirst();
 			}
 		}
@@ -404,8 +478,10 @@ public class Collisions {
 		final StaticCollisionPolygon result;
 		synchronized (staticCollisionPolygons) {
 			if(staticCollisionPolygons.size == 0) {
+				staticCollisionPolygonStatistics.recordMiss();
 				result = new StaticCollisionPolygon(CollisionIdSequence.offset(id), this, vectors);
 			} else {
+				staticCollisionPolygonStatistics.recordHit();
 				result = staticCollisionPolygons.removeFirst();
 			}
 		}
@@ -413,75 +489,153 @@ public class Collisions {
 		return result;
 	}
 
+	public SingleThreadedCollisionBox singleThreadedCollisionBox() {
+		return singleThreadedCollisionBox(CollisionIdSequence.nextId());
+	}
+
+	public SingleThreadedCollisionBox singleThreadedCollisionBox(int id) {
+		return singleThreadedCollisionBox(id, 0f, 0f, 1f, 1f);
+	}
+
+	public SingleThreadedCollisionBox singleThreadedCollisionBox(int id, float x, float y, float width, float height) {
+		init();
+
+		final SingleThreadedCollisionBox result;
+		synchronized (singleThreadedCollisionBoxes) {
+			if(singleThreadedCollisionBoxes.size == 0) {
+				singleThreadedCollisionBoxStatistics.recordMiss();
+				result = new SingleThreadedCollisionBox(CollisionIdSequence.offset(id), this);
+				InterpolationTracker.deregister(result);
+			} else {
+				singleThreadedCollisionBoxStatistics.recordHit();
+				result = singleThreadedCollisionBoxes.removeFirst();
+			}
+		}
+		result.init(id, x, y, width, height);
+		return result;
+	}
+
+	public SingleThreadedCollisionCircle singleThreadedCollisionCircle() {
+		return singleThreadedCollisionCircle(CollisionIdSequence.nextId());
+	}
+
+	public SingleThreadedCollisionCircle singleThreadedCollisionCircle(int id) {
+		return singleThreadedCollisionCircle(id, 0f, 0f, 1f);
+	}
+
+	public SingleThreadedCollisionCircle singleThreadedCollisionCircle(int id, float x, float y, float radius) {
+		init();
+
+		final SingleThreadedCollisionCircle result;
+		synchronized (singleThreadedCollisionCircles) {
+			if(singleThreadedCollisionCircles.size == 0) {
+				singleThreadedCollisionCircleStatistics.recordMiss();
+				result = new SingleThreadedCollisionCircle(CollisionIdSequence.offset(id), this);
+				InterpolationTracker.deregister(result);
+			} else {
+				singleThreadedCollisionCircleStatistics.recordHit();
+				result = singleThreadedCollisionCircles.removeFirst();
+			}
+		}
+		result.init(id, x, y, radius);
+		return result;
+	}
+
 	public void release(CollisionBox collisionBox) {
 		synchronized (collisionBoxes) {
 			collisionBoxes.addLast(collisionBox);
+			collisionBoxStatistics.recordFree();
 		}
 	}
 
 	public void release(CollisionCircle collisionCircle) {
 		synchronized (collisionCircles) {
 			collisionCircles.addLast(collisionCircle);
+			collisionCircleStatistics.recordFree();
 		}
 	}
 
 	public void release(CollisionPoint collisionPoint) {
 		synchronized (collisionPoints) {
 			collisionPoints.addLast(collisionPoint);
+			collisionPointStatistics.recordFree();
 		}
 	}
 
 	public void release(CollisionPolygon collisionPolygon) {
 		synchronized (collisionPolygons) {
 			collisionPolygons.addLast(collisionPolygon);
+			collisionPolygonStatistics.recordFree();
 		}
 	}
 
 	public void release(QuadTreeAwareCollisionBox collisionBox) {
 		synchronized (quadTreeAwareCollisionBoxes) {
 			quadTreeAwareCollisionBoxes.addLast(collisionBox);
+			quadTreeAwareCollisionBoxStatistics.recordFree();
 		}
 	}
 
 	public void release(QuadTreeAwareCollisionCircle collisionCircle) {
 		synchronized (quadTreeAwareCollisionCircles) {
 			quadTreeAwareCollisionCircles.addLast(collisionCircle);
+			quadTreeAwareCollisionCircleStatistics.recordFree();
 		}
 	}
 
 	public void release(QuadTreeAwareCollisionPoint collisionPoint) {
 		synchronized (quadTreeAwareCollisionPoints) {
 			quadTreeAwareCollisionPoints.addLast(collisionPoint);
+			quadTreeAwareCollisionPointStatistics.recordFree();
 		}
 	}
 
 	public void release(QuadTreeAwareCollisionPolygon collisionPolygon) {
 		synchronized (quadTreeAwareCollisionPolygons) {
 			quadTreeAwareCollisionPolygons.addLast(collisionPolygon);
+			quadTreeAwareCollisionPolygonStatistics.recordFree();
 		}
 	}
 
 	public void release(StaticCollisionBox collisionBox) {
 		synchronized (staticCollisionBoxes) {
 			staticCollisionBoxes.addLast(collisionBox);
+			staticCollisionBoxStatistics.recordFree();
 		}
 	}
 
 	public void release(StaticCollisionCircle collisionCircle) {
 		synchronized (staticCollisionCircles) {
 			staticCollisionCircles.addLast(collisionCircle);
+			staticCollisionCircleStatistics.recordFree();
 		}
 	}
 
 	public void release(StaticCollisionPoint collisionPoint) {
 		synchronized (staticCollisionPoints) {
 			staticCollisionPoints.addLast(collisionPoint);
+			staticCollisionPointStatistics.recordFree();
 		}
 	}
 
 	public void release(StaticCollisionPolygon collisionPolygon) {
 		synchronized (staticCollisionPolygons) {
 			staticCollisionPolygons.addLast(collisionPolygon);
+			staticCollisionPolygonStatistics.recordFree();
+		}
+	}
+
+	public void release(SingleThreadedCollisionBox collisionBox) {
+		synchronized (singleThreadedCollisionBoxes) {
+			singleThreadedCollisionBoxes.addLast(collisionBox);
+			singleThreadedCollisionBoxStatistics.recordFree();
+		}
+	}
+
+	public void release(SingleThreadedCollisionCircle collisionCircle) {
+		synchronized (singleThreadedCollisionCircles) {
+			singleThreadedCollisionCircles.addLast(collisionCircle);
+			singleThreadedCollisionCircleStatistics.recordFree();
 		}
 	}
 
@@ -493,6 +647,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link CollisionBox} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getCollisionBoxPoolStatistics() {
+		return collisionBoxStatistics;
+	}
+
 	public int getTotalCollisionCirclesAvailable() {
 		init();
 
@@ -501,6 +663,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link CollisionCircle} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getCollisionCirclePoolStatistics() {
+		return collisionCircleStatistics;
+	}
+
 	public int getTotalCollisionPointsAvailable() {
 		init();
 
@@ -509,6 +679,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link CollisionPoint} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getCollisionPointPoolStatistics() {
+		return collisionPointStatistics;
+	}
+
 	public int getTotalCollisionPolygonsAvailable() {
 		init();
 
@@ -517,6 +695,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link CollisionPolygon} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getCollisionPolygonPoolStatistics() {
+		return collisionPolygonStatistics;
+	}
+
 	public int getTotalQuadTreeAwareCollisionBoxesAvailable() {
 		init();
 
@@ -525,6 +711,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link QuadTreeAwareCollisionBox} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getQuadTreeAwareCollisionBoxPoolStatistics() {
+		return quadTreeAwareCollisionBoxStatistics;
+	}
+
 	public int getTotalQuadTreeAwareCollisionCirclesAvailable() {
 		init();
 
@@ -533,6 +727,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link QuadTreeAwareCollisionCircle} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getQuadTreeAwareCollisionCirclePoolStatistics() {
+		return quadTreeAwareCollisionCircleStatistics;
+	}
+
 	public int getTotalQuadTreeAwareCollisionPointsAvailable() {
 		init();
 
@@ -541,6 +743,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link QuadTreeAwareCollisionPoint} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getQuadTreeAwareCollisionPointPoolStatistics() {
+		return quadTreeAwareCollisionPointStatistics;
+	}
+
 	public int getTotalQuadTreeAwareCollisionPolygonsAvailable() {
 		init();
 
@@ -549,6 +759,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link QuadTreeAwareCollisionPolygon} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getQuadTreeAwareCollisionPolygonPoolStatistics() {
+		return quadTreeAwareCollisionPolygonStatistics;
+	}
+
 	public int getTotalStaticCollisionBoxesAvailable() {
 		init();
 
@@ -557,6 +775,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link StaticCollisionBox} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getStaticCollisionBoxPoolStatistics() {
+		return staticCollisionBoxStatistics;
+	}
+
 	public int getTotalStaticCollisionCirclesAvailable() {
 		init();
 
@@ -565,6 +791,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link StaticCollisionCircle} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getStaticCollisionCirclePoolStatistics() {
+		return staticCollisionCircleStatistics;
+	}
+
 	public int getTotalStaticCollisionPointsAvailable() {
 		init();
 
@@ -573,6 +807,14 @@ public class Collisions {
 		}
 	}
 
+	/**
+	 * Returns the {@link PoolStatistics} for {@link StaticCollisionPoint} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getStaticCollisionPointPoolStatistics() {
+		return staticCollisionPointStatistics;
+	}
+
 	public int getTotalStaticCollisionPolygonsAvailable() {
 		init();
 
@@ -580,4 +822,44 @@ public class Collisions {
 			return staticCollisionPolygons.size;
 		}
 	}
+
+	/**
+	 * Returns the {@link PoolStatistics} for {@link StaticCollisionPolygon} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getStaticCollisionPolygonPoolStatistics() {
+		return staticCollisionPolygonStatistics;
+	}
+
+	public int getTotalSingleThreadedCollisionBoxesAvailable() {
+		init();
+
+		synchronized (singleThreadedCollisionBoxes) {
+			return singleThreadedCollisionBoxes.size;
+		}
+	}
+
+	/**
+	 * Returns the {@link PoolStatistics} for {@link SingleThreadedCollisionBox} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getSingleThreadedCollisionBoxPoolStatistics() {
+		return singleThreadedCollisionBoxStatistics;
+	}
+
+	public int getTotalSingleThreadedCollisionCirclesAvailable() {
+		init();
+
+		synchronized (singleThreadedCollisionCircles) {
+			return singleThreadedCollisionCircles.size;
+		}
+	}
+
+	/**
+	 * Returns the {@link PoolStatistics} for {@link SingleThreadedCollisionCircle} instances
+	 * @return The {@link PoolStatistics} instance
+	 */
+	public PoolStatistics getSingleThreadedCollisionCirclePoolStatistics() {
+		return singleThreadedCollisionCircleStatistics;
+	}
 }
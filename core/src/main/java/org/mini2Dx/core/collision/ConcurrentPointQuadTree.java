@@ -42,6 +42,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 	protected final int mergeWatermark;
 	protected final float minimumQuadWidth, minimumQuadHeight;
 	protected final ReadWriteLock lock;
+	QuadTreeWriteStamp writeStamp;
 
 	protected int totalElementsCache = -1;
 	protected int totalMerges = 0;
@@ -86,6 +87,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		this(parent.getMinimumQuadWidth(), parent.getMinimumQuadHeight(), parent.getElementLimitPerQuad(),
 				parent.getMergeWatermark(), x, y, width, height);
 		this.parent = parent;
+		this.writeStamp = parent.writeStamp;
 	}
 
 	/**
@@ -153,6 +155,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		this.minimumQuadWidth = minimumQuadWidth;
 		this.minimumQuadHeight = minimumQuadHeight;
 		this.lock = Mdx.locks.newReadWriteLock();
+		this.writeStamp = new QuadTreeWriteStamp();
 
 		elements = new Array<T>(true, elementLimitPerQuad);
 	}
@@ -204,11 +207,11 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 			}
 		}
 
-		lock.lockWrite();
+		lockWrite();
 
 		if (topLeft != null) {
 			lock.lockRead();
-			lock.unlockWrite();
+			unlockWrite();
 			for (T element : elementsWithinQuad) {
 				if (topLeft.add(element)) {
 					continue;
@@ -232,7 +235,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 			element.addPostionChangeListener(this);
 		}
 		int totalElements = this.elements.size;
-		lock.unlockWrite();
+		unlockWrite();
 
 		if (totalElements > elementLimitPerQuad && (getWidth() * 0.5f) >= minimumQuadWidth
 				&& (getHeight() * 0.5f) >= minimumQuadHeight) {
@@ -252,12 +255,12 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 	}
 
 	protected boolean addElement(T element) {
-		lock.lockWrite();
+		lockWrite();
 
 		// Another write may occur concurrently before this one
 		if (topLeft != null) {
 			lock.lockRead();
-			lock.unlockWrite();
+			unlockWrite();
 			return addElementToChild(element);
 		}
 
@@ -265,7 +268,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		element.addPostionChangeListener(this);
 		QuadTreeAwareUtils.setQuadTreeRef(element, this);
 		int totalElements = elements.size;
-		lock.unlockWrite();
+		unlockWrite();
 
 		if (totalElements > elementLimitPerQuad && (getWidth() * 0.5f) >= minimumQuadWidth
 				&& (getHeight() * 0.5f) >= minimumQuadHeight) {
@@ -303,11 +306,11 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		}
 		lock.unlockRead();
 
-		lock.lockWrite();
+		lockWrite();
 
 		// Another write may occur concurrently before this one
 		if (topLeft != null) {
-			lock.unlockWrite();
+			unlockWrite();
 			return;
 		}
 
@@ -327,7 +330,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 			addElementToChild(element);
 		}
 
-		lock.unlockWrite();
+		unlockWrite();
 	}
 
 	protected boolean isMergable() {
@@ -370,12 +373,12 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		}
 		lock.unlockRead();
 
-		lock.lockWrite();
+		lockWrite();
 
 		// Another write may occur concurrently before this one
 		if (topLeft == null) {
 			lock.lockRead();
-			lock.unlockWrite();
+			unlockWrite();
 			return;
 		}
 
@@ -407,7 +410,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		bottomLeft = null;
 		bottomRight = null;
 
-		lock.unlockWrite();
+		unlockWrite();
 		lock.lockRead();
 	}
 
@@ -448,9 +451,9 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		}
 		lock.unlockRead();
 
-		lock.lockWrite();
+		lockWrite();
 		elements.removeAll(elementsWithinQuad, false);
-		lock.unlockWrite();
+		unlockWrite();
 
 		for (T element : elementsWithinQuad) {
 			element.removePositionChangeListener(this);
@@ -466,7 +469,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 
 	@Override
 	public void clear() {
-		lock.lockWrite();
+		lockWrite();
 		if (topLeft != null) {
 			topLeft.clear();
 			topRight.clear();
@@ -479,7 +482,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 			bottomRight = null;
 		}
 		elements.clear();
-		lock.unlockWrite();
+		unlockWrite();
 	}
 
 	public boolean remove(T element) {
@@ -521,17 +524,17 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 	}
 
 	protected boolean removeElement(T element, boolean topDownInvocation) {
-		lock.lockWrite();
+		lockWrite();
 
 		// Another write may occur concurrently before this one
 		if (topLeft != null) {
 			lock.lockRead();
-			lock.unlockWrite();
+			unlockWrite();
 			return removeElementFromChild(element);
 		}
 
 		boolean result = elements.removeValue(element, false);
-		lock.unlockWrite();
+		unlockWrite();
 		element.removePositionChangeListener(this);
 
 		if (parent == null) {
@@ -825,6 +828,202 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		}
 	}
 
+	@Override
+	public SweepResult<T> getElementsIntersectingSweep(CollisionArea sweep) {
+		SweepResult<T> result = new SweepResult<T>();
+		getElementsIntersectingSweep(result, sweep);
+		return result;
+	}
+
+	@Override
+	public void getElementsIntersectingSweep(SweepResult<T> result, CollisionArea sweep) {
+		findElementsIntersectingSweep(result, new SweepQuery(sweep));
+	}
+
+	void findElementsIntersectingSweep(SweepResult<T> result, SweepQuery sweepQuery) {
+		lock.lockRead();
+		if (topLeft != null) {
+			if (sweepQuery.overlaps(topLeft)) {
+				topLeft.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(topRight)) {
+				topRight.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(bottomLeft)) {
+				bottomLeft.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(bottomRight)) {
+				bottomRight.findElementsIntersectingSweep(result, sweepQuery);
+			}
+		} else {
+			addElementsIntersectingSweep(result, sweepQuery);
+		}
+		lock.unlockRead();
+	}
+
+	void addElementsIntersectingSweep(SweepResult<T> result, SweepQuery sweepQuery) {
+		for (int i = elements.size - 1; i >= 0; i--) {
+			T element = elements.get(i);
+			if (element == null) {
+				continue;
+			}
+			float timeOfImpact = sweepQuery.timeOfImpact(element);
+			if (timeOfImpact >= 0f) {
+				result.add(element, timeOfImpact);
+			}
+		}
+	}
+
+	/**
+	 * Executes a batch of area queries, spreading them across the calling
+	 * thread and {@link Mdx#executor}. Queries are first executed without
+	 * acquiring node locks and are only repeated under read locks if the
+	 * {@link QuadTree} was modified during the query.
+	 *
+	 * @param areas
+	 *            The areas to query
+	 * @param results
+	 *            The {@link Array} to store results in. Index N will contain
+	 *            the elements within area N. Missing result {@link Array}s are
+	 *            created and existing ones are cleared.
+	 */
+	public void getElementsWithinAreas(final Array<? extends Shape> areas, Array<Array<T>> results) {
+		new QuadTreeBatchQuery<T>(writeStamp, results, areas.size) {
+			@Override
+			protected void queryOptimistic(int index, Array<T> result) {
+				getElementsWithinAreaOptimistic(result, areas.get(index));
+			}
+
+			@Override
+			protected void queryLocked(int index, Array<T> result) {
+				getElementsWithinArea(result, areas.get(index));
+			}
+		}.execute();
+	}
+
+	/**
+	 * Executes a batch of point queries, spreading them across the calling
+	 * thread and {@link Mdx#executor}. Queries are first executed without
+	 * acquiring node locks and are only repeated under read locks if the
+	 * {@link QuadTree} was modified during the query.
+	 *
+	 * @param points
+	 *            The points to query
+	 * @param results
+	 *            The {@link Array} to store results in. Index N will contain
+	 *            the elements containing point N. Missing result
+	 *            {@link Array}s are created and existing ones are cleared.
+	 */
+	public void getElementsContainingPoints(final Array<Point> points, Array<Array<T>> results) {
+		new QuadTreeBatchQuery<T>(writeStamp, results, points.size) {
+			@Override
+			protected void queryOptimistic(int index, Array<T> result) {
+				getElementsContainingPointOptimistic(result, points.get(index));
+			}
+
+			@Override
+			protected void queryLocked(int index, Array<T> result) {
+				getElementsContainingPoint(result, points.get(index));
+			}
+		}.execute();
+	}
+
+	/**
+	 * Executes a batch of line segment queries, spreading them across the
+	 * calling thread and {@link Mdx#executor}. Queries are first executed
+	 * without acquiring node locks and are only repeated under read locks if
+	 * the {@link QuadTree} was modified during the query.
+	 *
+	 * @param lineSegments
+	 *            The {@link LineSegment}s to query
+	 * @param results
+	 *            The {@link Array} to store results in. Index N will contain
+	 *            the elements intersecting line segment N. Missing result
+	 *            {@link Array}s are created and existing ones are cleared.
+	 */
+	public void getElementsIntersectingLineSegments(final Array<LineSegment> lineSegments, Array<Array<T>> results) {
+		new QuadTreeBatchQuery<T>(writeStamp, results, lineSegments.size) {
+			@Override
+			protected void queryOptimistic(int index, Array<T> result) {
+				getElementsIntersectingLineSegmentOptimistic(result, lineSegments.get(index));
+			}
+
+			@Override
+			protected void queryLocked(int index, Array<T> result) {
+				getElementsIntersectingLineSegment(result, lineSegments.get(index));
+			}
+		}.execute();
+	}
+
+	protected void getElementsWithinAreaOptimistic(Array<T> result, Shape area) {
+		final ConcurrentPointQuadTree<T> topLeft = this.topLeft;
+		final ConcurrentPointQuadTree<T> topRight = this.topRight;
+		final ConcurrentPointQuadTree<T> bottomLeft = this.bottomLeft;
+		final ConcurrentPointQuadTree<T> bottomRight = this.bottomRight;
+
+		if (topLeft == null) {
+			addElementsWithinArea(result, area);
+		} else if (topRight != null && bottomLeft != null && bottomRight != null) {
+			topLeft.getElementsWithinAreaOptimistic(result, area);
+			topRight.getElementsWithinAreaOptimistic(result, area);
+			bottomLeft.getElementsWithinAreaOptimistic(result, area);
+			bottomRight.getElementsWithinAreaOptimistic(result, area);
+		}
+	}
+
+	protected void getElementsContainingPointOptimistic(Array<T> result, Point point) {
+		final ConcurrentPointQuadTree<T> topLeft = this.topLeft;
+		final ConcurrentPointQuadTree<T> topRight = this.topRight;
+		final ConcurrentPointQuadTree<T> bottomLeft = this.bottomLeft;
+		final ConcurrentPointQuadTree<T> bottomRight = this.bottomRight;
+
+		if (topLeft == null) {
+			for (int i = elements.size - 1; i >= 0; i--) {
+				T element = elements.get(i);
+				if (element != null && element.getX() == point.x && element.getY() == point.y) {
+					result.add(element);
+				}
+			}
+		} else if (topRight != null && bottomLeft != null && bottomRight != null) {
+			if (topLeft.contains(point)) {
+				topLeft.getElementsContainingPointOptimistic(result, point);
+			}
+			if (topRight.contains(point)) {
+				topRight.getElementsContainingPointOptimistic(result, point);
+			}
+			if (bottomLeft.contains(point)) {
+				bottomLeft.getElementsContainingPointOptimistic(result, point);
+			}
+			if (bottomRight.contains(point)) {
+				bottomRight.getElementsContainingPointOptimistic(result, point);
+			}
+		}
+	}
+
+	protected void getElementsIntersectingLineSegmentOptimistic(Array<T> result, LineSegment lineSegment) {
+		final ConcurrentPointQuadTree<T> topLeft = this.topLeft;
+		final ConcurrentPointQuadTree<T> topRight = this.topRight;
+		final ConcurrentPointQuadTree<T> bottomLeft = this.bottomLeft;
+		final ConcurrentPointQuadTree<T> bottomRight = this.bottomRight;
+
+		if (topLeft == null) {
+			addElementsIntersectingLineSegment(result, lineSegment);
+		} else if (topRight != null && bottomLeft != null && bottomRight != null) {
+			if (intersects(topLeft, lineSegment)) {
+				topLeft.getElementsIntersectingLineSegmentOptimistic(result, lineSegment);
+			}
+			if (intersects(topRight, lineSegment)) {
+				topRight.getElementsIntersectingLineSegmentOptimistic(result, lineSegment);
+			}
+			if (intersects(bottomLeft, lineSegment)) {
+				bottomLeft.getElementsIntersectingLineSegmentOptimistic(result, lineSegment);
+			}
+			if (intersects(bottomRight, lineSegment)) {
+				bottomRight.getElementsIntersectingLineSegmentOptimistic(result, lineSegment);
+			}
+		}
+	}
+
 	public Array<T> getElements() {
 		Array<T> result = new Array<T>();
 		getElements(result);
@@ -880,6 +1079,16 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		totalElementsCache = -1;
 	}
 
+	protected void lockWrite() {
+		lock.lockWrite();
+		writeStamp.beginWrite();
+	}
+
+	protected void unlockWrite() {
+		writeStamp.endWrite();
+		lock.unlockWrite();
+	}
+
 	@Override
 	public void positionChanged(T moved) {
 		if (this.contains(moved.getX(), moved.getY()))
@@ -179,11 +179,11 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 		}
 		clearTotalElementsCache();
 		
-		lock.lockWrite();
+		lockWrite();
 		
 		if(topLeft != null) {
 			lock.lockRead();
-			lock.unlockWrite();
+			unlockWrite();
 			for(int i = elementsWithinQuad.size - 1; i >= 0; i--) {
 				T element = elementsWithinQuad.get(i);
 				if (topLeft.add(element)) {
@@ -207,7 +207,7 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 			if(elementsWithinQuad.size == 0) {
 				return;
 			}
-			lock.lockWrite();
+			lockWrite();
 		}
 		
 		this.elements.addAll(elementsWithinQuad);
@@ -215,7 +215,7 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 			element.addPostionChangeListener(this);
 		}
 		int totalElements = this.elements.size;
-		lock.unlockWrite();
+		unlockWrite();
 		
 		if (totalElements > elementLimitPerQuad && getWidth() >= 2f && getHeight() >= 2f) {
 			subdivide();
@@ -241,17 +241,17 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 	
 	@Override
 	protected boolean addElement(T element) {
-		lock.lockWrite();
+		lockWrite();
 		
 		//Another write may occur concurrently before this one
 		if(topLeft != null) {
 			lock.lockRead();
-			lock.unlockWrite();
+			unlockWrite();
 			boolean result = addElementToChild(element);
 			if(result) {
 				return true;
 			}
-			lock.lockWrite();
+			lockWrite();
 		}
 		
 		elements.add(element);
@@ -260,7 +260,7 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 		if (elements.size > elementLimitPerQuad && getWidth() >= 2f && getHeight() >= 2f) {
 			subdivide();
 		}
-		lock.unlockWrite();
+		unlockWrite();
 		return true;
 	}
 
@@ -299,11 +299,11 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 		}
 		lock.unlockRead();
 
-		lock.lockWrite();
+		lockWrite();
 		
 		//Another write may occur concurrently before this one
 		if (topLeft != null) {
-			lock.unlockWrite();
+			unlockWrite();
 			return;
 		}
 
@@ -324,7 +324,7 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 			}
 		}
 
-		lock.unlockWrite();
+		unlockWrite();
 	}
 	
 	@Override
@@ -365,9 +365,9 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 		}
 		lock.unlockRead();
 		
-		lock.lockWrite();
+		lockWrite();
 		elements.removeAll(elementsWithinQuad, false);
-		lock.unlockWrite();
+		unlockWrite();
 		
 		for(T element : elementsWithinQuad) {
 			element.removePositionChangeListener(this);
@@ -395,21 +395,21 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 	
 	@Override
 	protected boolean removeElement(T element, boolean topDownInvocation) {
-		lock.lockWrite();
+		lockWrite();
 		
 		//Another write may occur concurrently before this one
 		if(topLeft != null) {
 			lock.lockRead();
-			lock.unlockWrite();
+			unlockWrite();
 			boolean result = removeElementFromChild(element);
 			if(result) {
 				return true;
 			}
-			lock.lockWrite();
+			lockWrite();
 		}
 		
 		boolean result = elements.removeValue(element, false);
-		lock.unlockWrite();
+		unlockWrite();
 		element.removePositionChangeListener(this);
 
 		if (parent == null) {
@@ -781,6 +781,99 @@ public class ConcurrentRegionQuadTree<T extends Sizeable> extends ConcurrentPoin
 		lock.unlockRead();
 	}
 
+	@Override
+	void findElementsIntersectingSweep(SweepResult<T> result, SweepQuery sweepQuery) {
+		lock.lockRead();
+		if (topLeft != null) {
+			if (sweepQuery.overlaps(topLeft)) {
+				topLeft.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(topRight)) {
+				topRight.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(bottomLeft)) {
+				bottomLeft.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(bottomRight)) {
+				bottomRight.findElementsIntersectingSweep(result, sweepQuery);
+			}
+		}
+		addElementsIntersectingSweep(result, sweepQuery);
+		lock.unlockRead();
+	}
+
+	@Override
+	protected void getElementsWithinAreaOptimistic(Array<T> result, Shape area) {
+		final ConcurrentPointQuadTree<T> topLeft = this.topLeft;
+		final ConcurrentPointQuadTree<T> topRight = this.topRight;
+		final ConcurrentPointQuadTree<T> bottomLeft = this.bottomLeft;
+		final ConcurrentPointQuadTree<T> bottomRight = this.bottomRight;
+
+		if (topLeft != null && topRight != null && bottomLeft != null && bottomRight != null) {
+			if (topLeft.contains(area) || topLeft.intersects(area)) {
+				topLeft.getElementsWithinAreaOptimistic(result, area);
+			}
+			if (topRight.contains(area) || topRight.intersects(area)) {
+				topRight.getElementsWithinAreaOptimistic(result, area);
+			}
+			if (bottomLeft.contains(area) || bottomLeft.intersects(area)) {
+				bottomLeft.getElementsWithinAreaOptimistic(result, area);
+			}
+			if (bottomRight.contains(area) || bottomRight.intersects(area)) {
+				bottomRight.getElementsWithinAreaOptimistic(result, area);
+			}
+		}
+		addElementsWithinArea(result, area);
+	}
+
+	@Override
+	protected void getElementsContainingPointOptimistic(Array<T> result, Point point) {
+		final ConcurrentPointQuadTree<T> topLeft = this.topLeft;
+		final ConcurrentPointQuadTree<T> topRight = this.topRight;
+		final ConcurrentPointQuadTree<T> bottomLeft = this.bottomLeft;
+		final ConcurrentPointQuadTree<T> bottomRight = this.bottomRight;
+
+		if (topLeft != null && topRight != null && bottomLeft != null && bottomRight != null) {
+			if (topLeft.contains(point)) {
+				topLeft.getElementsContainingPointOptimistic(result, point);
+			}
+			if (topRight.contains(point)) {
+				topRight.getElementsContainingPointOptimistic(result, point);
+			}
+			if (bottomLeft.contains(point)) {
+				bottomLeft.getElementsContainingPointOptimistic(result, point);
+			}
+			if (bottomRight.contains(point)) {
+				bottomRight.getElementsContainingPointOptimistic(result, point);
+			}
+		}
+		addElementsContainingPoint(result, point);
+	}
+
+	@Override
+	protected void getElementsIntersectingLineSegmentOptimistic(Array<T> result, LineSegment lineSegment) {
+		final ConcurrentPointQuadTree<T> topLeft = this.topLeft;
+		final ConcurrentPointQuadTree<T> topRight = this.topRight;
+		final ConcurrentPointQuadTree<T> bottomLeft = this.bottomLeft;
+		final ConcurrentPointQuadTree<T> bottomRight = this.bottomRight;
+
+		if (topLeft != null && topRight != null && bottomLeft != null && bottomRight != null) {
+			if (intersects(topLeft, lineSegment)) {
+				topLeft.getElementsIntersectingLineSegmentOptimistic(result, lineSegment);
+			}
+			if (intersects(topRight, lineSegment)) {
+				topRight.getElementsIntersectingLineSegmentOptimistic(result, lineSegment);
+			}
+			if (intersects(bottomLeft, lineSegment)) {
+				bottomLeft.getElementsIntersectingLineSegmentOptimistic(result, lineSegment);
+			}
+			if (intersects(bottomRight, lineSegment)) {
+				bottomRight.getElementsIntersectingLineSegmentOptimistic(result, lineSegment);
+			}
+		}
+		addElementsIntersectingLineSegment(result, lineSegment);
+	}
+
 	@Override
 	public Array<T> getElements() {
 		Array<T> result = new Array<T>();
@@ -207,6 +207,7 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 		for (T element : elementsWithinQuad) {
 			elements.add(element);
 			element.addPostionChangeListener(this);
+			QuadTreeAwareUtils.setQuadTreeRef(element, this);
 		}
 		if (elements.size > elementLimitPerQuad && (getWidth() * 0.5f) >= minimumQuadWidth
 				&& (getHeight() * 0.5f) >= minimumQuadHeight) {
@@ -680,6 +681,53 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 		}
 	}
 
+	@Override
+	public SweepResult<T> getElementsIntersectingSweep(CollisionArea sweep) {
+		SweepResult<T> result = new SweepResult<T>();
+		getElementsIntersectingSweep(result, sweep);
+		return result;
+	}
+
+	@Override
+	public void getElementsIntersectingSweep(SweepResult<T> result, CollisionArea sweep) {
+		findElementsIntersectingSweep(result, new SweepQuery(sweep));
+	}
+
+	void findElementsIntersectingSweep(SweepResult<T> result, SweepQuery sweepQuery) {
+		if (topLeft != null) {
+			if (sweepQuery.overlaps(topLeft)) {
+				topLeft.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(topRight)) {
+				topRight.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(bottomLeft)) {
+				bottomLeft.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(bottomRight)) {
+				bottomRight.findElementsIntersectingSweep(result, sweepQuery);
+			}
+		} else {
+			addElementsIntersectingSweep(result, sweepQuery);
+		}
+	}
+
+	void addElementsIntersectingSweep(SweepResult<T> result, SweepQuery sweepQuery) {
+		if (elements == null) {
+			return;
+		}
+		for (int i = elements.size - 1; i >= 0; i--) {
+			T element = elements.get(i);
+			if (element == null) {
+				continue;
+			}
+			float timeOfImpact = sweepQuery.timeOfImpact(element);
+			if (timeOfImpact >= 0f) {
+				result.add(element, timeOfImpact);
+			}
+		}
+	}
+
 	public Array<T> getElements() {
 		Array<T> result = new Array<T>();
 		getElements(result);
@@ -79,6 +79,22 @@ public interface QuadTree<T extends Positionable> extends PositionChangeListener
 	public void getElementsIntersectingLineSegment(Array<T> result, LineSegment lineSegment);
 
 	public void getElementsIntersectingLineSegment(Array<T> result, LineSegment lineSegment, QuadTreeSearchDirection searchDirection);
+
+	/**
+	 * Returns all elements hit by a {@link CollisionArea} as it moves from its previous position to its current position.
+	 * Boxes and polygons are swept by their bounding box and circles as circles.
+	 * @param sweep The moving {@link CollisionArea}
+	 * @return A new {@link SweepResult} ordered by time of impact
+	 */
+	public SweepResult<T> getElementsIntersectingSweep(CollisionArea sweep);
+
+	/**
+	 * Stores all elements hit by a {@link CollisionArea} as it moves from its previous position to its current position.
+	 * Boxes and polygons are swept by their bounding box and circles as circles.
+	 * @param result The {@link SweepResult} to store results in
+	 * @param sweep The moving {@link CollisionArea}
+	 */
+	public void getElementsIntersectingSweep(SweepResult<T> result, CollisionArea sweep);
 	
 	public Array<T> getElementsContainingPoint(Point point);
 
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import org.mini2Dx.core.executor.ParallelFor;
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * Executes a batch of queries against a {@link ConcurrentPointQuadTree}
+ * using {@link ParallelFor}.
+ *
+ * Each query is first attempted optimistically without node locks and is only
+ * repeated under locks if a write occurred during the traversal.
+ */
+abstract class QuadTreeBatchQuery<T extends Positionable> extends ParallelFor {
+	private static final int QUERIES_PER_CLAIM = 16;
+
+	private final QuadTreeWriteStamp writeStamp;
+	private final Array<Array<T>> results;
+
+	QuadTreeBatchQuery(QuadTreeWriteStamp writeStamp, Array<Array<T>> results, int totalQueries) {
+		super(totalQueries, QUERIES_PER_CLAIM);
+		this.writeStamp = writeStamp;
+		this.results = results;
+
+		for (int i = 0; i < totalQueries; i++) {
+			if (i < results.size) {
+				results.get(i).clear();
+			} else {
+				results.add(new Array<T>());
+			}
+		}
+	}
+
+	@Override
+	protected void iterate(int index, int slot) {
+		query(index, results.get(index));
+	}
+
+	private void query(int index, Array<T> result) {
+		final int stamp = writeStamp.tryOptimisticRead();
+		if (stamp != QuadTreeWriteStamp.INVALID_STAMP) {
+			try {
+				queryOptimistic(index, result);
+				if (writeStamp.validate(stamp)) {
+					return;
+				}
+			} catch (RuntimeException e) {
+				// Traversal observed a node mid-write, fall through to locked query
+			}
+			result.clear();
+		}
+		queryLocked(index, result);
+	}
+
+	/**
+	 * Executes a query without acquiring node locks
+	 * @param index The query index
+	 * @param result The {@link Array} to store results in
+	 */
+	protected abstract void queryOptimistic(int index, Array<T> result);
+
+	/**
+	 * Executes a query using node read locks
+	 * @param index The query index
+	 * @param result The {@link Array} to store results in
+	 */
+	protected abstract void queryLocked(int index, Array<T> result);
+}
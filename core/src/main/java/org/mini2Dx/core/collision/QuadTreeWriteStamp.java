@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks structural writes across every node of a {@link ConcurrentPointQuadTree}
+ * so that readers can traverse the tree optimistically without taking node locks.
+ *
+ * A reader obtains a stamp via {@link #tryOptimisticRead()}, traverses the tree
+ * and then calls {@link #validate(int)}. If any node was written to in between
+ * (or a write was in progress) the read must be discarded and retried under locks.
+ */
+class QuadTreeWriteStamp {
+	static final int INVALID_STAMP = -1;
+
+	private final AtomicInteger activeWrites = new AtomicInteger();
+	private final AtomicInteger totalWrites = new AtomicInteger();
+
+	/**
+	 * Called after a node's write lock has been acquired
+	 */
+	void beginWrite() {
+		activeWrites.incrementAndGet();
+	}
+
+	/**
+	 * Called before a node's write lock is released
+	 */
+	void endWrite() {
+		totalWrites.incrementAndGet();
+		activeWrites.decrementAndGet();
+	}
+
+	/**
+	 * Returns a stamp for an optimistic read
+	 * @return {@link #INVALID_STAMP} if a write is currently in progress
+	 */
+	int tryOptimisticRead() {
+		final int stamp = totalWrites.get() & Integer.MAX_VALUE;
+		if (activeWrites.get() != 0) {
+			return INVALID_STAMP;
+		}
+		return stamp;
+	}
+
+	/**
+	 * Returns if no writes have occurred since the stamp was obtained
+	 * @param stamp The stamp returned by {@link #tryOptimisticRead()}
+	 * @return False if the optimistic read must be discarded
+	 */
+	boolean validate(int stamp) {
+		if (stamp == INVALID_STAMP) {
+			return false;
+		}
+		// Atomic update acts as a full fence so reads from the traversal cannot be reordered after validation
+		totalWrites.addAndGet(0);
+		if (activeWrites.get() != 0) {
+			return false;
+		}
+		return (totalWrites.get() & Integer.MAX_VALUE) == stamp;
+	}
+}
@@ -21,8 +21,11 @@ import org.mini2Dx.core.geom.Point;
 import org.mini2Dx.core.geom.Shape;
 import org.mini2Dx.core.geom.Sizeable;
 import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.gdx.math.MathUtils;
 import org.mini2Dx.gdx.utils.Array;
 
+import java.util.Arrays;
+
 /**
  * Implements a region quadtree
  * 
@@ -32,6 +35,9 @@ import org.mini2Dx.gdx.utils.Array;
 public class RegionQuadTree<T extends Sizeable> extends PointQuadTree<T> {
 	private static final long serialVersionUID = -2417612178966065600L;
 
+	private static final int MORTON_BITS = 15;
+	private static final int MORTON_CELLS = 1 << MORTON_BITS;
+
 	/**
 	 * Constructs a {@link RegionQuadTree} with a specified element limit and
 	 * watermark
@@ -162,6 +168,12 @@ public class RegionQuadTree<T extends Sizeable> extends PointQuadTree<T> {
 		g.setColor(tmp);
 	}
 
+	/**
+	 * Adds all elements to this {@link RegionQuadTree}. If this quad is empty,
+	 * the elements are bulk loaded via {@link #bulkLoad(Array)} instead of
+	 * being inserted one-by-one.
+	 * @param elementsToAdd The elements to add
+	 */
 	@Override
 	public void addAll(Array<T> elementsToAdd) {
 		if (elementsToAdd == null || elementsToAdd.size == 0) {
@@ -169,13 +181,18 @@ public class RegionQuadTree<T extends Sizeable> extends PointQuadTree<T> {
 		}
 		clearTotalElementsCache();
 
-		Array<T> elementsWithinQuad = new Array<T>();
+		Array<T> elementsWithinQuad = new Array<T>(elementsToAdd.size);
 		for (T element : elementsToAdd) {
 			if (this.contains(element) || this.intersects(element)) {
 				elementsWithinQuad.add(element);
 			}
 		}
 
+		if (topLeft == null && elements.size == 0) {
+			bulkLoad(elementsWithinQuad);
+			return;
+		}
+
 		for (T element : elementsWithinQuad) {
 			if (topLeft == null) {
 				addElement(element);
@@ -280,6 +297,150 @@ public class RegionQuadTree<T extends Sizeable> extends PointQuadTree<T> {
 		clearTotalElementsCache();
 	}
 
+	/**
+	 * Rebuilds this {@link RegionQuadTree} from scratch using
+	 * {@link #bulkLoad(Array)}. Useful for re-packing the tree after heavy
+	 * element churn has left it unbalanced.
+	 */
+	public void rebuild() {
+		Array<T> allElements = new Array<T>(getTotalElements());
+		detachAll(allElements);
+		clearTotalElementsCache();
+		bulkLoad(allElements);
+	}
+
+	private void detachAll(Array<T> result) {
+		if (topLeft != null) {
+			((RegionQuadTree<T>) topLeft).detachAll(result);
+			((RegionQuadTree<T>) topRight).detachAll(result);
+			((RegionQuadTree<T>) bottomLeft).detachAll(result);
+			((RegionQuadTree<T>) bottomRight).detachAll(result);
+
+			topLeft = null;
+			topRight = null;
+			bottomLeft = null;
+			bottomRight = null;
+		}
+		for (int i = 0; i < elements.size; i++) {
+			T element = elements.get(i);
+			element.removePositionChangeListener(this);
+			QuadTreeAwareUtils.removeQuadTreeRef(element);
+			result.add(element);
+		}
+		elements.clear();
+		clearTotalElementsCache();
+	}
+
+	/**
+	 * Builds the quad hierarchy for a set of elements in a single pass.
+	 * Elements are sorted by the Morton (Z-order) code of their center so
+	 * that the elements of each child quad are contiguous, avoiding the
+	 * repeated root-to-leaf walks and re-splitting of individual inserts.
+	 *
+	 * Note: Assumes this quad is empty and all elements are within its bounds
+	 * @param elementsToAdd The elements to add
+	 */
+	protected void bulkLoad(Array<T> elementsToAdd) {
+		if (elementsToAdd.size == 0) {
+			return;
+		}
+		final int totalElements = elementsToAdd.size;
+		final float scaleX = MORTON_CELLS / getWidth();
+		final float scaleY = MORTON_CELLS / getHeight();
+
+		final long[] sortKeys = new long[totalElements];
+		for (int i = 0; i < totalElements; i++) {
+			T element = elementsToAdd.get(i);
+			int cellX = MathUtils.clamp((int) ((element.getCenterX() - getX()) * scaleX), 0, MORTON_CELLS - 1);
+			int cellY = MathUtils.clamp((int) ((element.getCenterY() - getY()) * scaleY), 0, MORTON_CELLS - 1);
+			sortKeys[i] = ((long) mortonCode(cellX, cellY) << 32) | i;
+		}
+		Arrays.sort(sortKeys);
+
+		final Array<T> sortedElements = new Array<T>(true, totalElements);
+		final int[] mortonCodes = new int[totalElements];
+		for (int i = 0; i < totalElements; i++) {
+			sortedElements.add(elementsToAdd.get((int) sortKeys[i]));
+			mortonCodes[i] = (int) (sortKeys[i] >>> 32);
+		}
+		bulkLoad(sortedElements, mortonCodes, 0, totalElements, 0);
+	}
+
+	private void bulkLoad(Array<T> sortedElements, int[] mortonCodes, int from, int to, int depth) {
+		clearTotalElementsCache();
+
+		if (to - from <= elementLimitPerQuad || depth >= MORTON_BITS || (getWidth() * 0.5f) < minimumQuadWidth
+				|| (getHeight() * 0.5f) < minimumQuadHeight) {
+			for (int i = from; i < to; i++) {
+				attachElement(sortedElements.get(i));
+			}
+			return;
+		}
+
+		subdivide();
+
+		final int shift = (MORTON_BITS - 1 - depth) * 2;
+		int start = from;
+		for (int quadrant = 0; quadrant < 4; quadrant++) {
+			int end = start;
+			while (end < to && ((mortonCodes[end] >>> shift) & 3) == quadrant) {
+				end++;
+			}
+
+			final RegionQuadTree<T> child = getChild(quadrant);
+			int childEnd = start;
+			for (int i = start; i < end; i++) {
+				T element = sortedElements.get(i);
+				if (child.contains(element)) {
+					sortedElements.set(childEnd, element);
+					mortonCodes[childEnd] = mortonCodes[i];
+					childEnd++;
+				} else {
+					//Straddles a quad boundary so belongs to this quad
+					attachElement(element);
+				}
+			}
+			child.bulkLoad(sortedElements, mortonCodes, start, childEnd, depth + 1);
+			start = end;
+		}
+	}
+
+	private void attachElement(T element) {
+		elements.add(element);
+		element.addPostionChangeListener(this);
+		QuadTreeAwareUtils.setQuadTreeRef(element, this);
+	}
+
+	private RegionQuadTree<T> getChild(int quadrant) {
+		switch (quadrant) {
+		case 0:
+			return (RegionQuadTree<T>) topLeft;
+		case 1:
+			return (RegionQuadTree<T>) topRight;
+		case 2:
+			return (RegionQuadTree<T>) bottomLeft;
+		default:
+			return (RegionQuadTree<T>) bottomRight;
+		}
+	}
+
+	/**
+	 * Interleaves the bits of x and y so that each pair of bits (y, x)
+	 * selects a quadrant in the order topLeft, topRight, bottomLeft, bottomRight
+	 */
+	private static int mortonCode(int x, int y) {
+		return spreadBits(x) | (spreadBits(y) << 1);
+	}
+
+	private static int spreadBits(int value) {
+		value &= 0x00007FFF;
+		value = (value | (value << 8)) & 0x00FF00FF;
+		value = (value | (value << 4)) & 0x0F0F0F0F;
+		value = (value | (value << 2)) & 0x33333333;
+		value = (value | (value << 1)) & 0x55555555;
+		return value;
+	}
+
 	@Override
 	protected void addElementsWithinArea(Array<T> result, Shape area) {
 		for (int i = elements.size - 1; i >= 0; i--) {
@@ -612,6 +773,25 @@ public class RegionQuadTree<T extends Sizeable> extends PointQuadTree<T> {
 		}
 	}
 
+	@Override
+	void findElementsIntersectingSweep(SweepResult<T> result, SweepQuery sweepQuery) {
+		if (topLeft != null) {
+			if (sweepQuery.overlaps(topLeft)) {
+				topLeft.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(topRight)) {
+				topRight.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(bottomLeft)) {
+				bottomLeft.findElementsIntersectingSweep(result, sweepQuery);
+			}
+			if (sweepQuery.overlaps(bottomRight)) {
+				bottomRight.findElementsIntersectingSweep(result, sweepQuery);
+			}
+		}
+		addElementsIntersectingSweep(result, sweepQuery);
+	}
+
 	@Override
 	public Array<T> getElements() {
 		Array<T> result = new Array<T>();
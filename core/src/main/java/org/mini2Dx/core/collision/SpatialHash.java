@@ -0,0 +1,789 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.geom.LineSegment;
+import org.mini2Dx.core.geom.Point;
+import org.mini2Dx.core.geom.Shape;
+import org.mini2Dx.core.geom.SizeChangeListener;
+import org.mini2Dx.core.geom.Sizeable;
+import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.IntArray;
+import org.mini2Dx.gdx.utils.ObjectIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Implements a uniform grid spatial hash as an alternative to {@link RegionQuadTree}.
+ *
+ * Cell membership is stored in primitive int arrays so moving an element is
+ * O(1) when it stays within the same cells and queries never allocate when
+ * a result {@link Array} is provided. Elements spanning multiple cells are
+ * de-duplicated during queries. This class is not thread-safe.
+ */
+public class SpatialHash<T extends Sizeable> implements QuadTree<T>, SizeChangeListener<T> {
+	public static final int DEFAULT_INITIAL_CAPACITY = 128;
+
+	private static final int NONE = -1;
+
+	private final float x, y, width, height;
+	private final float cellWidth, cellHeight;
+	private final float inverseCellWidth, inverseCellHeight;
+	private final int totalColumns, totalRows;
+
+	/** First entry of each cell, {@link #NONE} if the cell is empty */
+	private final int[] cellHeads;
+
+	/** Entries link an element slot to a cell it occupies */
+	private int[] entrySlot, entryCell, entryNext, entryPrevious, entrySlotNext;
+	private int freeEntryHead = NONE;
+	private int totalEntries = 0;
+
+	/** Slots store per-element state, indexed by the element's slot id */
+	private final Array<T> slotElements;
+	private int[] slotFirstEntry, slotMinColumn, slotMinRow, slotMaxColumn, slotMaxRow, slotQueryStamp;
+	private final IntArray freeSlots = new IntArray();
+	private final ObjectIntMap<T> elementSlots;
+
+	private final float [] clipValues = new float[8];
+	private int totalElements = 0;
+	private int queryStamp = 0;
+
+	/**
+	 * Constructs a {@link SpatialHash} with square cells
+	 *
+	 * @param cellSize
+	 *            The width and height of each cell
+	 * @param x
+	 *            The x coordinate of the {@link SpatialHash}
+	 * @param y
+	 *            The y coordinate of the {@link SpatialHash}
+	 * @param width
+	 *            The width of the {@link SpatialHash}
+	 * @param height
+	 *            The height of the {@link SpatialHash}
+	 */
+	public SpatialHash(float cellSize, float x, float y, float width, float height) {
+		this(cellSize, cellSize, x, y, width, height);
+	}
+
+	/**
+	 * Constructs a {@link SpatialHash} with a specified cell size
+	 *
+	 * @param cellWidth
+	 *            The width of each cell
+	 * @param cellHeight
+	 *            The height of each cell
+	 * @param x
+	 *            The x coordinate of the {@link SpatialHash}
+	 * @param y
+	 *            The y coordinate of the {@link SpatialHash}
+	 * @param width
+	 *            The width of the {@link SpatialHash}
+	 * @param height
+	 *            The height of the {@link SpatialHash}
+	 */
+	public SpatialHash(float cellWidth, float cellHeight, float x, float y, float width, float height) {
+		this(DEFAULT_INITIAL_CAPACITY, cellWidth, cellHeight, x, y, width, height);
+	}
+
+	/**
+	 * Constructs a {@link SpatialHash} with a specified cell size and
+	 * pre-allocated element capacity
+	 *
+	 * @param initialCapacity
+	 *            The amount of elements to pre-allocate storage for
+	 * @param cellWidth
+	 *            The width of each cell
+	 * @param cellHeight
+	 *            The height of each cell
+	 * @param x
+	 *            The x coordinate of the {@link SpatialHash}
+	 * @param y
+	 *            The y coordinate of the {@link SpatialHash}
+	 * @param width
+	 *            The width of the {@link SpatialHash}
+	 * @param height
+	 *            The height of the {@link SpatialHash}
+	 */
+	public SpatialHash(int initialCapacity, float cellWidth, float cellHeight, float x, float y, float width, float height) {
+		if(cellWidth <= 0f || cellHeight <= 0f) {
+			throw new IllegalArgumentException("Cell width and height must be greater than 0");
+		}
+		initialCapacity = Math.max(1, initialCapacity);
+
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		this.cellWidth = cellWidth;
+		this.cellHeight = cellHeight;
+		this.inverseCellWidth = 1f / cellWidth;
+		this.inverseCellHeight = 1f / cellHeight;
+		this.totalColumns = Math.max(1, (int) Math.ceil(width / cellWidth));
+		this.totalRows = Math.max(1, (int) Math.ceil(height / cellHeight));
+
+		cellHeads = new int[totalColumns * totalRows];
+		Arrays.fill(cellHeads, NONE);
+
+		entrySlot = new int[initialCapacity];
+		entryCell = new int[initialCapacity];
+		entryNext = new int[initialCapacity];
+		entryPrevious = new int[initialCapacity];
+		entrySlotNext = new int[initialCapacity];
+
+		slotElements = new Array<T>(true, initialCapacity);
+		slotFirstEntry = new int[initialCapacity];
+		slotMinColumn = new int[initialCapacity];
+		slotMinRow = new int[initialCapacity];
+		slotMaxColumn = new int[initialCapacity];
+		slotMaxRow = new int[initialCapacity];
+		slotQueryStamp = new int[initialCapacity];
+		elementSlots = new ObjectIntMap<T>(initialCapacity);
+	}
+
+	@Override
+	public void debugRender(Graphics g) {
+		Color tmp = g.getColor();
+
+		g.setColor(PointQuadTree.QUAD_COLOR);
+		for(int row = 0; row < totalRows; row++) {
+			for(int column = 0; column < totalColumns; column++) {
+				if(cellHeads[toCell(column, row)] == NONE) {
+					continue;
+				}
+				g.drawRect(x + (column * cellWidth), y + (row * cellHeight), cellWidth, cellHeight);
+			}
+		}
+
+		g.setColor(PointQuadTree.ELEMENT_COLOR);
+		for(int i = 0; i < slotElements.size; i++) {
+			T element = slotElements.get(i);
+			if(element == null) {
+				continue;
+			}
+			g.drawRect(element.getMinX(), element.getMinY(),
+					element.getMaxX() - element.getMinX(), element.getMaxY() - element.getMinY());
+		}
+		g.setColor(tmp);
+	}
+
+	@Override
+	public boolean add(T element) {
+		if(element == null) {
+			return false;
+		}
+		if(!overlapsBounds(element)) {
+			return false;
+		}
+		if(elementSlots.containsKey(element)) {
+			return false;
+		}
+
+		final int slot = allocateSlot(element);
+		elementSlots.put(element, slot);
+		linkSlot(slot, toColumn(element.getMinX()), toRow(element.getMinY()),
+				toColumn(element.getMaxX()), toRow(element.getMaxY()));
+		totalElements++;
+
+		element.addPostionChangeListener(this);
+		element.addSizeChangeListener(this);
+		QuadTreeAwareUtils.setQuadTreeRef(element, this);
+		return true;
+	}
+
+	@Override
+	public void addAll(Array<T> elements) {
+		if(elements == null || elements.size == 0) {
+			return;
+		}
+		ensureSlotCapacity(slotElements.size + elements.size);
+		for(int i = 0; i < elements.size; i++) {
+			add(elements.get(i));
+		}
+	}
+
+	@Override
+	public boolean remove(T element) {
+		if(element == null) {
+			return false;
+		}
+		final int slot = elementSlots.remove(element, NONE);
+		if(slot == NONE) {
+			return false;
+		}
+		unlinkSlot(slot);
+		slotElements.set(slot, null);
+		freeSlots.add(slot);
+		totalElements--;
+
+		element.removePositionChangeListener(this);
+		element.removeSizeChangeListener(this);
+		QuadTreeAwareUtils.removeQuadTreeRef(element);
+		return true;
+	}
+
+	@Override
+	public void removeAll(Array<T> elements) {
+		if(elements == null || elements.size == 0) {
+			return;
+		}
+		for(int i = 0; i < elements.size; i++) {
+			remove(elements.get(i));
+		}
+	}
+
+	@Override
+	public void clear() {
+		for(int i = 0; i < slotElements.size; i++) {
+			T element = slotElements.get(i);
+			if(element == null) {
+				continue;
+			}
+			element.removePositionChangeListener(this);
+			element.removeSizeChangeListener(this);
+			QuadTreeAwareUtils.removeQuadTreeRef(element);
+		}
+		Arrays.fill(cellHeads, NONE);
+		slotElements.clear();
+		elementSlots.clear();
+		freeSlots.clear();
+		freeEntryHead = NONE;
+		totalEntries = 0;
+		totalElements = 0;
+	}
+
+	@Override
+	public void positionChanged(T moved) {
+		updateElement(moved);
+	}
+
+	@Override
+	public void sizeChanged(T changed) {
+		updateElement(changed);
+	}
+
+	private void updateElement(T element) {
+		final int slot = elementSlots.get(element, NONE);
+		if(slot == NONE) {
+			return;
+		}
+		if(!overlapsBounds(element)) {
+			remove(element);
+			return;
+		}
+		final int minColumn = toColumn(element.getMinX());
+		final int minRow = toRow(element.getMinY());
+		final int maxColumn = toColumn(element.getMaxX());
+		final int maxRow = toRow(element.getMaxY());
+		if(minColumn == slotMinColumn[slot] && minRow == slotMinRow[slot] &&
+				maxColumn == slotMaxColumn[slot] && maxRow == slotMaxRow[slot]) {
+			return;
+		}
+		unlinkSlot(slot);
+		linkSlot(slot, minColumn, minRow, maxColumn, maxRow);
+	}
+
+	@Override
+	public Array<T> getElementsWithinArea(Shape area) {
+		Array<T> result = new Array<T>();
+		getElementsWithinArea(result, area);
+		return result;
+	}
+
+	@Override
+	public Array<T> getElementsWithinArea(Shape area, QuadTreeSearchDirection searchDirection) {
+		return getElementsWithinArea(area);
+	}
+
+	@Override
+	public void getElementsWithinArea(Array<T> result, Shape area) {
+		if(!overlapsBounds(area.getMinX(), area.getMinY(), area.getMaxX(), area.getMaxY())) {
+			return;
+		}
+		final int stamp = nextQueryStamp();
+		final int minColumn = toColumn(area.getMinX());
+		final int minRow = toRow(area.getMinY());
+		final int maxColumn = toColumn(area.getMaxX());
+		final int maxRow = toRow(area.getMaxY());
+
+		for(int row = minRow; row <= maxRow; row++) {
+			for(int column = minColumn; column <= maxColumn; column++) {
+				for(int entry = cellHeads[toCell(column, row)]; entry != NONE; entry = entryNext[entry]) {
+					final int slot = entrySlot[entry];
+					if(slotQueryStamp[slot] == stamp) {
+						continue;
+					}
+					slotQueryStamp[slot] = stamp;
+
+					final T element = slotElements.get(slot);
+					if(area.contains(element) || area.intersects(element)) {
+						result.add(element);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public void getElementsWithinArea(Array<T> result, Shape area, QuadTreeSearchDirection searchDirection) {
+		getElementsWithinArea(result, area);
+	}
+
+	@Override
+	public Array<T> getElementsContainingArea(Shape area, boolean entirelyContained) {
+		Array<T> result = new Array<T>();
+		getElementsContainingArea(result, area, entirelyContained);
+		return result;
+	}
+
+	@Override
+	public Array<T> getElementsContainingArea(Shape area, QuadTreeSearchDirection searchDirection, boolean entirelyContained) {
+		return getElementsContainingArea(area, entirelyContained);
+	}
+
+	@Override
+	public void getElementsContainingArea(Array<T> result, Shape area, boolean entirelyContained) {
+		if(!overlapsBounds(area.getMinX(), area.getMinY(), area.getMaxX(), area.getMaxY())) {
+			return;
+		}
+		final int stamp = nextQueryStamp();
+		final int minColumn = toColumn(area.getMinX());
+		final int minRow = toRow(area.getMinY());
+		final int maxColumn = toColumn(area.getMaxX());
+		final int maxRow = toRow(area.getMaxY());
+
+		for(int row = minRow; row <= maxRow; row++) {
+			for(int column = minColumn; column <= maxColumn; column++) {
+				for(int entry = cellHeads[toCell(column, row)]; entry != NONE; entry = entryNext[entry]) {
+					final int slot = entrySlot[entry];
+					if(slotQueryStamp[slot] == stamp) {
+						continue;
+					}
+					slotQueryStamp[slot] = stamp;
+
+					final T element = slotElements.get(slot);
+					if(entirelyContained) {
+						if(element.contains(area)) {
+							result.add(element);
+						}
+						continue;
+					}
+					if(!element.contains(area) && !element.intersects(area)) {
+						continue;
+					}
+					//If area is larger than element it is not contained.
+					if(area.getWidth() > element.getWidth() || area.getHeight() > element.getHeight()) {
+						continue;
+					}
+					result.add(element);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void getElementsContainingArea(Array<T> result, Shape area, QuadTreeSearchDirection searchDirection, boolean entirelyContained) {
+		getElementsContainingArea(result, area, entirelyContained);
+	}
+
+	@Override
+	public Array<T> getElementsIntersectingLineSegment(LineSegment lineSegment) {
+		Array<T> result = new Array<T>();
+		getElementsIntersectingLineSegment(result, lineSegment);
+		return result;
+	}
+
+	@Override
+	public Array<T> getElementsIntersectingLineSegment(LineSegment lineSegment, QuadTreeSearchDirection searchDirection) {
+		return getElementsIntersectingLineSegment(lineSegment);
+	}
+
+	@Override
+	public void getElementsIntersectingLineSegment(Array<T> result, LineSegment lineSegment) {
+		final float x1 = lineSegment.getPointA().x;
+		final float y1 = lineSegment.getPointA().y;
+		final float deltaX = lineSegment.getPointB().x - x1;
+		final float deltaY = lineSegment.getPointB().y - y1;
+
+		//Clip the segment to the bounds (Liang-Barsky)
+		float tStart = 0f, tEnd = 1f;
+		final float [] clip = clipValues;
+		clip[0] = -deltaX;
+		clip[1] = x1 - x;
+		clip[2] = deltaX;
+		clip[3] = (x + width) - x1;
+		clip[4] = -deltaY;
+		clip[5] = y1 - y;
+		clip[6] = deltaY;
+		clip[7] = (y + height) - y1;
+		for(int i = 0; i < clip.length; i += 2) {
+			final float p = clip[i];
+			final float q = clip[i + 1];
+			if(p == 0f) {
+				if(q < 0f) {
+					return;
+				}
+				continue;
+			}
+			final float r = q / p;
+			if(p < 0f) {
+				if(r > tEnd) {
+					return;
+				}
+				if(r > tStart) {
+					tStart = r;
+				}
+			} else {
+				if(r < tStart) {
+					return;
+				}
+				if(r < tEnd) {
+					tEnd = r;
+				}
+			}
+		}
+
+		//Walk the cells along the segment (Amanatides-Woo)
+		int column = toColumn(x1 + (tStart * deltaX));
+		int row = toRow(y1 + (tStart * deltaY));
+		final int endColumn = toColumn(x1 + (tEnd * deltaX));
+		final int endRow = toRow(y1 + (tEnd * deltaY));
+
+		final int stepColumn = deltaX > 0f ? 1 : (deltaX < 0f ? -1 : 0);
+		final int stepRow = deltaY > 0f ? 1 : (deltaY < 0f ? -1 : 0);
+		final float tDeltaX = stepColumn != 0 ? cellWidth / Math.abs(deltaX) : Float.MAX_VALUE;
+		final float tDeltaY = stepRow != 0 ? cellHeight / Math.abs(deltaY) : Float.MAX_VALUE;
+		float tMaxX = stepColumn > 0 ? ((x + ((column + 1) * cellWidth)) - x1) / deltaX :
+				(stepColumn < 0 ? ((x + (column * cellWidth)) - x1) / deltaX : Float.MAX_VALUE);
+		float tMaxY = stepRow > 0 ? ((y + ((row + 1) * cellHeight)) - y1) / deltaY :
+				(stepRow < 0 ? ((y + (row * cellHeight)) - y1) / deltaY : Float.MAX_VALUE);
+
+		final int stamp = nextQueryStamp();
+		final int maxSteps = totalColumns + totalRows + 1;
+		for(int step = 0; step <= maxSteps; step++) {
+			for(int entry = cellHeads[toCell(column, row)]; entry != NONE; entry = entryNext[entry]) {
+				final int slot = entrySlot[entry];
+				if(slotQueryStamp[slot] == stamp) {
+					continue;
+				}
+				slotQueryStamp[slot] = stamp;
+
+				final T element = slotElements.get(slot);
+				if(element.intersects(lineSegment)) {
+					result.add(element);
+				}
+			}
+			if(column == endColumn && row == endRow) {
+				return;
+			}
+			if(tMaxX < tMaxY) {
+				column += stepColumn;
+				tMaxX += tDeltaX;
+			} else {
+				row += stepRow;
+				tMaxY += tDeltaY;
+			}
+			if(column < 0 || column >= totalColumns || row < 0 || row >= totalRows) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void getElementsIntersectingLineSegment(Array<T> result, LineSegment lineSegment, QuadTreeSearchDirection searchDirection) {
+		getElementsIntersectingLineSegment(result, lineSegment);
+	}
+
+	@Override
+	public SweepResult<T> getElementsIntersectingSweep(CollisionArea sweep) {
+		SweepResult<T> result = new SweepResult<T>();
+		getElementsIntersectingSweep(result, sweep);
+		return result;
+	}
+
+	@Override
+	public void getElementsIntersectingSweep(SweepResult<T> result, CollisionArea sweep) {
+		final SweepQuery sweepQuery = new SweepQuery(sweep);
+		if(!overlapsBounds(sweepQuery.getSweptMinX(), sweepQuery.getSweptMinY(), sweepQuery.getSweptMaxX(), sweepQuery.getSweptMaxY())) {
+			return;
+		}
+		final int stamp = nextQueryStamp();
+		final int minColumn = toColumn(sweepQuery.getSweptMinX());
+		final int minRow = toRow(sweepQuery.getSweptMinY());
+		final int maxColumn = toColumn(sweepQuery.getSweptMaxX());
+		final int maxRow = toRow(sweepQuery.getSweptMaxY());
+
+		for(int row = minRow; row <= maxRow; row++) {
+			for(int column = minColumn; column <= maxColumn; column++) {
+				for(int entry = cellHeads[toCell(column, row)]; entry != NONE; entry = entryNext[entry]) {
+					final int slot = entrySlot[entry];
+					if(slotQueryStamp[slot] == stamp) {
+						continue;
+					}
+					slotQueryStamp[slot] = stamp;
+
+					final T element = slotElements.get(slot);
+					final float timeOfImpact = sweepQuery.timeOfImpact(element);
+					if(timeOfImpact >= 0f) {
+						result.add(element, timeOfImpact);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public Array<T> getElementsContainingPoint(Point point) {
+		Array<T> result = new Array<T>();
+		getElementsContainingPoint(result, point);
+		return result;
+	}
+
+	@Override
+	public Array<T> getElementsContainingPoint(Point point, QuadTreeSearchDirection searchDirection) {
+		return getElementsContainingPoint(point);
+	}
+
+	@Override
+	public void getElementsContainingPoint(Array<T> result, Point point) {
+		if(!overlapsBounds(point.x, point.y, point.x, point.y)) {
+			return;
+		}
+		final int cell = toCell(toColumn(point.x), toRow(point.y));
+		for(int entry = cellHeads[cell]; entry != NONE; entry = entryNext[entry]) {
+			final T element = slotElements.get(entrySlot[entry]);
+			if(element.contains(point)) {
+				result.add(element);
+			}
+		}
+	}
+
+	@Override
+	public void getElementsContainingPoint(Array<T> result, Point point, QuadTreeSearchDirection searchDirection) {
+		getElementsContainingPoint(result, point);
+	}
+
+	@Override
+	public Array<T> getElements() {
+		Array<T> result = new Array<T>();
+		getElements(result);
+		return result;
+	}
+
+	@Override
+	public void getElements(Array<T> result) {
+		for(int i = 0; i < slotElements.size; i++) {
+			T element = slotElements.get(i);
+			if(element == null) {
+				continue;
+			}
+			result.add(element);
+		}
+	}
+
+	/**
+	 * Returns the total cells in this {@link SpatialHash}
+	 * @return The total columns multiplied by the total rows
+	 */
+	@Override
+	public int getTotalQuads() {
+		return cellHeads.length;
+	}
+
+	@Override
+	public int getTotalElements() {
+		return totalElements;
+	}
+
+	/**
+	 * A {@link SpatialHash} is flat and has no parent
+	 * @return Always null
+	 */
+	@Override
+	public QuadTree<T> getParent() {
+		return null;
+	}
+
+	@Override
+	public float getMinimumQuadWidth() {
+		return cellWidth;
+	}
+
+	@Override
+	public float getMinimumQuadHeight() {
+		return cellHeight;
+	}
+
+	public float getX() {
+		return x;
+	}
+
+	public float getY() {
+		return y;
+	}
+
+	public float getWidth() {
+		return width;
+	}
+
+	public float getHeight() {
+		return height;
+	}
+
+	public int getTotalColumns() {
+		return totalColumns;
+	}
+
+	public int getTotalRows() {
+		return totalRows;
+	}
+
+	private boolean overlapsBounds(Sizeable element) {
+		return overlapsBounds(element.getMinX(), element.getMinY(), element.getMaxX(), element.getMaxY());
+	}
+
+	private boolean overlapsBounds(float minX, float minY, float maxX, float maxY) {
+		if(maxX < x || maxY < y) {
+			return false;
+		}
+		return minX <= x + width && minY <= y + height;
+	}
+
+	private int toColumn(float px) {
+		final int column = (int) ((px - x) * inverseCellWidth);
+		if(column < 0) {
+			return 0;
+		}
+		return column >= totalColumns ? totalColumns - 1 : column;
+	}
+
+	private int toRow(float py) {
+		final int row = (int) ((py - y) * inverseCellHeight);
+		if(row < 0) {
+			return 0;
+		}
+		return row >= totalRows ? totalRows - 1 : row;
+	}
+
+	private int toCell(int column, int row) {
+		return (row * totalColumns) + column;
+	}
+
+	private int nextQueryStamp() {
+		queryStamp++;
+		if(queryStamp == 0) {
+			Arrays.fill(slotQueryStamp, 0);
+			queryStamp = 1;
+		}
+		return queryStamp;
+	}
+
+	private int allocateSlot(T element) {
+		if(freeSlots.size > 0) {
+			final int slot = freeSlots.pop();
+			slotElements.set(slot, element);
+			return slot;
+		}
+		final int slot = slotElements.size;
+		ensureSlotCapacity(slot + 1);
+		slotElements.add(element);
+		return slot;
+	}
+
+	private void ensureSlotCapacity(int capacity) {
+		if(capacity <= slotFirstEntry.length) {
+			return;
+		}
+		final int newCapacity = Math.max(capacity, slotFirstEntry.length * 2);
+		slotFirstEntry = Arrays.copyOf(slotFirstEntry, newCapacity);
+		slotMinColumn = Arrays.copyOf(slotMinColumn, newCapacity);
+		slotMinRow = Arrays.copyOf(slotMinRow, newCapacity);
+		slotMaxColumn = Arrays.copyOf(slotMaxColumn, newCapacity);
+		slotMaxRow = Arrays.copyOf(slotMaxRow, newCapacity);
+		slotQueryStamp = Arrays.copyOf(slotQueryStamp, newCapacity);
+	}
+
+	private int allocateEntry() {
+		if(freeEntryHead != NONE) {
+			final int entry = freeEntryHead;
+			freeEntryHead = entryNext[entry];
+			return entry;
+		}
+		if(totalEntries == entrySlot.length) {
+			final int newCapacity = entrySlot.length * 2;
+			entrySlot = Arrays.copyOf(entrySlot, newCapacity);
+			entryCell = Arrays.copyOf(entryCell, newCapacity);
+			entryNext = Arrays.copyOf(entryNext, newCapacity);
+			entryPrevious = Arrays.copyOf(entryPrevious, newCapacity);
+			entrySlotNext = Arrays.copyOf(entrySlotNext, newCapacity);
+		}
+		return totalEntries++;
+	}
+
+	private void linkSlot(int slot, int minColumn, int minRow, int maxColumn, int maxRow) {
+		slotMinColumn[slot] = minColumn;
+		slotMinRow[slot] = minRow;
+		slotMaxColumn[slot] = maxColumn;
+		slotMaxRow[slot] = maxRow;
+		slotFirstEntry[slot] = NONE;
+
+		for(int row = minRow; row <= maxRow; row++) {
+			for(int column = minColumn; column <= maxColumn; column++) {
+				final int cell = toCell(column, row);
+				final int entry = allocateEntry();
+				final int head = cellHeads[cell];
+
+				entrySlot[entry] = slot;
+				entryCell[entry] = cell;
+				entryPrevious[entry] = NONE;
+				entryNext[entry] = head;
+				if(head != NONE) {
+					entryPrevious[head] = entry;
+				}
+				cellHeads[cell] = entry;
+
+				entrySlotNext[entry] = slotFirstEntry[slot];
+				slotFirstEntry[slot] = entry;
+			}
+		}
+	}
+
+	private void unlinkSlot(int slot) {
+		int entry = slotFirstEntry[slot];
+		while(entry != NONE) {
+			final int nextSlotEntry = entrySlotNext[entry];
+			final int previous = entryPrevious[entry];
+			final int next = entryNext[entry];
+
+			if(previous != NONE) {
+				entryNext[previous] = next;
+			} else {
+				cellHeads[entryCell[entry]] = next;
+			}
+			if(next != NONE) {
+				entryPrevious[next] = previous;
+			}
+
+			entryNext[entry] = freeEntryHead;
+			freeEntryHead = entry;
+			entry = nextSlotEntry;
+		}
+		slotFirstEntry[slot] = NONE;
+	}
+}
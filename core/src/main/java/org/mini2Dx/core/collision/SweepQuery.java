@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import org.mini2Dx.core.geom.Positionable;
+import org.mini2Dx.core.geom.Rectangle;
+import org.mini2Dx.core.geom.Sizeable;
+
+/**
+ * Computes the time of impact between a {@link CollisionArea} moving from its
+ * previous position to its current position and static elements.
+ *
+ * The moving area is treated as an axis-aligned box, or as a circle if
+ * {@link Sizeable#isCircle()} is true. Other shapes are swept using their
+ * bounding box. Each test is reduced to a ray cast against the Minkowski sum
+ * of the element and the moving area, which is a rectangle with rounded
+ * corners.
+ */
+class SweepQuery {
+	static final float NO_IMPACT = -1f;
+
+	final CollisionArea area;
+
+	private final float originX, originY;
+	private final float deltaX, deltaY;
+	private final float width, height, radius;
+	private final float sweptMinX, sweptMinY, sweptMaxX, sweptMaxY;
+
+	SweepQuery(CollisionArea area) {
+		this.area = area;
+
+		deltaX = area.getX() - area.getPreviousX();
+		deltaY = area.getY() - area.getPreviousY();
+
+		if (area.isCircle()) {
+			radius = area.getWidth() * 0.5f;
+			width = 0f;
+			height = 0f;
+			originX = area.getCenterX() - deltaX;
+			originY = area.getCenterY() - deltaY;
+		} else {
+			radius = 0f;
+			width = area.getMaxX() - area.getMinX();
+			height = area.getMaxY() - area.getMinY();
+			originX = area.getMinX() - deltaX;
+			originY = area.getMinY() - deltaY;
+		}
+
+		sweptMinX = Math.min(originX, originX + deltaX) - radius;
+		sweptMinY = Math.min(originY, originY + deltaY) - radius;
+		sweptMaxX = Math.max(originX, originX + deltaX) + width + radius;
+		sweptMaxY = Math.max(originY, originY + deltaY) + height + radius;
+	}
+
+	/**
+	 * Returns if the region covered by the sweep overlaps a bounding box
+	 * @param minX The minimum x coordinate of the bounding box
+	 * @param minY The minimum y coordinate of the bounding box
+	 * @param maxX The maximum x coordinate of the bounding box
+	 * @param maxY The maximum y coordinate of the bounding box
+	 * @return True if elements within the bounding box may be hit by the sweep
+	 */
+	boolean overlaps(float minX, float minY, float maxX, float maxY) {
+		return sweptMinX <= maxX && sweptMaxX >= minX && sweptMinY <= maxY && sweptMaxY >= minY;
+	}
+
+	boolean overlaps(Rectangle quad) {
+		return overlaps(quad.getX(), quad.getY(), quad.getX() + quad.getWidth(), quad.getY() + quad.getHeight());
+	}
+
+	float getSweptMinX() {
+		return sweptMinX;
+	}
+
+	float getSweptMinY() {
+		return sweptMinY;
+	}
+
+	float getSweptMaxX() {
+		return sweptMaxX;
+	}
+
+	float getSweptMaxY() {
+		return sweptMaxY;
+	}
+
+	/**
+	 * Computes the time of impact against an element
+	 * @param element The element. {@link Sizeable} elements are tested by their bounds (or circle), other elements as points.
+	 * @return A value between 0 and 1 (inclusive) or {@link #NO_IMPACT}
+	 */
+	float timeOfImpact(Positionable element) {
+		if (element == area) {
+			return NO_IMPACT;
+		}
+		if (!(element instanceof Sizeable)) {
+			return timeOfImpact(element.getX(), element.getY(), element.getX(), element.getY(), 0f);
+		}
+		final Sizeable sizeable = (Sizeable) element;
+		if (sizeable.isCircle()) {
+			final float centerX = sizeable.getCenterX();
+			final float centerY = sizeable.getCenterY();
+			return timeOfImpact(centerX, centerY, centerX, centerY, sizeable.getWidth() * 0.5f);
+		}
+		return timeOfImpact(sizeable.getMinX(), sizeable.getMinY(), sizeable.getMaxX(), sizeable.getMaxY(), 0f);
+	}
+
+	private float timeOfImpact(float minX, float minY, float maxX, float maxY, float elementRadius) {
+		if (minX > sweptMaxX + elementRadius || maxX < sweptMinX - elementRadius ||
+				minY > sweptMaxY + elementRadius || maxY < sweptMinY - elementRadius) {
+			return NO_IMPACT;
+		}
+
+		// Minkowski sum of the element core with the moving box
+		minX -= width;
+		minY -= height;
+		final float cornerRadius = radius + elementRadius;
+		if (cornerRadius <= 0f) {
+			return intersectBox(minX, minY, maxX, maxY);
+		}
+
+		final float time = intersectBox(minX - cornerRadius, minY - cornerRadius, maxX + cornerRadius, maxY + cornerRadius);
+		if (time < 0f) {
+			return NO_IMPACT;
+		}
+		final float impactX = originX + (deltaX * time);
+		final float impactY = originY + (deltaY * time);
+		if ((impactX >= minX && impactX <= maxX) || (impactY >= minY && impactY <= maxY)) {
+			return time;
+		}
+
+		// Entered through a corner region, test the rounded corners and the edges they join
+		float result = earliest(NO_IMPACT, intersectBox(minX - cornerRadius, minY, maxX + cornerRadius, maxY));
+		result = earliest(result, intersectBox(minX, minY - cornerRadius, maxX, maxY + cornerRadius));
+		result = earliest(result, intersectCircle(minX, minY, cornerRadius));
+		result = earliest(result, intersectCircle(maxX, minY, cornerRadius));
+		result = earliest(result, intersectCircle(minX, maxY, cornerRadius));
+		result = earliest(result, intersectCircle(maxX, maxY, cornerRadius));
+		return result;
+	}
+
+	private float intersectBox(float minX, float minY, float maxX, float maxY) {
+		float entry = 0f;
+		float exit = 1f;
+
+		if (deltaX == 0f) {
+			if (originX < minX || originX > maxX) {
+				return NO_IMPACT;
+			}
+		} else {
+			final float inverse = 1f / deltaX;
+			float near = (minX - originX) * inverse;
+			float far = (maxX - originX) * inverse;
+			if (near > far) {
+				final float swap = near;
+				near = far;
+				far = swap;
+			}
+			entry = Math.max(entry, near);
+			exit = Math.min(exit, far);
+			if (entry > exit) {
+				return NO_IMPACT;
+			}
+		}
+
+		if (deltaY == 0f) {
+			if (originY < minY || originY > maxY) {
+				return NO_IMPACT;
+			}
+		} else {
+			final float inverse = 1f / deltaY;
+			float near = (minY - originY) * inverse;
+			float far = (maxY - originY) * inverse;
+			if (near > far) {
+				final float swap = near;
+				near = far;
+				far = swap;
+			}
+			entry = Math.max(entry, near);
+			exit = Math.min(exit, far);
+			if (entry > exit) {
+				return NO_IMPACT;
+			}
+		}
+		return entry;
+	}
+
+	private float intersectCircle(float centerX, float centerY, float circleRadius) {
+		final float offsetX = originX - centerX;
+		final float offsetY = originY - centerY;
+		final float c = (offsetX * offsetX) + (offsetY * offsetY) - (circleRadius * circleRadius);
+		if (c <= 0f) {
+			return 0f;
+		}
+		final float a = (deltaX * deltaX) + (deltaY * deltaY);
+		final float b = (offsetX * deltaX) + (offsetY * deltaY);
+		if (a == 0f || b > 0f) {
+			return NO_IMPACT;
+		}
+		final float discriminant = (b * b) - (a * c);
+		if (discriminant < 0f) {
+			return NO_IMPACT;
+		}
+		final float time = (-b - (float) Math.sqrt(discriminant)) / a;
+		if (time > 1f) {
+			return NO_IMPACT;
+		}
+		return Math.max(0f, time);
+	}
+
+	private static float earliest(float time1, float time2) {
+		if (time1 < 0f) {
+			return time2;
+		}
+		if (time2 < 0f) {
+			return time1;
+		}
+		return Math.min(time1, time2);
+	}
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import org.mini2Dx.core.geom.Positionable;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.FloatArray;
+
+/**
+ * Stores the results of {@link QuadTree#getElementsIntersectingSweep(SweepResult, CollisionArea)}.
+ *
+ * Each element is paired with its time of impact, a value between 0 (the
+ * {@link CollisionArea}'s previous position) and 1 (its current position).
+ * Results are ordered by time of impact, earliest first.
+ *
+ * @param <T> The element type
+ */
+public class SweepResult<T extends Positionable> {
+	private final Array<T> elements = new Array<T>();
+	private final FloatArray timesOfImpact = new FloatArray();
+
+	/**
+	 * Adds an element, keeping results ordered by time of impact
+	 * @param element The element that was hit
+	 * @param timeOfImpact The time of impact between 0 and 1
+	 */
+	public void add(T element, float timeOfImpact) {
+		int index = elements.size;
+		while (index > 0 && timesOfImpact.get(index - 1) > timeOfImpact) {
+			index--;
+		}
+		elements.insert(index, element);
+		timesOfImpact.insert(index, timeOfImpact);
+	}
+
+	/**
+	 * Removes all results
+	 */
+	public void clear() {
+		elements.clear();
+		timesOfImpact.clear();
+	}
+
+	/**
+	 * Returns the element at the specified index
+	 * @param index The result index
+	 * @return The element
+	 */
+	public T getElement(int index) {
+		return elements.get(index);
+	}
+
+	/**
+	 * Returns the time of impact at the specified index
+	 * @param index The result index
+	 * @return A value between 0 (previous position) and 1 (current position)
+	 */
+	public float getTimeOfImpact(int index) {
+		return timesOfImpact.get(index);
+	}
+
+	/**
+	 * Returns the earliest element hit
+	 * @return Null if nothing was hit
+	 */
+	public T getFirstElement() {
+		return elements.size > 0 ? elements.get(0) : null;
+	}
+
+	/**
+	 * Returns the earliest time of impact
+	 * @return -1 if nothing was hit
+	 */
+	public float getFirstTimeOfImpact() {
+		return timesOfImpact.size > 0 ? timesOfImpact.get(0) : -1f;
+	}
+
+	/**
+	 * Returns the elements hit, ordered by time of impact
+	 * @return The backing {@link Array} of elements
+	 */
+	public Array<T> getElements() {
+		return elements;
+	}
+
+	/**
+	 * Returns the total results
+	 * @return 0 if nothing was hit
+	 */
+	public int getSize() {
+		return elements.size;
+	}
+
+	/**
+	 * Returns if nothing was hit
+	 * @return True if there are no results
+	 */
+	public boolean isEmpty() {
+		return elements.size == 0;
+	}
+}
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision.util;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.TimestepMode;
+import org.mini2Dx.core.collision.CollisionIdSequence;
+import org.mini2Dx.core.util.Interpolatable;
+import org.mini2Dx.core.util.InterpolationTracker;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.IntIntMap;
+
+/**
+ * Stores the interpolation state of many {@link StoredCollisionBox} instances in
+ * parallel float arrays (structure-of-arrays) so that {@link #preUpdate()} and
+ * {@link #interpolate(float)} run as tight loops over contiguous memory rather than
+ * a virtual call per object.
+ *
+ * The store registers itself once with {@link InterpolationTracker}; its boxes do not
+ * register individually. Slots are kept dense - when a box is disposed the last slot
+ * is moved into its place. Boxes can be looked up by their collision ID via {@link #get(int)}.
+ *
+ * Note: Boxes must only be moved from the thread calling {@link #preUpdate()} and {@link #interpolate(float)}.
+ */
+public class CollisionBoxStore implements Interpolatable {
+	public static int DEFAULT_CAPACITY = 128;
+
+	private final IntIntMap idToSlot;
+	private final Array<StoredCollisionBox> boxes;
+	private final Array<StoredCollisionBox> pool = new Array<StoredCollisionBox>();
+
+	float [] x, y, width, height;
+	float [] previousX, previousY, previousWidth, previousHeight;
+	float [] renderX, renderY, renderWidth, renderHeight;
+	private boolean [] dirty;
+	private boolean dirtyAny = false;
+	private int size = 0;
+
+	public CollisionBoxStore() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public CollisionBoxStore(int initialCapacity) {
+		initialCapacity = Math.max(1, initialCapacity);
+		idToSlot = new IntIntMap(initialCapacity);
+		boxes = new Array<StoredCollisionBox>(true, initialCapacity, StoredCollisionBox.class);
+		resize(initialCapacity);
+
+		InterpolationTracker.register(this);
+	}
+
+	/**
+	 * Creates (or re-uses) a {@link StoredCollisionBox} backed by this store
+	 * @return A new {@link StoredCollisionBox} with the next ID from {@link CollisionIdSequence}
+	 */
+	public StoredCollisionBox collisionBox() {
+		return collisionBox(CollisionIdSequence.nextId());
+	}
+
+	public StoredCollisionBox collisionBox(int id) {
+		return collisionBox(id, 0f, 0f, 1f, 1f);
+	}
+
+	public StoredCollisionBox collisionBox(int id, float x, float y, float width, float height) {
+		final StoredCollisionBox result;
+		if(pool.size > 0) {
+			result = pool.pop();
+		} else {
+			result = new StoredCollisionBox(this);
+		}
+		result.init(id, x, y, width, height);
+		return result;
+	}
+
+	/**
+	 * Returns the {@link StoredCollisionBox} with the specified collision ID
+	 * @param id The collision ID
+	 * @return Null if no box with the ID belongs to this store
+	 */
+	public StoredCollisionBox get(int id) {
+		final int slot = idToSlot.get(id, -1);
+		if(slot < 0) {
+			return null;
+		}
+		return boxes.items[slot];
+	}
+
+	int add(StoredCollisionBox box) {
+		if(size == x.length) {
+			resize(size * 2);
+		}
+		final int slot = size;
+		size++;
+		boxes.add(box);
+		idToSlot.put(box.getId(), slot);
+		return slot;
+	}
+
+	void remove(StoredCollisionBox box) {
+		final int slot = box.slot;
+		final int last = size - 1;
+		if(slot != last) {
+			final StoredCollisionBox moved = boxes.items[last];
+			copySlot(last, slot);
+			boxes.set(slot, moved);
+			moved.slot = slot;
+			idToSlot.put(moved.getId(), slot);
+		}
+		boxes.pop();
+		idToSlot.remove(box.getId(), -1);
+		dirty[last] = false;
+		size = last;
+		pool.add(box);
+	}
+
+	void markDirty(int slot) {
+		dirty[slot] = true;
+		dirtyAny = true;
+	}
+
+	void forceTo(int slot, float x, float y, float width, float height) {
+		this.x[slot] = x;
+		this.y[slot] = y;
+		this.width[slot] = width;
+		this.height[slot] = height;
+		previousX[slot] = x;
+		previousY[slot] = y;
+		previousWidth[slot] = width;
+		previousHeight[slot] = height;
+		renderX[slot] = x;
+		renderY[slot] = y;
+		renderWidth[slot] = width;
+		renderHeight[slot] = height;
+		dirty[slot] = false;
+	}
+
+	/**
+	 * Copies current coordinates of boxes moved since the last flush into the store
+	 */
+	private void flush() {
+		if(!dirtyAny) {
+			return;
+		}
+		final StoredCollisionBox [] items = boxes.items;
+		for(int i = 0; i < size; i++) {
+			if(!dirty[i]) {
+				continue;
+			}
+			final StoredCollisionBox box = items[i];
+			x[i] = box.getX();
+			y[i] = box.getY();
+			width[i] = box.getWidth();
+			height[i] = box.getHeight();
+			dirty[i] = false;
+		}
+		dirtyAny = false;
+	}
+
+	@Override
+	public void preUpdate() {
+		flush();
+		System.arraycopy(x, 0, previousX, 0, size);
+		System.arraycopy(y, 0, previousY, 0, size);
+		System.arraycopy(width, 0, previousWidth, 0, size);
+		System.arraycopy(height, 0, previousHeight, 0, size);
+	}
+
+	@Override
+	public void interpolate(float alpha) {
+		flush();
+		if(Mdx.timestepMode.equals(TimestepMode.DEFAULT)) {
+			System.arraycopy(x, 0, renderX, 0, size);
+			System.arraycopy(y, 0, renderY, 0, size);
+			System.arraycopy(width, 0, renderWidth, 0, size);
+			System.arraycopy(height, 0, renderHeight, 0, size);
+			return;
+		}
+		lerp(previousX, x, renderX, alpha, size);
+		lerp(previousY, y, renderY, alpha, size);
+		lerp(previousWidth, width, renderWidth, alpha, size);
+		lerp(previousHeight, height, renderHeight, alpha, size);
+	}
+
+	private static void lerp(float [] from, float [] to, float [] result, float alpha, int size) {
+		for(int i = 0; i < size; i++) {
+			result[i] = from[i] + ((to[i] - from[i]) * alpha);
+		}
+	}
+
+	private void copySlot(int from, int to) {
+		x[to] = x[from];
+		y[to] = y[from];
+		width[to] = width[from];
+		height[to] = height[from];
+		previousX[to] = previousX[from];
+		previousY[to] = previousY[from];
+		previousWidth[to] = previousWidth[from];
+		previousHeight[to] = previousHeight[from];
+		renderX[to] = renderX[from];
+		renderY[to] = renderY[from];
+		renderWidth[to] = renderWidth[from];
+		renderHeight[to] = renderHeight[from];
+		dirty[to] = dirty[from];
+	}
+
+	private void resize(int capacity) {
+		x = resize(x, capacity);
+		y = resize(y, capacity);
+		width = resize(width, capacity);
+		height = resize(height, capacity);
+		previousX = resize(previousX, capacity);
+		previousY = resize(previousY, capacity);
+		previousWidth = resize(previousWidth, capacity);
+		previousHeight = resize(previousHeight, capacity);
+		renderX = resize(renderX, capacity);
+		renderY = resize(renderY, capacity);
+		renderWidth = resize(renderWidth, capacity);
+		renderHeight = resize(renderHeight, capacity);
+
+		final boolean [] newDirty = new boolean[capacity];
+		if(dirty != null) {
+			System.arraycopy(dirty, 0, newDirty, 0, size);
+		}
+		dirty = newDirty;
+	}
+
+	private float [] resize(float [] array, int capacity) {
+		final float [] result = new float[capacity];
+		if(array != null) {
+			System.arraycopy(array, 0, result, 0, size);
+		}
+		return result;
+	}
+
+	/**
+	 * Deregisters this store from {@link InterpolationTracker}. Boxes belonging to the store
+	 * will no longer be interpolated automatically.
+	 */
+	public void dispose() {
+		InterpolationTracker.deregister(this);
+	}
+
+	/**
+	 * Returns the total boxes currently stored
+	 * @return 0 if empty
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the current capacity of the backing arrays
+	 * @return The maximum boxes before the arrays are resized
+	 */
+	public int getCapacity() {
+		return x.length;
+	}
+
+	/**
+	 * Returns the total released boxes available for re-use
+	 * @return 0 if none are available
+	 */
+	public int getTotalBoxesAvailable() {
+		return pool.size;
+	}
+}
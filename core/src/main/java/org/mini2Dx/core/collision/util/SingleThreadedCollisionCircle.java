@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision.util;
+
+import org.mini2Dx.core.collision.CollisionCircle;
+import org.mini2Dx.core.collision.CollisionIdSequence;
+import org.mini2Dx.core.collision.Collisions;
+import org.mini2Dx.core.geom.PositionChangeListener;
+import org.mini2Dx.core.geom.Positionable;
+import org.mini2Dx.core.geom.SizeChangeListener;
+import org.mini2Dx.core.geom.Sizeable;
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * A {@link CollisionCircle} for games that move and query collisions from a single thread.
+ * Interpolation and listener notification (e.g. {@link org.mini2Dx.core.collision.QuadTree} updates)
+ * behave the same as {@link CollisionCircle} but no locks are allocated or acquired and the
+ * first listener of each kind is stored without allocating a listener {@link Array}.
+ *
+ * Note: Instances must not be moved or resized concurrently with quad tree operations on other threads.
+ */
+public class SingleThreadedCollisionCircle extends CollisionCircle {
+	private PositionChangeListener positionChangeListener;
+	private SizeChangeListener sizeChangeListener;
+
+	public SingleThreadedCollisionCircle(float radius) {
+		this(CollisionIdSequence.nextId(), radius);
+	}
+
+	public SingleThreadedCollisionCircle(int id, float radius) {
+		this(id, 0f, 0f, radius);
+	}
+
+	public SingleThreadedCollisionCircle(float centerX, float centerY, float radius) {
+		this(CollisionIdSequence.nextId(), centerX, centerY, radius);
+	}
+
+	public SingleThreadedCollisionCircle(int id, float centerX, float centerY, float radius) {
+		super(id, centerX, centerY, radius, null, null);
+	}
+
+	public SingleThreadedCollisionCircle(int id, Collisions collisions) {
+		this(id, 1f);
+		this.collisions = collisions;
+	}
+
+	@Override
+	protected void release() {
+		collisions.release(this);
+	}
+
+	@Override
+	public <T extends Positionable> void addPostionChangeListener(PositionChangeListener<T> listener) {
+		if (listener == this) {
+			//Interpolation state is updated directly in notifyPositionChangeListeners
+			return;
+		}
+		if (positionChangeListener == null) {
+			positionChangeListener = listener;
+			return;
+		}
+		if (positionChangeListeners == null) {
+			positionChangeListeners = new Array<PositionChangeListener>(true, 1);
+		}
+		positionChangeListeners.add(listener);
+	}
+
+	@Override
+	public <T extends Positionable> void removePositionChangeListener(PositionChangeListener<T> listener) {
+		if (positionChangeListener == listener) {
+			positionChangeListener = null;
+			return;
+		}
+		removePositionListener(positionChangeListeners, listener);
+	}
+
+	@Override
+	public <T extends Sizeable> void addSizeChangeListener(SizeChangeListener<T> listener) {
+		if (listener == this) {
+			//Interpolation state is updated directly in notifySizeChangeListeners
+			return;
+		}
+		if (sizeChangeListener == null) {
+			sizeChangeListener = listener;
+			return;
+		}
+		if (sizeChangeListeners == null) {
+			sizeChangeListeners = new Array<SizeChangeListener>(true, 1);
+		}
+		sizeChangeListeners.add(listener);
+	}
+
+	@Override
+	public <T extends Sizeable> void removeSizeChangeListener(SizeChangeListener<T> listener) {
+		if (sizeChangeListener == listener) {
+			sizeChangeListener = null;
+			return;
+		}
+		removeSizeListener(sizeChangeListeners, listener);
+	}
+
+	@Override
+	protected void notifyPositionChangeListeners() {
+		final PositionChangeListener listener = positionChangeListener;
+		if (listener != null) {
+			listener.positionChanged(this);
+		}
+		notifyPositionListeners(positionChangeListeners, this);
+		positionChanged(this);
+	}
+
+	@Override
+	protected void clearPositionChangeListeners() {
+		positionChangeListener = null;
+		clearPositionListeners(positionChangeListeners);
+	}
+
+	@Override
+	protected void notifySizeChangeListeners() {
+		final SizeChangeListener listener = sizeChangeListener;
+		if (listener != null) {
+			listener.sizeChanged(this);
+		}
+		notifySizeListeners(sizeChangeListeners, this);
+		sizeChanged(this);
+	}
+
+	@Override
+	protected void clearSizeChangeListeners() {
+		sizeChangeListener = null;
+		clearSizeListeners(sizeChangeListeners);
+	}
+}
@@ -167,6 +167,16 @@ public class StaticCollisionBox extends Rectangle implements CollisionArea {
 		return getHeight();
 	}
 
+	@Override
+	public float getPreviousX() {
+		return getX();
+	}
+
+	@Override
+	public float getPreviousY() {
+		return getY();
+	}
+
 	@Override
 	public RenderCoordMode getRenderCoordMode() {
 		return renderCoordMode;
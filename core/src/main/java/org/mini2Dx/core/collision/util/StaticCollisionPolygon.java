@@ -172,6 +172,16 @@ public class StaticCollisionPolygon extends Polygon implements CollisionArea {
 		return getHeight();
 	}
 
+	@Override
+	public float getPreviousX() {
+		return getX();
+	}
+
+	@Override
+	public float getPreviousY() {
+		return getY();
+	}
+
 	@Override
 	public RenderCoordMode getRenderCoordMode() {
 		return renderCoordMode;
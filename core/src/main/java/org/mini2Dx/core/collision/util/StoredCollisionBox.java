@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision.util;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.collision.CollisionArea;
+import org.mini2Dx.core.collision.CollisionBox;
+import org.mini2Dx.core.collision.RenderCoordMode;
+import org.mini2Dx.core.geom.*;
+import org.mini2Dx.core.lock.ReadWriteLock;
+import org.mini2Dx.gdx.utils.Array;
+
+import java.util.Objects;
+
+/**
+ * A {@link CollisionArea} equivalent to {@link CollisionBox} whose previous and render
+ * coordinates are held in a {@link CollisionBoxStore} rather than in per-object
+ * {@link Rectangle}s. Instances are created via {@link CollisionBoxStore#collisionBox()}
+ * and are interpolated in bulk by the store.
+ *
+ * Note: Rotation is not interpolated.
+ */
+public class StoredCollisionBox extends Rectangle implements CollisionArea {
+	private final CollisionBoxStore store;
+	private final ReadWriteLock positionChangeListenerLock;
+	private final ReadWriteLock sizeChangeListenerLock;
+
+	int slot = -1;
+	private int id;
+
+	private RenderCoordMode renderCoordMode = RenderCoordMode.GLOBAL_DEFAULT;
+
+	StoredCollisionBox(CollisionBoxStore store) {
+		super();
+		this.store = store;
+		positionChangeListenerLock = Mdx.locks.newReadWriteLock();
+		sizeChangeListenerLock = Mdx.locks.newReadWriteLock();
+	}
+
+	void init(int id, float x, float y, float width, float height) {
+		this.id = id;
+
+		disposed = false;
+
+		slot = store.add(this);
+		forceTo(x, y, width, height);
+	}
+
+	@Override
+	public void dispose() {
+		if(disposed) {
+			return;
+		}
+		super.dispose();
+
+		store.remove(this);
+		slot = -1;
+	}
+
+	@Override
+	public void forceTo(float x, float y) {
+		forceTo(x, y, getWidth(), getHeight());
+	}
+
+	@Override
+	public CollisionArea setTo(float x, float y, float width, float height) {
+		set(x, y, width, height);
+		return this;
+	}
+
+	@Override
+	public void forceTo(float x, float y, float width, float height) {
+		super.set(x, y, width, height);
+		store.forceTo(slot, x, y, width, height);
+	}
+
+	@Override
+	public void forceToWidth(float width) {
+		super.setWidth(width);
+		store.forceTo(slot, getX(), getY(), width, getHeight());
+	}
+
+	@Override
+	public void forceToHeight(float height) {
+		super.setHeight(height);
+		store.forceTo(slot, getX(), getY(), getWidth(), height);
+	}
+
+	/**
+	 * Stores the current state as the previous state. Prefer {@link CollisionBoxStore#preUpdate()}
+	 * which processes all boxes at once.
+	 */
+	@Override
+	public void preUpdate() {
+		store.previousX[slot] = getX();
+		store.previousY[slot] = getY();
+		store.previousWidth[slot] = getWidth();
+		store.previousHeight[slot] = getHeight();
+	}
+
+	/**
+	 * Interpolation is performed in bulk by {@link CollisionBoxStore#interpolate(float)}
+	 * @param alpha Ignored
+	 */
+	@Override
+	public void interpolate(float alpha) {
+	}
+
+	@Override
+	public int getRenderX() {
+		return renderCoordMode.apply(store.renderX[slot]);
+	}
+
+	@Override
+	public int getRenderY() {
+		return renderCoordMode.apply(store.renderY[slot]);
+	}
+
+	@Override
+	public int getRenderWidth() {
+		return renderCoordMode.apply(store.renderWidth[slot]);
+	}
+
+	@Override
+	public int getRenderHeight() {
+		return renderCoordMode.apply(store.renderHeight[slot]);
+	}
+
+	@Override
+	public float getRawRenderX() {
+		return store.renderX[slot];
+	}
+
+	@Override
+	public float getRawRenderY() {
+		return store.renderY[slot];
+	}
+
+	@Override
+	public float getRawRenderWidth() {
+		return store.renderWidth[slot];
+	}
+
+	@Override
+	public float getRawRenderHeight() {
+		return store.renderHeight[slot];
+	}
+
+	@Override
+	public float getPreviousX() {
+		return store.previousX[slot];
+	}
+
+	@Override
+	public float getPreviousY() {
+		return store.previousY[slot];
+	}
+
+	@Override
+	public RenderCoordMode getRenderCoordMode() {
+		return renderCoordMode;
+	}
+
+	@Override
+	public void setRenderCoordMode(RenderCoordMode mode) {
+		if(mode == null) {
+			return;
+		}
+		this.renderCoordMode = mode;
+	}
+
+	@Override
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the {@link CollisionBoxStore} this box belongs to
+	 * @return The {@link CollisionBoxStore}
+	 */
+	public CollisionBoxStore getStore() {
+		return store;
+	}
+
+	@Override
+	public <T extends Positionable> void addPostionChangeListener(
+			PositionChangeListener<T> listener) {
+		positionChangeListenerLock.lockWrite();
+		if (positionChangeListeners == null) {
+			positionChangeListeners = new Array<PositionChangeListener>(true,1);
+		}
+		positionChangeListeners.add(listener);
+		positionChangeListenerLock.unlockWrite();
+	}
+
+	@Override
+	public <T extends Positionable> void removePositionChangeListener(
+			PositionChangeListener<T> listener) {
+		removePositionListener(positionChangeListenerLock, positionChangeListeners, listener);
+	}
+
+	@Override
+	public <T extends Sizeable> void addSizeChangeListener(SizeChangeListener<T> listener) {
+		sizeChangeListenerLock.lockWrite();
+		if (sizeChangeListeners == null) {
+			sizeChangeListeners = new Array<SizeChangeListener>(true,1);
+		}
+		sizeChangeListeners.add(listener);
+		sizeChangeListenerLock.unlockWrite();
+	}
+
+	@Override
+	public <T extends Sizeable> void removeSizeChangeListener(SizeChangeListener<T> listener) {
+		removeSizeListener(sizeChangeListenerLock, sizeChangeListeners, listener);
+	}
+
+	@Override
+	protected void notifyPositionChangeListeners() {
+		if(slot >= 0) {
+			store.markDirty(slot);
+		}
+		notifyPositionListeners(positionChangeListenerLock, positionChangeListeners, this);
+	}
+
+	@Override
+	protected void clearPositionChangeListeners() {
+		clearPositionListeners(positionChangeListenerLock, positionChangeListeners);
+	}
+
+	@Override
+	protected void notifySizeChangeListeners() {
+		if(slot >= 0) {
+			store.markDirty(slot);
+		}
+		notifySizeListeners(sizeChangeListenerLock, sizeChangeListeners, this);
+	}
+
+	@Override
+	protected void clearSizeChangeListeners() {
+		clearSizeListeners(sizeChangeListenerLock, sizeChangeListeners);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		if (!super.equals(o)) return false;
+		StoredCollisionBox that = (StoredCollisionBox) o;
+		return id == that.id;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public String toString() {
+		return "StoredCollisionBox [id=" + id + ", slot=" + slot + ", x=" + getX() + ", y=" + getY() + ", width="
+				+ getWidth() + ", height=" + getHeight() + "]";
+	}
+}
@@ -30,4 +30,8 @@ public class PlayerDataException extends Exception {
     public PlayerDataException(Exception exception) {
         super(exception.getMessage(), exception);
     }
+
+    public PlayerDataException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
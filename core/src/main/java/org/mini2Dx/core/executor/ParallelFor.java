@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+import org.mini2Dx.core.Mdx;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the iterations of a loop across the calling thread and {@link Mdx#executor}.
+ *
+ * Iterations are claimed in chunks from a shared counter so that the calling
+ * thread always makes progress even if the executor is busy. Once nothing is
+ * left to claim, the calling thread blocks on the {@link AsyncFuture} of each
+ * helper that started work. Helpers that have not started by then are
+ * cancelled.
+ *
+ * Each thread is given a slot - 0 for the calling thread and 1 upwards for
+ * helpers - so that implementations can keep per-thread state without
+ * synchronization.
+ */
+public abstract class ParallelFor {
+	private static int maxThreads = 4;
+
+	private final int totalIterations;
+	private final int iterationsPerClaim;
+	private final AtomicInteger nextIteration = new AtomicInteger();
+
+	private RuntimeException failure;
+
+	/**
+	 * Constructor. Iterations are claimed one at a time.
+	 * @param totalIterations The total number of iterations
+	 */
+	public ParallelFor(int totalIterations) {
+		this(totalIterations, 1);
+	}
+
+	/**
+	 * Constructor
+	 * @param totalIterations The total number of iterations
+	 * @param iterationsPerClaim The number of iterations a thread claims at once
+	 */
+	public ParallelFor(int totalIterations, int iterationsPerClaim) {
+		this.totalIterations = totalIterations;
+		this.iterationsPerClaim = Math.max(1, iterationsPerClaim);
+	}
+
+	/**
+	 * Runs all iterations and blocks until they are complete.
+	 * If any iteration throws an exception, the remaining iterations still
+	 * run and the first exception is rethrown on the calling thread.
+	 */
+	public void execute() {
+		Helper[] helpers = null;
+		if (Mdx.executor != null) {
+			final int totalClaims = (totalIterations + iterationsPerClaim - 1) / iterationsPerClaim;
+			final int totalHelpers = Math.min(maxThreads, totalClaims) - 1;
+			if (totalHelpers > 0) {
+				helpers = new Helper[totalHelpers];
+				for (int i = 0; i < totalHelpers; i++) {
+					helpers[i] = new Helper(i + 1);
+					helpers[i].future = Mdx.executor.submit(helpers[i]);
+				}
+			}
+		}
+		runClaims(0);
+
+		if (helpers != null) {
+			for (int i = 0; i < helpers.length; i++) {
+				helpers[i].await();
+			}
+		}
+		synchronized (this) {
+			if (failure != null) {
+				throw failure;
+			}
+		}
+	}
+
+	private void runClaims(int slot) {
+		while (true) {
+			final int from = nextIteration.getAndAdd(iterationsPerClaim);
+			if (from >= totalIterations) {
+				return;
+			}
+			final int to = Math.min(totalIterations, from + iterationsPerClaim);
+			for (int i = from; i < to; i++) {
+				try {
+					iterate(i, slot);
+				} catch (RuntimeException e) {
+					synchronized (this) {
+						if (failure == null) {
+							failure = e;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Executes a single iteration
+	 * @param index The iteration index
+	 * @param slot The slot of the executing thread. 0 is the calling thread.
+	 *             Only one thread uses a slot at a time.
+	 */
+	protected abstract void iterate(int index, int slot);
+
+	/**
+	 * Returns the maximum number of threads (including the calling thread) used by {@link #execute()}
+	 * @return Defaults to 4
+	 */
+	public static int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Sets the maximum number of threads (including the calling thread) used by {@link #execute()}
+	 * @param maxThreads A value of 1 or more. 1 runs all iterations on the calling thread.
+	 */
+	public static void setMaxThreads(int maxThreads) {
+		if (maxThreads < 1) {
+			throw new IllegalArgumentException("maxThreads must be 1 or more");
+		}
+		ParallelFor.maxThreads = maxThreads;
+	}
+
+	private class Helper implements Runnable {
+		private final int slot;
+		private AsyncFuture future;
+		private boolean started, cancelled, finished;
+
+		Helper(int slot) {
+			this.slot = slot;
+		}
+
+		@Override
+		public void run() {
+			synchronized (this) {
+				if (cancelled) {
+					return;
+				}
+				started = true;
+			}
+			try {
+				runClaims(slot);
+			} finally {
+				synchronized (this) {
+					finished = true;
+					notifyAll();
+				}
+			}
+		}
+
+		void await() {
+			if (future.isFinished()) {
+				return;
+			}
+			boolean interrupted = false;
+			synchronized (this) {
+				if (!started) {
+					cancelled = true;
+					return;
+				}
+				while (!finished) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
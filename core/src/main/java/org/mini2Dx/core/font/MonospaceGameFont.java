@@ -35,7 +35,13 @@ import org.mini2Dx.gdx.utils.IntIntMap;
  * A {@link GameFont} where every character is a fixed-width which simplifies rendering calculations
  */
 public class MonospaceGameFont implements GameFont {
+	/**
+	 * The default maximum amount of text layouts cached by each font
+	 */
+	public static int DEFAULT_LAYOUT_CACHE_SIZE = 256;
+
 	private final MonospaceFontGlyphLayout sharedGlyphLayout;
+	private final MonospaceGlyphLayoutCache layoutCache;
 	private final FontParameters fontParameters;
 	private TextureRegion [][] characterTextures;
 	private int charactersPerRow, charactersPerColumn;
@@ -59,6 +65,7 @@ public class MonospaceGameFont implements GameFont {
 		}
 
 		sharedGlyphLayout = (MonospaceFontGlyphLayout) newGlyphLayout();
+		layoutCache = new MonospaceGlyphLayoutCache(this, DEFAULT_LAYOUT_CACHE_SIZE);
 	}
 
 	/**
@@ -138,6 +145,8 @@ public class MonospaceGameFont implements GameFont {
 				characterTextures[x][y] = Mdx.graphics.newTextureRegion(textureRegion, textureX, textureY, textureWidth, textureHeight);
 			}
 		}
+		// Layouts computed before loading have no texture regions
+		layoutCache.clear();
 	}
 
 	@Override
@@ -160,8 +169,9 @@ public class MonospaceGameFont implements GameFont {
 	}
 
 	public void draw(Graphics g, String str, float x, float y, float renderWidth, int horizontalAlignment, boolean wrap, FontRenderListener listener) {
-		sharedGlyphLayout.setText(str, color, renderWidth, horizontalAlignment, wrap);
-		draw(g, sharedGlyphLayout.getGlyphs(), x, y, listener);
+		final MonospaceFontGlyphLayout glyphLayout = layoutCache.getLayout(str, color, renderWidth,
+				horizontalAlignment, wrap, sharedGlyphLayout);
+		draw(g, glyphLayout.getGlyphs(), x, y, listener);
 	}
 
 	public void draw(Graphics g, Array<MonospaceGlyph> glyphs, float x, float y, FontRenderListener listener) {
@@ -169,6 +179,7 @@ public class MonospaceGameFont implements GameFont {
 		final float charRenderHeight = fontParameters.lineHeight;
 
 		final Color previousTint = g.getTint();
+		Color currentTint = null;
 		for(int i = 0; i < glyphs.size; i++) {
 			final MonospaceGlyph glyph = glyphs.get(i);
 			if(glyph.textureRegion == null) {
@@ -178,10 +189,16 @@ public class MonospaceGameFont implements GameFont {
 			final float renderX = x + glyph.x;
 			final float renderY = y + glyph.y;
 
-			g.setTint(glyph.color);
 			if(listener == null) {
+				// Only change the tint between runs of differently coloured glyphs
+				if(currentTint == null || !currentTint.equals(glyph.color)) {
+					g.setTint(glyph.color);
+					currentTint = glyph.color;
+				}
 				g.drawTextureRegion(glyph.textureRegion, renderX, renderY);
 			} else {
+				// Listeners may change the tint so it is always set
+				g.setTint(glyph.color);
 				if(listener.preRenderChar(g, glyph.glyphChar, renderX, renderY, charRenderWidth, charRenderHeight)) {
 					g.drawTextureRegion(glyph.textureRegion, renderX, renderY);
 				}
@@ -268,6 +285,15 @@ public class MonospaceGameFont implements GameFont {
 		if(sharedGlyphLayout != null) {
 			sharedGlyphLayout.dispose();
 		}
+		layoutCache.clear();
+	}
+
+	/**
+	 * Returns the cache of text layouts used by the draw methods of this font
+	 * @return The {@link MonospaceGlyphLayoutCache} for configuring size and reading hit rate
+	 */
+	public MonospaceGlyphLayoutCache getLayoutCache() {
+		return layoutCache;
 	}
 
 	public FontParameters getFontParameters() {
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.font;
+
+import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.gdx.utils.ObjectMap;
+
+/**
+ * A bounded, least-recently-used cache of {@link MonospaceFontGlyphLayout}s
+ * so that text which is drawn every frame is only laid out once.
+ *
+ * Layouts are keyed on the text, target width, alignment, wrap and colour.
+ * When the cache is full the least recently used layout is released.
+ */
+public class MonospaceGlyphLayoutCache {
+	private final MonospaceGameFont monospaceFont;
+	private final ObjectMap<LayoutKey, Entry> entries = new ObjectMap<LayoutKey, Entry>();
+	private final LayoutKey lookupKey = new LayoutKey();
+
+	private Entry head, tail;
+	private int maxSize;
+	private long hits, misses;
+
+	/**
+	 * Constructor
+	 * @param monospaceFont The {@link MonospaceGameFont} to lay out text for
+	 * @param maxSize The maximum amount of layouts to cache. 0 disables caching.
+	 */
+	public MonospaceGlyphLayoutCache(MonospaceGameFont monospaceFont, int maxSize) {
+		this.monospaceFont = monospaceFont;
+		this.maxSize = Math.max(0, maxSize);
+	}
+
+	/**
+	 * Returns the layout for the provided text, computing it if it is not cached
+	 * @param str The text
+	 * @param color The {@link Color} of the text
+	 * @param targetWidth The target width
+	 * @param halign The alignment based on {@link org.mini2Dx.core.util.Align}
+	 * @param wrap True if the text should wrap
+	 * @param fallback The layout to compute the text into when caching is disabled
+	 * @return The {@link MonospaceFontGlyphLayout} for the text. Must not be modified.
+	 */
+	public MonospaceFontGlyphLayout getLayout(String str, Color color, float targetWidth, int halign, boolean wrap,
+	                                          MonospaceFontGlyphLayout fallback) {
+		if(maxSize == 0) {
+			misses++;
+			fallback.setText(str, color, targetWidth, halign, wrap);
+			return fallback;
+		}
+
+		lookupKey.set(str, color.rgba8888(), targetWidth, halign, wrap);
+		Entry entry = entries.get(lookupKey);
+		if(entry != null) {
+			hits++;
+			moveToHead(entry);
+			return entry.layout;
+		}
+		misses++;
+
+		if(entries.size >= maxSize) {
+			entry = tail;
+			unlink(entry);
+			entries.remove(entry.key);
+			entry.key.set(str, lookupKey.color, targetWidth, halign, wrap);
+		} else {
+			entry = new Entry(new LayoutKey(), (MonospaceFontGlyphLayout) monospaceFont.newGlyphLayout());
+			entry.key.set(str, lookupKey.color, targetWidth, halign, wrap);
+		}
+		entry.layout.setText(str, color, targetWidth, halign, wrap);
+		entries.put(entry.key, entry);
+		moveToHead(entry);
+		return entry.layout;
+	}
+
+	/**
+	 * Releases all cached layouts
+	 */
+	public void clear() {
+		for(Entry entry = head; entry != null; entry = entry.next) {
+			entry.layout.dispose();
+		}
+		entries.clear();
+		head = null;
+		tail = null;
+	}
+
+	private void moveToHead(Entry entry) {
+		if(entry == head) {
+			return;
+		}
+		unlink(entry);
+		entry.next = head;
+		if(head != null) {
+			head.previous = entry;
+		}
+		head = entry;
+		if(tail == null) {
+			tail = entry;
+		}
+	}
+
+	private void unlink(Entry entry) {
+		if(entry.previous != null) {
+			entry.previous.next = entry.next;
+		}
+		if(entry.next != null) {
+			entry.next.previous = entry.previous;
+		}
+		if(head == entry) {
+			head = entry.next;
+		}
+		if(tail == entry) {
+			tail = entry.previous;
+		}
+		entry.previous = null;
+		entry.next = null;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Sets the maximum amount of layouts to cache. Cached layouts are released if the size is reduced.
+	 * @param maxSize The maximum amount of layouts. 0 disables caching.
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = Math.max(0, maxSize);
+		while(entries.size > this.maxSize) {
+			final Entry entry = tail;
+			unlink(entry);
+			entries.remove(entry.key);
+			entry.layout.dispose();
+		}
+	}
+
+	/**
+	 * Returns the amount of layouts currently cached
+	 * @return 0 if empty
+	 */
+	public int getSize() {
+		return entries.size;
+	}
+
+	/**
+	 * Returns the amount of times a cached layout was reused
+	 * @return The amount of cache hits since the last {@link #resetStatistics()}
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the amount of times text had to be laid out
+	 * @return The amount of cache misses since the last {@link #resetStatistics()}
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the ratio of cache hits to total lookups
+	 * @return A value between 0 and 1. 0 if there have been no lookups.
+	 */
+	public float getHitRate() {
+		final long total = hits + misses;
+		if(total == 0) {
+			return 0f;
+		}
+		return (float) hits / total;
+	}
+
+	/**
+	 * Resets the hit and miss counters
+	 */
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+	}
+
+	private static class Entry {
+		final LayoutKey key;
+		final MonospaceFontGlyphLayout layout;
+		Entry previous, next;
+
+		Entry(LayoutKey key, MonospaceFontGlyphLayout layout) {
+			this.key = key;
+			this.layout = layout;
+		}
+	}
+
+	private static class LayoutKey {
+		String text;
+		int color;
+		float targetWidth;
+		int halign;
+		boolean wrap;
+		int hashCode;
+
+		void set(String text, int color, float targetWidth, int halign, boolean wrap) {
+			this.text = text;
+			this.color = color;
+			this.targetWidth = targetWidth;
+			this.halign = halign;
+			this.wrap = wrap;
+
+			int result = text.hashCode();
+			result = 31 * result + color;
+			result = 31 * result + Float.floatToIntBits(targetWidth);
+			result = 31 * result + halign;
+			result = 31 * result + (wrap ? 1 : 0);
+			this.hashCode = result;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if(this == o) {
+				return true;
+			}
+			if(!(o instanceof LayoutKey)) {
+				return false;
+			}
+			final LayoutKey other = (LayoutKey) o;
+			return color == other.color && targetWidth == other.targetWidth && halign == other.halign &&
+					wrap == other.wrap && text.equals(other.text);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
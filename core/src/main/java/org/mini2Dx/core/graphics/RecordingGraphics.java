@@ -0,0 +1,1255 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.font.GameFont;
+import org.mini2Dx.core.font.GameFontCache;
+import org.mini2Dx.core.geom.Rectangle;
+import org.mini2Dx.core.geom.Shape;
+import org.mini2Dx.core.util.Align;
+import org.mini2Dx.gdx.math.Matrix4;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.FloatArray;
+import org.mini2Dx.gdx.utils.IntMap;
+import org.mini2Dx.gdx.utils.ObjectIntMap;
+
+/**
+ * A {@link Graphics} implementation that records draw commands into a
+ * command buffer instead of executing them. The commands are sorted and
+ * replayed into the backend {@link Graphics} during {@link #postRender()}.<br>
+ * <br>
+ * Commands are replayed in ascending layer order (see {@link #setLayer(int)}),
+ * otherwise in the order they were recorded. Commands recorded while
+ * {@link #setSortable(boolean)} is enabled may additionally be reordered by
+ * shader, blend state and texture to reduce batch flushes. Only enable
+ * sorting for draws whose order does not matter (e.g. non-overlapping
+ * sprites). Changing the layer, translation, scale, rotation or clip ends
+ * the current sortable run.<br>
+ * <br>
+ * Primitives, text and polygon data are copied when recorded. Textures,
+ * sprites, nine patches and other objects passed to this class are
+ * referenced and must not be modified until the frame has been replayed.
+ */
+public class RecordingGraphics implements Graphics {
+	private static final int OP_LINE_SEGMENT = 0;
+	private static final int OP_RECT = 1;
+	private static final int OP_FILL_RECT = 2;
+	private static final int OP_CIRCLE = 3;
+	private static final int OP_FILL_CIRCLE = 4;
+	private static final int OP_TRIANGLE = 5;
+	private static final int OP_FILL_TRIANGLE = 6;
+	private static final int OP_POLYGON = 7;
+	private static final int OP_FILL_POLYGON = 8;
+	private static final int OP_STRING = 9;
+	private static final int OP_STRING_WIDTH = 10;
+	private static final int OP_TEXTURE = 11;
+	private static final int OP_TEXTURE_FLIP = 12;
+	private static final int OP_TEXTURE_SIZE = 13;
+	private static final int OP_TEXTURE_SIZE_FLIP = 14;
+	private static final int OP_REGION = 15;
+	private static final int OP_REGION_SIZE = 16;
+	private static final int OP_REGION_ROTATION = 17;
+	private static final int OP_SPRITE = 18;
+	private static final int OP_SPRITE_POSITION = 19;
+	private static final int OP_SPRITE_CACHE = 20;
+	private static final int OP_SPRITE_CACHE_RANGE = 21;
+	private static final int OP_PARTICLE_EFFECT = 22;
+	private static final int OP_NINE_PATCH = 23;
+	private static final int OP_TILING_DRAWABLE = 24;
+	private static final int OP_FONT_CACHE = 25;
+	private static final int OP_CLEAR = 26;
+	private static final int OP_FLUSH = 27;
+
+	private static final int MAX_INTERNED_COLORS = 256;
+
+	private final Graphics graphics;
+
+	private int [] commandOps = new int[64];
+	private int [] commandLayers = new int[64];
+	private int [] commandGroups = new int[64];
+	private int [] commandStates = new int[64];
+	private int [] commandTextures = new int[64];
+	private int [] commandArgs = new int[64];
+	private int [] commandObjects = new int[64];
+	private int [] order = new int[64];
+	private int [] sortBuffer = new int[64];
+	private int totalCommands;
+	private final FloatArray args = new FloatArray();
+	private final Array<Object> objects = new Array<Object>();
+
+	private final Array<RecordedState> states = new Array<RecordedState>();
+	private final Array<RecordedState> statePool = new Array<RecordedState>();
+	private final RecordedState appliedState = new RecordedState();
+	private final RecordedState frameStartState = new RecordedState();
+	private final IntMap<Color> colors = new IntMap<Color>();
+	private final ObjectIntMap<Shader> shaderIds = new ObjectIntMap<Shader>();
+	private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<Texture>();
+	private final IntMap<float[]> floatArrays = new IntMap<float[]>();
+	private final IntMap<short[]> shortArrays = new IntMap<short[]>();
+
+	private Color color, tint, defaultTint;
+	private GameFont font;
+	private int lineHeight;
+	private Shader shader;
+	private Mini2DxBlendFunction blendSrcFunc, blendDstFunc;
+	private boolean blending = true;
+	private TextureFilter minFilter, magFilter;
+	private float translationX, translationY;
+	private float scaleX = 1f, scaleY = 1f;
+	private float rotation, rotationX, rotationY;
+	private boolean clipped;
+	private float clipX, clipY, clipWidth, clipHeight;
+
+	private boolean stateChanged = true;
+	private int layer;
+	private boolean sortable;
+	private int group, totalGroups;
+
+	/**
+	 * Constructor
+	 * @param graphics The backend {@link Graphics} to replay commands into
+	 */
+	public RecordingGraphics(Graphics graphics) {
+		this.graphics = graphics;
+		readBackendState();
+	}
+
+	@Override
+	public void preRender(int gameWidth, int gameHeight) {
+		graphics.preRender(gameWidth, gameHeight);
+		readBackendState();
+		defaultTint = tint;
+
+		if(colors.size > MAX_INTERNED_COLORS) {
+			colors.clear();
+		}
+	}
+
+	@Override
+	public void postRender() {
+		replay();
+		graphics.postRender();
+
+		//Mirror the state reset of the backend
+		translationX = 0f;
+		translationY = 0f;
+		scaleX = 1f;
+		scaleY = 1f;
+		rotation = 0f;
+		rotationX = 0f;
+		rotationY = 0f;
+		shader = graphics.getShader();
+		blendSrcFunc = null;
+		blendDstFunc = null;
+		stateChanged = true;
+	}
+
+	/**
+	 * Replays all recorded commands into the backend {@link Graphics} and clears the command buffer.
+	 * Called automatically by {@link #postRender()}.
+	 */
+	public void replay() {
+		sortCommands();
+
+		appliedState.set(frameStartState);
+		for(int i = 0; i < totalCommands; i++) {
+			final int command = order[i];
+			final RecordedState state = states.get(commandStates[command]);
+			applyState(appliedState, state);
+			appliedState.set(state);
+			execute(command);
+		}
+		clearCommands();
+	}
+
+	private void readBackendState() {
+		color = graphics.getColor();
+		tint = graphics.getTint();
+		font = graphics.getFont();
+		lineHeight = graphics.getLineHeight();
+		shader = graphics.getShader();
+		minFilter = graphics.getMinFilter();
+		magFilter = graphics.getMagFilter();
+		translationX = graphics.getTranslationX();
+		translationY = graphics.getTranslationY();
+		scaleX = graphics.getScaleX();
+		scaleY = graphics.getScaleY();
+		rotation = graphics.getRotation();
+		rotationX = graphics.getRotationX();
+		rotationY = graphics.getRotationY();
+		stateChanged = true;
+
+		captureState(frameStartState);
+		frameStartState.color = color;
+		frameStartState.tint = tint;
+	}
+
+	private void clearCommands() {
+		for(int i = 0; i < states.size; i++) {
+			statePool.add(states.get(i));
+		}
+		states.clear();
+		objects.clear();
+		args.clear();
+		textureIds.clear();
+		shaderIds.clear();
+		totalCommands = 0;
+		stateChanged = true;
+		//Group ids only need to be ordered within a frame, restart them so they never overflow
+		totalGroups = 0;
+		newGroup();
+
+		//The backend now has the final recorded state
+		frameStartState.set(appliedState);
+	}
+
+	private void newGroup() {
+		group = totalGroups++;
+	}
+
+	/**
+	 * Sets the layer that subsequent commands are recorded into.
+	 * Layers are replayed in ascending order.
+	 * @param layer The layer index
+	 */
+	public void setLayer(int layer) {
+		if(this.layer == layer) {
+			return;
+		}
+		this.layer = layer;
+		newGroup();
+	}
+
+	public int getLayer() {
+		return layer;
+	}
+
+	/**
+	 * Sets if subsequent commands may be reordered by shader, blend state
+	 * and texture relative to each other
+	 * @param sortable True if the draw order of subsequent commands does not matter
+	 */
+	public void setSortable(boolean sortable) {
+		if(this.sortable == sortable) {
+			return;
+		}
+		this.sortable = sortable;
+		newGroup();
+	}
+
+	public boolean isSortable() {
+		return sortable;
+	}
+
+	/**
+	 * Returns the amount of commands recorded since the last replay
+	 * @return 0 if no commands are pending
+	 */
+	public int getTotalCommands() {
+		return totalCommands;
+	}
+
+	/**
+	 * Returns the backend {@link Graphics} that commands are replayed into
+	 * @return The backend {@link Graphics}
+	 */
+	public Graphics getBackend() {
+		return graphics;
+	}
+
+	private int record(int op, Texture texture) {
+		return record(op, texture, sortable);
+	}
+
+	private int record(int op, Texture texture, boolean sortable) {
+		if(totalCommands == commandOps.length) {
+			final int capacity = totalCommands * 2;
+			commandOps = resize(commandOps, capacity);
+			commandLayers = resize(commandLayers, capacity);
+			commandGroups = resize(commandGroups, capacity);
+			commandStates = resize(commandStates, capacity);
+			commandTextures = resize(commandTextures, capacity);
+			commandArgs = resize(commandArgs, capacity);
+			commandObjects = resize(commandObjects, capacity);
+			order = new int[capacity];
+			sortBuffer = new int[capacity];
+		}
+		final int command = totalCommands++;
+		commandOps[command] = op;
+		commandLayers[command] = layer;
+		commandStates[command] = getStateIndex();
+		commandTextures[command] = getTextureId(texture);
+		commandArgs[command] = args.size;
+		commandObjects[command] = objects.size;
+
+		if(sortable) {
+			commandGroups[command] = group;
+		} else {
+			newGroup();
+			commandGroups[command] = group;
+			newGroup();
+		}
+		return command;
+	}
+
+	private static int [] resize(int [] array, int capacity) {
+		final int [] result = new int[capacity];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	private int getTextureId(Texture texture) {
+		if(texture == null) {
+			return 0;
+		}
+		int result = textureIds.get(texture, -1);
+		if(result < 0) {
+			result = textureIds.size + 1;
+			textureIds.put(texture, result);
+		}
+		return result;
+	}
+
+	private int getStateIndex() {
+		if(!stateChanged && states.size > 0) {
+			final RecordedState previous = states.peek();
+			if(previous.colorValue == color.rgba8888() && previous.tintValue == tint.rgba8888()) {
+				return states.size - 1;
+			}
+		}
+		final RecordedState result = statePool.size > 0 ? statePool.pop() : new RecordedState();
+		captureState(result);
+		states.add(result);
+		stateChanged = false;
+		return states.size - 1;
+	}
+
+	private void captureState(RecordedState result) {
+		result.colorValue = color.rgba8888();
+		result.color = internColor(color, result.colorValue);
+		result.tintValue = tint.rgba8888();
+		result.tint = internColor(tint, result.tintValue);
+		result.font = font;
+		result.lineHeight = lineHeight;
+		result.shader = shader;
+		result.shaderId = getShaderId(shader);
+		result.blendSrcFunc = blendSrcFunc;
+		result.blendDstFunc = blendDstFunc;
+		result.blending = blending;
+		result.minFilter = minFilter;
+		result.magFilter = magFilter;
+		result.translationX = translationX;
+		result.translationY = translationY;
+		result.scaleX = scaleX;
+		result.scaleY = scaleY;
+		result.rotation = rotation;
+		result.rotationX = rotationX;
+		result.rotationY = rotationY;
+		result.clipped = clipped;
+		result.clipX = clipX;
+		result.clipY = clipY;
+		result.clipWidth = clipWidth;
+		result.clipHeight = clipHeight;
+	}
+
+	/**
+	 * Returns an unchanging copy of a color so that later modifications
+	 * to the color do not affect recorded commands
+	 */
+	private Color internColor(Color color, int value) {
+		Color result = colors.get(value);
+		if(result == null) {
+			result = color.copy();
+			colors.put(value, result);
+		}
+		return result;
+	}
+
+	private int getShaderId(Shader shader) {
+		if(shader == null) {
+			return 0;
+		}
+		int result = shaderIds.get(shader, -1);
+		if(result < 0) {
+			result = shaderIds.size + 1;
+			shaderIds.put(shader, result);
+		}
+		return result;
+	}
+
+	private void sortCommands() {
+		for(int i = 0; i < totalCommands; i++) {
+			order[i] = i;
+		}
+		mergeSort(0, totalCommands);
+	}
+
+	private void mergeSort(int from, int to) {
+		if(to - from < 2) {
+			return;
+		}
+		final int middle = (from + to) >>> 1;
+		mergeSort(from, middle);
+		mergeSort(middle, to);
+		if(compare(order[middle - 1], order[middle]) <= 0) {
+			return;
+		}
+		System.arraycopy(order, from, sortBuffer, from, to - from);
+		int left = from, right = middle;
+		for(int i = from; i < to; i++) {
+			if(right >= to || (left < middle && compare(sortBuffer[left], sortBuffer[right]) <= 0)) {
+				order[i] = sortBuffer[left++];
+			} else {
+				order[i] = sortBuffer[right++];
+			}
+		}
+	}
+
+	private int compare(int command1, int command2) {
+		if(commandLayers[command1] != commandLayers[command2]) {
+			return commandLayers[command1] < commandLayers[command2] ? -1 : 1;
+		}
+		if(commandGroups[command1] != commandGroups[command2]) {
+			return commandGroups[command1] < commandGroups[command2] ? -1 : 1;
+		}
+		final int result = states.get(commandStates[command1]).compareBatchState(states.get(commandStates[command2]));
+		if(result != 0) {
+			return result;
+		}
+		if(commandTextures[command1] != commandTextures[command2]) {
+			return commandTextures[command1] < commandTextures[command2] ? -1 : 1;
+		}
+		return command1 < command2 ? -1 : 1;
+	}
+
+	private void applyState(RecordedState current, RecordedState next) {
+		if(current.colorValue != next.colorValue) {
+			graphics.setColor(next.color);
+		}
+		if(current.tintValue != next.tintValue) {
+			graphics.setTint(next.tint);
+		}
+		if(current.font != next.font) {
+			graphics.setFont(next.font);
+		}
+		if(current.lineHeight != next.lineHeight) {
+			graphics.setLineHeight(next.lineHeight);
+		}
+		if(current.shader != next.shader) {
+			if(next.shader == null) {
+				graphics.clearShader();
+			} else {
+				graphics.setShader(next.shader);
+			}
+		}
+		if(current.blendSrcFunc != next.blendSrcFunc || current.blendDstFunc != next.blendDstFunc) {
+			if(next.blendSrcFunc == null) {
+				graphics.clearBlendFunction();
+			} else {
+				graphics.setBlendFunction(next.blendSrcFunc, next.blendDstFunc);
+			}
+		}
+		if(current.blending != next.blending) {
+			if(next.blending) {
+				graphics.enableBlending();
+			} else {
+				graphics.disableBlending();
+			}
+		}
+		if(current.minFilter != next.minFilter) {
+			graphics.setMinFilter(next.minFilter);
+		}
+		if(current.magFilter != next.magFilter) {
+			graphics.setMagFilter(next.magFilter);
+		}
+		if(current.translationX != next.translationX || current.translationY != next.translationY) {
+			graphics.setTranslation(next.translationX, next.translationY);
+		}
+		if(current.scaleX != next.scaleX || current.scaleY != next.scaleY) {
+			graphics.setScale(next.scaleX, next.scaleY);
+		}
+		if(current.rotation != next.rotation || current.rotationX != next.rotationX || current.rotationY != next.rotationY) {
+			graphics.setRotation(next.rotation, next.rotationX, next.rotationY);
+		}
+		if(!next.clipped) {
+			if(current.clipped) {
+				graphics.removeClip();
+			}
+		} else if(!current.clipped || current.clipX != next.clipX || current.clipY != next.clipY ||
+				current.clipWidth != next.clipWidth || current.clipHeight != next.clipHeight) {
+			graphics.setClip(next.clipX, next.clipY, next.clipWidth, next.clipHeight);
+		}
+	}
+
+	private void execute(int command) {
+		final float [] args = this.args.items;
+		final int a = commandArgs[command];
+		final int o = commandObjects[command];
+
+		switch(commandOps[command]) {
+		case OP_LINE_SEGMENT:
+			graphics.drawLineSegment(args[a], args[a + 1], args[a + 2], args[a + 3]);
+			break;
+		case OP_RECT:
+			graphics.drawRect(args[a], args[a + 1], args[a + 2], args[a + 3]);
+			break;
+		case OP_FILL_RECT:
+			graphics.fillRect(args[a], args[a + 1], args[a + 2], args[a + 3]);
+			break;
+		case OP_CIRCLE:
+			graphics.drawCircle(args[a], args[a + 1], args[a + 2]);
+			break;
+		case OP_FILL_CIRCLE:
+			graphics.fillCircle(args[a], args[a + 1], args[a + 2]);
+			break;
+		case OP_TRIANGLE:
+			graphics.drawTriangle(args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4], args[a + 5]);
+			break;
+		case OP_FILL_TRIANGLE:
+			graphics.fillTriangle(args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4], args[a + 5]);
+			break;
+		case OP_POLYGON:
+			graphics.drawPolygon(readFloats(args, a + 1, (int) args[a]));
+			break;
+		case OP_FILL_POLYGON: {
+			final int totalVertices = (int) args[a];
+			final int totalTriangles = (int) args[a + 1];
+			graphics.fillPolygon(readFloats(args, a + 2, totalVertices),
+					readShorts(args, a + 2 + totalVertices, totalTriangles));
+			break;
+		}
+		case OP_STRING:
+			graphics.drawString((String) objects.get(o), args[a], args[a + 1]);
+			break;
+		case OP_STRING_WIDTH:
+			graphics.drawString((String) objects.get(o), args[a], args[a + 1], args[a + 2], (int) args[a + 3]);
+			break;
+		case OP_TEXTURE:
+			graphics.drawTexture((Texture) objects.get(o), args[a], args[a + 1]);
+			break;
+		case OP_TEXTURE_FLIP:
+			graphics.drawTexture((Texture) objects.get(o), args[a], args[a + 1], args[a + 2] != 0f);
+			break;
+		case OP_TEXTURE_SIZE:
+			graphics.drawTexture((Texture) objects.get(o), args[a], args[a + 1], args[a + 2], args[a + 3]);
+			break;
+		case OP_TEXTURE_SIZE_FLIP:
+			graphics.drawTexture((Texture) objects.get(o), args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4] != 0f);
+			break;
+		case OP_REGION:
+			graphics.drawTextureRegion((TextureRegion) objects.get(o), args[a], args[a + 1]);
+			break;
+		case OP_REGION_SIZE:
+			graphics.drawTextureRegion((TextureRegion) objects.get(o), args[a], args[a + 1], args[a + 2], args[a + 3]);
+			break;
+		case OP_REGION_ROTATION:
+			graphics.drawTextureRegion((TextureRegion) objects.get(o), args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4]);
+			break;
+		case OP_SPRITE:
+			graphics.drawSprite((Sprite) objects.get(o));
+			break;
+		case OP_SPRITE_POSITION:
+			graphics.drawSprite((Sprite) objects.get(o), args[a], args[a + 1]);
+			break;
+		case OP_SPRITE_CACHE:
+			graphics.drawSpriteCache((SpriteCache) objects.get(o), (int) args[a]);
+			break;
+		case OP_SPRITE_CACHE_RANGE:
+			graphics.drawSpriteCache((SpriteCache) objects.get(o), (int) args[a], (int) args[a + 1], (int) args[a + 2]);
+			break;
+		case OP_PARTICLE_EFFECT:
+			graphics.drawParticleEffect((ParticleEffect) objects.get(o));
+			break;
+		case OP_NINE_PATCH:
+			graphics.drawNinePatch((NinePatch) objects.get(o), args[a], args[a + 1], args[a + 2], args[a + 3]);
+			break;
+		case OP_TILING_DRAWABLE:
+			graphics.drawTilingDrawable((TilingDrawable) objects.get(o), args[a], args[a + 1], args[a + 2], args[a + 3]);
+			break;
+		case OP_FONT_CACHE:
+			graphics.drawFontCache((GameFontCache) objects.get(o));
+			break;
+		case OP_CLEAR:
+			graphics.clearContext((Color) objects.get(o), args[a] != 0f, args[a + 1] != 0f);
+			break;
+		case OP_FLUSH:
+			graphics.flush();
+			break;
+		}
+	}
+
+	private float [] readFloats(float [] args, int offset, int length) {
+		float [] result = floatArrays.get(length);
+		if(result == null) {
+			result = new float[length];
+			floatArrays.put(length, result);
+		}
+		System.arraycopy(args, offset, result, 0, length);
+		return result;
+	}
+
+	private short [] readShorts(float [] args, int offset, int length) {
+		short [] result = shortArrays.get(length);
+		if(result == null) {
+			result = new short[length];
+			shortArrays.put(length, result);
+		}
+		for(int i = 0; i < length; i++) {
+			result[i] = (short) args[offset + i];
+		}
+		return result;
+	}
+
+	@Override
+	public void clearContext() {
+		clearContext(graphics.getBackgroundColor(), true, true);
+	}
+
+	@Override
+	public void clearContext(Color color) {
+		clearContext(color, true, true);
+	}
+
+	@Override
+	public void clearContext(Color color, boolean depthBufferBit, boolean colorBufferBit) {
+		record(OP_CLEAR, null, false);
+		objects.add(internColor(color, color.rgba8888()));
+		args.add(depthBufferBit ? 1f : 0f, colorBufferBit ? 1f : 0f);
+	}
+
+	@Override
+	public void drawLineSegment(float x1, float y1, float x2, float y2) {
+		record(OP_LINE_SEGMENT, null);
+		args.add(x1, y1, x2, y2);
+	}
+
+	@Override
+	public void drawRect(float x, float y, float width, float height) {
+		record(OP_RECT, null);
+		args.add(x, y, width, height);
+	}
+
+	@Override
+	public void fillRect(float x, float y, float width, float height) {
+		record(OP_FILL_RECT, null);
+		args.add(x, y, width, height);
+	}
+
+	@Override
+	public void drawCircle(float centerX, float centerY, int radius) {
+		drawCircle(centerX, centerY, (float) radius);
+	}
+
+	@Override
+	public void drawCircle(float centerX, float centerY, float radius) {
+		record(OP_CIRCLE, null);
+		args.add(centerX, centerY, radius);
+	}
+
+	@Override
+	public void fillCircle(float centerX, float centerY, int radius) {
+		fillCircle(centerX, centerY, (float) radius);
+	}
+
+	@Override
+	public void fillCircle(float centerX, float centerY, float radius) {
+		record(OP_FILL_CIRCLE, null);
+		args.add(centerX, centerY, radius);
+	}
+
+	@Override
+	public void drawTriangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+		record(OP_TRIANGLE, null);
+		args.add(x1, y1, x2, y2);
+		args.add(x3, y3);
+	}
+
+	@Override
+	public void fillTriangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+		record(OP_FILL_TRIANGLE, null);
+		args.add(x1, y1, x2, y2);
+		args.add(x3, y3);
+	}
+
+	@Override
+	public void drawPolygon(float[] vertices) {
+		record(OP_POLYGON, null);
+		args.add(vertices.length);
+		args.addAll(vertices);
+	}
+
+	@Override
+	public void fillPolygon(float[] vertices, short[] triangles) {
+		record(OP_FILL_POLYGON, null);
+		args.add(vertices.length, triangles.length);
+		args.addAll(vertices);
+		for(int i = 0; i < triangles.length; i++) {
+			args.add(triangles[i]);
+		}
+	}
+
+	@Override
+	public void drawString(String text, float x, float y) {
+		record(OP_STRING, null);
+		objects.add(text);
+		args.add(x, y);
+	}
+
+	@Override
+	public void drawString(String text, float x, float y, float targetWidth) {
+		drawString(text, x, y, targetWidth, Align.LEFT);
+	}
+
+	@Override
+	public void drawString(String text, float x, float y, float targetWidth, int horizontalAlign) {
+		record(OP_STRING_WIDTH, null);
+		objects.add(text);
+		args.add(x, y, targetWidth, horizontalAlign);
+	}
+
+	@Override
+	public void drawTexture(Texture texture, float x, float y) {
+		record(OP_TEXTURE, texture);
+		objects.add(texture);
+		args.add(x, y);
+	}
+
+	@Override
+	public void drawTexture(Texture texture, float x, float y, boolean flipY) {
+		record(OP_TEXTURE_FLIP, texture);
+		objects.add(texture);
+		args.add(x, y, flipY ? 1f : 0f);
+	}
+
+	@Override
+	public void drawTexture(Texture texture, float x, float y, float width, float height) {
+		record(OP_TEXTURE_SIZE, texture);
+		objects.add(texture);
+		args.add(x, y, width, height);
+	}
+
+	@Override
+	public void drawTexture(Texture texture, float x, float y, float width, float height, boolean flipY) {
+		record(OP_TEXTURE_SIZE_FLIP, texture);
+		objects.add(texture);
+		args.add(x, y, width, height);
+		args.add(flipY ? 1f : 0f);
+	}
+
+	@Override
+	public void drawTextureRegion(TextureRegion textureRegion, float x, float y) {
+		record(OP_REGION, textureRegion.getTexture());
+		objects.add(textureRegion);
+		args.add(x, y);
+	}
+
+	@Override
+	public void drawTextureRegion(TextureRegion textureRegion, float x, float y, float width, float height) {
+		record(OP_REGION_SIZE, textureRegion.getTexture());
+		objects.add(textureRegion);
+		args.add(x, y, width, height);
+	}
+
+	@Override
+	public void drawTextureRegion(TextureRegion textureRegion, float x, float y, float width, float height, float rotation) {
+		record(OP_REGION_ROTATION, textureRegion.getTexture());
+		objects.add(textureRegion);
+		args.add(x, y, width, height);
+		args.add(rotation);
+	}
+
+	@Override
+	public void drawShape(Shape shape) {
+		shape.draw(this);
+	}
+
+	@Override
+	public void fillShape(Shape shape) {
+		shape.fill(this);
+	}
+
+	@Override
+	public void drawSprite(Sprite sprite) {
+		record(OP_SPRITE, sprite.getTexture());
+		objects.add(sprite);
+	}
+
+	@Override
+	public void drawSprite(Sprite sprite, float x, float y) {
+		record(OP_SPRITE_POSITION, sprite.getTexture());
+		objects.add(sprite);
+		args.add(x, y);
+	}
+
+	@Override
+	public void drawSpriteCache(SpriteCache spriteCache, int cacheId) {
+		record(OP_SPRITE_CACHE, null, false);
+		objects.add(spriteCache);
+		args.add(cacheId);
+	}
+
+	@Override
+	public void drawSpriteCache(SpriteCache spriteCache, int cacheId, int offset, int length) {
+		record(OP_SPRITE_CACHE_RANGE, null, false);
+		objects.add(spriteCache);
+		args.add(cacheId, offset, length);
+	}
+
+	@Override
+	public void drawParticleEffect(ParticleEffect effect) {
+		record(OP_PARTICLE_EFFECT, null);
+		objects.add(effect);
+	}
+
+	@Override
+	public void drawNinePatch(NinePatch ninePatch, float x, float y, float width, float height) {
+		record(OP_NINE_PATCH, null);
+		objects.add(ninePatch);
+		args.add(x, y, width, height);
+	}
+
+	@Override
+	public void drawTilingDrawable(TilingDrawable tilingDrawable, float x, float y, float width, float height) {
+		record(OP_TILING_DRAWABLE, null);
+		objects.add(tilingDrawable);
+		args.add(x, y, width, height);
+	}
+
+	@Override
+	public void drawFontCache(GameFontCache gameFontCache) {
+		record(OP_FONT_CACHE, null);
+		objects.add(gameFontCache);
+	}
+
+	@Override
+	public void setClip(float x, float y, float width, float height) {
+		if(clipped && clipX == x && clipY == y && clipWidth == width && clipHeight == height) {
+			return;
+		}
+		clipped = true;
+		clipX = x;
+		clipY = y;
+		clipWidth = width;
+		clipHeight = height;
+		onTransformChanged();
+	}
+
+	@Override
+	public void setClip(Rectangle clip) {
+		setClip(clip.getX(), clip.getY(), clip.getWidth(), clip.getHeight());
+	}
+
+	@Override
+	public Rectangle removeClip() {
+		if(!clipped) {
+			return null;
+		}
+		clipped = false;
+		onTransformChanged();
+		return new Rectangle(clipX, clipY, clipWidth, clipHeight);
+	}
+
+	@Override
+	public Rectangle peekClip() {
+		final Rectangle result = new Rectangle();
+		peekClip(result);
+		return result;
+	}
+
+	@Override
+	public void peekClip(Rectangle rectangle) {
+		if(clipped) {
+			rectangle.set(clipX, clipY, clipWidth, clipHeight);
+		} else {
+			rectangle.set(0f, 0f, getViewportWidth(), getViewportHeight());
+		}
+	}
+
+	@Override
+	public void setTint(Color tint) {
+		if(tint == null) {
+			return;
+		}
+		this.tint = tint;
+	}
+
+	@Override
+	public void setFont(GameFont font) {
+		if(font == null) {
+			return;
+		}
+		this.font = font;
+		stateChanged = true;
+	}
+
+	@Override
+	public void removeTint() {
+		setTint(defaultTint);
+	}
+
+	@Override
+	public void enableBlending() {
+		blending = true;
+		stateChanged = true;
+	}
+
+	@Override
+	public void disableBlending() {
+		blending = false;
+		stateChanged = true;
+	}
+
+	@Override
+	public void setShader(Shader shader) {
+		this.shader = shader;
+		stateChanged = true;
+	}
+
+	@Override
+	public Shader getShader() {
+		return shader;
+	}
+
+	@Override
+	public void clearShader() {
+		setShader(null);
+	}
+
+	@Override
+	public void setBlendFunction(Mini2DxBlendFunction srcFunc, Mini2DxBlendFunction dstFunc) {
+		blendSrcFunc = srcFunc;
+		blendDstFunc = dstFunc;
+		stateChanged = true;
+	}
+
+	@Override
+	public void clearBlendFunction() {
+		setBlendFunction(null, null);
+	}
+
+	@Override
+	public void flush() {
+		record(OP_FLUSH, null, false);
+	}
+
+	@Override
+	public int getLineHeight() {
+		return lineHeight;
+	}
+
+	@Override
+	public void setLineHeight(int lineHeight) {
+		if(lineHeight > 0) {
+			this.lineHeight = lineHeight;
+			stateChanged = true;
+		}
+	}
+
+	@Override
+	public Color getColor() {
+		return color;
+	}
+
+	@Override
+	public void setColor(Color color) {
+		if(color == null) {
+			return;
+		}
+		this.color = color;
+	}
+
+	@Override
+	public Color getBackgroundColor() {
+		return graphics.getBackgroundColor();
+	}
+
+	@Override
+	public void setBackgroundColor(Color backgroundColor) {
+		graphics.setBackgroundColor(backgroundColor);
+	}
+
+	@Override
+	public GameFont getFont() {
+		return font;
+	}
+
+	@Override
+	public Color getTint() {
+		return tint;
+	}
+
+	@Override
+	public float getScaleX() {
+		return scaleX;
+	}
+
+	@Override
+	public float getScaleY() {
+		return scaleY;
+	}
+
+	@Override
+	public void scale(float scaleX, float scaleY) {
+		setScale(this.scaleX * scaleX, this.scaleY * scaleY);
+	}
+
+	@Override
+	public void setScale(float scaleX, float scaleY) {
+		if(this.scaleX == scaleX && this.scaleY == scaleY) {
+			return;
+		}
+		this.scaleX = scaleX;
+		this.scaleY = scaleY;
+		onTransformChanged();
+	}
+
+	@Override
+	public void clearScaling() {
+		setScale(1f, 1f);
+	}
+
+	@Override
+	public float getTranslationX() {
+		return translationX;
+	}
+
+	@Override
+	public float getTranslationY() {
+		return translationY;
+	}
+
+	@Override
+	public void translate(float translateX, float translateY) {
+		setTranslation(translationX + translateX, translationY + translateY);
+	}
+
+	@Override
+	public void setTranslation(float translateX, float translateY) {
+		if(translationX == translateX && translationY == translateY) {
+			return;
+		}
+		translationX = translateX;
+		translationY = translateY;
+		onTransformChanged();
+	}
+
+	@Override
+	public float getRotation() {
+		return rotation;
+	}
+
+	@Override
+	public float getRotationX() {
+		return rotationX;
+	}
+
+	@Override
+	public float getRotationY() {
+		return rotationY;
+	}
+
+	@Override
+	public void rotate(float degrees, float x, float y) {
+		if(degrees == 0f) {
+			return;
+		}
+		setRotation((rotation + degrees) % 360f, x, y);
+	}
+
+	@Override
+	public void setRotation(float degrees, float x, float y) {
+		degrees = degrees % 360f;
+		if(rotation == degrees && rotationX == x && rotationY == y) {
+			return;
+		}
+		rotation = degrees;
+		rotationX = x;
+		rotationY = y;
+		onTransformChanged();
+	}
+
+	private void onTransformChanged() {
+		stateChanged = true;
+		newGroup();
+	}
+
+	@Override
+	public Matrix4 getProjectionMatrix() {
+		return graphics.getProjectionMatrix();
+	}
+
+	@Override
+	public boolean isWindowReady() {
+		return graphics.isWindowReady();
+	}
+
+	@Override
+	public int getWindowWidth() {
+		return graphics.getWindowWidth();
+	}
+
+	@Override
+	public int getWindowHeight() {
+		return graphics.getWindowHeight();
+	}
+
+	@Override
+	public int getWindowSafeX() {
+		return graphics.getWindowSafeX();
+	}
+
+	@Override
+	public int getWindowSafeY() {
+		return graphics.getWindowSafeY();
+	}
+
+	@Override
+	public int getWindowSafeWidth() {
+		return graphics.getWindowSafeWidth();
+	}
+
+	@Override
+	public int getWindowSafeHeight() {
+		return graphics.getWindowSafeHeight();
+	}
+
+	@Override
+	public float getViewportWidth() {
+		return graphics.getWindowWidth() / scaleX;
+	}
+
+	@Override
+	public float getViewportHeight() {
+		return graphics.getWindowHeight() / scaleY;
+	}
+
+	@Override
+	public long getFrameId() {
+		return graphics.getFrameId();
+	}
+
+	@Override
+	public boolean isPrimitiveBatchingEnabled() {
+		return graphics.isPrimitiveBatchingEnabled();
+	}
+
+	@Override
+	public void setPrimitiveBatchingEnabled(boolean enabled) {
+		graphics.setPrimitiveBatchingEnabled(enabled);
+	}
+
+	@Override
+	public int getDrawCalls() {
+		return graphics.getDrawCalls();
+	}
+
+	@Override
+	public TextureFilter getMinFilter() {
+		return minFilter;
+	}
+
+	@Override
+	public void setMinFilter(TextureFilter filter) {
+		minFilter = filter;
+		stateChanged = true;
+	}
+
+	@Override
+	public TextureFilter getMagFilter() {
+		return magFilter;
+	}
+
+	@Override
+	public void setMagFilter(TextureFilter filter) {
+		magFilter = filter;
+		stateChanged = true;
+	}
+
+	private static class RecordedState {
+		Color color, tint;
+		int colorValue, tintValue;
+		GameFont font;
+		int lineHeight;
+		Shader shader;
+		int shaderId;
+		Mini2DxBlendFunction blendSrcFunc, blendDstFunc;
+		boolean blending;
+		TextureFilter minFilter, magFilter;
+		float translationX, translationY;
+		float scaleX, scaleY;
+		float rotation, rotationX, rotationY;
+		boolean clipped;
+		float clipX, clipY, clipWidth, clipHeight;
+
+		void set(RecordedState state) {
+			color = state.color;
+			tint = state.tint;
+			colorValue = state.colorValue;
+			tintValue = state.tintValue;
+			font = state.font;
+			lineHeight = state.lineHeight;
+			shader = state.shader;
+			shaderId = state.shaderId;
+			blendSrcFunc = state.blendSrcFunc;
+			blendDstFunc = state.blendDstFunc;
+			blending = state.blending;
+			minFilter = state.minFilter;
+			magFilter = state.magFilter;
+			translationX = state.translationX;
+			translationY = state.translationY;
+			scaleX = state.scaleX;
+			scaleY = state.scaleY;
+			rotation = state.rotation;
+			rotationX = state.rotationX;
+			rotationY = state.rotationY;
+			clipped = state.clipped;
+			clipX = state.clipX;
+			clipY = state.clipY;
+			clipWidth = state.clipWidth;
+			clipHeight = state.clipHeight;
+		}
+
+		/**
+		 * Orders states by the properties that cause a batch flush when changed
+		 */
+		int compareBatchState(RecordedState state) {
+			if(shaderId != state.shaderId) {
+				return shaderId < state.shaderId ? -1 : 1;
+			}
+			int result = ordinal(blendSrcFunc) - ordinal(state.blendSrcFunc);
+			if(result != 0) {
+				return result;
+			}
+			result = ordinal(blendDstFunc) - ordinal(state.blendDstFunc);
+			if(result != 0) {
+				return result;
+			}
+			if(blending != state.blending) {
+				return blending ? -1 : 1;
+			}
+			result = ordinal(minFilter) - ordinal(state.minFilter);
+			if(result != 0) {
+				return result;
+			}
+			return ordinal(magFilter) - ordinal(state.magFilter);
+		}
+
+		private static int ordinal(Enum value) {
+			return value == null ? -1 : value.ordinal();
+		}
+	}
+}
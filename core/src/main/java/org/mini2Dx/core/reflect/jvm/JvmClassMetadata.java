@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.reflect.jvm;
+
+import org.mini2Dx.core.reflect.Annotation;
+import org.mini2Dx.core.reflect.Constructor;
+import org.mini2Dx.core.reflect.Field;
+import org.mini2Dx.core.reflect.Method;
+
+/**
+ * Caches the reflection wrappers of a single class so that repeated lookups
+ * return the same {@link JvmField}, {@link JvmMethod}, {@link JvmConstructor}
+ * and {@link JvmAnnotation} instances. Each array is created on first use.
+ */
+class JvmClassMetadata {
+	private final Class clazz;
+
+	private volatile Field[] fields, declaredFields;
+	private volatile Method[] methods, declaredMethods;
+	private volatile Constructor[] constructors, declaredConstructors;
+	private volatile Annotation[] annotations, declaredAnnotations;
+
+	JvmClassMetadata(Class clazz) {
+		this.clazz = clazz;
+	}
+
+	Field[] getFields() {
+		Field[] result = fields;
+		if (result == null) {
+			result = JvmReflection.convert(clazz.getFields());
+			fields = result;
+		}
+		return result;
+	}
+
+	Field[] getDeclaredFields() {
+		Field[] result = declaredFields;
+		if (result == null) {
+			result = JvmReflection.convert(clazz.getDeclaredFields());
+			declaredFields = result;
+		}
+		return result;
+	}
+
+	Method[] getMethods() {
+		Method[] result = methods;
+		if (result == null) {
+			result = JvmReflection.convert(clazz.getMethods());
+			methods = result;
+		}
+		return result;
+	}
+
+	Method[] getDeclaredMethods() {
+		Method[] result = declaredMethods;
+		if (result == null) {
+			result = JvmReflection.convert(clazz.getDeclaredMethods());
+			declaredMethods = result;
+		}
+		return result;
+	}
+
+	Constructor[] getConstructors() {
+		Constructor[] result = constructors;
+		if (result == null) {
+			result = JvmReflection.convert(clazz.getConstructors());
+			constructors = result;
+		}
+		return result;
+	}
+
+	Constructor[] getDeclaredConstructors() {
+		Constructor[] result = declaredConstructors;
+		if (result == null) {
+			result = JvmReflection.convert(clazz.getDeclaredConstructors());
+			declaredConstructors = result;
+		}
+		return result;
+	}
+
+	Annotation[] getAnnotations() {
+		Annotation[] result = annotations;
+		if (result == null) {
+			result = JvmReflection.convert(clazz.getAnnotations());
+			annotations = result;
+		}
+		return result;
+	}
+
+	Annotation[] getDeclaredAnnotations() {
+		Annotation[] result = declaredAnnotations;
+		if (result == null) {
+			result = JvmReflection.convert(clazz.getDeclaredAnnotations());
+			declaredAnnotations = result;
+		}
+		return result;
+	}
+
+	static Field findField(Field[] fields, String fieldName) {
+		for (int i = 0; i < fields.length; i++) {
+			if (fields[i].getName().equals(fieldName)) {
+				return fields[i];
+			}
+		}
+		return null;
+	}
+
+	static Annotation findAnnotation(Annotation[] annotations, Class<? extends java.lang.annotation.Annotation> annotationType) {
+		for (int i = 0; i < annotations.length; i++) {
+			if (annotations[i].getAnnotationType().equals(annotationType)) {
+				return annotations[i];
+			}
+		}
+		return null;
+	}
+}
@@ -31,6 +31,8 @@ import java.lang.reflect.Type;
 public class JvmField implements Field {
 	public final java.lang.reflect.Field field;
 
+	private volatile Annotation[] declaredAnnotations;
+
 	public JvmField(java.lang.reflect.Field field) {
 		try {
 			if (!field.isAccessible()) {
@@ -71,28 +73,17 @@ public class JvmField implements Field {
 
 	@Override
 	public Annotation[] getDeclaredAnnotations() {
-		final java.lang.annotation.Annotation[] annotations = field.getDeclaredAnnotations();
-		final Annotation[] result = new Annotation[annotations.length];
-		if(annotations != null) {
-			for (int i = 0; i < annotations.length; i++) {
-				result[i] = new JvmAnnotation(annotations[i]);
-			}
+		Annotation[] result = declaredAnnotations;
+		if (result == null) {
+			result = JvmReflection.convert(field.getDeclaredAnnotations());
+			declaredAnnotations = result;
 		}
 		return result;
 	}
 
 	@Override
 	public Annotation getDeclaredAnnotation(Class<? extends java.lang.annotation.Annotation> annotationType) {
-		final java.lang.annotation.Annotation[] annotations = field.getDeclaredAnnotations();
-		if (annotations == null) {
-			return null;
-		}
-		for (java.lang.annotation.Annotation annotation : annotations) {
-			if (annotation.annotationType().equals(annotationType)) {
-				return new JvmAnnotation(annotation);
-			}
-		}
-		return null;
+		return JvmClassMetadata.findAnnotation(getDeclaredAnnotations(), annotationType);
 	}
 
 	@Override
@@ -28,6 +28,8 @@ import java.lang.reflect.Modifier;
 public class JvmMethod implements Method {
 	private final java.lang.reflect.Method method;
 
+	private volatile Annotation[] declaredAnnotations;
+
 	public JvmMethod(java.lang.reflect.Method method) {
 		try {
 			method.setAccessible(true);
@@ -56,28 +58,17 @@ public class JvmMethod implements Method {
 
 	@Override
 	public Annotation[] getDeclaredAnnotations() {
-		final java.lang.annotation.Annotation[] annotations = method.getDeclaredAnnotations();
-		final Annotation[] result = new Annotation[annotations.length];
-		if (annotations != null) {
-			for (int i = 0; i < annotations.length; i++) {
-				result[i] = new JvmAnnotation(annotations[i]);
-			}
+		Annotation[] result = declaredAnnotations;
+		if (result == null) {
+			result = JvmReflection.convert(method.getDeclaredAnnotations());
+			declaredAnnotations = result;
 		}
 		return result;
 	}
 
 	@Override
 	public Annotation getDeclaredAnnotation(Class<? extends java.lang.annotation.Annotation> annotationType) {
-		final java.lang.annotation.Annotation[] annotations = method.getDeclaredAnnotations();
-		if (annotations == null) {
-			return null;
-		}
-		for (java.lang.annotation.Annotation annotation : annotations) {
-			if (annotation.annotationType().equals(annotationType)) {
-				return new JvmAnnotation(annotation);
-			}
-		}
-		return null;
+		return JvmClassMetadata.findAnnotation(getDeclaredAnnotations(), annotationType);
 	}
 
 	@Override
@@ -23,11 +23,18 @@ import org.mini2Dx.core.reflect.Field;
 import org.mini2Dx.core.reflect.Method;
 
 import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Implementation of {@link Reflection} where JVM-based reflection is supported
+ * Implementation of {@link Reflection} where JVM-based reflection is supported.
+ *
+ * The {@link Field}, {@link Method}, {@link Constructor} and {@link Annotation}
+ * wrappers of each class are created once and cached. Arrays returned by this
+ * class are shared between callers and must not be modified.
  */
 public class JvmReflection implements Reflection {
+	private final ConcurrentHashMap<Class, JvmClassMetadata> metadata = new ConcurrentHashMap<Class, JvmClassMetadata>();
+
 	@Override
 	public Class forName(String qualifiedName) throws ReflectionException {
 		try {
@@ -63,70 +70,72 @@ public class JvmReflection implements Reflection {
 
 	@Override
 	public org.mini2Dx.core.reflect.Annotation[] getAnnotations(Class clazz) {
-		return convert(clazz.getAnnotations());
+		return getMetadata(clazz).getAnnotations();
 	}
 
 	@Override
 	public Annotation getAnnotation(Class clazz, Class<? extends java.lang.annotation.Annotation> annotationType) {
-		return new JvmAnnotation(clazz.getAnnotation(annotationType));
+		final Annotation result = JvmClassMetadata.findAnnotation(getMetadata(clazz).getAnnotations(), annotationType);
+		return result != null ? result : new JvmAnnotation(null);
 	}
 
 	@Override
 	public Annotation[] getDeclaredAnnotations(Class clazz) {
-		return convert(clazz.getDeclaredAnnotations());
+		return getMetadata(clazz).getDeclaredAnnotations();
 	}
 
 	@Override
 	public Annotation getDeclaredAnnotation(Class clazz, Class<? extends java.lang.annotation.Annotation> annotationType) {
-		return new JvmAnnotation(clazz.getDeclaredAnnotation(annotationType));
+		final Annotation result = JvmClassMetadata.findAnnotation(getMetadata(clazz).getDeclaredAnnotations(), annotationType);
+		return result != null ? result : new JvmAnnotation(null);
 	}
 
 	@Override
 	public Constructor[] getConstructors(Class clazz) {
-		return convert(clazz.getConstructors());
+		return getMetadata(clazz).getConstructors();
 	}
 
 	@Override
 	public Constructor[] getDeclaredConstructors(Class clazz) {
-		return convert(clazz.getDeclaredConstructors());
+		return getMetadata(clazz).getDeclaredConstructors();
 	}
 
 	@Override
 	public Method[] getMethods(Class clazz) {
-		return convert(clazz.getMethods());
+		return getMetadata(clazz).getMethods();
 	}
 
 	@Override
 	public Method[] getDeclaredMethods(Class clazz) {
-		return convert(clazz.getDeclaredMethods());
+		return getMetadata(clazz).getDeclaredMethods();
 	}
 
 	@Override
 	public Field[] getFields(Class clazz) {
-		return convert(clazz.getFields());
+		return getMetadata(clazz).getFields();
 	}
 
 	@Override
 	public Field[] getDeclaredFields(Class clazz) {
-		return convert(clazz.getDeclaredFields());
+		return getMetadata(clazz).getDeclaredFields();
 	}
 
 	@Override
 	public Field getField(Class clazz, String fieldName) throws ReflectionException {
-		try {
-			return new JvmField(clazz.getField(fieldName));
-		} catch (NoSuchFieldException e) {
-			throw new ReflectionException(e.getMessage(), e);
+		final Field result = JvmClassMetadata.findField(getMetadata(clazz).getFields(), fieldName);
+		if (result == null) {
+			throw new ReflectionException(fieldName);
 		}
+		return result;
 	}
 
 	@Override
 	public Field getDeclaredField(Class clazz, String fieldName) throws ReflectionException {
-		try {
-			return new JvmField(clazz.getDeclaredField(fieldName));
-		} catch (NoSuchFieldException e) {
-			throw new ReflectionException(e.getMessage(), e);
+		final Field result = JvmClassMetadata.findField(getMetadata(clazz).getDeclaredFields(), fieldName);
+		if (result == null) {
+			throw new ReflectionException(fieldName);
 		}
+		return result;
 	}
 
 	@Override
@@ -184,7 +193,24 @@ public class JvmReflection implements Reflection {
 		return java.lang.reflect.Array.newInstance(clazz, size);
 	}
 
-	private Constructor [] convert(java.lang.reflect.Constructor [] constructors) {
+	/**
+	 * Clears the cached reflection data of all classes
+	 */
+	public void clearCache() {
+		metadata.clear();
+	}
+
+	private JvmClassMetadata getMetadata(Class clazz) {
+		JvmClassMetadata result = metadata.get(clazz);
+		if (result != null) {
+			return result;
+		}
+		result = new JvmClassMetadata(clazz);
+		final JvmClassMetadata existing = metadata.putIfAbsent(clazz, result);
+		return existing != null ? existing : result;
+	}
+
+	static Constructor [] convert(java.lang.reflect.Constructor [] constructors) {
 		final Constructor[] result = new Constructor[constructors.length];
 		for (int i = 0; i < constructors.length; i++) {
 			result[i] = new JvmConstructor(constructors[i]);
@@ -192,7 +218,7 @@ public class JvmReflection implements Reflection {
 		return result;
 	}
 
-	private Method [] convert(java.lang.reflect.Method [] methods) {
+	static Method [] convert(java.lang.reflect.Method [] methods) {
 		final Method[] result = new Method[methods.length];
 		for (int i = 0; i < methods.length; i++) {
 			result[i] = new JvmMethod(methods[i]);
@@ -200,7 +226,7 @@ public class JvmReflection implements Reflection {
 		return result;
 	}
 
-	private Field [] convert(java.lang.reflect.Field [] fields) {
+	static Field [] convert(java.lang.reflect.Field [] fields) {
 		final Field[] result = new Field[fields.length];
 		for (int i = 0; i < fields.length; i++) {
 			result[i] = new JvmField(fields[i]);
@@ -208,7 +234,7 @@ public class JvmReflection implements Reflection {
 		return result;
 	}
 
-	private Annotation [] convert(java.lang.annotation.Annotation [] annotations) {
+	static Annotation [] convert(java.lang.annotation.Annotation [] annotations) {
 		final Annotation[] result = new Annotation[annotations.length];
 		for (int i = 0; i < annotations.length; i++) {
 			result[i] = new JvmAnnotation(annotations[i]);
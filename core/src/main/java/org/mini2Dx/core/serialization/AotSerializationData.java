@@ -18,6 +18,7 @@ package org.mini2Dx.core.serialization;
 import org.mini2Dx.core.files.FileHandle;
 import org.mini2Dx.core.serialization.aot.AotSerializedClassData;
 import org.mini2Dx.core.serialization.aot.AotSerializedFieldData;
+import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.ObjectMap;
 
 import java.io.*;
@@ -28,6 +29,7 @@ import java.util.Scanner;
  */
 public class AotSerializationData {
 	private static final ObjectMap<String, AotSerializedClassData> AOT_DATA = new ObjectMap<String, AotSerializedClassData>();
+	private static final ObjectMap<String, GeneratedJsonSerializer> JSON_SERIALIZERS = new ObjectMap<String, GeneratedJsonSerializer>();
 
 	public static void registerClass(Class clazz) {
 		if(clazz.isPrimitive()) {
@@ -54,6 +56,38 @@ public class AotSerializationData {
 		return AOT_DATA.get(clazz.getName(), null);
 	}
 
+	/**
+	 * Returns the data of all registered classes
+	 * @return A new {@link Array} of {@link AotSerializedClassData}
+	 */
+	public static Array<AotSerializedClassData> getAllClassData() {
+		final Array<AotSerializedClassData> result = new Array<AotSerializedClassData>();
+		for(AotSerializedClassData classData : AOT_DATA.values()) {
+			result.add(classData);
+		}
+		return result;
+	}
+
+	/**
+	 * Registers a generated serializer. Serializers should be registered before any serialization occurs.
+	 * @param serializer The {@link GeneratedJsonSerializer} to use for its serialized class
+	 */
+	public static void registerSerializer(GeneratedJsonSerializer serializer) {
+		JSON_SERIALIZERS.put(serializer.getSerializedClass().getName(), serializer);
+	}
+
+	/**
+	 * Returns the generated serializer for a class
+	 * @param clazz The exact {@link Class} to serialize
+	 * @return Null if no serializer is registered for the class
+	 */
+	public static GeneratedJsonSerializer getSerializer(Class clazz) {
+		if(JSON_SERIALIZERS.size == 0) {
+			return null;
+		}
+		return JSON_SERIALIZERS.get(clazz.getName(), null);
+	}
+
 	public static AotSerializedFieldData getFieldData(Class clazz, String fieldName) {
 		AotSerializedFieldData result = null;
 		while(result == null && clazz != null && !clazz.equals(Object.class)) {
@@ -97,5 +131,6 @@ public class AotSerializationData {
 
 	public static void clear() {
 		AOT_DATA.clear();
+		JSON_SERIALIZERS.clear();
 	}
 }
@@ -0,0 +1,958 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.serialization;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.collections.concurrent.ConcurrentObjectMap;
+import org.mini2Dx.core.exception.RequiredFieldException;
+import org.mini2Dx.core.exception.SerializationException;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.core.reflect.Annotation;
+import org.mini2Dx.core.reflect.Constructor;
+import org.mini2Dx.core.reflect.Field;
+import org.mini2Dx.core.reflect.Method;
+import org.mini2Dx.core.serialization.annotation.ConstructorArg;
+import org.mini2Dx.core.serialization.annotation.PostDeserialize;
+import org.mini2Dx.core.serialization.aot.AotSerializedClassData;
+import org.mini2Dx.core.serialization.aot.AotSerializedConstructorData;
+import org.mini2Dx.core.serialization.collection.DeserializedCollection;
+import org.mini2Dx.core.serialization.collection.SerializedCollection;
+import org.mini2Dx.core.serialization.map.deserialize.DeserializedMap;
+import org.mini2Dx.core.serialization.map.serialize.SerializedMap;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.ObjectIntMap;
+import org.mini2Dx.gdx.utils.ObjectMap;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serializes objects to/from a compact binary format based on
+ * {@link org.mini2Dx.core.serialization.annotation.Field} annotations.<br>
+ * <br>
+ * Every value is prefixed with a type tag so that fields which no longer exist
+ * can be skipped and fields which were added since the data was written are
+ * left untouched. Fields and constructor args are identified by name. Each
+ * field name, class name and string is written once per document and
+ * referenced by index afterwards.
+ */
+public class BinarySerializer {
+	private static final String LOGGING_TAG = BinarySerializer.class.getSimpleName();
+
+	/**
+	 * The version of the binary format written by this serializer
+	 */
+	public static final int FORMAT_VERSION = 1;
+
+	private static final byte[] HEADER = new byte[] { 'M', 'D', 'X', 'B' };
+	private static final int FLAG_COMPRESSED = 1;
+
+	private static final int TAG_NULL = 0;
+	private static final int TAG_FALSE = 1;
+	private static final int TAG_TRUE = 2;
+	private static final int TAG_BYTE = 3;
+	private static final int TAG_SHORT = 4;
+	private static final int TAG_CHAR = 5;
+	private static final int TAG_INT = 6;
+	private static final int TAG_LONG = 7;
+	private static final int TAG_FLOAT = 8;
+	private static final int TAG_DOUBLE = 9;
+	private static final int TAG_STRING = 10;
+	private static final int TAG_ENUM = 11;
+	private static final int TAG_ARRAY = 12;
+	private static final int TAG_MAP = 13;
+	private static final int TAG_OBJECT = 14;
+
+	private final ObjectMap<String, ClassSchema> schemaCache = new ConcurrentObjectMap<>();
+	private final ObjectMap<String, Class<?>> classCache = new ConcurrentObjectMap<>();
+
+	/**
+	 * Reads a binary document and converts it into an object of the specified
+	 * type
+	 *
+	 * @param fileHandle
+	 *            The {@link FileHandle} for the binary document
+	 * @param clazz
+	 *            The {@link Class} to convert the document to
+	 * @return The object deserialized from the binary document
+	 * @throws SerializationException
+	 *             Thrown when the data is invalid
+	 */
+	public <T> T fromBinary(FileHandle fileHandle, Class<T> clazz) throws SerializationException {
+		InputStream inputStream = null;
+		try {
+			inputStream = fileHandle.read();
+			return fromBinary(inputStream, clazz);
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		} finally {
+			closeQuietly(inputStream);
+		}
+	}
+
+	/**
+	 * Reads a binary document and converts it into an object of the specified
+	 * type
+	 *
+	 * @param data
+	 *            The binary document
+	 * @param clazz
+	 *            The {@link Class} to convert the document to
+	 * @return The object deserialized from the binary document
+	 * @throws SerializationException
+	 *             Thrown when the data is invalid
+	 */
+	public <T> T fromBinary(byte[] data, Class<T> clazz) throws SerializationException {
+		return fromBinary(new ByteArrayInputStream(data), clazz);
+	}
+
+	/**
+	 * Reads a binary document from a stream and converts it into an object of
+	 * the specified type. The stream is not closed.
+	 *
+	 * @param inputStream
+	 *            The {@link InputStream} to read the binary document from
+	 * @param clazz
+	 *            The {@link Class} to convert the document to
+	 * @return The object deserialized from the binary document
+	 * @throws SerializationException
+	 *             Thrown when the data is invalid
+	 */
+	public <T> T fromBinary(InputStream inputStream, Class<T> clazz) throws SerializationException {
+		Inflater inflater = null;
+		try {
+			InputStream bufferedInputStream = new BufferedInputStream(inputStream);
+			final DataInputStream headerInputStream = new DataInputStream(bufferedInputStream);
+			for(int i = 0; i < HEADER.length; i++) {
+				if(headerInputStream.readByte() != HEADER[i]) {
+					throw new SerializationException("Data is not in " + BinarySerializer.class.getSimpleName() + " format");
+				}
+			}
+			final int version = headerInputStream.readUnsignedByte();
+			if(version > FORMAT_VERSION) {
+				throw new SerializationException("Unsupported binary format version " + version);
+			}
+			final int flags = headerInputStream.readUnsignedByte();
+			if((flags & FLAG_COMPRESSED) != 0) {
+				inflater = new Inflater();
+				bufferedInputStream = new BufferedInputStream(new InflaterInputStream(bufferedInputStream, inflater));
+			}
+
+			final Input input = new Input(new DataInputStream(bufferedInputStream));
+			return (T) readValue(input, input.readTag(), clazz);
+		} catch (SerializationException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SerializationException(e);
+		} finally {
+			if(inflater != null) {
+				inflater.end();
+			}
+		}
+	}
+
+	/**
+	 * Writes a binary document to a {@link FileHandle}
+	 *
+	 * @param fileHandle
+	 *            The {@link FileHandle} to write to
+	 * @param object
+	 *            The object to be written
+	 * @throws SerializationException
+	 *             Thrown when the object is invalid
+	 */
+	public <T> void toBinary(FileHandle fileHandle, T object) throws SerializationException {
+		toBinary(fileHandle, object, false);
+	}
+
+	/**
+	 * Writes a binary document to a {@link FileHandle}
+	 *
+	 * @param fileHandle
+	 *            The {@link FileHandle} to write to
+	 * @param object
+	 *            The object to be written
+	 * @param compress
+	 *            True if the document should be compressed
+	 * @throws SerializationException
+	 *             Thrown when the object is invalid
+	 */
+	public <T> void toBinary(FileHandle fileHandle, T object, boolean compress) throws SerializationException {
+		OutputStream outputStream = null;
+		try {
+			outputStream = fileHandle.write(false);
+			toBinary(object, outputStream, compress);
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		} finally {
+			closeQuietly(outputStream);
+		}
+	}
+
+	/**
+	 * Writes a binary document to a byte array
+	 *
+	 * @param object
+	 *            The object to be written
+	 * @return The binary document
+	 * @throws SerializationException
+	 *             Thrown when the object is invalid
+	 */
+	public <T> byte[] toBinary(T object) throws SerializationException {
+		return toBinary(object, false);
+	}
+
+	/**
+	 * Writes a binary document to a byte array
+	 *
+	 * @param object
+	 *            The object to be written
+	 * @param compress
+	 *            True if the document should be compressed
+	 * @return The binary document
+	 * @throws SerializationException
+	 *             Thrown when the object is invalid
+	 */
+	public <T> byte[] toBinary(T object, boolean compress) throws SerializationException {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		toBinary(object, outputStream, compress);
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * Writes a binary document to a stream. The stream is flushed but not closed.
+	 *
+	 * @param object
+	 *            The object to be written
+	 * @param outputStream
+	 *            The {@link OutputStream} to write to, e.g. a {@link GameDataOutputStream}
+	 * @param compress
+	 *            True if the document should be compressed
+	 * @throws SerializationException
+	 *             Thrown when the object is invalid
+	 */
+	public <T> void toBinary(T object, OutputStream outputStream, boolean compress) throws SerializationException {
+		Deflater deflater = null;
+		try {
+			final BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
+			bufferedOutputStream.write(HEADER);
+			bufferedOutputStream.write(FORMAT_VERSION);
+			bufferedOutputStream.write(compress ? FLAG_COMPRESSED : 0);
+
+			DeflaterOutputStream deflaterOutputStream = null;
+			final Output output;
+			if(compress) {
+				deflater = new Deflater();
+				deflaterOutputStream = new DeflaterOutputStream(bufferedOutputStream, deflater);
+				output = new Output(new DataOutputStream(new BufferedOutputStream(deflaterOutputStream)));
+			} else {
+				output = new Output(new DataOutputStream(bufferedOutputStream));
+			}
+			writeValue(output, object);
+			output.out.flush();
+			if(deflaterOutputStream != null) {
+				deflaterOutputStream.finish();
+			}
+			bufferedOutputStream.flush();
+		} catch (SerializationException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SerializationException(e);
+		} finally {
+			if(deflater != null) {
+				deflater.end();
+			}
+		}
+	}
+
+	private void writeValue(Output output, Object value) throws IOException, SerializationException, NoSuchFieldException {
+		if(value == null) {
+			output.writeTag(TAG_NULL);
+			return;
+		}
+		final Class<?> clazz = value.getClass();
+		if(clazz.equals(Boolean.class)) {
+			output.writeTag(((Boolean) value) ? TAG_TRUE : TAG_FALSE);
+		} else if(clazz.equals(Byte.class)) {
+			output.writeTag(TAG_BYTE);
+			output.out.writeByte((Byte) value);
+		} else if(clazz.equals(Short.class)) {
+			output.writeTag(TAG_SHORT);
+			output.writeSignedVarInt((Short) value);
+		} else if(clazz.equals(Character.class)) {
+			output.writeTag(TAG_CHAR);
+			output.writeVarInt((Character) value);
+		} else if(clazz.equals(Integer.class)) {
+			output.writeTag(TAG_INT);
+			output.writeSignedVarInt((Integer) value);
+		} else if(clazz.equals(Long.class)) {
+			output.writeTag(TAG_LONG);
+			output.writeSignedVarLong((Long) value);
+		} else if(clazz.equals(Float.class)) {
+			output.writeTag(TAG_FLOAT);
+			output.out.writeFloat((Float) value);
+		} else if(clazz.equals(Double.class)) {
+			output.writeTag(TAG_DOUBLE);
+			output.out.writeDouble((Double) value);
+		} else if(clazz.equals(String.class)) {
+			output.writeTag(TAG_STRING);
+			output.writeString((String) value);
+		} else if(clazz.isEnum() || (clazz.getSuperclass() != null && clazz.getSuperclass().isEnum())) {
+			output.writeTag(TAG_ENUM);
+			output.writeString(((Enum) value).name());
+		} else if(Mdx.reflect.isArray(clazz)) {
+			final int length = Mdx.reflect.arrayLength(value);
+			output.writeTag(TAG_ARRAY);
+			output.writeVarInt(length);
+			for(int i = 0; i < length; i++) {
+				writeValue(output, Mdx.reflect.arrayGet(value, i));
+			}
+		} else {
+			final SerializedMap serializedMap = SerializedMap.getImplementation(clazz, value);
+			if(serializedMap != null) {
+				output.writeTag(TAG_MAP);
+				output.writeVarInt(serializedMap.getSize());
+				for(Object key : serializedMap.keys()) {
+					writeValue(output, key);
+					writeValue(output, serializedMap.get(key));
+				}
+				return;
+			}
+			final SerializedCollection serializedCollection = SerializedCollection.getImplementation(clazz, value);
+			if(serializedCollection != null) {
+				final int length = serializedCollection.getLength();
+				output.writeTag(TAG_ARRAY);
+				output.writeVarInt(length);
+				for(int i = 0; i < length; i++) {
+					writeValue(output, serializedCollection.get(i));
+				}
+				serializedCollection.dispose();
+				return;
+			}
+			writeObject(output, value);
+		}
+	}
+
+	private void writeObject(Output output, Object object) throws IOException, SerializationException, NoSuchFieldException {
+		final ClassSchema schema = getSchema(object.getClass());
+		output.writeTag(TAG_OBJECT);
+		output.writeString(schema.clazz.getName());
+
+		output.writeVarInt(schema.constructorArgMethods.size);
+		for(int i = 0; i < schema.constructorArgMethods.size; i++) {
+			output.writeString(schema.constructorArgNames.get(i));
+			writeValue(output, schema.constructorArgMethods.get(i).invoke(object));
+		}
+
+		output.writeVarInt(schema.fields.size);
+		for(int i = 0; i < schema.fields.size; i++) {
+			final Field field = schema.fields.get(i);
+			final Object value = field.get(object);
+			if(value == null && schema.required[i]) {
+				throw new RequiredFieldException(schema.owners.get(i), field.getName());
+			}
+			output.writeString(field.getName());
+			writeValue(output, value);
+		}
+	}
+
+	private Object readValue(Input input, int tag, Class<?> clazz) throws IOException, SerializationException, ReflectiveOperationException {
+		switch(tag) {
+		case TAG_NULL:
+			return null;
+		case TAG_FALSE:
+			return Boolean.FALSE;
+		case TAG_TRUE:
+			return Boolean.TRUE;
+		case TAG_BYTE:
+			return convertInteger(input.in.readByte(), tag, clazz);
+		case TAG_SHORT:
+		case TAG_INT:
+			return convertInteger(input.readSignedVarInt(), tag, clazz);
+		case TAG_CHAR:
+			return convertInteger(input.readVarInt(), tag, clazz);
+		case TAG_LONG:
+			return convertInteger(input.readSignedVarLong(), tag, clazz);
+		case TAG_FLOAT:
+			return convertDecimal(input.in.readFloat(), tag, clazz);
+		case TAG_DOUBLE:
+			return convertDecimal(input.in.readDouble(), tag, clazz);
+		case TAG_STRING: {
+			final String result = input.readString();
+			if(clazz.equals(Character.TYPE) || clazz.equals(Character.class)) {
+				return result.charAt(0);
+			}
+			return result;
+		}
+		case TAG_ENUM: {
+			final String result = input.readString();
+			if(Mdx.reflect.isEnum(clazz)) {
+				return Enum.valueOf((Class<Enum>) clazz, result);
+			}
+			return result;
+		}
+		case TAG_ARRAY: {
+			if(!Mdx.reflect.isArray(clazz)) {
+				throw new SerializationException("Cannot deserialize array into " + clazz.getName());
+			}
+			final Class<?> componentType = Mdx.reflect.arrayComponentType(clazz);
+			final int length = input.readVarInt();
+			final Object result = Mdx.reflect.newArray(componentType, length);
+			for(int i = 0; i < length; i++) {
+				Mdx.reflect.arraySet(result, i, readValue(input, input.readTag(), componentType));
+			}
+			return result;
+		}
+		case TAG_MAP:
+			throw new SerializationException("Cannot deserialize map into " + clazz.getName() + ". Maps are only supported as fields.");
+		case TAG_OBJECT:
+			return readObject(input);
+		default:
+			throw new SerializationException("Unknown type tag " + tag);
+		}
+	}
+
+	private Object readObject(Input input) throws IOException, SerializationException, ReflectiveOperationException {
+		final ClassSchema schema = getSchema(getClass(input.readString()));
+
+		final int totalConstructorArgs = input.readVarInt();
+		ObjectMap<String, Object> constructorArgs = null;
+		for(int i = 0; i < totalConstructorArgs; i++) {
+			final String name = input.readString();
+			final int tag = input.readTag();
+			final Class<?> argClass = schema.constructorArgTypes.get(name, null);
+			if(argClass == null) {
+				skipValue(input, tag);
+				continue;
+			}
+			if(constructorArgs == null) {
+				constructorArgs = new ObjectMap<String, Object>();
+			}
+			constructorArgs.put(name, readValue(input, tag, argClass));
+		}
+		final Object result = construct(schema, constructorArgs);
+
+		final boolean[] found = schema.totalRequired > 0 ? new boolean[schema.fields.size] : null;
+		final int totalFields = input.readVarInt();
+		for(int i = 0; i < totalFields; i++) {
+			final String name = input.readString();
+			final int tag = input.readTag();
+			final int index = schema.fieldIndices.get(name, -1);
+			if(index < 0) {
+				skipValue(input, tag);
+				continue;
+			}
+			if(tag == TAG_NULL) {
+				continue;
+			}
+			setField(input, tag, result, schema.owners.get(index), schema.fields.get(index));
+			if(found != null) {
+				found[index] = true;
+			}
+		}
+		if(found != null) {
+			for(int i = 0; i < found.length; i++) {
+				if(schema.required[i] && !found[i]) {
+					throw new RequiredFieldException(schema.owners.get(i), schema.fields.get(i).getName());
+				}
+			}
+		}
+
+		for(int i = 0; i < schema.postDeserializeMethods.size; i++) {
+			schema.postDeserializeMethods.get(i).invoke(result);
+		}
+		return result;
+	}
+
+	private void setField(Input input, int tag, Object targetObject, Class<?> ownerClass, Field field) throws IOException, SerializationException, ReflectiveOperationException {
+		final Class<?> clazz = field.getType();
+		if(tag == TAG_ARRAY && !Mdx.reflect.isArray(clazz)) {
+			final DeserializedCollection deserializedCollection = DeserializedCollection.getImplementation(ownerClass, field, clazz, targetObject);
+			if(deserializedCollection == null) {
+				throw new SerializationException("Cannot deserialize array into " + clazz.getName());
+			}
+			final Class<?> valueClass = deserializedCollection.getValueClass();
+			final int length = input.readVarInt();
+			for(int i = 0; i < length; i++) {
+				deserializedCollection.add(readValue(input, input.readTag(), valueClass));
+			}
+			return;
+		}
+		if(tag == TAG_MAP) {
+			final DeserializedMap deserializedMap = DeserializedMap.getImplementation(ownerClass, field, clazz, targetObject);
+			if(deserializedMap == null) {
+				throw new SerializationException("Cannot deserialize map into " + clazz.getName());
+			}
+			final Class<?> keyClass = deserializedMap.getKeyClass();
+			final Class<?> valueClass = deserializedMap.getValueClass();
+			final int size = input.readVarInt();
+			for(int i = 0; i < size; i++) {
+				final Object key = readValue(input, input.readTag(), keyClass);
+				deserializedMap.put(key, readValue(input, input.readTag(), valueClass));
+			}
+			return;
+		}
+
+		final Object value = readValue(input, tag, clazz);
+		if(!field.isFinal()) {
+			field.set(targetObject, value);
+			return;
+		}
+		if(!Mdx.reflect.isArray(clazz)) {
+			throw new SerializationException("Cannot use @Field on final " + clazz.getName() + " fields. Use the @ConstructorArg method instead.");
+		}
+		final Object targetArray = field.get(targetObject);
+		final int length = Mdx.reflect.arrayLength(value);
+		for(int i = 0; i < length; i++) {
+			Mdx.reflect.arraySet(targetArray, i, Mdx.reflect.arrayGet(value, i));
+		}
+	}
+
+	private void skipValue(Input input, int tag) throws IOException, SerializationException {
+		switch(tag) {
+		case TAG_NULL:
+		case TAG_FALSE:
+		case TAG_TRUE:
+			return;
+		case TAG_BYTE:
+			input.in.readByte();
+			return;
+		case TAG_SHORT:
+		case TAG_CHAR:
+		case TAG_INT:
+		case TAG_LONG:
+			input.readVarLong();
+			return;
+		case TAG_FLOAT:
+			input.in.readFloat();
+			return;
+		case TAG_DOUBLE:
+			input.in.readDouble();
+			return;
+		case TAG_STRING:
+		case TAG_ENUM:
+			// Strings must still be read so that later references resolve
+			input.readString();
+			return;
+		case TAG_ARRAY: {
+			final int length = input.readVarInt();
+			for(int i = 0; i < length; i++) {
+				skipValue(input, input.readTag());
+			}
+			return;
+		}
+		case TAG_MAP: {
+			final int size = input.readVarInt();
+			for(int i = 0; i < size * 2; i++) {
+				skipValue(input, input.readTag());
+			}
+			return;
+		}
+		case TAG_OBJECT:
+			input.readString();
+			for(int section = 0; section < 2; section++) {
+				final int total = input.readVarInt();
+				for(int i = 0; i < total; i++) {
+					input.readString();
+					skipValue(input, input.readTag());
+				}
+			}
+			return;
+		default:
+			throw new SerializationException("Unknown type tag " + tag);
+		}
+	}
+
+	private Object construct(ClassSchema schema, ObjectMap<String, Object> constructorArgs) throws ReflectiveOperationException {
+		final Constructor[] constructors = schema.constructors;
+		if(constructorArgs == null) {
+			// Single constructor with no args
+			if(constructors.length == 1 && constructors[0].getParameterAnnotations().length == 0) {
+				return constructors[0].newInstance();
+			}
+			return Mdx.reflect.newInstance(schema.clazz);
+		}
+
+		final AotSerializedClassData classData = AotSerializationData.getClassData(schema.clazz);
+		if(classData != null) {
+			AotSerializedConstructorData bestMatchedConstructor = null;
+			for(int i = 0; i < classData.getTotalConstructors(); i++) {
+				final AotSerializedConstructorData constructorData = classData.getConstructorData(i);
+				boolean allMatched = true;
+				for(int j = 0; j < constructorData.getTotalArgs(); j++) {
+					if(!constructorArgs.containsKey(constructorData.getConstructorArgName(j))) {
+						allMatched = false;
+						break;
+					}
+				}
+				if(!allMatched) {
+					continue;
+				}
+				if(bestMatchedConstructor == null || constructorData.getTotalArgs() > bestMatchedConstructor.getTotalArgs()) {
+					bestMatchedConstructor = constructorData;
+				}
+			}
+			if(bestMatchedConstructor == null) {
+				return Mdx.reflect.newInstance(schema.clazz);
+			}
+			final Object[] constructorParameters = new Object[bestMatchedConstructor.getTotalArgs()];
+			for(int i = 0; i < constructorParameters.length; i++) {
+				constructorParameters[i] = constructorArgs.get(bestMatchedConstructor.getConstructorArgName(i));
+			}
+			return schema.clazz.getConstructor(bestMatchedConstructor.getConstructorArgTypes()).newInstance(constructorParameters);
+		}
+
+		Constructor bestMatchedConstructor = null;
+		for(int i = 0; i < constructors.length; i++) {
+			final Annotation[][] parameterAnnotations = constructors[i].getParameterAnnotations();
+			if(parameterAnnotations.length == 0) {
+				continue;
+			}
+			boolean allMatched = true;
+			for(int j = 0; j < parameterAnnotations.length; j++) {
+				final ConstructorArg constructorArg = getConstructorArg(parameterAnnotations[j]);
+				if(constructorArg == null || !constructorArgs.containsKey(constructorArg.name())) {
+					allMatched = false;
+					break;
+				}
+			}
+			if(!allMatched) {
+				continue;
+			}
+			if(bestMatchedConstructor == null ||
+					parameterAnnotations.length > bestMatchedConstructor.getParameterAnnotations().length) {
+				bestMatchedConstructor = constructors[i];
+			}
+		}
+		if(bestMatchedConstructor == null) {
+			Mdx.log.error(LOGGING_TAG, "Could not find suitable constructor for " + schema.clazz.getSimpleName() + ". Falling back to default constructor.");
+			return Mdx.reflect.newInstance(schema.clazz);
+		}
+
+		final Annotation[][] parameterAnnotations = bestMatchedConstructor.getParameterAnnotations();
+		final Object[] constructorParameters = new Object[parameterAnnotations.length];
+		for(int i = 0; i < parameterAnnotations.length; i++) {
+			constructorParameters[i] = constructorArgs.get(getConstructorArg(parameterAnnotations[i]).name());
+		}
+		return bestMatchedConstructor.newInstance(constructorParameters);
+	}
+
+	private Object convertInteger(long value, int tag, Class<?> clazz) {
+		if(clazz.equals(Integer.TYPE) || clazz.equals(Integer.class)) {
+			return (int) value;
+		} else if(clazz.equals(Long.TYPE) || clazz.equals(Long.class)) {
+			return value;
+		} else if(clazz.equals(Short.TYPE) || clazz.equals(Short.class)) {
+			return (short) value;
+		} else if(clazz.equals(Byte.TYPE) || clazz.equals(Byte.class)) {
+			return (byte) value;
+		} else if(clazz.equals(Character.TYPE) || clazz.equals(Character.class)) {
+			return (char) value;
+		} else if(clazz.equals(Float.TYPE) || clazz.equals(Float.class)) {
+			return (float) value;
+		} else if(clazz.equals(Double.TYPE) || clazz.equals(Double.class)) {
+			return (double) value;
+		}
+		switch(tag) {
+		case TAG_BYTE:
+			return (byte) value;
+		case TAG_SHORT:
+			return (short) value;
+		case TAG_CHAR:
+			return (char) value;
+		case TAG_INT:
+			return (int) value;
+		default:
+			return value;
+		}
+	}
+
+	private Object convertDecimal(double value, int tag, Class<?> clazz) {
+		if(clazz.equals(Float.TYPE) || clazz.equals(Float.class)) {
+			return (float) value;
+		} else if(clazz.equals(Double.TYPE) || clazz.equals(Double.class)) {
+			return value;
+		}
+		return tag == TAG_FLOAT ? (Object) ((float) value) : (Object) value;
+	}
+
+	private Class<?> getClass(String className) {
+		Class<?> result = classCache.get(className, null);
+		if(result == null) {
+			result = Mdx.reflect.forName(className);
+			classCache.put(className, result);
+		}
+		return result;
+	}
+
+	private ClassSchema getSchema(Class<?> clazz) {
+		ClassSchema result = schemaCache.get(clazz.getName(), null);
+		if(result == null) {
+			result = new ClassSchema(clazz);
+			schemaCache.put(clazz.getName(), result);
+		}
+		return result;
+	}
+
+	private static ConstructorArg getConstructorArg(Annotation[] annotations) {
+		for(int i = 0; i < annotations.length; i++) {
+			if(annotations[i] == null || !annotations[i].getAnnotationType().isAssignableFrom(ConstructorArg.class)) {
+				continue;
+			}
+			return (ConstructorArg) annotations[i].getAnnotation(ConstructorArg.class);
+		}
+		return null;
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		if(closeable == null) {
+			return;
+		}
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Serialization metadata of a class, resolved once per {@link BinarySerializer}
+	 */
+	private static class ClassSchema {
+		final Class<?> clazz;
+		final Constructor[] constructors;
+
+		final Array<Field> fields = new Array<Field>();
+		final Array<Class<?>> owners = new Array<Class<?>>();
+		final ObjectIntMap<String> fieldIndices = new ObjectIntMap<String>();
+		final boolean[] required;
+		final int totalRequired;
+
+		final Array<Method> constructorArgMethods = new Array<Method>();
+		final Array<String> constructorArgNames = new Array<String>();
+		final ObjectMap<String, Class<?>> constructorArgTypes = new ObjectMap<String, Class<?>>();
+
+		final Array<Method> postDeserializeMethods = new Array<Method>();
+
+		ClassSchema(Class<?> clazz) {
+			this.clazz = clazz;
+			this.constructors = Mdx.reflect.getConstructors(clazz);
+
+			Class<?> currentClass = clazz;
+			while(currentClass != null && !currentClass.equals(Object.class)) {
+				final AotSerializedClassData classData = AotSerializationData.getClassData(currentClass);
+				final Field[] declaredFields = classData != null ? classData.getFieldDataAsFieldArray() :
+						Mdx.reflect.getDeclaredFields(currentClass);
+				for(Field field : declaredFields) {
+					if(classData == null && !field.isAnnotationPresent(org.mini2Dx.core.serialization.annotation.Field.class)) {
+						continue;
+					}
+					if(fieldIndices.containsKey(field.getName())) {
+						continue;
+					}
+					fieldIndices.put(field.getName(), fields.size);
+					fields.add(field);
+					owners.add(currentClass);
+				}
+
+				final Method[] methods = Mdx.reflect.getDeclaredMethods(currentClass);
+				addConstructorArgMethods(methods);
+				for(Method method : methods) {
+					if(classData != null ? method.getName().equals(classData.getPostDeserializeMethodName()) :
+							method.isAnnotationPresent(PostDeserialize.class)) {
+						postDeserializeMethods.add(method);
+					}
+				}
+				currentClass = currentClass.getSuperclass();
+			}
+			final Class<?>[] interfaces = clazz.getInterfaces();
+			for(int i = 0; i < interfaces.length; i++) {
+				addConstructorArgMethods(Mdx.reflect.getDeclaredMethods(interfaces[i]));
+			}
+
+			required = new boolean[fields.size];
+			int totalRequired = 0;
+			for(int i = 0; i < fields.size; i++) {
+				final Annotation annotation = fields.get(i).getDeclaredAnnotation(org.mini2Dx.core.serialization.annotation.Field.class);
+				if(annotation == null) {
+					continue;
+				}
+				required[i] = !((org.mini2Dx.core.serialization.annotation.Field) annotation.getAnnotation(
+						org.mini2Dx.core.serialization.annotation.Field.class)).optional();
+				if(required[i]) {
+					totalRequired++;
+				}
+			}
+			this.totalRequired = totalRequired;
+
+			final AotSerializedClassData classData = AotSerializationData.getClassData(clazz);
+			if(classData != null) {
+				for(int i = 0; i < classData.getTotalConstructors(); i++) {
+					final AotSerializedConstructorData constructorData = classData.getConstructorData(i);
+					for(int j = 0; j < constructorData.getTotalArgs(); j++) {
+						constructorArgTypes.put(constructorData.getConstructorArgName(j), constructorData.getConstructorArgType(j));
+					}
+				}
+			} else {
+				for(int i = 0; i < constructors.length; i++) {
+					final Annotation[][] parameterAnnotations = constructors[i].getParameterAnnotations();
+					for(int j = 0; j < parameterAnnotations.length; j++) {
+						final ConstructorArg constructorArg = getConstructorArg(parameterAnnotations[j]);
+						if(constructorArg != null) {
+							constructorArgTypes.put(constructorArg.name(), constructorArg.clazz());
+						}
+					}
+				}
+			}
+		}
+
+		private void addConstructorArgMethods(Method[] methods) {
+			for(Method method : methods) {
+				if(method.getParameterTypes().length > 0) {
+					continue;
+				}
+				final Annotation annotation = method.getDeclaredAnnotation(ConstructorArg.class);
+				if(annotation == null) {
+					continue;
+				}
+				final ConstructorArg constructorArg = (ConstructorArg) annotation.getAnnotation(ConstructorArg.class);
+				if(constructorArgNames.contains(constructorArg.name(), false)) {
+					continue;
+				}
+				constructorArgMethods.add(method);
+				constructorArgNames.add(constructorArg.name());
+			}
+		}
+	}
+
+	private static class Output {
+		final DataOutputStream out;
+		final ObjectIntMap<String> strings = new ObjectIntMap<String>();
+
+		Output(DataOutputStream out) {
+			this.out = out;
+		}
+
+		void writeTag(int tag) throws IOException {
+			out.writeByte(tag);
+		}
+
+		void writeVarInt(int value) throws IOException {
+			while((value & ~0x7F) != 0) {
+				out.writeByte((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			out.writeByte(value);
+		}
+
+		void writeVarLong(long value) throws IOException {
+			while((value & ~0x7FL) != 0L) {
+				out.writeByte((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			out.writeByte((int) value);
+		}
+
+		void writeSignedVarInt(int value) throws IOException {
+			writeVarInt((value << 1) ^ (value >> 31));
+		}
+
+		void writeSignedVarLong(long value) throws IOException {
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+		/**
+		 * Writes the index of a previously written string or 0 followed by the UTF-8 bytes of a new string
+		 */
+		void writeString(String value) throws IOException {
+			final int index = strings.get(value, -1);
+			if(index >= 0) {
+				writeVarInt(index + 1);
+				return;
+			}
+			strings.put(value, strings.size);
+			final byte[] bytes = value.getBytes("UTF-8");
+			writeVarInt(0);
+			writeVarInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private static class Input {
+		final DataInputStream in;
+		final Array<String> strings = new Array<String>();
+
+		Input(DataInputStream in) {
+			this.in = in;
+		}
+
+		int readTag() throws IOException {
+			return in.readUnsignedByte();
+		}
+
+		int readVarInt() throws IOException {
+			int result = 0;
+			for(int shift = 0; shift < 35; shift += 7) {
+				final int b = in.readUnsignedByte();
+				result |= (b & 0x7F) << shift;
+				if((b & 0x80) == 0) {
+					return result;
+				}
+			}
+			throw new IOException("Malformed variable-length integer");
+		}
+
+		long readVarLong() throws IOException {
+			long result = 0L;
+			for(int shift = 0; shift < 70; shift += 7) {
+				final int b = in.readUnsignedByte();
+				result |= (long) (b & 0x7F) << shift;
+				if((b & 0x80) == 0) {
+					return result;
+				}
+			}
+			throw new IOException("Malformed variable-length integer");
+		}
+
+		int readSignedVarInt() throws IOException {
+			final int value = readVarInt();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		long readSignedVarLong() throws IOException {
+			final long value = readVarLong();
+			return (value >>> 1) ^ -(value & 1L);
+		}
+
+		String readString() throws IOException {
+			final int index = readVarInt();
+			if(index > 0) {
+				if(index > strings.size) {
+					throw new IOException("Invalid string reference " + index);
+				}
+				return strings.get(index - 1);
+			}
+			final byte[] bytes = new byte[readVarInt()];
+			in.readFully(bytes);
+			final String result = new String(bytes, "UTF-8");
+			strings.add(result);
+			return result;
+		}
+	}
+}
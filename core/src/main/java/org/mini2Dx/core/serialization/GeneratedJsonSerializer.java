@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.serialization;
+
+import org.mini2Dx.core.exception.SerializationException;
+import org.mini2Dx.core.serialization.aot.AotSerializerGenerator;
+import org.mini2Dx.gdx.json.JsonValue;
+import org.mini2Dx.gdx.json.JsonWriter;
+
+/**
+ * Reads and writes the {@link org.mini2Dx.core.serialization.annotation.Field}s
+ * of a single class without reflective field lookups.
+ *
+ * Implementations are generated ahead of time by {@link AotSerializerGenerator}
+ * and registered via {@link AotSerializationData#registerSerializer(GeneratedJsonSerializer)}.
+ * {@link JsonSerializer} uses a registered implementation when the runtime
+ * class of an object matches {@link #getSerializedClass()} exactly and falls
+ * back to reflection otherwise.
+ *
+ * @param <T> The serialized class
+ */
+public interface GeneratedJsonSerializer<T> {
+
+	/**
+	 * Returns the class this serializer reads and writes
+	 * @return The serialized {@link Class}
+	 */
+	public Class<T> getSerializedClass();
+
+	/**
+	 * Writes all fields and {@link org.mini2Dx.core.serialization.annotation.ConstructorArg} values
+	 * of an object. The enclosing JSON object has already been started.
+	 * @param serializer The {@link JsonSerializer} to delegate non-primitive values to
+	 * @param object The object to write
+	 * @param json The {@link JsonWriter} to write to
+	 * @throws SerializationException Thrown when the object is invalid
+	 */
+	public void writeFields(JsonSerializer serializer, T object, JsonWriter json) throws SerializationException;
+
+	/**
+	 * Reads all fields of an object that has already been constructed
+	 * @param serializer The {@link JsonSerializer} to delegate non-primitive values to
+	 * @param object The object to populate
+	 * @param objectRoot The JSON object to read from
+	 * @throws SerializationException Thrown when the data is invalid
+	 */
+	public void readFields(JsonSerializer serializer, T object, JsonValue objectRoot) throws SerializationException;
+}
@@ -42,6 +42,7 @@ import org.mini2Dx.gdx.utils.ObjectMap;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.Map;
 
@@ -156,13 +157,9 @@ public class JsonSerializer {
 	 */
 	public <T> String toJson(T object, boolean prettyPrint) throws SerializationException {
 		StringWriter writer = new StringWriter();
-		JsonWriter jsonWriter = new JsonWriter(writer);
-		jsonWriter.setOutputType(JsonWriter.OutputType.json);
-
-		writeObject(null, object, null, jsonWriter);
+		toJson(object, writer);
 
 		try {
-			jsonWriter.flush();
 			final String result = writer.toString();
 			writer.flush();
 			writer.close();
@@ -177,6 +174,69 @@ public class JsonSerializer {
 		}
 	}
 
+	/**
+	 * Writes a JSON document to a {@link Writer} by searching the object for
+	 * {@link org.mini2Dx.core.serialization.annotation.Field} annotations. The
+	 * writer is flushed but not closed.
+	 *
+	 * @param object
+	 *            The object to convert to JSON
+	 * @param writer
+	 *            The {@link Writer} to write the JSON document to
+	 * @throws SerializationException
+	 *             Thrown when the object is invalid
+	 */
+	public <T> void toJson(T object, Writer writer) throws SerializationException {
+		JsonWriter jsonWriter = new JsonWriter(writer);
+		jsonWriter.setOutputType(JsonWriter.OutputType.json);
+
+		writeObject(null, object, null, jsonWriter);
+
+		try {
+			jsonWriter.flush();
+		} catch (IOException e) {
+			throw new SerializationException(e);
+		}
+	}
+
+	/**
+	 * Writes a named value using the same rules as reflective serialization. Used by {@link GeneratedJsonSerializer}s
+	 * for values that are not primitives, strings or enums.
+	 *
+	 * @param fieldDefinition
+	 *            The {@link Field} the value was read from or null for {@link ConstructorArg} values
+	 * @param value
+	 *            The value to write
+	 * @param fieldName
+	 *            The JSON field name
+	 * @param json
+	 *            The {@link JsonWriter} to write to
+	 * @throws SerializationException
+	 *             Thrown when the value is invalid
+	 */
+	public <T> void writeField(Field fieldDefinition, T value, String fieldName, JsonWriter json) throws SerializationException {
+		writeObject(fieldDefinition, value, fieldName, json);
+	}
+
+	/**
+	 * Reads a JSON value into a field using the same rules as reflective deserialization. Used by
+	 * {@link GeneratedJsonSerializer}s for fields that are not primitives, strings or enums.
+	 *
+	 * @param targetObject
+	 *            The object to set the field on
+	 * @param ownerClass
+	 *            The {@link Class} that declares the field
+	 * @param field
+	 *            The {@link Field} to set
+	 * @param value
+	 *            The JSON value to read
+	 * @throws SerializationException
+	 *             Thrown when the data is invalid
+	 */
+	public <T> void readField(T targetObject, Class<?> ownerClass, Field field, JsonValue value) throws SerializationException {
+		setField(targetObject, ownerClass, field, value);
+	}
+
 	private <T> void writeObject(Field fieldDefinition, T object, String fieldName, JsonWriter json) throws SerializationException {
 		try {
 			if (object == null) {
@@ -217,6 +277,13 @@ public class JsonSerializer {
 			}
 			writeClassFieldIfRequired(fieldDefinition, object, fieldName, json);
 
+			final GeneratedJsonSerializer generatedSerializer = AotSerializationData.getSerializer(clazz);
+			if (generatedSerializer != null) {
+				generatedSerializer.writeFields(this, object, json);
+				json.pop();
+				return;
+			}
+
 			Class<?> currentClass = clazz;
 			while (currentClass != null && !currentClass.equals(Object.class)) {
 				final String className = currentClass.getName();
@@ -556,6 +623,14 @@ public class JsonSerializer {
 			if (objectRoot.isObject()) {
 				Class<?> clazz = determineImplementation(objectRoot, fieldClass);
 				T result = construct(objectRoot, clazz);
+
+				final GeneratedJsonSerializer generatedSerializer = AotSerializationData.getSerializer(clazz);
+				if (generatedSerializer != null) {
+					generatedSerializer.readFields(this, result, objectRoot);
+					callPostDeserializeMethods(result, clazz);
+					return result;
+				}
+
 				Class<?> currentClass = clazz;
 				while (currentClass != null && !currentClass.equals(Object.class)) {
 					AotSerializedClassData classData = AotSerializationData.getClassData(currentClass);
@@ -0,0 +1,389 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.serialization.aot;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.core.reflect.Annotation;
+import org.mini2Dx.core.reflect.Field;
+import org.mini2Dx.core.reflect.Method;
+import org.mini2Dx.core.serialization.AotSerializationData;
+import org.mini2Dx.core.serialization.GeneratedJsonSerializer;
+import org.mini2Dx.core.serialization.annotation.ConstructorArg;
+import org.mini2Dx.gdx.utils.Array;
+
+import java.io.IOException;
+
+/**
+ * Generates Java source for {@link GeneratedJsonSerializer} implementations
+ * of classes registered with {@link AotSerializationData}. Intended to be run
+ * as part of a game's build after registering its serialized classes.
+ *
+ * Each serializer is generated into the package of its class so that
+ * non-private fields can be accessed directly. Fields that cannot be accessed
+ * from that package fall back to a {@link Field} looked up once when the
+ * serializer is created. Fields are never accessed through getters or
+ * setters, so generated and reflective serialization read and write the same
+ * members. Primitive, String and enum values are read and written inline
+ * using typed locals, all other values are delegated back to the
+ * {@link org.mini2Dx.core.serialization.JsonSerializer}.
+ */
+public class AotSerializerGenerator {
+	public static final String SERIALIZER_SUFFIX = "JsonSerializer";
+
+	/**
+	 * Generates serializers for all classes registered with {@link AotSerializationData}
+	 * @param sourceDirectory The root source directory to write the generated files to
+	 * @return The classes that serializers were generated for
+	 * @throws IOException Thrown if a file could not be written
+	 */
+	public static Array<Class> generate(FileHandle sourceDirectory) throws IOException {
+		final Array<Class> result = new Array<Class>();
+		final Array<AotSerializedClassData> allClassData = AotSerializationData.getAllClassData();
+		for(int i = 0; i < allClassData.size; i++) {
+			final Class clazz = allClassData.get(i).getClazz();
+			final String source = generateSource(clazz);
+			if(source == null) {
+				continue;
+			}
+			final FileHandle file = sourceDirectory.child(getSerializerClassName(clazz).replace('.', '/') + ".java");
+			file.parent().mkdirs();
+			file.writeString(source, false);
+			result.add(clazz);
+		}
+		return result;
+	}
+
+	/**
+	 * Generates a class that registers serializers with {@link AotSerializationData}
+	 * @param packageName The package of the generated class
+	 * @param className The simple name of the generated class
+	 * @param classes The classes that serializers were generated for
+	 * @return The Java source
+	 */
+	public static String generateRegistrySource(String packageName, String className, Array<Class> classes) {
+		final StringBuilder result = new StringBuilder();
+		result.append("package ").append(packageName).append(";\n\n");
+		result.append("import ").append(AotSerializationData.class.getName()).append(";\n\n");
+		result.append("/**\n * Generated by ").append(AotSerializerGenerator.class.getSimpleName()).append(". Do not modify.\n */\n");
+		result.append("public class ").append(className).append(" {\n\n");
+		result.append("\tpublic static void registerAll() {\n");
+		for(int i = 0; i < classes.size; i++) {
+			result.append("\t\tAotSerializationData.registerSerializer(new ")
+					.append(getSerializerClassName(classes.get(i))).append("());\n");
+		}
+		result.append("\t}\n}\n");
+		return result.toString();
+	}
+
+	/**
+	 * Returns the fully qualified name of the serializer generated for a class
+	 * @param clazz The serialized class
+	 * @return The class name, e.g. com.example.Player$Stats becomes com.example.Player_StatsJsonSerializer
+	 */
+	public static String getSerializerClassName(Class clazz) {
+		return clazz.getName().replace('$', '_') + SERIALIZER_SUFFIX;
+	}
+
+	/**
+	 * Generates the source of a {@link GeneratedJsonSerializer} for a class
+	 * @param clazz The class to generate a serializer for
+	 * @return Null if the class is abstract, an interface, an enum or cannot be accessed from generated code
+	 */
+	public static String generateSource(Class clazz) {
+		if(Mdx.reflect.isInterface(clazz) || Mdx.reflect.isAbstract(clazz) || Mdx.reflect.isEnum(clazz) ||
+				Mdx.reflect.isArray(clazz) || Mdx.reflect.isPrimitive(clazz) || clazz.getCanonicalName() == null) {
+			return null;
+		}
+		final Array<FieldEntry> fields = new Array<FieldEntry>();
+		final Array<Class> owners = new Array<Class>();
+		// Field entries and @ConstructorArg statements in reflective serialization order
+		final Array<Object> writes = new Array<Object>();
+
+		Class currentClass = clazz;
+		while(currentClass != null && !currentClass.equals(Object.class)) {
+			final Field[] declaredFields = getSerializedFields(currentClass);
+			if(declaredFields.length > 0) {
+				owners.add(currentClass);
+			}
+			for(int i = 0; i < declaredFields.length; i++) {
+				final FieldEntry entry = new FieldEntry(clazz, currentClass, owners.size - 1, declaredFields[i], fields.size);
+				fields.add(entry);
+				writes.add(entry);
+			}
+			if(!addConstructorArgWrites(currentClass, writes)) {
+				return null;
+			}
+			currentClass = currentClass.getSuperclass();
+		}
+		final Class[] interfaces = clazz.getInterfaces();
+		for(int i = 0; i < interfaces.length; i++) {
+			if(!addConstructorArgWrites(interfaces[i], writes)) {
+				return null;
+			}
+		}
+
+		final String packageName = getPackageName(clazz);
+		final String simpleName = getSerializerClassName(clazz).substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+		final String className = clazz.getCanonicalName();
+
+		final StringBuilder result = new StringBuilder();
+		if(!packageName.isEmpty()) {
+			result.append("package ").append(packageName).append(";\n\n");
+		}
+		result.append("import org.mini2Dx.core.Mdx;\n");
+		result.append("import org.mini2Dx.core.exception.RequiredFieldException;\n");
+		result.append("import org.mini2Dx.core.exception.SerializationException;\n");
+		result.append("import org.mini2Dx.core.reflect.Field;\n");
+		result.append("import org.mini2Dx.core.serialization.GeneratedJsonSerializer;\n");
+		result.append("import org.mini2Dx.core.serialization.JsonSerializer;\n");
+		result.append("import org.mini2Dx.gdx.json.JsonValue;\n");
+		result.append("import org.mini2Dx.gdx.json.JsonWriter;\n\n");
+		result.append("import java.io.IOException;\n\n");
+		result.append("/**\n * Generated by ").append(AotSerializerGenerator.class.getSimpleName())
+				.append(" for {@link ").append(className).append("}. Do not modify.\n */\n");
+		result.append("public class ").append(simpleName).append(" implements GeneratedJsonSerializer<")
+				.append(className).append("> {\n");
+
+		for(int i = 0; i < owners.size; i++) {
+			result.append("\tprivate final Class owner").append(i).append(" = ")
+					.append(getClassExpression(clazz, owners.get(i))).append(";\n");
+		}
+		boolean writesInline = false;
+		for(int i = 0; i < fields.size; i++) {
+			final FieldEntry entry = fields.get(i);
+			if(entry.requiresField()) {
+				result.append("\tprivate final Field field").append(i).append(" = Mdx.reflect.getDeclaredField(owner")
+						.append(entry.ownerIndex).append(", \"").append(entry.name).append("\");\n");
+			}
+			writesInline |= entry.inline;
+		}
+		result.append('\n');
+
+		result.append("\t@Override\n");
+		result.append("\tpublic Class<").append(className).append("> getSerializedClass() {\n");
+		result.append("\t\treturn ").append(className).append(".class;\n");
+		result.append("\t}\n\n");
+
+		result.append("\t@Override\n");
+		result.append("\tpublic void writeFields(JsonSerializer serializer, ").append(className)
+				.append(" object, JsonWriter json) throws SerializationException {\n");
+		// Only JsonWriter calls made inline declare IOException
+		final String indent = writesInline ? "\t\t\t" : "\t\t";
+		if(writesInline) {
+			result.append("\t\ttry {\n");
+		}
+		for(int i = 0; i < writes.size; i++) {
+			final Object write = writes.get(i);
+			if(write instanceof FieldEntry) {
+				((FieldEntry) write).generateWrite(result, indent);
+			} else {
+				result.append(indent).append((String) write).append('\n');
+			}
+		}
+		if(writesInline) {
+			result.append("\t\t} catch (IOException e) {\n");
+			result.append("\t\t\tthrow new SerializationException(e);\n");
+			result.append("\t\t}\n");
+		}
+		result.append("\t}\n\n");
+
+		result.append("\t@Override\n");
+		result.append("\tpublic void readFields(JsonSerializer serializer, ").append(className)
+				.append(" object, JsonValue objectRoot) throws SerializationException {\n");
+		for(int i = 0; i < fields.size; i++) {
+			result.append(fields.get(i).generateRead());
+		}
+		result.append("\t}\n");
+		result.append("}\n");
+		return result.toString();
+	}
+
+	private static boolean addConstructorArgWrites(Class clazz, Array<Object> writes) {
+		final Method[] methods = Mdx.reflect.getDeclaredMethods(clazz);
+		for(int i = 0; i < methods.length; i++) {
+			final Method method = methods[i];
+			if(method.getParameterTypes().length > 0) {
+				continue;
+			}
+			final Annotation annotation = method.getDeclaredAnnotation(ConstructorArg.class);
+			if(annotation == null) {
+				continue;
+			}
+			if(!method.isPublic() && !Mdx.reflect.isInterface(clazz)) {
+				return false;
+			}
+			final ConstructorArg constructorArg = (ConstructorArg) annotation.getAnnotation(ConstructorArg.class);
+			writes.add("serializer.writeField(null, object." + method.getName() + "(), \"" +
+					constructorArg.name() + "\", json);");
+		}
+		return true;
+	}
+
+	private static Field[] getSerializedFields(Class clazz) {
+		final AotSerializedClassData classData = AotSerializationData.getClassData(clazz);
+		if(classData != null) {
+			return classData.getFieldDataAsFieldArray();
+		}
+		final Field[] declaredFields = Mdx.reflect.getDeclaredFields(clazz);
+		final Array<Field> result = new Array<Field>(Field.class);
+		for(int i = 0; i < declaredFields.length; i++) {
+			if(declaredFields[i].isAnnotationPresent(org.mini2Dx.core.serialization.annotation.Field.class)) {
+				result.add(declaredFields[i]);
+			}
+		}
+		return result.toArray();
+	}
+
+	private static String getClassExpression(Class serializedClass, Class owner) {
+		if(getPackageName(serializedClass).equals(getPackageName(owner)) && owner.getCanonicalName() != null) {
+			return owner.getCanonicalName() + ".class";
+		}
+		return "Mdx.reflect.forName(\"" + owner.getName() + "\")";
+	}
+
+	private static String getPackageName(Class clazz) {
+		final String name = clazz.getName();
+		final int index = name.lastIndexOf('.');
+		return index < 0 ? "" : name.substring(0, index);
+	}
+
+	private static boolean isInlineType(Class type) {
+		return getReadMethod(type) != null || Mdx.reflect.isEnum(type);
+	}
+
+	private static String getReadMethod(Class type) {
+		if (type.equals(Boolean.TYPE) || type.equals(Boolean.class)) {
+			return "asBoolean()";
+		} else if (type.equals(Byte.TYPE) || type.equals(Byte.class)) {
+			return "asByte()";
+		} else if (type.equals(Character.TYPE) || type.equals(Character.class)) {
+			return "asChar()";
+		} else if (type.equals(Double.TYPE) || type.equals(Double.class)) {
+			return "asDouble()";
+		} else if (type.equals(Float.TYPE) || type.equals(Float.class)) {
+			return "asFloat()";
+		} else if (type.equals(Integer.TYPE) || type.equals(Integer.class)) {
+			return "asInt()";
+		} else if (type.equals(Long.TYPE) || type.equals(Long.class)) {
+			return "asLong()";
+		} else if (type.equals(Short.TYPE) || type.equals(Short.class)) {
+			return "asShort()";
+		} else if (type.equals(String.class)) {
+			return "asString()";
+		}
+		return null;
+	}
+
+	private static class FieldEntry {
+		final Field field;
+		final String name;
+		final Class type;
+		final int ownerIndex;
+		final int index;
+		final boolean optional;
+		final boolean inline;
+		final boolean direct;
+
+		FieldEntry(Class serializedClass, Class owner, int ownerIndex, Field field, int index) {
+			this.field = field;
+			this.name = field.getName();
+			this.type = field.getType();
+			this.ownerIndex = ownerIndex;
+			this.index = index;
+
+			final Annotation annotation = field.getDeclaredAnnotation(org.mini2Dx.core.serialization.annotation.Field.class);
+			// Fields loaded from AOT data are treated as optional, matching reflective deserialization
+			this.optional = annotation == null || ((org.mini2Dx.core.serialization.annotation.Field) annotation.getAnnotation(
+					org.mini2Dx.core.serialization.annotation.Field.class)).optional();
+			this.inline = isInlineType(type) && type.getCanonicalName() != null;
+			this.direct = field.isPublic() || (!field.isPrivate() && getPackageName(serializedClass).equals(getPackageName(owner)));
+		}
+
+		boolean requiresField() {
+			return !inline || !direct || field.isFinal();
+		}
+
+		void generateWrite(StringBuilder result, String indent) {
+			final String value = "value" + index;
+			final String localType = inline ? type.getCanonicalName() : "Object";
+			result.append(indent).append("final ").append(localType).append(' ').append(value).append(" = ");
+			if(direct) {
+				result.append("object.").append(name);
+			} else if(inline) {
+				result.append('(').append(localType).append(") field").append(index).append(".get(object)");
+			} else {
+				result.append("field").append(index).append(".get(object)");
+			}
+			result.append(";\n");
+
+			if(!optional && !Mdx.reflect.isPrimitive(type)) {
+				result.append(indent).append("if (").append(value).append(" == null) {\n");
+				result.append(indent).append("\tthrow new RequiredFieldException(owner").append(ownerIndex)
+						.append(", \"").append(name).append("\");\n");
+				result.append(indent).append("}\n");
+			}
+			if(!inline) {
+				result.append(indent).append("serializer.writeField(field").append(index).append(", ").append(value)
+						.append(", \"").append(name).append("\", json);\n");
+				return;
+			}
+			result.append(indent).append("json.name(\"").append(name).append("\");\n");
+			if(Mdx.reflect.isEnum(type)) {
+				result.append(indent).append("json.value(").append(value).append(" == null ? null : ")
+						.append(value).append(".toString());\n");
+			} else if(type.equals(Character.TYPE)) {
+				// Written as a string like a boxed Character, not as its integer code
+				result.append(indent).append("json.value(String.valueOf(").append(value).append("));\n");
+			} else {
+				result.append(indent).append("json.value(").append(value).append(");\n");
+			}
+		}
+
+		String generateRead() {
+			final StringBuilder result = new StringBuilder();
+			final String json = "json" + index;
+			result.append("\t\tfinal JsonValue ").append(json).append(" = objectRoot.get(\"").append(name).append("\");\n");
+			if(optional) {
+				result.append("\t\tif (").append(json).append(" != null && !").append(json).append(".isNull()) {\n");
+			} else {
+				result.append("\t\tif (").append(json).append(" == null || ").append(json).append(".isNull()) {\n");
+				result.append("\t\t\tthrow new RequiredFieldException(owner").append(ownerIndex).append(", \"")
+						.append(name).append("\");\n");
+				result.append("\t\t} else {\n");
+			}
+
+			if(!inline || field.isFinal()) {
+				result.append("\t\t\tserializer.readField(object, owner").append(ownerIndex).append(", field")
+						.append(index).append(", ").append(json).append(");\n");
+			} else {
+				final String conversion;
+				if(Mdx.reflect.isEnum(type)) {
+					conversion = type.getCanonicalName() + ".valueOf(" + json + ".asString())";
+				} else {
+					conversion = json + "." + getReadMethod(type);
+				}
+				if(direct) {
+					result.append("\t\t\tobject.").append(name).append(" = ").append(conversion).append(";\n");
+				} else {
+					result.append("\t\t\tfield").append(index).append(".set(object, ").append(conversion).append(");\n");
+				}
+			}
+			result.append("\t\t}\n");
+			return result.toString();
+		}
+	}
+}
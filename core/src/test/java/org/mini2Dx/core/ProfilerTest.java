@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.util.ZlibStream;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Unit tests for {@link Profiler}
+ */
+public class ProfilerTest {
+	private long time, usedMemory;
+	private Profiler profiler;
+
+	@Before
+	public void setUp() {
+		Mdx.platformUtils = new PlatformUtils() {
+			@Override
+			public void exit(boolean ignorePlatformRestrictions) {
+			}
+
+			@Override
+			public long nanoTime() {
+				return time;
+			}
+
+			@Override
+			public long currentTimeMillis() {
+				return time / 1000000L;
+			}
+
+			@Override
+			public long getTotalMemory() {
+				return usedMemory;
+			}
+
+			@Override
+			public long getAvailableMemory() {
+				return 0L;
+			}
+
+			@Override
+			public long getUsedMemory() {
+				return usedMemory;
+			}
+
+			@Override
+			public boolean isGameThread() {
+				return true;
+			}
+
+			@Override
+			public ZlibStream decompress(byte[] compressedData) {
+				return null;
+			}
+		};
+		profiler = new Profiler(10, 16);
+		profiler.setEnabled(true);
+	}
+
+	@Test
+	public void testDisabled() {
+		profiler.setEnabled(false);
+		recordFrame(1000L, 2000L);
+		Assert.assertEquals(0, profiler.getTotalFrames());
+		Assert.assertEquals(0L, profiler.getPercentile(Profiler.UPDATE, 50f));
+	}
+
+	@Test
+	public void testNestedScopes() {
+		profiler.beginFrame();
+		profiler.begin(Profiler.UPDATE);
+		time += 100L;
+		for(int i = 0; i < 3; i++) {
+			profiler.begin(Profiler.PHYSICS);
+			time += 50L;
+			profiler.end();
+		}
+		profiler.begin("ai");
+		time += 25L;
+		profiler.end();
+		profiler.end();
+		profiler.endFrame();
+
+		Assert.assertEquals(275L, profiler.getDuration(Profiler.UPDATE, 0));
+		Assert.assertEquals(150L, profiler.getDuration(Profiler.PHYSICS, 0));
+		Assert.assertEquals(3, profiler.getCalls(Profiler.PHYSICS, 0));
+		Assert.assertEquals(25L, profiler.getDuration("ai", 0));
+		Assert.assertEquals(275L, profiler.getDuration(Profiler.FRAME, 0));
+	}
+
+	@Test
+	public void testUnendedScopesClosedAtFrameEnd() {
+		profiler.beginFrame();
+		profiler.begin(Profiler.RENDER);
+		time += 10L;
+		profiler.endFrame();
+		Assert.assertEquals(10L, profiler.getDuration(Profiler.RENDER, 0));
+	}
+
+	@Test
+	public void testPercentiles() {
+		for(int i = 1; i <= 10; i++) {
+			recordFrame(i * 1000L, 0L);
+		}
+		Assert.assertEquals(5000L, profiler.getPercentile(Profiler.UPDATE, 50f));
+		Assert.assertEquals(10000L, profiler.getPercentile(Profiler.UPDATE, 95f));
+		Assert.assertEquals(10000L, profiler.getMax(Profiler.UPDATE));
+		Assert.assertEquals(5500.0, profiler.getAverage(Profiler.UPDATE), 0.01);
+	}
+
+	@Test
+	public void testHistoryRingBuffer() {
+		for(int i = 1; i <= 15; i++) {
+			recordFrame(i * 1000L, 0L);
+		}
+		Assert.assertEquals(15, profiler.getTotalFrames());
+		Assert.assertEquals(10, profiler.getTotalFramesInHistory());
+		Assert.assertEquals(15000L, profiler.getDuration(Profiler.UPDATE, 0));
+		Assert.assertEquals(6000L, profiler.getDuration(Profiler.UPDATE, 9));
+		Assert.assertEquals(6000L, profiler.getPercentile(Profiler.UPDATE, 0f));
+
+		profiler.beginFrame();
+		Assert.assertEquals(9, profiler.getTotalFramesInHistory());
+		Assert.assertEquals(15000L, profiler.getDuration(Profiler.UPDATE, 0));
+	}
+
+	@Test
+	public void testDisableDiscardsIncompleteFrame() {
+		for(int i = 1; i <= 15; i++) {
+			recordFrame(i * 1000L, 0L);
+		}
+		profiler.beginFrame();
+		profiler.setEnabled(false);
+		Assert.assertEquals(15, profiler.getTotalFrames());
+		Assert.assertEquals(9, profiler.getTotalFramesInHistory());
+		Assert.assertEquals(15000L, profiler.getDuration(Profiler.UPDATE, 0));
+		Assert.assertEquals(7000L, profiler.getDuration(Profiler.UPDATE, 8));
+
+		profiler.setEnabled(true);
+		recordFrame(16000L, 0L);
+		Assert.assertEquals(16, profiler.getTotalFrames());
+		Assert.assertEquals(10, profiler.getTotalFramesInHistory());
+		Assert.assertEquals(16000L, profiler.getDuration(Profiler.UPDATE, 0));
+		Assert.assertEquals(7000L, profiler.getDuration(Profiler.UPDATE, 9));
+	}
+
+	@Test
+	public void testMemoryCounters() {
+		usedMemory = 1000L;
+		recordFrame(10L, 0L);
+		Assert.assertEquals(0L, profiler.getAllocatedBytes(0));
+
+		profiler.beginFrame();
+		usedMemory += 512L;
+		profiler.endFrame();
+		Assert.assertEquals(512L, profiler.getAllocatedBytes(0));
+		Assert.assertEquals(0, profiler.getGarbageCollections(0));
+
+		profiler.beginFrame();
+		usedMemory = 100L;
+		profiler.endFrame();
+		Assert.assertEquals(0L, profiler.getAllocatedBytes(0));
+		Assert.assertEquals(1, profiler.getGarbageCollections(0));
+	}
+
+	@Test
+	public void testDroppedScopes() {
+		profiler.beginFrame();
+		for(int i = 0; i < 20; i++) {
+			profiler.begin("scope");
+			profiler.end();
+		}
+		profiler.endFrame();
+		Assert.assertEquals(4, profiler.getDroppedScopes());
+		Assert.assertEquals(16, profiler.getCalls("scope", 0));
+	}
+
+	@Test
+	public void testExportChromeTrace() throws IOException {
+		time = 1000000L;
+		recordFrame(1500L, 2000L);
+
+		final StringWriter writer = new StringWriter();
+		profiler.exportChromeTrace(writer);
+		final String result = writer.toString();
+		Assert.assertTrue(result.startsWith("{\"traceEvents\":["));
+		Assert.assertTrue(result.contains("{\"name\":\"frame\",\"ph\":\"X\",\"pid\":1,\"tid\":1,\"ts\":1000,\"dur\":3.500}"));
+		Assert.assertTrue(result.contains("{\"name\":\"update\",\"ph\":\"X\",\"pid\":1,\"tid\":1,\"ts\":1000,\"dur\":1.500}"));
+		Assert.assertTrue(result.contains("{\"name\":\"render\",\"ph\":\"X\",\"pid\":1,\"tid\":1,\"ts\":1001.500,\"dur\":2}"));
+		Assert.assertTrue(result.contains("\"ph\":\"C\""));
+		Assert.assertTrue(result.endsWith("],\"displayTimeUnit\":\"ms\"}"));
+	}
+
+	private void recordFrame(long updateDuration, long renderDuration) {
+		profiler.beginFrame();
+		profiler.begin(Profiler.UPDATE);
+		time += updateDuration;
+		profiler.end();
+		profiler.begin(Profiler.RENDER);
+		time += renderDuration;
+		profiler.end();
+		profiler.endFrame();
+	}
+}
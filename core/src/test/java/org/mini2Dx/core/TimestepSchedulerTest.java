@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.util.ZlibStream;
+
+/**
+ * Unit tests for {@link TimestepScheduler}
+ */
+public class TimestepSchedulerTest {
+	private static final long MILLIS = 1000000L;
+
+	private long time;
+	private TimestepScheduler scheduler;
+
+	@Before
+	public void setUp() {
+		Mdx.platformUtils = new PlatformUtils() {
+			@Override
+			public void exit(boolean ignorePlatformRestrictions) {
+			}
+
+			@Override
+			public long nanoTime() {
+				return time;
+			}
+
+			@Override
+			public long currentTimeMillis() {
+				return time / MILLIS;
+			}
+
+			@Override
+			public long getTotalMemory() {
+				return 0L;
+			}
+
+			@Override
+			public long getAvailableMemory() {
+				return 0L;
+			}
+
+			@Override
+			public long getUsedMemory() {
+				return 0L;
+			}
+
+			@Override
+			public boolean isGameThread() {
+				return true;
+			}
+
+			@Override
+			public ZlibStream decompress(byte[] compressedData) {
+				return null;
+			}
+		};
+		scheduler = new TimestepScheduler(10 * MILLIS, 100 * MILLIS);
+		scheduler.setSmoothingFrames(1);
+		scheduler.setSnapToleranceNanos(0L);
+	}
+
+	@Test
+	public void testFixedSteps() {
+		Assert.assertEquals(2, runFrame(25 * MILLIS, 1 * MILLIS));
+		Assert.assertEquals(0.5f, scheduler.getAlpha(), 0.001f);
+		Assert.assertEquals(0.01f, scheduler.getStepSeconds(), 0.0001f);
+
+		Assert.assertEquals(1, runFrame(5 * MILLIS, 1 * MILLIS));
+		Assert.assertEquals(0f, scheduler.getAlpha(), 0.001f);
+		Assert.assertEquals(3, scheduler.getTotalSteps());
+		Assert.assertEquals(0, scheduler.getDroppedSteps());
+	}
+
+	@Test
+	public void testMaximumFrameDelta() {
+		Assert.assertEquals(5, runFrame(1000 * MILLIS, 1 * MILLIS));
+		Assert.assertEquals(5, scheduler.getDroppedSteps());
+		Assert.assertEquals(0.1f, scheduler.getDeltaSeconds(), 0.0001f);
+	}
+
+	@Test
+	public void testSpiralOfDeathProtection() {
+		//Each step takes longer than the timestep it simulates
+		Assert.assertEquals(1, runFrame(50 * MILLIS, 20 * MILLIS));
+		Assert.assertEquals(4, scheduler.getDroppedSteps());
+		Assert.assertEquals(20 * MILLIS, scheduler.getAverageStepCostNanos());
+
+		Assert.assertEquals(1, runFrame(50 * MILLIS, 20 * MILLIS));
+		Assert.assertEquals(8, scheduler.getDroppedSteps());
+	}
+
+	@Test
+	public void testStepBudget() {
+		scheduler.setStepBudgetNanos(6 * MILLIS);
+		Assert.assertEquals(3, runFrame(30 * MILLIS, 2 * MILLIS));
+
+		//Average cost of 2ms allows 3 steps in a 6ms budget
+		Assert.assertEquals(3, runFrame(50 * MILLIS, 2 * MILLIS));
+		Assert.assertEquals(2, scheduler.getDroppedSteps());
+	}
+
+	@Test
+	public void testMergedSteps() {
+		scheduler.setMaximumMergedSteps(2);
+		Assert.assertEquals(1, runFrame(10 * MILLIS, 10 * MILLIS));
+
+		Assert.assertEquals(1, runFrame(40 * MILLIS, 20 * MILLIS));
+		Assert.assertEquals(0.02f, scheduler.getStepSeconds(), 0.0001f);
+		Assert.assertEquals(1, scheduler.getMergedSteps());
+		Assert.assertEquals(2, scheduler.getDroppedSteps());
+		Assert.assertEquals(10 * MILLIS, scheduler.getAverageStepCostNanos());
+	}
+
+	@Test
+	public void testMergedStepsCutByStepBudget() {
+		scheduler.setMaximumMergedSteps(2);
+		scheduler.setStepBudgetNanos(20 * MILLIS);
+		Assert.assertEquals(1, runFrame(10 * MILLIS, 5 * MILLIS));
+
+		//4 merged steps are planned but only 2 fit in the budget, the other 2 are dropped rather than merged
+		Assert.assertEquals(2, runFrame(100 * MILLIS, 15 * MILLIS));
+		Assert.assertEquals(2, scheduler.getMergedSteps());
+		Assert.assertEquals(6, scheduler.getDroppedSteps());
+	}
+
+	@Test
+	public void testSmoothing() {
+		scheduler.setSmoothingFrames(4);
+		runFrame(10 * MILLIS, 0L);
+		runFrame(10 * MILLIS, 0L);
+		runFrame(10 * MILLIS, 0L);
+		runFrame(30 * MILLIS, 0L);
+		Assert.assertEquals(0.015f, scheduler.getDeltaSeconds(), 0.0001f);
+	}
+
+	@Test
+	public void testSnapping() {
+		scheduler.setSnapToleranceNanos(250000L);
+		runFrame(10 * MILLIS + 200000L, 0L);
+		Assert.assertEquals(0.01f, scheduler.getDeltaSeconds(), 0.000001f);
+		Assert.assertEquals(0f, scheduler.getAlpha(), 0.0001f);
+
+		runFrame(10 * MILLIS + 300000L, 0L);
+		Assert.assertEquals(0.0103f, scheduler.getDeltaSeconds(), 0.000001f);
+	}
+
+	@Test
+	public void testRenderInterval() {
+		scheduler.setTargetRenderInterval(20 * MILLIS);
+		for(int i = 0; i < 4; i++) {
+			runFrame(10 * MILLIS, 0L);
+			Assert.assertEquals(i % 2 == 0, scheduler.shouldRender());
+		}
+		Assert.assertEquals(2, scheduler.getSkippedRenders());
+
+		scheduler.resetMetrics();
+		Assert.assertEquals(0, scheduler.getSkippedRenders());
+		Assert.assertEquals(0, scheduler.getTotalSteps());
+	}
+
+	@Test
+	public void testRenderIntervalWithoutRenderSkipping() {
+		scheduler.setTargetRenderInterval(20 * MILLIS);
+		scheduler.setRenderSkippingSupported(false);
+		for(int i = 0; i < 4; i++) {
+			runFrame(10 * MILLIS, 0L);
+			Assert.assertTrue(scheduler.shouldRender());
+		}
+		Assert.assertEquals(0, scheduler.getSkippedRenders());
+	}
+
+	private int runFrame(long frameDeltaNanos, long stepCostNanos) {
+		time += frameDeltaNanos;
+		scheduler.beginFrame(frameDeltaNanos);
+		int result = 0;
+		while(scheduler.nextStep()) {
+			time += stepCostNanos;
+			result++;
+		}
+		Assert.assertEquals(result, scheduler.getFrameSteps());
+		return result;
+	}
+}
@@ -0,0 +1,375 @@
+/*******************************************************************************
+ * Copyright 2020 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.assets;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Logger;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.TaskExecutor;
+import org.mini2Dx.core.exception.MdxException;
+import org.mini2Dx.core.executor.AsyncFuture;
+import org.mini2Dx.core.executor.AsyncResult;
+import org.mini2Dx.core.executor.FrameSpreadTask;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.ObjectMap;
+
+import java.util.concurrent.Callable;
+
+public class AssetManagerTest {
+	private static final long ASSET_SIZE = 100L;
+
+	private final TestTaskExecutor executor = new TestTaskExecutor();
+	private final TestAssetLoader assetLoader = new TestAssetLoader();
+	private final Array<String> resolvedFiles = new Array<String>();
+
+	private AssetManager assetManager;
+
+	@Before
+	public void setUp() {
+		Mdx.executor = executor;
+		Mdx.log = new Logger() {
+			@Override
+			public void info(String tag, String message) {
+				System.out.println(tag + " - " + message);
+			}
+
+			@Override
+			public void debug(String tag, String message) {
+			}
+
+			@Override
+			public void error(String tag, String message) {
+				System.out.println(tag + " - " + message);
+			}
+
+			@Override
+			public void error(String tag, String message, Exception e) {
+				System.out.println(tag + " - " + message);
+				e.printStackTrace();
+			}
+
+			@Override
+			public void setLoglevel(int loglevel) {
+			}
+		};
+
+		AssetManager.UPDATE_TIMEBOX_MILLIS = 1000;
+		assetManager = new AssetManager(new FileHandleResolver() {
+			@Override
+			public FileHandle resolve(String filePath) {
+				Assert.assertTrue(executor.executing);
+				resolvedFiles.add(filePath);
+				return null;
+			}
+		}, false);
+		assetManager.setAssetLoader(String.class, assetLoader);
+		assetManager.setAssetSizeEstimator(String.class, new AssetSizeEstimator<String>() {
+			@Override
+			public long estimateSize(AssetDescriptor<String> assetDescriptor, String asset) {
+				return ASSET_SIZE;
+			}
+		});
+	}
+
+	@Test
+	public void testUpdateSubmitsAllAssetsToExecutor() {
+		for(int i = 0; i < 10; i++) {
+			assetManager.load("asset" + i, String.class);
+		}
+		Assert.assertFalse(assetManager.update());
+		Assert.assertEquals(10, executor.pending.size);
+		Assert.assertEquals(0, resolvedFiles.size);
+		Assert.assertEquals(0, assetLoader.gameThreadLoads.size);
+
+		executor.runPending();
+		Assert.assertEquals(10, resolvedFiles.size);
+		Assert.assertEquals(10, assetLoader.asyncLoads.size);
+		Assert.assertEquals(0, assetLoader.gameThreadLoads.size);
+
+		Assert.assertTrue(assetManager.update());
+		Assert.assertEquals(10, assetLoader.gameThreadLoads.size);
+		for(int i = 0; i < 10; i++) {
+			Assert.assertEquals("asset" + i, assetManager.get("asset" + i, String.class));
+		}
+		Assert.assertEquals(1f, assetManager.getProgress(), 0.001f);
+	}
+
+	@Test
+	public void testDependenciesLoadedFirst() {
+		assetLoader.dependencies.put("parent", "child1,child2");
+		assetLoader.dependencies.put("child2", "child1");
+
+		assetManager.load("parent", String.class);
+		finishLoading();
+
+		Assert.assertEquals(3, assetLoader.gameThreadLoads.size);
+		Assert.assertEquals("child1", assetLoader.gameThreadLoads.get(0));
+		Assert.assertEquals("child2", assetLoader.gameThreadLoads.get(1));
+		Assert.assertEquals("parent", assetLoader.gameThreadLoads.get(2));
+	}
+
+	@Test
+	public void testSharedDependencyLoadedOnce() {
+		assetLoader.dependencies.put("parent1", "child");
+		assetLoader.dependencies.put("parent2", "child");
+
+		assetManager.load("parent1", String.class);
+		assetManager.load("parent2", String.class);
+		finishLoading();
+
+		Assert.assertEquals(3, assetLoader.gameThreadLoads.size);
+		Assert.assertEquals(1, countOf(resolvedFiles, "child"));
+		Assert.assertEquals(3f, assetManager.getQueuedAssets(), 0.001f);
+		Assert.assertEquals(3f, assetManager.getCompletedTasks(), 0.001f);
+	}
+
+	@Test
+	public void testUnloadWithoutBudget() {
+		assetManager.load("asset", String.class);
+		finishLoading();
+		Assert.assertEquals(ASSET_SIZE, assetManager.getResidentBytes());
+
+		assetManager.unload("asset");
+		Assert.assertFalse(assetManager.isLoaded("asset"));
+		Assert.assertEquals(0L, assetManager.getResidentBytes());
+		Assert.assertEquals(1L, assetManager.getEvictions());
+
+		assetManager.load("asset", String.class);
+		finishLoading();
+		Assert.assertTrue(assetManager.isLoaded("asset"));
+		Assert.assertEquals(1L, assetManager.getReloads());
+	}
+
+	@Test
+	public void testReferenceCounting() {
+		assetManager.load("asset", String.class);
+		assetManager.load("asset", String.class);
+		finishLoading();
+		assetManager.load("asset", String.class);
+
+		assetManager.unload("asset");
+		assetManager.unload("asset");
+		Assert.assertTrue(assetManager.isLoaded("asset"));
+		assetManager.unload("asset");
+		Assert.assertFalse(assetManager.isLoaded("asset"));
+		Assert.assertEquals(1L, assetManager.getEvictions());
+	}
+
+	@Test
+	public void testMemoryBudgetEvictsLeastRecentlyUsed() {
+		assetManager.setMemoryBudget(ASSET_SIZE * 2 + (ASSET_SIZE / 2));
+		assetManager.load("a", String.class);
+		assetManager.load("b", String.class);
+		assetManager.load("c", String.class);
+		finishLoading();
+
+		//Referenced assets are never evicted
+		Assert.assertEquals(ASSET_SIZE * 3, assetManager.getResidentBytes());
+		Assert.assertEquals(0L, assetManager.getEvictions());
+
+		assetManager.unload("a");
+		Assert.assertFalse(assetManager.isLoaded("a"));
+		assetManager.unload("b");
+		assetManager.unload("c");
+		Assert.assertTrue(assetManager.isLoaded("b"));
+		Assert.assertTrue(assetManager.isLoaded("c"));
+		Assert.assertEquals(ASSET_SIZE * 2, assetManager.getResidentBytes());
+		Assert.assertEquals(ASSET_SIZE * 2, assetManager.getUnreferencedBytes());
+
+		Assert.assertEquals("b", assetManager.get("b", String.class));
+		assetManager.load("d", String.class);
+		finishLoading();
+		Assert.assertTrue(assetManager.isLoaded("b"));
+		Assert.assertFalse(assetManager.isLoaded("c"));
+		Assert.assertEquals(2L, assetManager.getEvictions());
+
+		//Cached asset is referenced again without reloading
+		assetManager.load("b", String.class);
+		Assert.assertEquals(0L, assetManager.getUnreferencedBytes());
+		assetManager.evictUnreferencedAssets();
+		Assert.assertTrue(assetManager.isLoaded("b"));
+		Assert.assertEquals(0L, assetManager.getReloads());
+	}
+
+	@Test
+	public void testDependenciesReleasedOnEviction() {
+		assetLoader.dependencies.put("parent1", "child1,child2");
+		assetLoader.dependencies.put("parent2", "child2");
+
+		assetManager.load("parent1", String.class);
+		assetManager.load("parent2", String.class);
+		finishLoading();
+		Assert.assertEquals(ASSET_SIZE * 4, assetManager.getResidentBytes());
+
+		assetManager.load("child1", String.class);
+		assetManager.unload("parent1");
+		Assert.assertFalse(assetManager.isLoaded("parent1"));
+		Assert.assertTrue(assetManager.isLoaded("child1"));
+		Assert.assertTrue(assetManager.isLoaded("child2"));
+
+		assetManager.unload("parent2");
+		Assert.assertFalse(assetManager.isLoaded("child2"));
+		Assert.assertTrue(assetManager.isLoaded("child1"));
+		Assert.assertEquals(3L, assetManager.getEvictions());
+	}
+
+	@Test
+	public void testFailedAssetCanBeQueuedAgain() {
+		assetLoader.failures.add("broken");
+		assetManager.load("broken", String.class);
+		Assert.assertFalse(assetManager.update());
+		executor.runPending();
+		try {
+			assetManager.update();
+			Assert.fail("Loader failure was not rethrown");
+		} catch (MdxException e) {
+		}
+		Assert.assertTrue(assetManager.update());
+
+		assetLoader.failures.clear();
+		assetManager.load("broken", String.class);
+		finishLoading();
+		Assert.assertEquals("broken", assetManager.get("broken", String.class));
+	}
+
+	private void finishLoading() {
+		for(int i = 0; i < 100; i++) {
+			if(assetManager.update()) {
+				return;
+			}
+			executor.runPending();
+		}
+		Assert.fail("Loading did not complete");
+	}
+
+	private static int countOf(Array<String> values, String value) {
+		int result = 0;
+		for(int i = 0; i < values.size; i++) {
+			if(values.get(i).equals(value)) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	private class TestAssetLoader implements AsyncAssetLoader<String> {
+		private final ObjectMap<String, String> dependencies = new ObjectMap<String, String>();
+		private final Array<String> failures = new Array<String>();
+		private final Array<String> asyncLoads = new Array<String>();
+		private final Array<String> gameThreadLoads = new Array<String>();
+
+		@Override
+		public boolean loadOnGameThread(AssetManager assetManager, AssetDescriptor<String> assetDescriptor,
+		                                AsyncLoadingCache asyncLoadingCache, AssetLoaderResult<String> resultHolder) {
+			Assert.assertFalse(executor.executing);
+			gameThreadLoads.add(assetDescriptor.getFilePath());
+			resultHolder.setResult(asyncLoadingCache.getCache("value", String.class));
+			return true;
+		}
+
+		@Override
+		public void loadOnAsyncThread(AssetDescriptor assetDescriptor, AsyncLoadingCache asyncLoadingCache) {
+			Assert.assertTrue(executor.executing);
+			asyncLoads.add(assetDescriptor.getFilePath());
+			asyncLoadingCache.setCache("value", assetDescriptor.getFilePath());
+		}
+
+		@Override
+		public Array<AssetDescriptor> getDependencies(AssetDescriptor<String> assetDescriptor, AsyncLoadingCache asyncLoadingCache) {
+			Assert.assertTrue(executor.executing);
+			if(failures.contains(assetDescriptor.getFilePath(), false)) {
+				throw new MdxException("Could not load " + assetDescriptor.getFilePath());
+			}
+			if(!dependencies.containsKey(assetDescriptor.getFilePath())) {
+				return null;
+			}
+			final Array<AssetDescriptor> result = new Array<AssetDescriptor>();
+			for(String dependency : dependencies.get(assetDescriptor.getFilePath()).split(",")) {
+				result.add(new AssetDescriptor<String>(dependency, String.class));
+			}
+			return result;
+		}
+	}
+
+	private class TestTaskExecutor implements TaskExecutor {
+		private final Array<TestFuture> pending = new Array<TestFuture>();
+		private boolean executing;
+
+		public void runPending() {
+			final Array<TestFuture> tasks = new Array<TestFuture>(pending);
+			pending.clear();
+
+			executing = true;
+			for(int i = 0; i < tasks.size; i++) {
+				tasks.get(i).runnable.run();
+				tasks.get(i).finished = true;
+			}
+			executing = false;
+		}
+
+		@Override
+		public void update(float delta) {
+		}
+
+		@Override
+		public void execute(Runnable runnable) {
+			submit(runnable);
+		}
+
+		@Override
+		public AsyncFuture submit(Runnable runnable) {
+			final TestFuture result = new TestFuture(runnable);
+			pending.add(result);
+			return result;
+		}
+
+		@Override
+		public <T> AsyncResult<T> submit(Callable<T> callable) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void submit(FrameSpreadTask task) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setMaxFrameTasksPerFrame(int max) {
+		}
+
+		@Override
+		public void dispose() {
+		}
+	}
+
+	private static class TestFuture implements AsyncFuture {
+		private final Runnable runnable;
+		private boolean finished;
+
+		private TestFuture(Runnable runnable) {
+			this.runnable = runnable;
+		}
+
+		@Override
+		public boolean isFinished() {
+			return finished;
+		}
+	}
+}
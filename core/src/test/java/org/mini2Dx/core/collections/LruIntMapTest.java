@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LruIntMap}
+ */
+public class LruIntMapTest {
+	private static final int MAX_CAPACITY = 64;
+
+	private final LruIntMap<String> map = new LruIntMap<String>(16, MAX_CAPACITY);
+
+	@After
+	public void teardown() {
+		map.clear();
+	}
+
+	@Test
+	public void testImmediatePurge() {
+		for(int i = 0; i < MAX_CAPACITY * 2; i++) {
+			map.put(i, "value" + i);
+			Assert.assertEquals(Math.min(i + 1, MAX_CAPACITY), map.size);
+		}
+		Assert.assertEquals(MAX_CAPACITY, map.getEvictionCount());
+	}
+
+	@Test
+	public void testLruPurge() {
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			map.put(i, "value" + i);
+		}
+		map.get(0);
+
+		map.put(MAX_CAPACITY, "value" + MAX_CAPACITY);
+		Assert.assertTrue(map.containsKey(0));
+		Assert.assertFalse(map.containsKey(1));
+
+		map.remove(2);
+		map.put(MAX_CAPACITY + 1, "value" + (MAX_CAPACITY + 1));
+		Assert.assertEquals(MAX_CAPACITY, map.size);
+		Assert.assertTrue(map.containsKey(3));
+
+		map.put(MAX_CAPACITY + 2, "value" + (MAX_CAPACITY + 2));
+		Assert.assertFalse(map.containsKey(3));
+	}
+
+	@Test
+	public void testStatistics() {
+		map.put(1, "value1");
+		map.get(1);
+		map.get(2);
+		map.get(3, "default");
+
+		Assert.assertEquals(1, map.getHitCount());
+		Assert.assertEquals(2, map.getMissCount());
+		Assert.assertEquals(1f / 3f, map.getHitRate(), 0.0001f);
+	}
+
+	@Test
+	public void testTinyLfuRetainsFrequentKeys() {
+		final LruIntMap<String> tinyLfuMap = new LruIntMap<String>(16, MAX_CAPACITY, EvictionPolicy.W_TINY_LFU);
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			tinyLfuMap.put(i, "value" + i);
+		}
+		for(int j = 0; j < 8; j++) {
+			for(int i = 0; i < MAX_CAPACITY; i++) {
+				tinyLfuMap.get(i);
+			}
+		}
+		for(int i = 0; i < MAX_CAPACITY * 4; i++) {
+			tinyLfuMap.put(1000 + i, "value" + i);
+			Assert.assertEquals(MAX_CAPACITY, tinyLfuMap.size);
+		}
+
+		int totalHotRetained = 0;
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			if(tinyLfuMap.containsKey(i)) {
+				totalHotRetained++;
+			}
+		}
+		Assert.assertTrue(totalHotRetained >= MAX_CAPACITY / 2);
+	}
+}
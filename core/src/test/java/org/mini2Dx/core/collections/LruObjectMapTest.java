@@ -66,4 +66,108 @@ public class LruObjectMapTest {
 		Assert.assertEquals(MAX_CAPACITY, map.size);
 		Assert.assertFalse(map.containsKey("key0"));
 	}
+
+	@Test
+	public void testRecencyNotFrequency() {
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			map.put("key" + i, "value" + i);
+		}
+		for(int i = 0; i < 10; i++) {
+			map.get("key0");
+		}
+		for(int i = 1; i < MAX_CAPACITY; i++) {
+			map.get("key" + i);
+		}
+		map.get("key1");
+
+		map.put("key" + MAX_CAPACITY, "value" + MAX_CAPACITY);
+		Assert.assertFalse(map.containsKey("key0"));
+		Assert.assertTrue(map.containsKey("key1"));
+
+		map.put("key" + (MAX_CAPACITY + 1), "value" + (MAX_CAPACITY + 1));
+		Assert.assertFalse(map.containsKey("key2"));
+		Assert.assertTrue(map.containsKey("key1"));
+	}
+
+	@Test
+	public void testPutExistingKeyUpdatesRecency() {
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			map.put("key" + i, "value" + i);
+		}
+		map.put("key0", "updated");
+		map.put("key" + MAX_CAPACITY, "value" + MAX_CAPACITY);
+
+		Assert.assertEquals(MAX_CAPACITY, map.size);
+		Assert.assertEquals("updated", map.get("key0"));
+		Assert.assertFalse(map.containsKey("key1"));
+	}
+
+	@Test
+	public void testRemoveAndReinsert() {
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			map.put("key" + i, "value" + i);
+		}
+		for(int i = 0; i < MAX_CAPACITY; i += 2) {
+			map.remove("key" + i);
+		}
+		Assert.assertEquals(MAX_CAPACITY / 2, map.size);
+
+		for(int i = 0; i < MAX_CAPACITY * 4; i++) {
+			map.put("other" + i, "value" + i);
+			Assert.assertTrue(map.size <= MAX_CAPACITY);
+		}
+		Assert.assertEquals(MAX_CAPACITY, map.size);
+		for(int i = (MAX_CAPACITY * 3); i < MAX_CAPACITY * 4; i++) {
+			Assert.assertTrue(map.containsKey("other" + i));
+		}
+	}
+
+	@Test
+	public void testStatistics() {
+		for(int i = 0; i < MAX_CAPACITY + 4; i++) {
+			map.put("key" + i, "value" + i);
+		}
+		map.get("key" + MAX_CAPACITY);
+		map.get("key0");
+		map.get("key1", "default");
+		map.get("key10");
+
+		Assert.assertEquals(2, map.getHitCount());
+		Assert.assertEquals(2, map.getMissCount());
+		Assert.assertEquals(4, map.getEvictionCount());
+		Assert.assertEquals(0.5f, map.getHitRate(), 0.0001f);
+
+		map.resetStatistics();
+		Assert.assertEquals(0, map.getHitCount());
+		Assert.assertEquals(0, map.getMissCount());
+		Assert.assertEquals(0, map.getEvictionCount());
+		Assert.assertEquals(0f, map.getHitRate(), 0.0001f);
+	}
+
+	@Test
+	public void testTinyLfuRetainsFrequentKeys() {
+		final LruObjectMap<String, String> tinyLfuMap = new LruObjectMap<String, String>(16, MAX_CAPACITY, EvictionPolicy.W_TINY_LFU);
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			tinyLfuMap.put("hot" + i, "value" + i);
+		}
+		for(int j = 0; j < 8; j++) {
+			for(int i = 0; i < MAX_CAPACITY; i++) {
+				tinyLfuMap.get("hot" + i);
+			}
+		}
+
+		for(int i = 0; i < MAX_CAPACITY * 4; i++) {
+			tinyLfuMap.put("scan" + i, "value" + i);
+			Assert.assertEquals(MAX_CAPACITY, tinyLfuMap.size);
+		}
+
+		int totalHotRetained = 0;
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			if(tinyLfuMap.containsKey("hot" + i)) {
+				totalHotRetained++;
+			}
+		}
+		Assert.assertTrue(totalHotRetained >= MAX_CAPACITY / 2);
+		Assert.assertEquals(MAX_CAPACITY * 4, tinyLfuMap.getEvictionCount());
+	}
 }
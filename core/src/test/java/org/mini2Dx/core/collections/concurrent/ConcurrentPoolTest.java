@@ -1,12 +1,17 @@
 package org.mini2Dx.core.collections.concurrent;
 
 import org.junit.Test;
+import org.mini2Dx.gdx.utils.Array;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class ConcurrentPoolTest extends ConcurrentCollectionTest {
     @Override
@@ -41,11 +46,105 @@ public class ConcurrentPoolTest extends ConcurrentCollectionTest {
         pool.clear();
         assertEquals(0, pool.getFree());
         assertEquals(pool.i.get(), 100);
+        assertEquals(100, pool.getStatistics().getMisses());
+        assertEquals(100, pool.getStatistics().getFrees());
+        assertEquals(0, pool.getStatistics().getInUse());
+        assertTrue(pool.getStatistics().getHighWaterMark() > 0);
+    }
+
+    @Test
+    public void testStatistics() {
+        ConcurrentPoolImpl pool = new ConcurrentPoolImpl();
+        Integer a = pool.obtain();
+        Integer b = pool.obtain();
+        pool.free(a);
+        pool.free(b);
+        pool.obtain();
+
+        assertEquals(2, pool.getStatistics().getMisses());
+        assertEquals(1, pool.getStatistics().getHits());
+        assertEquals(2, pool.getStatistics().getFrees());
+        assertEquals(1, pool.getStatistics().getInUse());
+        assertEquals(2, pool.getStatistics().getHighWaterMark());
+    }
+
+    @Test
+    public void testMagazinePool() {
+        ConcurrentPoolImpl pool = new ConcurrentPoolImpl(4);
+        Array<Integer> objects = new Array<Integer>();
+        for (int i = 0; i < 10; i++) {
+            objects.add(pool.obtain());
+        }
+        assertEquals(10, pool.i.get());
+        for (int i = 0; i < objects.size; i++) {
+            pool.free(objects.get(i));
+        }
+        assertEquals(10, pool.getFree());
+
+        for (int i = 0; i < 10; i++) {
+            pool.obtain();
+        }
+        assertEquals(10, pool.i.get());
+        assertEquals(0, pool.getFree());
+
+        pool.flushStatistics();
+        assertEquals(10, pool.getStatistics().getMisses());
+        assertEquals(10, pool.getStatistics().getHits());
+        assertEquals(10, pool.getStatistics().getFrees());
+        assertEquals(10, pool.getStatistics().getHighWaterMark());
+    }
+
+    @Test
+    public void testMagazinePoolAcrossThreads() {
+        final ConcurrentPoolImpl pool = new ConcurrentPoolImpl(8);
+        final Set<Integer> inUse = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+        final AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(16);
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                Array<Integer> obtained = new Array<Integer>();
+                for (int j = 0; j < 100; j++) {
+                    for (int i = 0; i < 20; i++) {
+                        Integer object = pool.obtain();
+                        if (!inUse.add(object)) {
+                            duplicates.incrementAndGet();
+                        }
+                        obtained.add(object);
+                    }
+                    for (int i = 0; i < obtained.size; i++) {
+                        inUse.remove(obtained.get(i));
+                        pool.free(obtained.get(i));
+                    }
+                    obtained.clear();
+                }
+                pool.flushStatistics();
+            }
+        }, 16);
+        assertEquals(0, duplicates.get());
+        assertTrue(pool.i.get() <= 16 * 20 * 2);
+        assertEquals(16 * 100 * 20, pool.getStatistics().getHits() + pool.getStatistics().getMisses());
+        assertEquals(0, pool.getStatistics().getInUse());
     }
 }
 
 class ConcurrentPoolImpl extends ConcurrentPool<Integer>{
     final AtomicInteger i = new AtomicInteger(0);
+
+    ConcurrentPoolImpl() {
+        super();
+    }
+
+    ConcurrentPoolImpl(int magazineSize) {
+        super(16, Integer.MAX_VALUE, magazineSize);
+    }
+
     @Override
     protected Integer newObject() {
         return i.getAndIncrement();
@@ -69,6 +69,25 @@ public class CollisionsTest {
 		InterpolationTracker.deregisterAll();
 	}
 
+	@Test
+	public void testPoolStatisticsAfterInit() {
+		final Collisions collisions = new Collisions();
+		collisions.init();
+		Assert.assertEquals(0, collisions.getCollisionBoxPoolStatistics().getInUse());
+		Assert.assertEquals(0, collisions.getCollisionBoxPoolStatistics().getFrees());
+		Assert.assertEquals(0, collisions.getCollisionCirclePoolStatistics().getInUse());
+		Assert.assertEquals(0, collisions.getQuadTreeAwareCollisionPointPoolStatistics().getInUse());
+		Assert.assertEquals(0, collisions.getStaticCollisionBoxPoolStatistics().getInUse());
+		Assert.assertEquals(0, collisions.getSingleThreadedCollisionCirclePoolStatistics().getInUse());
+
+		final CollisionBox collisionBox = collisions.collisionBox();
+		Assert.assertEquals(1, collisions.getCollisionBoxPoolStatistics().getInUse());
+		Assert.assertEquals(1, collisions.getCollisionBoxPoolStatistics().getHighWaterMark());
+		collisionBox.dispose();
+		Assert.assertEquals(0, collisions.getCollisionBoxPoolStatistics().getInUse());
+		Assert.assertEquals(1, collisions.getCollisionBoxPoolStatistics().getHighWaterMark());
+	}
+
 	@Test
 	public void testCollisionBox() {
 		Assert.assertEquals(DEFAULT_POOL_SIZE, collisions.getTotalCollisionBoxesAvailable());
@@ -153,6 +172,92 @@ public class CollisionsTest {
 		}
 	}
 
+	@Test
+	public void testSingleThreadedCollisionBox() {
+		Assert.assertEquals(DEFAULT_POOL_SIZE, collisions.getTotalSingleThreadedCollisionBoxesAvailable());
+
+		for(int i = 0; i < 10; i++) {
+			final int id = 7 + i;
+			final float x = 9.0f * i;
+			final float y = 11.0f * i;
+			final float width = 123f * i;
+			final float height = 132f * i;
+
+			final SingleThreadedCollisionBox collisionBox = collisions.singleThreadedCollisionBox(id, x, y, width, height);
+			Assert.assertEquals(0, collisions.getTotalSingleThreadedCollisionBoxesAvailable());
+			Assert.assertEquals(1, InterpolationTracker.getTotalObjects());
+
+			Assert.assertEquals(id, collisionBox.getId());
+			Assert.assertEquals(x, collisionBox.getX(), 0f);
+			Assert.assertEquals(y, collisionBox.getY(), 0f);
+			Assert.assertEquals(width, collisionBox.getWidth(), 0f);
+			Assert.assertEquals(height, collisionBox.getHeight(), 0f);
+			Assert.assertEquals(x, collisionBox.getRenderX(), 0f);
+			Assert.assertEquals(y, collisionBox.getRenderY(), 0f);
+			Assert.assertEquals(width, collisionBox.getRenderWidth(), 0f);
+			Assert.assertEquals(height, collisionBox.getRenderHeight(), 0f);
+
+			for(int offsetX = 1; offsetX < 10; offsetX++) {
+				for(int offsetY = 1; offsetY < 10; offsetY++) {
+					collisionBox.setXY(x + offsetX, y + offsetY);
+					Assert.assertTrue(collisionBox.isInterpolateRequired());
+					collisionBox.interpolate(1f);
+					Assert.assertEquals(x + offsetX, collisionBox.getRenderX(), 0f);
+					Assert.assertEquals(y + offsetY, collisionBox.getRenderY(), 0f);
+				}
+			}
+
+			collisionBox.dispose();
+			Assert.assertEquals(DEFAULT_POOL_SIZE, collisions.getTotalSingleThreadedCollisionBoxesAvailable());
+			Assert.assertEquals(0, InterpolationTracker.getTotalObjects());
+			collisionBox.dispose();
+			Assert.assertEquals(DEFAULT_POOL_SIZE, collisions.getTotalSingleThreadedCollisionBoxesAvailable());
+			Assert.assertEquals(0, InterpolationTracker.getTotalObjects());
+		}
+	}
+
+	@Test
+	public void testSingleThreadedCollisionCircle() {
+		Assert.assertEquals(DEFAULT_POOL_SIZE, collisions.getTotalSingleThreadedCollisionCirclesAvailable());
+
+		for(int i = 0; i < 10; i++) {
+			final int id = 45 + i;
+			final float x = 53f * i;
+			final float y = 11f * i;
+			final float radius = 46f * i;
+
+			final SingleThreadedCollisionCircle collisionCircle = collisions.singleThreadedCollisionCircle(id, x, y, radius);
+			Assert.assertEquals(0, collisions.getTotalSingleThreadedCollisionCirclesAvailable());
+			Assert.assertEquals(1, InterpolationTracker.getTotalObjects());
+
+			Assert.assertEquals(id, collisionCircle.getId());
+			Assert.assertEquals(x, collisionCircle.getX(), 0f);
+			Assert.assertEquals(y, collisionCircle.getY(), 0f);
+			Assert.assertEquals(radius, collisionCircle.getRadius(), 0f);
+			Assert.assertEquals(x, collisionCircle.getRenderX(), 0f);
+			Assert.assertEquals(y, collisionCircle.getRenderY(), 0f);
+			Assert.assertEquals(radius, collisionCircle.getRenderRadius(), 0f);
+
+			for(int offsetX = 1; offsetX < 10; offsetX++) {
+				for(int offsetY = 1; offsetY < 10; offsetY++) {
+					collisionCircle.setXY(x + offsetX, y + offsetY);
+					Assert.assertTrue(collisionCircle.isInterpolateRequired());
+					collisionCircle.interpolate(1f);
+					Assert.assertEquals(x + offsetX, collisionCircle.getRenderX(), 0f);
+					Assert.assertEquals(y + offsetY, collisionCircle.getRenderY(), 0f);
+				}
+			}
+
+			collisionCircle.dispose();
+			Assert.assertEquals(DEFAULT_POOL_SIZE, collisions.getTotalSingleThreadedCollisionCirclesAvailable());
+			Assert.assertEquals(0, InterpolationTracker.getTotalObjects());
+			collisionCircle.dispose();
+			Assert.assertEquals(DEFAULT_POOL_SIZE, collisions.getTotalSingleThreadedCollisionCirclesAvailable());
+			Assert.assertEquals(0, InterpolationTracker.getTotalObjects());
+		}
+	}
+
+
 	@Test
 	public void testCollisionPoint() {
 		Assert.assertEquals(DEFAULT_POOL_SIZE, collisions.getTotalCollisionPointsAvailable());
@@ -17,9 +17,12 @@ package org.mini2Dx.core.collision;
 
 import org.mini2Dx.core.JvmLocks;
 import org.mini2Dx.core.collision.util.QuadTreeAwareCollisionPoint;
+import org.mini2Dx.core.executor.ParallelFor;
+import org.mini2Dx.core.executor.ThreadPoolTaskExecutor;
 import org.mini2Dx.gdx.math.MathUtils;
 import junit.framework.Assert;
 import net.jodah.concurrentunit.Waiter;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mini2Dx.core.geom.LineSegment;
@@ -54,11 +57,14 @@ public class ConcurrentPointQuadTreeTest implements Runnable {
 	private AtomicInteger coordinateCursor = new AtomicInteger(0);
 	private AtomicInteger collisionsFound = new AtomicInteger(0);
 	private Queue<CollisionPoint> threadCollisions = new ConcurrentLinkedQueue<CollisionPoint>();
+	private ThreadPoolTaskExecutor executor;
 	
 	@Before
 	public void setup() {
 		InterpolationTracker.deregisterAll();
 		Mdx.locks = new JvmLocks();
+		executor = new ThreadPoolTaskExecutor(ParallelFor.getMaxThreads());
+		Mdx.executor = executor;
 
 		Mdx.graphics = null;
 
@@ -73,6 +79,12 @@ public class ConcurrentPointQuadTreeTest implements Runnable {
 		qAPoint4 = new QuadTreeAwareCollisionPoint(point4);
 	}
 
+	@After
+	public void teardown() {
+		Mdx.executor = null;
+		executor.dispose();
+	}
+
 	@Test
 	public void testAdd() {
 		Random random = new Random();
@@ -256,6 +268,42 @@ public class ConcurrentPointQuadTreeTest implements Runnable {
 		Assert.assertEquals(true, collisionPoints.contains(collisionPoint6, false));
 	}
 
+	@Test
+	public void testBatchQueries() {
+		Random random = new Random();
+		for (int i = 0; i < 500; i++) {
+			rootQuad.add(new CollisionPoint(random.nextInt(128), random.nextInt(128)));
+		}
+
+		Array<Rectangle> areas = new Array<Rectangle>();
+		Array<LineSegment> lineSegments = new Array<LineSegment>();
+		for (int i = 0; i < 100; i++) {
+			areas.add(new Rectangle(random.nextInt(96), random.nextInt(96), 32f, 32f));
+			lineSegments.add(new LineSegment(random.nextInt(128), random.nextInt(128), random.nextInt(128), random.nextInt(128)));
+		}
+
+		Array<Array<CollisionPoint>> results = new Array<Array<CollisionPoint>>();
+		rootQuad.getElementsWithinAreas(areas, results);
+		Assert.assertEquals(areas.size, results.size);
+		for (int i = 0; i < areas.size; i++) {
+			Array<CollisionPoint> expected = rootQuad.getElementsWithinArea(areas.get(i));
+			Assert.assertEquals(expected.size, results.get(i).size);
+			for (int j = 0; j < expected.size; j++) {
+				Assert.assertEquals(true, results.get(i).contains(expected.get(j), false));
+			}
+		}
+
+		rootQuad.getElementsIntersectingLineSegments(lineSegments, results);
+		Assert.assertEquals(lineSegments.size, results.size);
+		for (int i = 0; i < lineSegments.size; i++) {
+			Array<CollisionPoint> expected = rootQuad.getElementsIntersectingLineSegment(lineSegments.get(i));
+			Assert.assertEquals(expected.size, results.get(i).size);
+			for (int j = 0; j < expected.size; j++) {
+				Assert.assertEquals(true, results.get(i).contains(expected.get(j), false));
+			}
+		}
+	}
+
 	@Test
 	public void testGetElementsWithinRegionUpwards() {
 		rootQuad.add(qAPoint1);
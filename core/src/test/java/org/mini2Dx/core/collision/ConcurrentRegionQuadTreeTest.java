@@ -507,6 +507,89 @@ public class ConcurrentRegionQuadTreeTest implements Runnable {
 		Assert.assertEquals(true, collisionBoxs.contains(qABox4, false));
 	}
 
+	@Test
+	public void testBatchQueries() {
+		rootQuad = new ConcurrentRegionQuadTree<CollisionBox>(4, 0, 0, 1024, 1024);
+		Random random = new Random();
+		for (int i = 0; i < 500; i++) {
+			rootQuad.add(new CollisionBox(random.nextInt(992), random.nextInt(992), 32f, 32f));
+		}
+
+		Array<Rectangle> areas = new Array<Rectangle>();
+		Array<Point> points = new Array<Point>();
+		Array<LineSegment> lineSegments = new Array<LineSegment>();
+		for (int i = 0; i < 100; i++) {
+			areas.add(new Rectangle(random.nextInt(960), random.nextInt(960), 64f, 64f));
+			points.add(new Point(random.nextInt(1024), random.nextInt(1024)));
+			lineSegments.add(new LineSegment(random.nextInt(1024), random.nextInt(1024), random.nextInt(1024), random.nextInt(1024)));
+		}
+
+		Array<Array<CollisionBox>> results = new Array<Array<CollisionBox>>();
+		rootQuad.getElementsWithinAreas(areas, results);
+		Assert.assertEquals(areas.size, results.size);
+		for (int i = 0; i < areas.size; i++) {
+			assertSameElements(rootQuad.getElementsWithinArea(areas.get(i)), results.get(i));
+		}
+
+		rootQuad.getElementsContainingPoints(points, results);
+		Assert.assertEquals(points.size, results.size);
+		for (int i = 0; i < points.size; i++) {
+			assertSameElements(rootQuad.getElementsContainingPoint(points.get(i)), results.get(i));
+		}
+
+		rootQuad.getElementsIntersectingLineSegments(lineSegments, results);
+		Assert.assertEquals(lineSegments.size, results.size);
+		for (int i = 0; i < lineSegments.size; i++) {
+			assertSameElements(rootQuad.getElementsIntersectingLineSegment(lineSegments.get(i)), results.get(i));
+		}
+	}
+
+	@Test
+	public void testBatchQueriesDuringConcurrentWrites() throws TimeoutException {
+		rootQuad = new ConcurrentRegionQuadTree<CollisionBox>(4, 0, 0, 1024, 1024);
+		final Array<Rectangle> areas = new Array<Rectangle>();
+		for (int i = 0; i < 64; i++) {
+			rootQuad.add(new CollisionBox((i * 16f) + 4f, 4f, 8f, 8f));
+			areas.add(new Rectangle((i * 16f) + 2f, 2f, 12f, 12f));
+		}
+
+		final AtomicBoolean running = new AtomicBoolean(true);
+		new Thread(new Runnable() {
+			@Override
+			public void run() {
+				Random random = new Random();
+				Array<CollisionBox> dynamicBoxes = new Array<CollisionBox>();
+				while (running.get()) {
+					for (int i = 0; i < 100; i++) {
+						CollisionBox dynamicBox = new CollisionBox(random.nextInt(992), 512 + random.nextInt(480), 32f, 32f);
+						dynamicBoxes.add(dynamicBox);
+						rootQuad.add(dynamicBox);
+					}
+					rootQuad.removeAll(dynamicBoxes);
+					dynamicBoxes.clear();
+				}
+				waiter.resume();
+			}
+		}).start();
+
+		Array<Array<CollisionBox>> results = new Array<Array<CollisionBox>>();
+		for (int i = 0; i < 1000; i++) {
+			rootQuad.getElementsWithinAreas(areas, results);
+			for (int j = 0; j < areas.size; j++) {
+				Assert.assertEquals(1, results.get(j).size);
+			}
+		}
+		running.set(false);
+		waiter.await(CONCURRENCY_TEST_TIMEOUT);
+	}
+
+	private void assertSameElements(Array<CollisionBox> expected, Array<CollisionBox> actual) {
+		Assert.assertEquals(expected.size, actual.size);
+		for (int i = 0; i < expected.size; i++) {
+			Assert.assertEquals(true, actual.contains(expected.get(i), false));
+		}
+	}
+
 	@Test
 	public void testMergingConcurrency() throws TimeoutException {
 		rootQuad = new ConcurrentRegionQuadTree<CollisionBox>(CONCURRENCY_TEST_ELEMENT_LIMIT,
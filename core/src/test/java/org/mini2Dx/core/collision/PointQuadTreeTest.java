@@ -280,4 +280,30 @@ public class PointQuadTreeTest {
 		Assert.assertEquals(false, CollisionPoints.contains(qAPoint3, false));
 		Assert.assertEquals(true, CollisionPoints.contains(qAPoint4, false));
 	}
+
+	@Test
+	public void testGetElementsIntersectingSweep() {
+		CollisionPoint point1 = new CollisionPoint(60, 44);
+		CollisionPoint point2 = new CollisionPoint(90, 44);
+		CollisionPoint offPath = new CollisionPoint(60, 100);
+		rootQuad.add(point1);
+		rootQuad.add(point2);
+		rootQuad.add(offPath);
+
+		CollisionBox projectile = new CollisionBox(0, 40, 8, 8);
+		projectile.setXY(120, 40);
+		SweepResult<CollisionPoint> result = rootQuad.getElementsIntersectingSweep(projectile);
+		Assert.assertEquals(2, result.getSize());
+		Assert.assertEquals(point1, result.getElement(0));
+		Assert.assertEquals(52f / 120f, result.getTimeOfImpact(0), 0.0001f);
+		Assert.assertEquals(point2, result.getElement(1));
+		Assert.assertEquals(82f / 120f, result.getTimeOfImpact(1), 0.0001f);
+
+		CollisionCircle circle = new CollisionCircle(4, 44, 4);
+		circle.setXY(124, 44);
+		result = rootQuad.getElementsIntersectingSweep(circle);
+		Assert.assertEquals(2, result.getSize());
+		Assert.assertEquals(point1, result.getFirstElement());
+		Assert.assertEquals(52f / 120f, result.getFirstTimeOfImpact(), 0.0001f);
+	}
 }
@@ -86,6 +86,58 @@ public class RegionQuadTreeTest {
 		Assert.assertEquals(rects.size, rootQuad.getTotalElements());
 	}
 	
+	@Test
+	public void testAddAllBulkLoad() {
+		Random random = new Random();
+		Array<CollisionBox> rects = new Array<CollisionBox>();
+		for(int i = 0; i < 1000; i++) {
+			rects.add(new CollisionBox(random.nextInt(120), random.nextInt(120), 1 + random.nextInt(8), 1 + random.nextInt(8)));
+		}
+		RegionQuadTree<CollisionBox> incrementalQuad = new RegionQuadTree<CollisionBox>(2, 0, 0, 128, 128);
+		for(int i = 0; i < rects.size; i++) {
+			incrementalQuad.add(rects.get(i));
+		}
+		rootQuad.addAll(rects);
+
+		Assert.assertEquals(rects.size, rootQuad.getTotalElements());
+		Assert.assertEquals(true, rootQuad.getTotalQuads() > 1);
+
+		for(int i = 0; i < 100; i++) {
+			CollisionBox area = new CollisionBox(random.nextInt(112), random.nextInt(112), 16, 16);
+			Assert.assertEquals(incrementalQuad.getElementsWithinArea(area).size, rootQuad.getElementsWithinArea(area).size);
+		}
+	}
+
+	@Test
+	public void testRebuild() {
+		Random random = new Random();
+		Array<CollisionBox> rects = new Array<CollisionBox>();
+		for(int i = 0; i < 100; i++) {
+			CollisionBox rect = new CollisionBox(random.nextInt(120), random.nextInt(120), 8, 8);
+			rects.add(rect);
+			rootQuad.add(rect);
+		}
+		for(int i = 0; i < rects.size; i++) {
+			rects.get(i).set(random.nextInt(120), random.nextInt(120), 8, 8);
+		}
+		rootQuad.add(qABox1);
+		rootQuad.rebuild();
+
+		Assert.assertEquals(rects.size + 1, rootQuad.getTotalElements());
+		Assert.assertEquals(rects.size + 1, rootQuad.getElements().size);
+		Assert.assertNotNull(qABox1.getQuad());
+		Assert.assertEquals(true, rootQuad.getElementsContainingPoint(new Point(16, 16)).contains(qABox1, false));
+
+		for(int i = 0; i < rects.size; i++) {
+			CollisionBox rect = rects.get(i);
+			Assert.assertEquals(true, rootQuad.getElementsWithinArea(rect).contains(rect, false));
+		}
+
+		//Elements must still notify their new quads after a rebuild
+		qABox1.setXY(100, 100);
+		Assert.assertEquals(true, rootQuad.getElementsContainingPoint(new Point(110, 110)).contains(qABox1, false));
+	}
+
 	@Test
 	public void testRemove() {
 		Random random = new Random();
@@ -492,4 +544,52 @@ public class RegionQuadTreeTest {
 		Assert.assertEquals(0, collisionBoxs.size);
 		Assert.assertEquals(false, collisionBoxs.contains(qABox1, false));
 	}
+
+	@Test
+	public void testGetElementsIntersectingSweep() {
+		CollisionBox wall1 = new CollisionBox(60, 0, 2, 128);
+		CollisionBox wall2 = new CollisionBox(90, 0, 2, 128);
+		CollisionBox offPath = new CollisionBox(0, 100, 8, 8);
+		rootQuad.add(wall1);
+		rootQuad.add(wall2);
+		rootQuad.add(offPath);
+
+		CollisionBox projectile = new CollisionBox(0, 40, 8, 8);
+		Assert.assertEquals(0, rootQuad.getElementsIntersectingSweep(projectile).getSize());
+
+		projectile.setXY(120, 40);
+		SweepResult<CollisionBox> result = rootQuad.getElementsIntersectingSweep(projectile);
+		Assert.assertEquals(2, result.getSize());
+		Assert.assertEquals(wall1, result.getElement(0));
+		Assert.assertEquals(52f / 120f, result.getTimeOfImpact(0), 0.0001f);
+		Assert.assertEquals(wall2, result.getElement(1));
+		Assert.assertEquals(82f / 120f, result.getTimeOfImpact(1), 0.0001f);
+
+		CollisionCircle circle = new CollisionCircle(4, 44, 4);
+		circle.setXY(124, 44);
+		result = rootQuad.getElementsIntersectingSweep(circle);
+		Assert.assertEquals(2, result.getSize());
+		Assert.assertEquals(wall1, result.getFirstElement());
+		Assert.assertEquals(52f / 120f, result.getFirstTimeOfImpact(), 0.0001f);
+	}
+
+	@Test
+	public void testGetElementsIntersectingSweepCorner() {
+		CollisionBox post = new CollisionBox(60, 0, 2, 20);
+		rootQuad.add(post);
+
+		CollisionCircle circle = new CollisionCircle(4, 23.5f, 4);
+		circle.setXY(124, 23.5f);
+		SweepResult<CollisionBox> result = rootQuad.getElementsIntersectingSweep(circle);
+		Assert.assertEquals(1, result.getSize());
+		Assert.assertEquals((60f - (float) Math.sqrt(16f - 12.25f) - 4f) / 120f, result.getFirstTimeOfImpact(), 0.0001f);
+
+		circle = new CollisionCircle(40, 6, 4);
+		circle.setXY(70, 36);
+		Assert.assertEquals(0, rootQuad.getElementsIntersectingSweep(circle).getSize());
+
+		CollisionBox box = new CollisionBox(40, 6, 8, 8);
+		box.setXY(70, 36);
+		Assert.assertEquals(true, rootQuad.getElementsIntersectingSweep(box).getSize() > 0);
+	}
 }
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.JvmLocks;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.collision.util.QuadTreeAwareCollisionBox;
+import org.mini2Dx.core.geom.LineSegment;
+import org.mini2Dx.core.geom.Point;
+import org.mini2Dx.core.geom.Rectangle;
+import org.mini2Dx.core.util.InterpolationTracker;
+import org.mini2Dx.gdx.utils.Array;
+
+import java.util.Random;
+
+/**
+ * Unit tests for {@link SpatialHash}
+ */
+public class SpatialHashTest {
+	private SpatialHash<CollisionBox> spatialHash;
+	private CollisionBox box1, box2, box3, box4;
+
+	@Before
+	public void setup() {
+		InterpolationTracker.deregisterAll();
+		Mdx.locks = new JvmLocks();
+
+		Mdx.graphics = null;
+
+		spatialHash = new SpatialHash<CollisionBox>(16f, 0, 0, 128, 128);
+
+		box1 = new CollisionBox(1, 1, 32, 32);
+		box2 = new CollisionBox(95, 1, 32, 32);
+		box3 = new CollisionBox(1, 95, 32, 32);
+		box4 = new CollisionBox(95, 95, 32, 32);
+	}
+
+	@Test
+	public void testAdd() {
+		Random random = new Random();
+		for(int i = 0; i < 100; i++) {
+			CollisionBox rect = new CollisionBox(random.nextInt(96), random.nextInt(96), 32f, 32f);
+			Assert.assertEquals(true, spatialHash.add(rect));
+			Assert.assertEquals(i + 1, spatialHash.getTotalElements());
+		}
+		Assert.assertEquals(false, spatialHash.add(new CollisionBox(256f, 256f, 32f, 32f)));
+		Assert.assertEquals(100, spatialHash.getTotalElements());
+	}
+
+	@Test
+	public void testAddDuplicate() {
+		Assert.assertEquals(true, spatialHash.add(box1));
+		Assert.assertEquals(false, spatialHash.add(box1));
+		Assert.assertEquals(1, spatialHash.getTotalElements());
+	}
+
+	@Test
+	public void testAddAll() {
+		Random random = new Random();
+		Array<CollisionBox> rects = new Array<CollisionBox>();
+		for(int i = 0; i < 1000; i++) {
+			rects.add(new CollisionBox(random.nextInt(96), random.nextInt(96), 32f, 32f));
+		}
+		rects.add(new CollisionBox(-4f, -4f, 32f, 32f));
+
+		spatialHash.addAll(rects);
+		Assert.assertEquals(rects.size, spatialHash.getTotalElements());
+		Assert.assertEquals(rects.size, spatialHash.getElements().size);
+	}
+
+	@Test
+	public void testRemove() {
+		Random random = new Random();
+		Array<CollisionBox> collisionBoxs = new Array<CollisionBox>();
+		for(int i = 0; i < 1000; i++) {
+			collisionBoxs.add(new CollisionBox(random.nextInt(96), random.nextInt(96), random.nextInt(32), random.nextInt(32)));
+		}
+
+		for(int i = 0; i < collisionBoxs.size; i++) {
+			spatialHash.add(collisionBoxs.get(i));
+			Assert.assertEquals(i + 1, spatialHash.getElements().size);
+		}
+
+		for(int i = collisionBoxs.size - 1; i >= 0 ; i--) {
+			Assert.assertEquals(i + 1, spatialHash.getElements().size);
+			Assert.assertEquals(true, spatialHash.remove(collisionBoxs.get(i)));
+			Assert.assertEquals(i, spatialHash.getElements().size);
+		}
+		Assert.assertEquals(false, spatialHash.remove(box1));
+	}
+
+	@Test
+	public void testClear() {
+		spatialHash.add(box1);
+		spatialHash.add(box2);
+		spatialHash.clear();
+		Assert.assertEquals(0, spatialHash.getTotalElements());
+		Assert.assertEquals(0, spatialHash.getElementsWithinArea(new Rectangle(0, 0, 128, 128)).size);
+
+		Assert.assertEquals(true, spatialHash.add(box1));
+		Assert.assertEquals(1, spatialHash.getElementsWithinArea(new Rectangle(0, 0, 128, 128)).size);
+	}
+
+	@Test
+	public void testGetElementsWithinArea() {
+		spatialHash.add(box1);
+		spatialHash.add(box2);
+		spatialHash.add(box3);
+		spatialHash.add(box4);
+
+		Array<CollisionBox> result = spatialHash.getElementsWithinArea(new Rectangle(0, 0, 48, 48));
+		Assert.assertEquals(1, result.size);
+		Assert.assertEquals(true, result.contains(box1, false));
+
+		result = spatialHash.getElementsWithinArea(new Rectangle(16, 16, 96, 96));
+		Assert.assertEquals(4, result.size);
+
+		result = spatialHash.getElementsWithinArea(new Rectangle(48, 48, 16, 16));
+		Assert.assertEquals(0, result.size);
+	}
+
+	@Test
+	public void testGetElementsWithinAreaNoDuplicates() {
+		CollisionBox largeBox = new CollisionBox(0, 0, 128, 128);
+		spatialHash.add(largeBox);
+
+		Array<CollisionBox> result = spatialHash.getElementsWithinArea(new Rectangle(0, 0, 128, 128));
+		Assert.assertEquals(1, result.size);
+	}
+
+	@Test
+	public void testGetElementsContainingPoint() {
+		spatialHash.add(box1);
+		spatialHash.add(box2);
+		spatialHash.add(box3);
+		spatialHash.add(box4);
+
+		Array<CollisionBox> result = spatialHash.getElementsContainingPoint(new Point(16, 16));
+		Assert.assertEquals(1, result.size);
+		Assert.assertEquals(true, result.contains(box1, false));
+
+		result = spatialHash.getElementsContainingPoint(new Point(64, 64));
+		Assert.assertEquals(0, result.size);
+	}
+
+	@Test
+	public void testGetElementsIntersectingLineSegment() {
+		spatialHash.add(box1);
+		spatialHash.add(box2);
+		spatialHash.add(box3);
+		spatialHash.add(box4);
+
+		Array<CollisionBox> result = spatialHash.getElementsIntersectingLineSegment(new LineSegment(-16, -16, 144, 144));
+		Assert.assertEquals(2, result.size);
+		Assert.assertEquals(true, result.contains(box1, false));
+		Assert.assertEquals(true, result.contains(box4, false));
+
+		result = spatialHash.getElementsIntersectingLineSegment(new LineSegment(120, 16, 8, 16));
+		Assert.assertEquals(2, result.size);
+		Assert.assertEquals(true, result.contains(box1, false));
+		Assert.assertEquals(true, result.contains(box2, false));
+
+		result = spatialHash.getElementsIntersectingLineSegment(new LineSegment(64, 0, 64, 128));
+		Assert.assertEquals(0, result.size);
+	}
+
+	@Test
+	public void testPositionChanged() {
+		spatialHash.add(box1);
+		Assert.assertEquals(1, spatialHash.getElementsContainingPoint(new Point(16, 16)).size);
+
+		box1.setXY(80, 80);
+		Assert.assertEquals(0, spatialHash.getElementsContainingPoint(new Point(16, 16)).size);
+		Assert.assertEquals(1, spatialHash.getElementsContainingPoint(new Point(96, 96)).size);
+		Assert.assertEquals(1, spatialHash.getTotalElements());
+
+		box1.setXY(512, 512);
+		Assert.assertEquals(0, spatialHash.getTotalElements());
+		Assert.assertEquals(0, spatialHash.getElementsWithinArea(new Rectangle(0, 0, 128, 128)).size);
+	}
+
+	@Test
+	public void testSizeChanged() {
+		spatialHash.add(box1);
+		Assert.assertEquals(0, spatialHash.getElementsContainingPoint(new Point(60, 60)).size);
+
+		box1.set(1, 1, 64, 64);
+		Assert.assertEquals(1, spatialHash.getElementsContainingPoint(new Point(60, 60)).size);
+	}
+
+	@Test
+	public void testQuadTreeAware() {
+		QuadTreeAwareCollisionBox box = new QuadTreeAwareCollisionBox(box1);
+		Assert.assertEquals(null, box.getQuad());
+
+		SpatialHash<QuadTreeAwareCollisionBox> awareSpatialHash = new SpatialHash<QuadTreeAwareCollisionBox>(16f, 0, 0, 128, 128);
+		awareSpatialHash.add(box);
+		Assert.assertEquals(awareSpatialHash, box.getQuad());
+		awareSpatialHash.remove(box);
+		Assert.assertEquals(null, box.getQuad());
+	}
+}
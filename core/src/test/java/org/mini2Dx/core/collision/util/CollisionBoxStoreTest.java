@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collision.util;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.JvmLocks;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.TimestepMode;
+import org.mini2Dx.core.collision.RegionQuadTree;
+import org.mini2Dx.core.geom.Rectangle;
+import org.mini2Dx.core.util.InterpolationTracker;
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * Unit tests for {@link CollisionBoxStore} and {@link StoredCollisionBox}
+ */
+public class CollisionBoxStoreTest {
+	private CollisionBoxStore store;
+
+	@Before
+	public void setUp() {
+		Mdx.locks = new JvmLocks();
+		Mdx.timestepMode = TimestepMode.PHYSICS;
+		InterpolationTracker.deregisterAll();
+
+		store = new CollisionBoxStore(2);
+	}
+
+	@After
+	public void teardown() {
+		Mdx.timestepMode = TimestepMode.DEFAULT;
+		store.dispose();
+	}
+
+	@Test
+	public void testRegistersStoreOnly() {
+		store.collisionBox(1, 0f, 0f, 8f, 8f);
+		store.collisionBox(2, 0f, 0f, 8f, 8f);
+		Assert.assertEquals(1, InterpolationTracker.getTotalObjects());
+		Assert.assertEquals(2, store.getSize());
+	}
+
+	@Test
+	public void testInterpolate() {
+		final StoredCollisionBox box = store.collisionBox(1, 10f, 20f, 8f, 8f);
+		Assert.assertEquals(10, box.getRenderX());
+		Assert.assertEquals(20, box.getRenderY());
+
+		InterpolationTracker.preUpdate();
+		box.setXY(20f, 40f);
+		Assert.assertEquals(10f, box.getPreviousX(), 0f);
+		Assert.assertEquals(20f, box.getPreviousY(), 0f);
+
+		InterpolationTracker.interpolate(0.5f);
+		Assert.assertEquals(15f, box.getRawRenderX(), 0.001f);
+		Assert.assertEquals(30f, box.getRawRenderY(), 0.001f);
+		Assert.assertEquals(15, box.getRenderX());
+		Assert.assertEquals(30, box.getRenderY());
+
+		InterpolationTracker.interpolate(1f);
+		Assert.assertEquals(20, box.getRenderX());
+		Assert.assertEquals(40, box.getRenderY());
+
+		InterpolationTracker.preUpdate();
+		box.setSize(16f, 4f);
+		InterpolationTracker.interpolate(0.5f);
+		Assert.assertEquals(12f, box.getRawRenderWidth(), 0.001f);
+		Assert.assertEquals(6f, box.getRawRenderHeight(), 0.001f);
+	}
+
+	@Test
+	public void testDefaultTimestepMode() {
+		Mdx.timestepMode = TimestepMode.DEFAULT;
+
+		final StoredCollisionBox box = store.collisionBox(1, 10f, 20f, 8f, 8f);
+		InterpolationTracker.preUpdate();
+		box.setXY(20f, 40f);
+		InterpolationTracker.interpolate(0.5f);
+		Assert.assertEquals(20, box.getRenderX());
+		Assert.assertEquals(40, box.getRenderY());
+	}
+
+	@Test
+	public void testForceTo() {
+		final StoredCollisionBox box = store.collisionBox(1, 10f, 20f, 8f, 8f);
+		InterpolationTracker.preUpdate();
+		box.forceTo(100f, 200f);
+		Assert.assertEquals(100, box.getRenderX());
+		Assert.assertEquals(200, box.getRenderY());
+		Assert.assertEquals(100f, box.getPreviousX(), 0f);
+
+		InterpolationTracker.interpolate(0.5f);
+		Assert.assertEquals(100, box.getRenderX());
+		Assert.assertEquals(200, box.getRenderY());
+	}
+
+	@Test
+	public void testDisposeMovesLastSlot() {
+		final Array<StoredCollisionBox> boxes = new Array<StoredCollisionBox>();
+		for(int i = 0; i < 10; i++) {
+			boxes.add(store.collisionBox(i + 1, i * 10f, i * 20f, 8f, 8f));
+		}
+		Assert.assertTrue(store.getCapacity() >= 10);
+
+		boxes.get(2).dispose();
+		boxes.get(5).dispose();
+		Assert.assertEquals(8, store.getSize());
+		Assert.assertEquals(2, store.getTotalBoxesAvailable());
+		Assert.assertNull(store.get(3));
+		Assert.assertNull(store.get(6));
+
+		InterpolationTracker.preUpdate();
+		for(int i = 0; i < boxes.size; i++) {
+			if(i == 2 || i == 5) {
+				continue;
+			}
+			final StoredCollisionBox box = boxes.get(i);
+			Assert.assertSame(box, store.get(i + 1));
+			box.translate(1f, 1f);
+		}
+		InterpolationTracker.interpolate(1f);
+		for(int i = 0; i < boxes.size; i++) {
+			if(i == 2 || i == 5) {
+				continue;
+			}
+			final StoredCollisionBox box = boxes.get(i);
+			Assert.assertEquals((i * 10f) + 1f, box.getRawRenderX(), 0.001f);
+			Assert.assertEquals((i * 20f) + 1f, box.getRawRenderY(), 0.001f);
+		}
+
+		final StoredCollisionBox reused = store.collisionBox(100, 5f, 5f, 1f, 1f);
+		Assert.assertEquals(1, store.getTotalBoxesAvailable());
+		Assert.assertSame(reused, store.get(100));
+		Assert.assertEquals(5, reused.getRenderX());
+	}
+
+	@Test
+	public void testQuadTree() {
+		final RegionQuadTree<StoredCollisionBox> quadTree = new RegionQuadTree<StoredCollisionBox>(4, 0f, 0f, 128f, 128f);
+		final StoredCollisionBox box = store.collisionBox(1, 8f, 8f, 4f, 4f);
+		quadTree.add(box);
+
+		box.setXY(100f, 100f);
+		Assert.assertEquals(1, quadTree.getElementsWithinArea(new Rectangle(96f, 96f, 16f, 16f)).size);
+		Assert.assertEquals(0, quadTree.getElementsWithinArea(new Rectangle(0f, 0f, 32f, 32f)).size);
+	}
+}
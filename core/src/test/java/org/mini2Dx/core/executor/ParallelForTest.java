@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.TaskExecutor;
+import org.mini2Dx.gdx.utils.Array;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Unit tests for {@link ParallelFor}
+ */
+public class ParallelForTest {
+	private static final int TOTAL_ITERATIONS = 1000;
+	private static final long HELPER_TIMEOUT = 10000L;
+
+	private final int previousMaxThreads = ParallelFor.getMaxThreads();
+	private final AtomicIntegerArray iterations = new AtomicIntegerArray(TOTAL_ITERATIONS);
+	private final AtomicInteger helperIterations = new AtomicInteger();
+
+	private ThreadPoolTaskExecutor executor;
+
+	@Before
+	public void setUp() {
+		executor = new ThreadPoolTaskExecutor(4);
+		Mdx.executor = executor;
+		ParallelFor.setMaxThreads(4);
+	}
+
+	@After
+	public void teardown() {
+		ParallelFor.setMaxThreads(previousMaxThreads);
+		Mdx.executor = null;
+		executor.dispose();
+	}
+
+	@Test
+	public void testExecuteWithoutExecutor() {
+		Mdx.executor = null;
+		new CountingParallelFor(7) {
+			@Override
+			protected void iterate(int index, int slot) {
+				Assert.assertEquals(0, slot);
+				super.iterate(index, slot);
+			}
+		}.execute();
+		assertAllIterationsRunOnce();
+	}
+
+	@Test
+	public void testExecuteAcrossThreads() {
+		final AtomicInteger maxSlot = new AtomicInteger();
+		new CountingParallelFor(7) {
+			@Override
+			protected void iterate(int index, int slot) {
+				if (slot == 0 && index == 0) {
+					// Hold the calling thread until a helper has run so that both paths are exercised
+					awaitHelperIteration();
+				}
+				if (slot > maxSlot.get()) {
+					maxSlot.set(slot);
+				}
+				super.iterate(index, slot);
+			}
+		}.execute();
+		assertAllIterationsRunOnce();
+		Assert.assertTrue(helperIterations.get() > 0);
+		Assert.assertTrue(maxSlot.get() < ParallelFor.getMaxThreads());
+	}
+
+	@Test
+	public void testExecuteWithMaxThreadsOfOne() {
+		ParallelFor.setMaxThreads(1);
+		new CountingParallelFor(16).execute();
+		assertAllIterationsRunOnce();
+		Assert.assertEquals(0, helperIterations.get());
+	}
+
+	@Test
+	public void testFailureRethrownAfterAllIterations() {
+		final RuntimeException failure = new IllegalStateException();
+		try {
+			new CountingParallelFor(1) {
+				@Override
+				protected void iterate(int index, int slot) {
+					super.iterate(index, slot);
+					if (index == TOTAL_ITERATIONS / 2) {
+						throw failure;
+					}
+				}
+			}.execute();
+			Assert.fail("Expected failure to be rethrown");
+		} catch (IllegalStateException e) {
+			Assert.assertSame(failure, e);
+		}
+		assertAllIterationsRunOnce();
+	}
+
+	@Test
+	public void testUnstartedHelpersAreCancelled() {
+		final QueuingTaskExecutor queuingExecutor = new QueuingTaskExecutor();
+		Mdx.executor = queuingExecutor;
+
+		new CountingParallelFor(7).execute();
+		assertAllIterationsRunOnce();
+		Assert.assertEquals(ParallelFor.getMaxThreads() - 1, queuingExecutor.queued.size);
+
+		for (int i = 0; i < queuingExecutor.queued.size; i++) {
+			queuingExecutor.queued.get(i).run();
+		}
+		assertAllIterationsRunOnce();
+		Assert.assertEquals(0, helperIterations.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetMaxThreadsBelowOne() {
+		ParallelFor.setMaxThreads(0);
+	}
+
+	private void awaitHelperIteration() {
+		final long timeout = System.currentTimeMillis() + HELPER_TIMEOUT;
+		while (helperIterations.get() == 0) {
+			if (System.currentTimeMillis() > timeout) {
+				Assert.fail("No helper thread ran an iteration");
+			}
+			try {
+				Thread.sleep(1L);
+			} catch (InterruptedException e) {
+				Assert.fail(e.getMessage());
+			}
+		}
+	}
+
+	private void assertAllIterationsRunOnce() {
+		for (int i = 0; i < TOTAL_ITERATIONS; i++) {
+			Assert.assertEquals(1, iterations.get(i));
+		}
+	}
+
+	private class CountingParallelFor extends ParallelFor {
+
+		CountingParallelFor(int iterationsPerClaim) {
+			super(TOTAL_ITERATIONS, iterationsPerClaim);
+		}
+
+		@Override
+		protected void iterate(int index, int slot) {
+			iterations.incrementAndGet(index);
+			if (slot > 0) {
+				helperIterations.incrementAndGet();
+			}
+		}
+	}
+
+	private static class QueuingTaskExecutor implements TaskExecutor {
+		private final Array<Runnable> queued = new Array<Runnable>();
+
+		@Override
+		public void update(float delta) {
+		}
+
+		@Override
+		public void execute(Runnable runnable) {
+			queued.add(runnable);
+		}
+
+		@Override
+		public AsyncFuture submit(Runnable runnable) {
+			queued.add(runnable);
+			return new AsyncFuture() {
+				@Override
+				public boolean isFinished() {
+					return false;
+				}
+			};
+		}
+
+		@Override
+		public <T> AsyncResult<T> submit(Callable<T> callable) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void submit(FrameSpreadTask task) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setMaxFrameTasksPerFrame(int max) {
+		}
+
+		@Override
+		public void dispose() {
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+import org.mini2Dx.core.TaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A {@link TaskExecutor} backed by a fixed size thread pool for tests that
+ * need tasks to run on real threads
+ */
+public class ThreadPoolTaskExecutor implements TaskExecutor {
+	private final ExecutorService executorService;
+
+	public ThreadPoolTaskExecutor(int threads) {
+		executorService = Executors.newFixedThreadPool(threads);
+	}
+
+	@Override
+	public void update(float delta) {
+	}
+
+	@Override
+	public void execute(Runnable runnable) {
+		executorService.execute(runnable);
+	}
+
+	@Override
+	public AsyncFuture submit(Runnable runnable) {
+		final Future<?> future = executorService.submit(runnable);
+		return new AsyncFuture() {
+			@Override
+			public boolean isFinished() {
+				return future.isDone();
+			}
+		};
+	}
+
+	@Override
+	public <T> AsyncResult<T> submit(Callable<T> callable) {
+		final Future<T> future = executorService.submit(callable);
+		return new AsyncResult<T>() {
+			@Override
+			public T getResult() {
+				try {
+					return future.isDone() ? future.get() : null;
+				} catch (InterruptedException e) {
+					return null;
+				} catch (ExecutionException e) {
+					return null;
+				}
+			}
+
+			@Override
+			public boolean isFinished() {
+				return future.isDone();
+			}
+		};
+	}
+
+	@Override
+	public void submit(FrameSpreadTask task) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setMaxFrameTasksPerFrame(int max) {
+	}
+
+	@Override
+	public void dispose() {
+		executorService.shutdownNow();
+	}
+}
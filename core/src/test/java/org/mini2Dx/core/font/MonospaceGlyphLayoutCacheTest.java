@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.font;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.GraphicsUtils;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.core.util.Align;
+
+public class MonospaceGlyphLayoutCacheTest {
+	private final Mockery mockery = new Mockery();
+
+	private final MonospaceGameFont.FontParameters fontParameters = new MonospaceGameFont.FontParameters();
+	private MonospaceGameFont monospaceFont;
+	private MonospaceFontGlyphLayout fallback;
+	private MonospaceGlyphLayoutCache cache;
+
+	private GraphicsUtils graphicsUtils;
+	private Color glyphColor, red, blue;
+
+	@Before
+	public void setUp() {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		glyphColor = mockery.mock(Color.class, "glyphColor");
+		red = mockery.mock(Color.class, "red");
+		blue = mockery.mock(Color.class, "blue");
+		graphicsUtils = mockery.mock(GraphicsUtils.class);
+
+		Mdx.graphics = graphicsUtils;
+
+		mockery.checking(new Expectations() {
+			{
+				allowing(graphicsUtils).newColor(0f, 0f, 0f, 1f);
+				will(returnValue(glyphColor));
+				allowing(glyphColor).set(with(any(Color.class)));
+				allowing(red).rgba8888();
+				will(returnValue(0xff0000ff));
+				allowing(blue).rgba8888();
+				will(returnValue(0x0000ffff));
+			}
+		});
+
+		fontParameters.frameWidth = 32;
+		fontParameters.frameHeight = 32;
+		fontParameters.characterWidth = 16;
+		fontParameters.lineHeight = 24;
+
+		monospaceFont = new MonospaceGameFont(fontParameters);
+		fallback = (MonospaceFontGlyphLayout) monospaceFont.newGlyphLayout();
+		cache = new MonospaceGlyphLayoutCache(monospaceFont, 2);
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+	}
+
+	@Test
+	public void testCacheHit() {
+		final MonospaceFontGlyphLayout layout = cache.getLayout("abc", red, -1f, Align.LEFT, true, fallback);
+		Assert.assertNotSame(fallback, layout);
+		Assert.assertEquals(3, layout.getGlyphs().size);
+		Assert.assertEquals(0, cache.getHits());
+		Assert.assertEquals(1, cache.getMisses());
+
+		Assert.assertSame(layout, cache.getLayout("abc", red, -1f, Align.LEFT, true, fallback));
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertEquals(0.5f, cache.getHitRate(), 0.001f);
+
+		cache.resetStatistics();
+		Assert.assertEquals(0, cache.getHits());
+		Assert.assertEquals(0f, cache.getHitRate(), 0.001f);
+	}
+
+	@Test
+	public void testCacheKey() {
+		cache.setMaxSize(8);
+		final MonospaceFontGlyphLayout layout = cache.getLayout("abc", red, -1f, Align.LEFT, true, fallback);
+		Assert.assertNotSame(layout, cache.getLayout("abc", blue, -1f, Align.LEFT, true, fallback));
+		Assert.assertNotSame(layout, cache.getLayout("abc", red, 100f, Align.LEFT, true, fallback));
+		Assert.assertNotSame(layout, cache.getLayout("abc", red, -1f, Align.RIGHT, true, fallback));
+		Assert.assertNotSame(layout, cache.getLayout("abc", red, -1f, Align.LEFT, false, fallback));
+		Assert.assertEquals(0, cache.getHits());
+		Assert.assertEquals(5, cache.getMisses());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		cache.getLayout("a", red, -1f, Align.LEFT, true, fallback);
+		cache.getLayout("b", red, -1f, Align.LEFT, true, fallback);
+		cache.getLayout("a", red, -1f, Align.LEFT, true, fallback);
+		cache.getLayout("c", red, -1f, Align.LEFT, true, fallback);
+		Assert.assertEquals(2, cache.getSize());
+
+		cache.getLayout("a", red, -1f, Align.LEFT, true, fallback);
+		Assert.assertEquals(2, cache.getHits());
+		cache.getLayout("b", red, -1f, Align.LEFT, true, fallback);
+		Assert.assertEquals(2, cache.getHits());
+
+		final MonospaceFontGlyphLayout layout = cache.getLayout("b", red, -1f, Align.LEFT, true, fallback);
+		Assert.assertEquals(1, layout.getGlyphs().size);
+		Assert.assertEquals('b', layout.getGlyphs().get(0).glyphChar);
+
+		cache.setMaxSize(1);
+		Assert.assertEquals(1, cache.getSize());
+		cache.clear();
+		Assert.assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	public void testCachingDisabled() {
+		cache.setMaxSize(0);
+		Assert.assertSame(fallback, cache.getLayout("abc", red, -1f, Align.LEFT, true, fallback));
+		Assert.assertSame(fallback, cache.getLayout("abc", red, -1f, Align.LEFT, true, fallback));
+		Assert.assertEquals(0, cache.getHits());
+		Assert.assertEquals(2, cache.getMisses());
+		Assert.assertEquals(0, cache.getSize());
+	}
+}
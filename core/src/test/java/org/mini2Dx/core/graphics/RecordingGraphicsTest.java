@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Graphics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link RecordingGraphics}
+ */
+public class RecordingGraphicsTest {
+	private final List<String> calls = new ArrayList<String>();
+	private final List<Object[]> arguments = new ArrayList<Object[]>();
+
+	private RecordingGraphics graphics;
+	private Texture atlas1, atlas2;
+
+	@Before
+	public void setUp() {
+		graphics = new RecordingGraphics(createBackend());
+		atlas1 = createProxy(Texture.class, null);
+		atlas2 = createProxy(Texture.class, null);
+
+		graphics.preRender(800, 600);
+		calls.clear();
+		arguments.clear();
+	}
+
+	@Test
+	public void testCommandsDeferredUntilPostRender() {
+		graphics.fillRect(0f, 0f, 10f, 10f);
+		graphics.drawLineSegment(0f, 0f, 10f, 10f);
+		Assert.assertEquals(0, calls.size());
+		Assert.assertEquals(2, graphics.getTotalCommands());
+
+		graphics.postRender();
+		Assert.assertEquals("fillRect", calls.get(0));
+		Assert.assertEquals("drawLineSegment", calls.get(1));
+		Assert.assertTrue(calls.indexOf("postRender") > calls.indexOf("drawLineSegment"));
+		Assert.assertEquals(0, graphics.getTotalCommands());
+	}
+
+	@Test
+	public void testSortableDrawsGroupedByTexture() {
+		graphics.setSortable(true);
+		for(int i = 0; i < 4; i++) {
+			graphics.drawTextureRegion(createRegion(atlas1), i, 0f);
+			graphics.drawTextureRegion(createRegion(atlas2), i, 32f);
+		}
+		graphics.postRender();
+
+		Assert.assertEquals(1, countTextureSwitches());
+		Assert.assertEquals(8, getDraws("drawTextureRegion").size());
+	}
+
+	@Test
+	public void testUnsortableDrawsKeepOrder() {
+		for(int i = 0; i < 4; i++) {
+			graphics.drawTextureRegion(createRegion(atlas1), i, 0f);
+			graphics.drawTextureRegion(createRegion(atlas2), i, 32f);
+		}
+		graphics.postRender();
+
+		Assert.assertEquals(7, countTextureSwitches());
+	}
+
+	@Test
+	public void testSortingStopsAtTransformChange() {
+		graphics.setSortable(true);
+		graphics.drawTextureRegion(createRegion(atlas1), 0f, 0f);
+		graphics.drawTextureRegion(createRegion(atlas2), 0f, 0f);
+		graphics.setTranslation(10f, 10f);
+		graphics.drawTextureRegion(createRegion(atlas1), 0f, 0f);
+		graphics.postRender();
+
+		final List<Object[]> draws = getDraws("drawTextureRegion");
+		Assert.assertEquals(atlas1, getTexture(draws.get(0)));
+		Assert.assertEquals(atlas2, getTexture(draws.get(1)));
+		Assert.assertEquals(atlas1, getTexture(draws.get(2)));
+		Assert.assertTrue(calls.indexOf("setTranslation") > calls.indexOf("drawTextureRegion"));
+		Assert.assertTrue(calls.indexOf("setTranslation") < calls.lastIndexOf("drawTextureRegion"));
+	}
+
+	@Test
+	public void testLayersReplayInOrder() {
+		graphics.setLayer(2);
+		graphics.drawTexture(atlas1, 0f, 0f);
+		graphics.setLayer(0);
+		graphics.drawTexture(atlas2, 0f, 0f);
+		graphics.setLayer(1);
+		graphics.fillRect(0f, 0f, 1f, 1f);
+		graphics.postRender();
+
+		Assert.assertTrue(calls.indexOf("drawTexture") < calls.indexOf("fillRect"));
+		final List<Object[]> draws = getDraws("drawTexture");
+		Assert.assertEquals(atlas2, draws.get(0)[0]);
+		Assert.assertEquals(atlas1, draws.get(1)[0]);
+		Assert.assertTrue(calls.lastIndexOf("drawTexture") > calls.indexOf("fillRect"));
+	}
+
+	@Test
+	public void testColorRecordedPerCommand() {
+		final Color color = createColor(0xff0000ff);
+		graphics.setColor(color);
+		graphics.fillRect(0f, 0f, 1f, 1f);
+		color.set(0f, 0f, 1f, 1f);
+		graphics.fillRect(0f, 0f, 1f, 1f);
+		graphics.fillRect(0f, 0f, 1f, 1f);
+		graphics.postRender();
+
+		final List<Object[]> colors = getDraws("setColor");
+		Assert.assertEquals(2, colors.size());
+		Assert.assertEquals(0xff0000ff, ((Color) colors.get(0)[0]).rgba8888());
+		Assert.assertEquals(0x0000ffff, ((Color) colors.get(1)[0]).rgba8888());
+	}
+
+	@Test
+	public void testPolygonCopiedWhenRecorded() {
+		final float [] vertices = new float[] {0f, 0f, 10f, 0f, 10f, 10f};
+		graphics.drawPolygon(vertices);
+		vertices[0] = 100f;
+		graphics.postRender();
+
+		final float [] replayed = (float[]) getDraws("drawPolygon").get(0)[0];
+		Assert.assertEquals(0f, replayed[0], 0.01f);
+		Assert.assertEquals(10f, replayed[4], 0.01f);
+	}
+
+	@Test
+	public void testShaderChangesMinimisedWhenSortable() {
+		final Shader shader = createProxy(Shader.class, null);
+		graphics.setSortable(true);
+		for(int i = 0; i < 4; i++) {
+			graphics.setShader(shader);
+			graphics.drawTexture(atlas1, i, 0f);
+			graphics.clearShader();
+			graphics.drawTexture(atlas1, i, 32f);
+		}
+		graphics.postRender();
+
+		Assert.assertEquals(1, getDraws("setShader").size());
+		Assert.assertEquals(8, getDraws("drawTexture").size());
+	}
+
+	private int countTextureSwitches() {
+		int result = 0;
+		Texture previous = null;
+		for(Object[] args : getDraws("drawTextureRegion")) {
+			final Texture texture = getTexture(args);
+			if(previous != null && previous != texture) {
+				result++;
+			}
+			previous = texture;
+		}
+		return result;
+	}
+
+	private List<Object[]> getDraws(String methodName) {
+		final List<Object[]> result = new ArrayList<Object[]>();
+		for(int i = 0; i < calls.size(); i++) {
+			if(calls.get(i).equals(methodName)) {
+				result.add(arguments.get(i));
+			}
+		}
+		return result;
+	}
+
+	private static Texture getTexture(Object[] args) {
+		return ((TextureRegion) args[0]).getTexture();
+	}
+
+	private Graphics createBackend() {
+		final Color defaultColor = createColor(0xffffffff);
+		return (Graphics) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] { Graphics.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				calls.add(method.getName());
+				arguments.add(args == null ? new Object[0] : args.clone());
+
+				final Class returnType = method.getReturnType();
+				if(returnType.equals(Color.class)) {
+					return defaultColor;
+				} else if(returnType.equals(Float.TYPE)) {
+					return method.getName().startsWith("getScale") ? 1f : 0f;
+				} else if(returnType.equals(Integer.TYPE)) {
+					return 0;
+				} else if(returnType.equals(Long.TYPE)) {
+					return 0L;
+				} else if(returnType.equals(Boolean.TYPE)) {
+					return false;
+				}
+				return null;
+			}
+		});
+	}
+
+	private TextureRegion createRegion(final Texture texture) {
+		return createProxy(TextureRegion.class, texture);
+	}
+
+	private static <T> T createProxy(Class<T> clazz, final Texture texture) {
+		return (T) Proxy.newProxyInstance(RecordingGraphicsTest.class.getClassLoader(), new Class[] { clazz }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				if(method.getName().equals("equals")) {
+					return proxy == args[0];
+				} else if(method.getName().equals("hashCode")) {
+					return System.identityHashCode(proxy);
+				} else if(method.getName().equals("getTexture")) {
+					return texture;
+				}
+				return null;
+			}
+		});
+	}
+
+	private static Color createColor(final int rgba8888) {
+		final int [] value = new int[] {rgba8888};
+		return (Color) Proxy.newProxyInstance(RecordingGraphicsTest.class.getClassLoader(), new Class[] { Color.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				if(method.getName().equals("equals")) {
+					return proxy == args[0];
+				} else if(method.getName().equals("hashCode")) {
+					return System.identityHashCode(proxy);
+				} else if(method.getName().equals("rgba8888")) {
+					return value[0];
+				} else if(method.getName().equals("copy")) {
+					return createColor(value[0]);
+				} else if(method.getName().equals("set") && args.length == 4 && args[0] instanceof Float) {
+					value[0] = 0;
+					for(int i = 0; i < 4; i++) {
+						value[0] = (value[0] << 8) | (int) ((Float) args[i] * 255f);
+					}
+					return proxy;
+				}
+				return null;
+			}
+		});
+	}
+}
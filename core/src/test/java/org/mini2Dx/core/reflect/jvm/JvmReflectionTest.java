@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.reflect.jvm;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.exception.ReflectionException;
+import org.mini2Dx.core.reflect.Field;
+
+/**
+ * Unit tests for {@link JvmReflection}, {@link JvmField} and the cached reflection data
+ */
+public class JvmReflectionTest {
+	private JvmReflection reflection;
+
+	@Before
+	public void setUp() {
+		reflection = new JvmReflection();
+		Mdx.reflect = reflection;
+	}
+
+	@Test
+	public void testMetadataIsCached() {
+		Assert.assertSame(reflection.getDeclaredFields(TestBean.class), reflection.getDeclaredFields(TestBean.class));
+		Assert.assertSame(reflection.getDeclaredMethods(TestBean.class), reflection.getDeclaredMethods(TestBean.class));
+		Assert.assertSame(reflection.getConstructors(TestBean.class), reflection.getConstructors(TestBean.class));
+		Assert.assertSame(reflection.getDeclaredField(TestBean.class, "intValue"),
+				reflection.getDeclaredField(TestBean.class, "intValue"));
+
+		Field field = reflection.getDeclaredField(TestBean.class, "stringValue");
+		Assert.assertSame(field.getDeclaredAnnotations(), field.getDeclaredAnnotations());
+		Assert.assertNotNull(field.getDeclaredAnnotation(org.mini2Dx.core.serialization.annotation.Field.class));
+
+		reflection.clearCache();
+		Assert.assertNotSame(field, reflection.getDeclaredField(TestBean.class, "stringValue"));
+	}
+
+	@Test(expected = ReflectionException.class)
+	public void testMissingField() {
+		reflection.getDeclaredField(TestBean.class, "missing");
+	}
+
+	@Test
+	public void testGetAndSet() {
+		TestBean bean = new TestBean();
+		Field intField = reflection.getDeclaredField(TestBean.class, "intValue");
+		Field longField = reflection.getDeclaredField(TestBean.class, "longValue");
+		Field finalField = reflection.getDeclaredField(TestBean.class, "finalValue");
+		Field staticField = reflection.getDeclaredField(TestBean.class, "staticValue");
+
+		intField.set(bean, 7);
+		Assert.assertEquals(7, bean.intValue);
+		Assert.assertEquals(7, intField.get(bean));
+
+		// Widening conversions are still supported
+		longField.set(bean, 3);
+		Assert.assertEquals(3L, bean.longValue);
+
+		Assert.assertEquals("final", finalField.get(bean));
+
+		staticField.set(null, "changed");
+		Assert.assertEquals("changed", staticField.get(null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetNullPrimitive() {
+		reflection.getDeclaredField(TestBean.class, "intValue").set(new TestBean(), null);
+	}
+
+	public static class TestBean {
+		private static String staticValue = "static";
+
+		private int intValue;
+		private long longValue;
+		@org.mini2Dx.core.serialization.annotation.Field
+		private String stringValue;
+		private final String finalValue = "final";
+	}
+}
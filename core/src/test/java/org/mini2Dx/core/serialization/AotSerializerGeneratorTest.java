@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.serialization;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.JvmLocks;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.exception.ReflectionException;
+import org.mini2Dx.core.exception.RequiredFieldException;
+import org.mini2Dx.core.exception.SerializationException;
+import org.mini2Dx.core.reflect.jvm.JvmReflection;
+import org.mini2Dx.core.serialization.aot.AotSerializerGenerator;
+import org.mini2Dx.core.serialization.dummy.TestAbstractImplObject;
+import org.mini2Dx.core.serialization.dummy.TestAbstractObject;
+import org.mini2Dx.core.serialization.dummy.TestAccessObject;
+import org.mini2Dx.core.serialization.dummy.TestChildObject;
+import org.mini2Dx.core.serialization.dummy.TestConstuctorArgObject;
+import org.mini2Dx.core.serialization.dummy.TestEnum;
+import org.mini2Dx.core.serialization.dummy.TestInterface;
+import org.mini2Dx.core.serialization.dummy.TestInterfaceImpl;
+import org.mini2Dx.core.serialization.dummy.TestParentObject;
+import org.mini2Dx.core.serialization.dummy.TestSuperObject;
+import org.mini2Dx.gdx.json.JsonValue;
+import org.mini2Dx.gdx.json.JsonWriter;
+import org.mini2Dx.gdx.utils.Array;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for {@link AotSerializerGenerator}. Generated sources are
+ * compiled with javax.tools and compared against reflective serialization.
+ */
+public class AotSerializerGeneratorTest {
+	private static final String DUMMY_PACKAGE = TestParentObject.class.getPackage().getName() + ".";
+	private static final Class[] GENERATED_CLASSES = new Class[] { TestParentObject.class, TestSuperObject.class,
+			TestChildObject.class, TestConstuctorArgObject.class, TestInterfaceImpl.class,
+			TestAbstractImplObject.class, TestAccessObject.class };
+	private static final String ACCESS_OBJECT_JSON = "{\"publicInt\":1,\"packageInt\":2,\"protectedFloat\":3.5," +
+			"\"privateLong\":9007199254740993,\"doubleValue\":0.25,\"charValue\":\"x\",\"booleanValue\":true," +
+			"\"boxedValue\":7,\"stringValue\":\"hello\",\"enumValue\":\"OPTION_C\"}";
+
+	private JsonSerializer serializer;
+	private Path generatedDirectory;
+
+	@Before
+	public void setUp() {
+		AotSerializationData.clear();
+
+		Mdx.reflect = new JvmReflection();
+		Mdx.locks = new JvmLocks();
+		serializer = new JsonSerializer();
+	}
+
+	@After
+	public void teardown() throws IOException {
+		AotSerializationData.clear();
+		Mdx.reflect = new JvmReflection();
+
+		if (generatedDirectory == null) {
+			return;
+		}
+		final List<Path> paths = new ArrayList<Path>();
+		try (Stream<Path> walk = Files.walk(generatedDirectory)) {
+			walk.forEach(paths::add);
+		}
+		for (int i = paths.size() - 1; i >= 0; i--) {
+			Files.delete(paths.get(i));
+		}
+	}
+
+	@Test
+	public void testGenerateSource() {
+		String source = AotSerializerGenerator.generateSource(TestChildObject.class);
+
+		Assert.assertTrue(source.startsWith("package org.mini2Dx.core.serialization.dummy;"));
+		Assert.assertTrue(source.contains("public class TestChildObjectJsonSerializer implements GeneratedJsonSerializer<org.mini2Dx.core.serialization.dummy.TestChildObject>"));
+		Assert.assertTrue(source.contains("Mdx.reflect.getDeclaredField(owner0, \"intValue\")"));
+		Assert.assertTrue(source.contains("final int value0 = (int) field0.get(object);"));
+		Assert.assertTrue(source.contains("json.value(value0);"));
+		Assert.assertFalse(source.contains("getIntValue"));
+		Assert.assertFalse(source.contains("setIntValue"));
+	}
+
+	@Test
+	public void testGenerateSourceUsesTypedFieldAccess() {
+		String source = AotSerializerGenerator.generateSource(TestAccessObject.class);
+
+		Assert.assertTrue(source.contains(" = object.publicInt;"));
+		Assert.assertTrue(source.contains(" = object.packageInt;"));
+		Assert.assertTrue(source.contains(" = object.protectedFloat;"));
+		Assert.assertTrue(source.contains("object.packageInt = json"));
+		Assert.assertTrue(source.contains("Mdx.reflect.getDeclaredField(owner0, \"privateLong\")"));
+		Assert.assertFalse(source.contains("PrivateLong"));
+		Assert.assertFalse(source.contains("final Object value"));
+		Assert.assertTrue(source.contains("json.value(String.valueOf(value"));
+	}
+
+	@Test
+	public void testGenerateSourceSkipsUnconstructableClasses() {
+		Assert.assertNull(AotSerializerGenerator.generateSource(TestAbstractObject.class));
+		Assert.assertNull(AotSerializerGenerator.generateSource(TestInterface.class));
+		Assert.assertNull(AotSerializerGenerator.generateSource(TestEnum.class));
+	}
+
+	@Test
+	public void testGenerateRegistrySource() {
+		Array<Class> classes = new Array<Class>();
+		classes.add(TestChildObject.class);
+
+		String source = AotSerializerGenerator.generateRegistrySource("com.example", "Serializers", classes);
+		Assert.assertTrue(source.contains("public class Serializers"));
+		Assert.assertTrue(source.contains("AotSerializationData.registerSerializer(new org.mini2Dx.core.serialization.dummy.TestChildObjectJsonSerializer());"));
+	}
+
+	@Test
+	public void testGeneratedSerializerMatchesReflection() throws Exception {
+		final String expectedJson = serializer.toJson(JsonSerializationTest.createParentObject());
+
+		final ClassLoader classLoader = compileGeneratedSerializers();
+		final Class parentClass = classLoader.loadClass(TestParentObject.class.getName());
+		final CountingSerializer parentSerializer = (CountingSerializer) AotSerializationData.getSerializer(parentClass);
+
+		final Object result = serializer.fromJson(expectedJson, parentClass);
+		Assert.assertEquals(1, parentSerializer.totalReads);
+		Assert.assertTrue((Boolean) parentClass.getMethod("isPostDeserializeCalled").invoke(result));
+
+		Assert.assertEquals(expectedJson, serializer.toJson(result));
+		Assert.assertEquals(1, parentSerializer.totalWrites);
+	}
+
+	@Test
+	public void testGeneratedSerializerMatchesReflectionWithoutAccessors() throws Exception {
+		final String expectedJson = serializer.toJson(serializer.fromJson(ACCESS_OBJECT_JSON, TestAccessObject.class));
+
+		final ClassLoader classLoader = compileGeneratedSerializers();
+		final Class accessClass = classLoader.loadClass(TestAccessObject.class.getName());
+		final CountingSerializer accessSerializer = (CountingSerializer) AotSerializationData.getSerializer(accessClass);
+
+		final Object result = serializer.fromJson(expectedJson, accessClass);
+		Assert.assertEquals(expectedJson, serializer.toJson(result));
+		Assert.assertEquals(1, accessSerializer.totalReads);
+		Assert.assertEquals(1, accessSerializer.totalWrites);
+		Assert.assertEquals(0, accessClass.getMethod("getTotalAccessorCalls").invoke(result));
+	}
+
+	@Test(expected = RequiredFieldException.class)
+	public void testGeneratedSerializerWithMissingRequiredField() throws Exception {
+		final ClassLoader classLoader = compileGeneratedSerializers();
+		serializer.fromJson("{\"value\":1}", classLoader.loadClass(TestChildObject.class.getName()));
+	}
+
+	/**
+	 * Generates and compiles serializers for {@link #GENERATED_CLASSES}, then
+	 * registers them. The test objects are reloaded alongside the serializers
+	 * so that package-private access works at runtime; serialize instances of
+	 * classes from the returned {@link ClassLoader} only after calling this.
+	 */
+	private ClassLoader compileGeneratedSerializers() throws Exception {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assert.assertNotNull("Tests must be run with a JDK", compiler);
+
+		generatedDirectory = Files.createTempDirectory("mdx-aot");
+		final List<File> sourceFiles = new ArrayList<File>();
+		for (Class clazz : GENERATED_CLASSES) {
+			final String source = AotSerializerGenerator.generateSource(clazz);
+			Assert.assertNotNull(source);
+			final Path sourceFile = generatedDirectory.resolve(
+					AotSerializerGenerator.getSerializerClassName(clazz).replace('.', File.separatorChar) + ".java");
+			Files.createDirectories(sourceFile.getParent());
+			Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+			sourceFiles.add(sourceFile.toFile());
+		}
+
+		final String classpath = System.getProperty("java.class.path") + File.pathSeparator +
+				getLocation(TestParentObject.class) + File.pathSeparator +
+				getLocation(GeneratedJsonSerializer.class) + File.pathSeparator +
+				getLocation(JsonValue.class) + File.pathSeparator +
+				getLocation(Array.class);
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+			final boolean compiled = compiler.getTask(null, fileManager, diagnostics,
+					Arrays.asList("-classpath", classpath, "-d", generatedDirectory.toString()), null,
+					fileManager.getJavaFileObjectsFromFiles(sourceFiles)).call();
+			Assert.assertTrue(diagnostics.getDiagnostics().toString(), compiled);
+		}
+
+		final GeneratedClassLoader classLoader = new GeneratedClassLoader(new URL[] {
+				generatedDirectory.toUri().toURL(), new File(getLocation(TestParentObject.class)).toURI().toURL()
+		}, getClass().getClassLoader());
+		Mdx.reflect = new JvmReflection() {
+			@Override
+			public Class forName(String qualifiedName) throws ReflectionException {
+				try {
+					return Class.forName(qualifiedName, true, classLoader);
+				} catch (ClassNotFoundException e) {
+					throw new ReflectionException(e.getMessage(), e);
+				}
+			}
+		};
+		for (Class clazz : GENERATED_CLASSES) {
+			final Class serializerClass = classLoader.loadClass(AotSerializerGenerator.getSerializerClassName(clazz));
+			AotSerializationData.registerSerializer(
+					new CountingSerializer((GeneratedJsonSerializer) serializerClass.newInstance()));
+		}
+		return classLoader;
+	}
+
+	private static String getLocation(Class clazz) throws Exception {
+		return new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+	}
+
+	/**
+	 * Loads the test objects and generated serializers itself so that they share a runtime package
+	 */
+	private static class GeneratedClassLoader extends URLClassLoader {
+
+		GeneratedClassLoader(URL[] urls, ClassLoader parent) {
+			super(urls, parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.startsWith(DUMMY_PACKAGE)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> result = findLoadedClass(name);
+				if (result == null) {
+					result = findClass(name);
+				}
+				if (resolve) {
+					resolveClass(result);
+				}
+				return result;
+			}
+		}
+	}
+
+	private static class CountingSerializer implements GeneratedJsonSerializer {
+		private final GeneratedJsonSerializer serializer;
+		private int totalWrites, totalReads;
+
+		CountingSerializer(GeneratedJsonSerializer serializer) {
+			this.serializer = serializer;
+		}
+
+		@Override
+		public Class getSerializedClass() {
+			return serializer.getSerializedClass();
+		}
+
+		@Override
+		public void writeFields(JsonSerializer jsonSerializer, Object object, JsonWriter json) throws SerializationException {
+			totalWrites++;
+			serializer.writeFields(jsonSerializer, object, json);
+		}
+
+		@Override
+		public void readFields(JsonSerializer jsonSerializer, Object object, JsonValue objectRoot) throws SerializationException {
+			totalReads++;
+			serializer.readFields(jsonSerializer, object, objectRoot);
+		}
+	}
+}
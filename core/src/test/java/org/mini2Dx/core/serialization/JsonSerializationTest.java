@@ -44,7 +44,11 @@ public class JsonSerializationTest {
 		Mdx.locks = new JvmLocks();
 		serializer = new JsonSerializer();
 
-		parentObject = new TestParentObject();
+		parentObject = createParentObject();
+	}
+
+	static TestParentObject createParentObject() {
+		final TestParentObject parentObject = new TestParentObject();
 		parentObject.setSuperField("super super");
 		parentObject.setBooleanValue(true);
 		parentObject.setByteValue((byte) 1);
@@ -115,6 +119,7 @@ public class JsonSerializationTest {
 		parentObject.setGdxIntIntMap(new IntIntMap());
 		parentObject.getGdxIntIntMap().put(44, 55);
 		parentObject.getGdxIntIntMap().put(66, 77);
+		return parentObject;
 	}
 
 	@Test
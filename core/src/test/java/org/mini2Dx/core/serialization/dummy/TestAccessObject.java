@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.serialization.dummy;
+
+import org.mini2Dx.core.serialization.annotation.Field;
+
+/**
+ * Object with fields of each access level for testing generated serializers
+ */
+public class TestAccessObject {
+	@Field
+	public int publicInt;
+	@Field
+	int packageInt;
+	@Field
+	protected float protectedFloat;
+	@Field
+	private long privateLong;
+	@Field
+	double doubleValue;
+	@Field
+	char charValue;
+	@Field
+	boolean booleanValue;
+	@Field(optional = true)
+	Integer boxedValue;
+	@Field
+	String stringValue;
+	@Field
+	TestEnum enumValue;
+
+	private int totalAccessorCalls;
+
+	public long getPrivateLong() {
+		totalAccessorCalls++;
+		return privateLong;
+	}
+
+	public void setPrivateLong(long privateLong) {
+		totalAccessorCalls++;
+		this.privateLong = privateLong;
+	}
+
+	public int getTotalAccessorCalls() {
+		return totalAccessorCalls;
+	}
+}
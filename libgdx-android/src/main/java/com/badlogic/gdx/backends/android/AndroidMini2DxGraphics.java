@@ -17,6 +17,8 @@ package com.badlogic.gdx.backends.android;
 
 import org.mini2Dx.android.AndroidMini2DxConfig;
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.Profiler;
+import org.mini2Dx.core.TimestepScheduler;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.LifecycleListener;
@@ -33,6 +35,7 @@ public class AndroidMini2DxGraphics extends AndroidGraphics {
 	private final float maximumDelta;
 	private final float targetTimestep;
 	private float accumulator = 0f;
+	private final TimestepScheduler scheduler;
 	private int lastFrameDropWarning = -1;
 
 	public AndroidMini2DxGraphics(AndroidMini2DxGame application, AndroidMini2DxConfig config,
@@ -45,6 +48,12 @@ public class AndroidMini2DxGraphics extends AndroidGraphics {
 		super(application, config, resolutionStrategy, focusableView);
 		maximumDelta = config.maximumTimestepSeconds();
 		targetTimestep = config.targetTimestepSeconds();
+		scheduler = new TimestepScheduler(config.targetTimestepNanos(), config.maximumTimestepNanos());
+		//The operating system drives rendering so every frame is rendered
+		scheduler.setRenderSkippingSupported(false);
+		if(Mdx.timestepScheduler == null) {
+			Mdx.timestepScheduler = scheduler;
+		}
 		game = application;
 	}
 
@@ -125,12 +134,16 @@ public class AndroidMini2DxGraphics extends AndroidGraphics {
 				case DEFAULT:
 					Mdx.platformUtils.markUpdateBegin();
 					game.getApplicationListener().preUpdate(delta);
+					Mdx.profiler.begin(Profiler.PHYSICS);
 					game.getApplicationListener().preUpdatePhysics(targetTimestep);
 					game.getApplicationListener().updatePhysics(targetTimestep);
+					Mdx.profiler.end();
 					game.getApplicationListener().update(delta);
 					Mdx.platformUtils.markUpdateEnd();
 
+					Mdx.profiler.begin(Profiler.INTERPOLATE);
 					game.getApplicationListener().interpolate(1f);
+					Mdx.profiler.end();
 					break;
 				case PHYSICS:
 					float physicsDelta = deltaTime;
@@ -143,14 +156,36 @@ public class AndroidMini2DxGraphics extends AndroidGraphics {
 					Mdx.platformUtils.markUpdateBegin();
 					game.getApplicationListener().preUpdate(delta);
 					while (accumulator >= targetTimestep) {
+						Mdx.profiler.begin(Profiler.PHYSICS);
 						game.getApplicationListener().preUpdatePhysics(targetTimestep);
 						game.getApplicationListener().updatePhysics(targetTimestep);
+						Mdx.profiler.end();
 						accumulator -= targetTimestep;
 					}
 					game.getApplicationListener().update(delta);
 					Mdx.platformUtils.markUpdateEnd();
 
+					Mdx.profiler.begin(Profiler.INTERPOLATE);
 					game.getApplicationListener().interpolate(accumulator / targetTimestep);
+					Mdx.profiler.end();
+					break;
+				case ADAPTIVE:
+					scheduler.beginFrame((long) (deltaTime * 1000000000L));
+
+					Mdx.platformUtils.markUpdateBegin();
+					game.getApplicationListener().preUpdate(scheduler.getDeltaSeconds());
+					while (scheduler.nextStep()) {
+						Mdx.profiler.begin(Profiler.PHYSICS);
+						game.getApplicationListener().preUpdatePhysics(scheduler.getStepSeconds());
+						game.getApplicationListener().updatePhysics(scheduler.getStepSeconds());
+						Mdx.profiler.end();
+					}
+					game.getApplicationListener().update(scheduler.getDeltaSeconds());
+					Mdx.platformUtils.markUpdateEnd();
+
+					Mdx.profiler.begin(Profiler.INTERPOLATE);
+					game.getApplicationListener().interpolate(scheduler.getAlpha());
+					Mdx.profiler.end();
 					break;
 			}
 			
@@ -190,6 +225,9 @@ public class AndroidMini2DxGraphics extends AndroidGraphics {
 				}
 			}
 			app.getApplicationListener().dispose();
+			if(Mdx.timestepScheduler == scheduler) {
+				Mdx.timestepScheduler = null;
+			}
 			Gdx.app.log(LOG_TAG, "destroyed");
 		}
 
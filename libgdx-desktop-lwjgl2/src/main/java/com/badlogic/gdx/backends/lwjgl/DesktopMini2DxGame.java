@@ -21,6 +21,9 @@ import com.badlogic.gdx.utils.*;
 import org.lwjgl.LWJGLException;
 import org.lwjgl.opengl.Display;
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.Profiler;
+import org.mini2Dx.core.TimestepMode;
+import org.mini2Dx.core.TimestepScheduler;
 import org.mini2Dx.core.game.GameContainer;
 import org.mini2Dx.libgdx.desktop.Lwjgl2GameWrapper;
 import org.mini2Dx.libgdx.desktop.Lwjgl2Mini2DxConfig;
@@ -42,6 +45,7 @@ public class DesktopMini2DxGame implements Application {
 	protected final LwjglInput input;
 	protected final LwjglNet net;
 	protected final GameWrapper listener;
+	protected final TimestepScheduler scheduler;
 	protected Thread mainLoopThread;
 	protected boolean running = true;
 	protected final Array<Runnable> runnables = new Array<Runnable>(Runnable.class);
@@ -67,6 +71,10 @@ public class DesktopMini2DxGame implements Application {
 		
 		this.config = config;
 		listener = new Lwjgl2GameWrapper(game, config.gameIdentifier);
+		scheduler = new TimestepScheduler(config.targetTimestepNanos(), config.maximumTimestepNanos());
+		if(Mdx.timestepScheduler == null) {
+			Mdx.timestepScheduler = scheduler;
+		}
 
 		if (config.title == null) {
 			config.title = game.getClass().getSimpleName();
@@ -236,12 +244,16 @@ public class DesktopMini2DxGame implements Application {
 				case DEFAULT:
 					Mdx.platformUtils.markUpdateBegin();
 					listener.preUpdate(delta);
+					Mdx.profiler.begin(Profiler.PHYSICS);
 					listener.preUpdatePhysics(targetTimestepSeconds);
 					listener.updatePhysics(targetTimestepSeconds);
+					Mdx.profiler.end();
 					listener.update(delta);
 					Mdx.platformUtils.markUpdateEnd();
 
+					Mdx.profiler.begin(Profiler.INTERPOLATE);
 					listener.interpolate(1f);
+					Mdx.profiler.end();
 					break;
 				case PHYSICS:
 					float physicsDelta = graphics.getDeltaTime();
@@ -254,22 +266,46 @@ public class DesktopMini2DxGame implements Application {
 					Mdx.platformUtils.markUpdateBegin();
 					listener.preUpdate(delta);
 					while (accumulator >= targetTimestepSeconds) {
+						Mdx.profiler.begin(Profiler.PHYSICS);
 						listener.preUpdatePhysics(targetTimestepSeconds);
 						listener.updatePhysics(targetTimestepSeconds);
+						Mdx.profiler.end();
 
 						accumulator -= targetTimestepSeconds;
 					}
 					listener.update(delta);
 					Mdx.platformUtils.markUpdateEnd();
 
+					Mdx.profiler.begin(Profiler.INTERPOLATE);
 					listener.interpolate(accumulator / targetTimestepSeconds);
+					Mdx.profiler.end();
+					break;
+				case ADAPTIVE:
+					scheduler.beginFrame((long) (graphics.getDeltaTime() * 1000000000L));
+
+					Mdx.platformUtils.markUpdateBegin();
+					listener.preUpdate(scheduler.getDeltaSeconds());
+					while (scheduler.nextStep()) {
+						Mdx.profiler.begin(Profiler.PHYSICS);
+						listener.preUpdatePhysics(scheduler.getStepSeconds());
+						listener.updatePhysics(scheduler.getStepSeconds());
+						Mdx.profiler.end();
+					}
+					listener.update(scheduler.getDeltaSeconds());
+					Mdx.platformUtils.markUpdateEnd();
+
+					Mdx.profiler.begin(Profiler.INTERPOLATE);
+					listener.interpolate(scheduler.getAlpha());
+					Mdx.profiler.end();
 					break;
 				}
 
-				Mdx.platformUtils.markRenderBegin();
-				listener.render();
-				Mdx.platformUtils.markRenderEnd();
-				Display.update(false);
+				if (Mdx.timestepMode != TimestepMode.ADAPTIVE || scheduler.shouldRender()) {
+					Mdx.platformUtils.markRenderBegin();
+					listener.render();
+					Mdx.platformUtils.markRenderEnd();
+					Display.update(false);
+				}
 
 				if(config.errorOnFrameDrop) {
 					if(Mdx.platformUtils.getUpdatesPerSecond() < config.targetFPS) {
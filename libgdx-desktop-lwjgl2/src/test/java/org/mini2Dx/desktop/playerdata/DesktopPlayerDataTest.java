@@ -18,9 +18,14 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mini2Dx.core.DependencyInjection;
+import org.mini2Dx.core.IncrementalSave;
 import org.mini2Dx.core.JvmLocks;
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.PlayerDataFormat;
+import org.mini2Dx.core.PlayerDataWriteFuture;
+import org.mini2Dx.core.exception.SerializationException;
 import org.mini2Dx.core.reflect.jvm.JvmReflection;
+import org.mini2Dx.core.serialization.BinarySerializer;
 import org.mini2Dx.core.serialization.JsonSerializer;
 import org.mini2Dx.core.serialization.XmlSerializer;
 import org.mini2Dx.gdx.utils.*;
@@ -31,6 +36,7 @@ import org.mini2Dx.libgdx.game.GameWrapper;
 import org.mini2Dx.core.serialization.dummy.*;
 
 import java.io.File;
+import java.io.Writer;
 import java.util.*;
 
 /**
@@ -40,6 +46,7 @@ public class DesktopPlayerDataTest {
     private static final String TEST_IDENTIFIER = "org.mini2Dx.testgame";
     private static final String XML_FILENAME = "test.xml";
     private static final String JSON_FILENAME = "test.json";
+    private static final String BINARY_FILENAME = "test.bin";
     private static final Random RANDOM = new Random(1209561832);
 
     private static final String MAP_KEY = "test";
@@ -58,6 +65,7 @@ public class DesktopPlayerDataTest {
         Mdx.locks = new JvmLocks();
         Mdx.xml = new XmlSerializer();
         Mdx.json = new JsonSerializer();
+        Mdx.binary = new BinarySerializer();
         desktopData = new DesktopPlayerData(TEST_IDENTIFIER);
         
         createTestObjects();
@@ -108,6 +116,108 @@ public class DesktopPlayerDataTest {
         desktopData.readJson(TestParentObject.class, "blah-" + JSON_FILENAME);
     }
     
+    @Test
+    public void testBinary() throws Exception {
+        desktopData.writeBinary(expectedParentObject, BINARY_FILENAME);
+
+        TestParentObject result = desktopData.readBinary(TestParentObject.class, BINARY_FILENAME);
+        assertObjectIsAsExpected(result);
+    }
+
+    @Test
+    public void testCompressedBinary() throws Exception {
+        desktopData.writeBinary(expectedParentObject, true, BINARY_FILENAME);
+
+        TestParentObject result = desktopData.readBinary(TestParentObject.class, BINARY_FILENAME);
+        assertObjectIsAsExpected(result);
+    }
+
+    @Test(expected=Exception.class)
+    public void testReadBinaryFromNonExistingFile() throws Exception {
+        desktopData.readBinary(TestParentObject.class, "blah-" + BINARY_FILENAME);
+    }
+
+    @Test
+    public void testWriteAsync() throws Exception {
+        for (PlayerDataFormat format : PlayerDataFormat.values()) {
+            final String filename = "async-" + format.name() + format.getFileExtension();
+            PlayerDataWriteFuture future = desktopData.writeAsync(expectedParentObject, format, filename);
+            while (!future.isFinished()) {
+                Thread.sleep(1L);
+            }
+            Assert.assertTrue(future.isSuccessful());
+            Assert.assertNull(future.getException());
+
+            TestParentObject result = desktopData.read(TestParentObject.class, format, filename);
+            assertObjectIsAsExpected(result);
+        }
+    }
+
+    @Test
+    public void testWriteAsyncAfterError() throws Exception {
+        Mdx.json = new JsonSerializer() {
+            @Override
+            public <T> void toJson(T object, Writer writer) throws SerializationException {
+                throw new OutOfMemoryError();
+            }
+        };
+        PlayerDataWriteFuture future = desktopData.writeAsync(expectedParentObject, PlayerDataFormat.JSON, JSON_FILENAME);
+        while (!future.isFinished()) {
+            Thread.sleep(1L);
+        }
+        Assert.assertFalse(future.isSuccessful());
+        Assert.assertNotNull(future.getException());
+
+        // The queue must keep processing after a failed write
+        Mdx.json = new JsonSerializer();
+        future = desktopData.writeAsync(expectedParentObject, PlayerDataFormat.JSON, JSON_FILENAME);
+        while (!future.isFinished()) {
+            Thread.sleep(1L);
+        }
+        Assert.assertTrue(future.isSuccessful());
+        assertObjectIsAsExpected(desktopData.readJson(TestParentObject.class, JSON_FILENAME));
+    }
+
+    @Test
+    public void testWriteDuringWriteAsync() throws Exception {
+        PlayerDataWriteFuture future = desktopData.writeAsync(expectedParentObject, PlayerDataFormat.JSON, JSON_FILENAME);
+        desktopData.writeJson(expectedParentObject, JSON_FILENAME);
+        while (!future.isFinished()) {
+            Thread.sleep(1L);
+        }
+        Assert.assertTrue(future.isSuccessful());
+        assertObjectIsAsExpected(desktopData.readJson(TestParentObject.class, JSON_FILENAME));
+    }
+
+    @Test
+    public void testIncrementalSave() throws Exception {
+        IncrementalSave save = new IncrementalSave(desktopData, PlayerDataFormat.JSON, "save");
+        save.setSection("world", expectedParentObject);
+        save.setSection("player", expectedChildObject);
+        Assert.assertTrue(save.isDirty("world"));
+        Assert.assertTrue(save.isDirty("player"));
+
+        save.save();
+        Assert.assertFalse(save.hasDirtySections());
+        Assert.assertTrue(save.hasSavedSection("world"));
+        Assert.assertTrue(save.hasSavedSection("player"));
+
+        // Only the dirty section should be rewritten
+        desktopData.delete("save", "player.json");
+        save.markDirty("world");
+        PlayerDataWriteFuture future = save.saveAsync();
+        while (!future.isFinished()) {
+            Thread.sleep(1L);
+        }
+        Assert.assertTrue(future.isSuccessful());
+        Assert.assertTrue(save.hasSavedSection("world"));
+        Assert.assertFalse(save.hasSavedSection("player"));
+
+        IncrementalSave loaded = new IncrementalSave(desktopData, PlayerDataFormat.JSON, "save");
+        assertObjectIsAsExpected(loaded.readSection(TestParentObject.class, "world"));
+        Assert.assertFalse(loaded.isDirty("world"));
+    }
+
     @Test
     public void testFileExists() throws Exception {
         desktopData.writeXml(expectedParentObject, XML_FILENAME);
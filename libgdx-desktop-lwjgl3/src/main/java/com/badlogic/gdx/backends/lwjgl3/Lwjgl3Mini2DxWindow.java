@@ -36,6 +36,9 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.SharedLibraryLoader;
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.Profiler;
+import org.mini2Dx.core.TimestepMode;
+import org.mini2Dx.core.TimestepScheduler;
 import org.mini2Dx.libgdx.game.GameWrapper;
 
 public class Lwjgl3Mini2DxWindow implements Disposable {
@@ -55,6 +58,7 @@ public class Lwjgl3Mini2DxWindow implements Disposable {
 
 	private long lastFrameTime = -1L;
 	private long accumulator = 0L;
+	private final TimestepScheduler scheduler;
 	private int lastFrameDropWarning = -1;
 
 	private final GLFWWindowFocusCallback focusCallback = new GLFWWindowFocusCallback() {
@@ -162,6 +166,10 @@ public class Lwjgl3Mini2DxWindow implements Disposable {
 		this.listener = listener;
 		this.windowListener = config.windowListener;
 		this.config = config;
+		this.scheduler = new TimestepScheduler(config.targetTimestepNanos(), config.maximumTimestepNanos());
+		if(Mdx.timestepScheduler == null) {
+			Mdx.timestepScheduler = scheduler;
+		}
 		this.tmpBuffer = BufferUtils.createIntBuffer(1);
 		this.tmpBuffer2 = BufferUtils.createIntBuffer(1);
 	}
@@ -416,12 +424,16 @@ public class Lwjgl3Mini2DxWindow implements Disposable {
 			case DEFAULT:
 				Mdx.platformUtils.markUpdateBegin();
 				listener.preUpdate(graphics.getDeltaTime());
+				Mdx.profiler.begin(Profiler.PHYSICS);
 				listener.preUpdatePhysics(targetTimestepSeconds);
 				listener.updatePhysics(targetTimestepSeconds);
+				Mdx.profiler.end();
 				listener.update(graphics.getDeltaTime());
 				Mdx.platformUtils.markUpdateEnd();
 
+				Mdx.profiler.begin(Profiler.INTERPOLATE);
 				listener.interpolate(1f);
+				Mdx.profiler.end();
 				break;
 			case PHYSICS:
 				long deltaNanos = time - lastFrameTime;
@@ -440,22 +452,46 @@ public class Lwjgl3Mini2DxWindow implements Disposable {
 						accumulator -= targetTimestepNanos;
 						continue;
 					}
+					Mdx.profiler.begin(Profiler.PHYSICS);
 					listener.preUpdatePhysics(targetTimestepSeconds);
 					listener.updatePhysics(targetTimestepSeconds);
+					Mdx.profiler.end();
 
 					accumulator -= targetTimestepNanos;
 				}
 				listener.update(graphics.getDeltaTime());
 				Mdx.platformUtils.markUpdateEnd();
 
+				Mdx.profiler.begin(Profiler.INTERPOLATE);
 				listener.interpolate((accumulator * 1f) / (targetTimestepNanos * 1f));
+				Mdx.profiler.end();
+				break;
+			case ADAPTIVE:
+				scheduler.beginFrame(time - lastFrameTime);
+
+				Mdx.platformUtils.markUpdateBegin();
+				listener.preUpdate(scheduler.getDeltaSeconds());
+				while (scheduler.nextStep()) {
+					Mdx.profiler.begin(Profiler.PHYSICS);
+					listener.preUpdatePhysics(scheduler.getStepSeconds());
+					listener.updatePhysics(scheduler.getStepSeconds());
+					Mdx.profiler.end();
+				}
+				listener.update(scheduler.getDeltaSeconds());
+				Mdx.platformUtils.markUpdateEnd();
+
+				Mdx.profiler.begin(Profiler.INTERPOLATE);
+				listener.interpolate(scheduler.getAlpha());
+				Mdx.profiler.end();
 				break;
 			}
 
-			Mdx.platformUtils.markRenderBegin();
-			listener.render();
-			Mdx.platformUtils.markRenderEnd();
-			GLFW.glfwSwapBuffers(windowHandle);
+			if (Mdx.timestepMode != TimestepMode.ADAPTIVE || scheduler.shouldRender()) {
+				Mdx.platformUtils.markRenderBegin();
+				listener.render();
+				Mdx.platformUtils.markRenderEnd();
+				GLFW.glfwSwapBuffers(windowHandle);
+			}
 
 			if (!iconified)
 				input.prepareNext();
@@ -16,6 +16,8 @@
 package com.badlogic.gdx.backends.iosrobovm;
 
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.Profiler;
+import org.mini2Dx.core.TimestepScheduler;
 import org.robovm.apple.coregraphics.CGRect;
 import org.robovm.apple.foundation.NSObject;
 import org.robovm.apple.glkit.GLKView;
@@ -171,6 +173,7 @@ public class IOSMini2DxGraphics extends NSObject implements Graphics, GLKViewDel
 	private final float maximumDelta;
 	private final float targetTimestep;
 	private float accumulator = 0f;
+	private final TimestepScheduler scheduler;
 	private int lastFrameDropWarning = -1;
 
 	IOSMini2DxConfig config;
@@ -184,6 +187,12 @@ public class IOSMini2DxGraphics extends NSObject implements Graphics, GLKViewDel
 		
 		maximumDelta = config.maximumTimestepSeconds();
 		targetTimestep = config.targetTimestepSeconds();
+		scheduler = new TimestepScheduler(config.targetTimestepNanos(), config.maximumTimestepNanos());
+		//The operating system drives rendering so every frame is rendered
+		scheduler.setRenderSkippingSupported(false);
+		if(Mdx.timestepScheduler == null) {
+			Mdx.timestepScheduler = scheduler;
+		}
 
 		final CGRect bounds = app.getBounds();
 		// setup view and OpenGL
@@ -357,12 +366,16 @@ public class IOSMini2DxGraphics extends NSObject implements Graphics, GLKViewDel
 		case DEFAULT:
 			Mdx.platformUtils.markUpdateBegin();
 			app.listener.preUpdate(delta);
+			Mdx.profiler.begin(Profiler.PHYSICS);
 			app.listener.preUpdatePhysics(targetTimestep);
 			app.listener.updatePhysics(targetTimestep);
+			Mdx.profiler.end();
 			app.listener.update(delta);
 			Mdx.platformUtils.markUpdateEnd();
 
+			Mdx.profiler.begin(Profiler.INTERPOLATE);
 			app.listener.interpolate(1f);
+			Mdx.profiler.end();
 			break;
 		case PHYSICS:
 			float physicsDelta = deltaTime;
@@ -375,14 +388,36 @@ public class IOSMini2DxGraphics extends NSObject implements Graphics, GLKViewDel
 			Mdx.platformUtils.markUpdateBegin();
 			app.listener.preUpdate(delta);
 			while (accumulator >= targetTimestep) {
+				Mdx.profiler.begin(Profiler.PHYSICS);
 				app.listener.preUpdatePhysics(targetTimestep);
 				app.listener.updatePhysics(targetTimestep);
+				Mdx.profiler.end();
 				accumulator -= targetTimestep;
 			}
 			app.listener.update(delta);
 			Mdx.platformUtils.markUpdateEnd();
 
+			Mdx.profiler.begin(Profiler.INTERPOLATE);
 			app.listener.interpolate(accumulator / targetTimestep);
+			Mdx.profiler.end();
+			break;
+		case ADAPTIVE:
+			scheduler.beginFrame((long) (deltaTime * 1000000000L));
+
+			Mdx.platformUtils.markUpdateBegin();
+			app.listener.preUpdate(scheduler.getDeltaSeconds());
+			while (scheduler.nextStep()) {
+				Mdx.profiler.begin(Profiler.PHYSICS);
+				app.listener.preUpdatePhysics(scheduler.getStepSeconds());
+				app.listener.updatePhysics(scheduler.getStepSeconds());
+				Mdx.profiler.end();
+			}
+			app.listener.update(scheduler.getDeltaSeconds());
+			Mdx.platformUtils.markUpdateEnd();
+
+			Mdx.profiler.begin(Profiler.INTERPOLATE);
+			app.listener.interpolate(scheduler.getAlpha());
+			Mdx.profiler.end();
 			break;
 		}
 
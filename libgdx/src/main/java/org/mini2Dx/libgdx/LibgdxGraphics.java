@@ -71,11 +71,15 @@ public class LibgdxGraphics implements Graphics {
 	private int lineHeight;
 	private RenderState rendering;
 	private boolean transformationsApplied;
+	private boolean primitiveBatchingEnabled = false;
+	private int drawCalls, previousFrameDrawCalls;
 	private Rectangle clip;
 
 	private float [] triangleVertices = new float[6];
 	//3 edge polygon by default, expanded as needed during rendering
 	private float [] polygonRenderData = new float[15];
+	//A single quad (4 vertices of x, y, color, u, v) for primitives drawn via the sprite batch
+	private final float [] quadVertices = new float[20];
 
 	public LibgdxGraphics(GameWrapper gameWrapper, LibgdxSpriteBatchWrapper spriteBatch, PolygonSpriteBatch polygonSpriteBatch, ShapeRenderer shapeRenderer) {
 		this.gameWrapper = gameWrapper;
@@ -122,16 +126,26 @@ public class LibgdxGraphics implements Graphics {
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_STENCIL_BUFFER_BIT);
 
 		rendering = RenderState.NOT_RENDERING;
+		drawCalls = 0;
 
 		if (defaultShader == null) {
-			defaultShader = new LibgdxShader(SpriteBatch.createDefaultShader());
+			defaultShader = createDefaultShader();
 			currentShader = defaultShader;
 		}
 	}
 
+	/**
+	 * Creates the {@link LibgdxShader} used when no shader is set
+	 * @return The default {@link SpriteBatch} shader
+	 */
+	protected LibgdxShader createDefaultShader() {
+		return new LibgdxShader(SpriteBatch.createDefaultShader());
+	}
+
 	@Override
 	public void postRender() {
 		endRendering();
+		previousFrameDrawCalls = drawCalls;
 		resetTransformations();
 		clearShader();
 		clearBlendFunction();
@@ -172,12 +186,12 @@ public class LibgdxGraphics implements Graphics {
 			Gdx.gl.glDepthMask(true);
 			Gdx.gl.glColorMask(false, false, false, false);
 
-			shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+			beginShapeRenderer(ShapeRenderer.ShapeType.Filled);
 
 			shapeRenderer.setColor(0f, 1f, 0f, 0.5f);
 			shapeRenderer.rect(clip.getX(), clip.getY(), clip.getWidth(), clip.getHeight());
 
-			shapeRenderer.end();
+			endShapeRenderer();
 
 			Gdx.gl.glColorMask(true, true, true, true);
 			Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
@@ -189,26 +203,17 @@ public class LibgdxGraphics implements Graphics {
 		if (newState == rendering){
 			return;
 		}
-		switch (rendering){
-			case NOT_RENDERING:
-				applyTransformations();
-				Gdx.gl.glClearDepthf(1f);
-				Gdx.gl.glClear(GL20.GL_DEPTH_BUFFER_BIT);
-				setupDepthBuffer();
-				break;
-			case SHAPES:
-				shapeRenderer.end();
-				break;
-			case POLYGONS:
-				polygonSpriteBatch.end();
-				break;
-			case SPRITEBATCH:
-				spriteBatch.end();
-				break;
+		if (rendering == RenderState.NOT_RENDERING) {
+			applyTransformations();
+			Gdx.gl.glClearDepthf(1f);
+			Gdx.gl.glClear(GL20.GL_DEPTH_BUFFER_BIT);
+			setupDepthBuffer();
+		} else {
+			endBatch();
 		}
 		switch (newState){
 			case SHAPES:
-				shapeRenderer.begin();
+				beginShapeRenderer(null);
 				break;
 			case POLYGONS:
 				polygonSpriteBatch.begin();
@@ -224,26 +229,57 @@ public class LibgdxGraphics implements Graphics {
 	 * Ends rendering
 	 */
 	private void endRendering() {
+		if (rendering == RenderState.NOT_RENDERING) {
+			return;
+		}
+		endBatch();
+		undoTransformations();
+		if (clip != null) {
+			Gdx.gl.glClearDepthf(1f);
+			Gdx.gl.glClear(GL20.GL_DEPTH_BUFFER_BIT);
+			Gdx.gl.glDisable(GL20.GL_DEPTH_TEST);
+		}
+		rendering = RenderState.NOT_RENDERING;
+	}
+
+	/**
+	 * Ends the active batch and counts the draw calls it issued
+	 */
+	private void endBatch() {
 		switch (rendering){
-			case NOT_RENDERING:
-				return;
 			case SHAPES:
-				shapeRenderer.end();
+				endShapeRenderer();
 				break;
 			case POLYGONS:
 				polygonSpriteBatch.end();
+				drawCalls += polygonSpriteBatch.renderCalls;
 				break;
 			case SPRITEBATCH:
 				spriteBatch.end();
+				drawCalls += spriteBatch.renderCalls;
 				break;
 		}
-		undoTransformations();
-		if (clip != null) {
-			Gdx.gl.glClearDepthf(1f);
-			Gdx.gl.glClear(GL20.GL_DEPTH_BUFFER_BIT);
-			Gdx.gl.glDisable(GL20.GL_DEPTH_TEST);
+	}
+
+	private void beginShapeRenderer(ShapeRenderer.ShapeType shapeType) {
+		if (shapeType == null) {
+			shapeRenderer.begin();
+		} else {
+			shapeRenderer.begin(shapeType);
+		}
+		if (shapeRenderer instanceof LibgdxShapeRenderer) {
+			((LibgdxShapeRenderer) shapeRenderer).renderCalls = 0;
+		}
+	}
+
+	private void endShapeRenderer() {
+		shapeRenderer.end();
+		if (shapeRenderer instanceof LibgdxShapeRenderer) {
+			drawCalls += ((LibgdxShapeRenderer) shapeRenderer).renderCalls;
+		} else {
+			//Internal flushes of other ShapeRenderer implementations cannot be observed
+			drawCalls++;
 		}
-		rendering = RenderState.NOT_RENDERING;
 	}
 
 	/**
@@ -309,6 +345,11 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawLineSegment(float x1, float y1, float x2, float y2) {
+		if (primitiveBatchingEnabled) {
+			beginRendering(RenderState.SPRITEBATCH);
+			batchLine(x1, y1, x2, y2, lineHeight, color.color.toFloatBits());
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Filled);
 
 		shapeRenderer.rectLine(x1, y1, x2, y2, lineHeight);
@@ -319,6 +360,15 @@ public class LibgdxGraphics implements Graphics {
 		int roundWidth = MathUtils.round(width);
 		int roundHeight = MathUtils.round(height);
 
+		if (primitiveBatchingEnabled) {
+			final float colorBits = color.color.toFloatBits();
+			beginRendering(RenderState.SPRITEBATCH);
+			batchLine(x, y, x + roundWidth, y, lineHeight, colorBits);
+			batchLine(x, y, x , y + roundHeight, lineHeight, colorBits);
+			batchLine(x + roundWidth, y, x + roundWidth, y + roundHeight, lineHeight, colorBits);
+			batchLine(x, y + roundHeight, x + roundWidth, y + roundHeight, lineHeight, colorBits);
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Filled);
 		shapeRenderer.rectLine(x, y, x + roundWidth, y, lineHeight);
 		shapeRenderer.rectLine(x, y, x , y + roundHeight, lineHeight);
@@ -336,6 +386,13 @@ public class LibgdxGraphics implements Graphics {
 	@Override
 	public void fillRect(float x, float y, float width, float height) {
 		beginRendering(RenderState.SPRITEBATCH);
+		if (primitiveBatchingEnabled) {
+			//Matches the tinting applied when drawing the color texture below
+			final float colorBits = com.badlogic.gdx.graphics.Color.toFloatBits(color.rf() * tint.rf(),
+					color.gf() * tint.gf(), color.bf() * tint.bf(), color.af() * tint.af());
+			batchQuad(x, y, x + width, y, x + width, y + height, x, y + height, colorBits);
+			return;
+		}
 
 		spriteBatch.draw(colorTextureCache.getFilledRectangleTexture(color), x, y, 0, 0, width, height, 1f, 1f, 0, 0, 0,
 				1, 1, false, false);
@@ -343,6 +400,10 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawCircle(float centerX, float centerY, int radius) {
+		if (primitiveBatchingEnabled) {
+			batchCircle(centerX, centerY, radius, false);
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Line);
 		shapeRenderer.circle(centerX, centerY, radius);
 	}
@@ -354,6 +415,10 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void fillCircle(float centerX, float centerY, int radius) {
+		if (primitiveBatchingEnabled) {
+			batchCircle(centerX, centerY, radius, true);
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Filled);
 		shapeRenderer.circle(centerX, centerY, radius);
 	}
@@ -387,12 +452,33 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawPolygon(float[] vertices) {
+		if (primitiveBatchingEnabled) {
+			final float colorBits = color.color.toFloatBits();
+			beginRendering(RenderState.SPRITEBATCH);
+			for (int i = 0; i < vertices.length; i += 2) {
+				final int next = (i + 2) % vertices.length;
+				batchLine(vertices[i], vertices[i + 1], vertices[next], vertices[next + 1], lineHeight, colorBits);
+			}
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Line);
 		shapeRenderer.polygon(vertices);
 	}
 
 	@Override
 	public void fillPolygon(float[] vertices, short[] triangles) {
+		if (primitiveBatchingEnabled) {
+			final float colorBits = color.color.toFloatBits();
+			beginRendering(RenderState.SPRITEBATCH);
+			for (int i = 0; i + 2 < triangles.length; i += 3) {
+				final int a = triangles[i] * 2;
+				final int b = triangles[i + 1] * 2;
+				final int c = triangles[i + 2] * 2;
+				batchQuad(vertices[a], vertices[a + 1], vertices[b], vertices[b + 1],
+						vertices[c], vertices[c + 1], vertices[c], vertices[c + 1], colorBits);
+			}
+			return;
+		}
 		beginRendering(RenderState.POLYGONS);
 		if(vertices.length * 5 > polygonRenderData.length) {
 			polygonRenderData = new float[vertices.length * 5];
@@ -411,6 +497,71 @@ public class LibgdxGraphics implements Graphics {
 		polygonSpriteBatch.draw(colorTextureCache.getFilledRectangleTexture(color), polygonRenderData, 0, vertices.length * 5, triangles, 0, triangles.length);
 	}
 
+	/**
+	 * Draws a line of the given thickness as a quad via the sprite batch
+	 */
+	private void batchLine(float x1, float y1, float x2, float y2, float thickness, float colorBits) {
+		float perpendicularX = y1 - y2;
+		float perpendicularY = x2 - x1;
+		final float length = (float) Math.sqrt((perpendicularX * perpendicularX) + (perpendicularY * perpendicularY));
+		if (length == 0f) {
+			return;
+		}
+		final float scale = (thickness * 0.5f) / length;
+		perpendicularX *= scale;
+		perpendicularY *= scale;
+		batchQuad(x1 + perpendicularX, y1 + perpendicularY, x1 - perpendicularX, y1 - perpendicularY,
+				x2 - perpendicularX, y2 - perpendicularY, x2 + perpendicularX, y2 + perpendicularY, colorBits);
+	}
+
+	/**
+	 * Draws a circle outline or triangle fan via the sprite batch using the same segment count as {@link ShapeRenderer}
+	 */
+	private void batchCircle(float centerX, float centerY, int radius, boolean filled) {
+		final float colorBits = color.color.toFloatBits();
+		final int segments = Math.max(1, (int) (6 * (float) Math.cbrt(radius)));
+		final float angle = MathUtils.PI2 / segments;
+		final float cos = MathUtils.cos(angle);
+		final float sin = MathUtils.sin(angle);
+
+		beginRendering(RenderState.SPRITEBATCH);
+		float cx = radius, cy = 0f;
+		for (int i = 0; i < segments; i++) {
+			final float nextX = (cos * cx) - (sin * cy);
+			final float nextY = (sin * cx) + (cos * cy);
+			if (filled) {
+				batchQuad(centerX, centerY, centerX + cx, centerY + cy, centerX + nextX, centerY + nextY,
+						centerX + nextX, centerY + nextY, colorBits);
+			} else {
+				batchLine(centerX + cx, centerY + cy, centerX + nextX, centerY + nextY, lineHeight, colorBits);
+			}
+			cx = nextX;
+			cy = nextY;
+		}
+	}
+
+	/**
+	 * Draws a quad using the white texel of the {@link ShapeTextureCache}.
+	 * Triangles are drawn by repeating the last vertex.
+	 */
+	private void batchQuad(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4, float colorBits) {
+		final float [] vertices = quadVertices;
+		vertices[0] = x1;
+		vertices[1] = y1;
+		vertices[5] = x2;
+		vertices[6] = y2;
+		vertices[10] = x3;
+		vertices[11] = y3;
+		vertices[15] = x4;
+		vertices[16] = y4;
+		for (int i = 0; i < vertices.length; i += 5) {
+			vertices[i + 2] = colorBits;
+			vertices[i + 3] = 0.5f;
+			vertices[i + 4] = 0.5f;
+		}
+		spriteBatch.draw(colorTextureCache.getWhiteTexture(), vertices, 0, vertices.length);
+	}
+
 	@Override
 	public void drawString(String text, float x, float y) {
 		if (font == null) {
@@ -514,7 +665,34 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawSpriteCache(SpriteCache spriteCache, int cacheId) {
+		beginSpriteCacheRendering();
 		spriteCache.draw(this, cacheId);
+		endSpriteCacheRendering();
+	}
+
+	@Override
+	public void drawSpriteCache(SpriteCache spriteCache, int cacheId, int offset, int length) {
+		beginSpriteCacheRendering();
+		spriteCache.draw(this, cacheId, offset, length);
+		endSpriteCacheRendering();
+	}
+
+	/**
+	 * Flushes pending sprites so that cached sprites are drawn in order and with the current transformations applied
+	 */
+	private void beginSpriteCacheRendering() {
+		beginRendering(RenderState.SPRITEBATCH);
+		spriteBatch.flush();
+		drawCalls++;
+		if (spriteBatch.isBlendingEnabled()) {
+			Gdx.gl.glEnable(GL20.GL_BLEND);
+			Gdx.gl.glBlendFunc(spriteBatch.getBlendSrcFunc(), spriteBatch.getBlendDstFunc());
+		}
+	}
+
+	private void endSpriteCacheRendering() {
+		//SpriteCache.end() enables depth writes which are disabled while the SpriteBatch is drawing
+		Gdx.gl.glDepthMask(false);
 	}
 
 	@Override
@@ -842,6 +1020,21 @@ public class LibgdxGraphics implements Graphics {
 		return Gdx.graphics.getFrameId();
 	}
 
+	@Override
+	public boolean isPrimitiveBatchingEnabled() {
+		return primitiveBatchingEnabled;
+	}
+
+	@Override
+	public void setPrimitiveBatchingEnabled(boolean enabled) {
+		this.primitiveBatchingEnabled = enabled;
+	}
+
+	@Override
+	public int getDrawCalls() {
+		return previousFrameDrawCalls;
+	}
+
 	@Override
 	public TextureFilter getMinFilter() {
 		return spriteBatch.getMinFilter();
@@ -921,4 +1114,18 @@ public class LibgdxGraphics implements Graphics {
 	public GameFont getFont() {
 		return font;
 	}
+
+	/**
+	 * Releases the batches, shaders and textures owned by this graphics context
+	 */
+	public void dispose() {
+		colorTextureCache.dispose();
+		if (defaultShader != null) {
+			defaultShader.dispose();
+			defaultShader = null;
+		}
+		spriteBatch.dispose();
+		polygonSpriteBatch.dispose();
+		shapeRenderer.dispose();
+	}
 }
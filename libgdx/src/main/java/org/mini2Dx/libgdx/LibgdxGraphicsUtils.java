@@ -86,6 +86,12 @@ public class LibgdxGraphicsUtils extends GraphicsUtils {
 		return new LibgdxPixmap(new com.badlogic.gdx.graphics.Pixmap(gdxFileHandle.fileHandle));
 	}
 
+	@Override
+	public boolean isAsyncPixmapLoadingSupported() {
+		//Pixmaps are decoded in native memory without a GL context
+		return true;
+	}
+
 	@Override
 	public Texture newTexture(FileHandle file) {
 		final LibgdxFileHandle gdxFileHandle = (LibgdxFileHandle) file;
@@ -260,4 +266,9 @@ public class LibgdxGraphicsUtils extends GraphicsUtils {
 	public SpriteCache newSpriteCache() {
 		return new LibgdxSpriteCache();
 	}
+
+	@Override
+	public SpriteCache newSpriteCache(int size) {
+		return new LibgdxSpriteCache(size);
+	}
 }
@@ -23,9 +23,11 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import org.mini2Dx.core.*;
 import org.mini2Dx.core.game.GameContainer;
 import org.mini2Dx.core.reflect.jvm.JvmReflection;
+import org.mini2Dx.core.serialization.BinarySerializer;
 import org.mini2Dx.core.serialization.JsonSerializer;
 import org.mini2Dx.core.serialization.XmlSerializer;
 import org.mini2Dx.libgdx.*;
+import org.mini2Dx.libgdx.graphics.LibgdxShapeRenderer;
 import org.mini2Dx.natives.OsInformation;
 
 /**
@@ -34,6 +36,7 @@ import org.mini2Dx.natives.OsInformation;
 public abstract class GameWrapper implements ApplicationListener {
 	private final GameContainer gameContainer;
 	private final String gameIdentifier;
+	private Graphics graphicsContext;
 
 	/**
 	 * Constructor
@@ -49,7 +52,7 @@ public abstract class GameWrapper implements ApplicationListener {
 	protected Graphics createGraphicsContext() {
 		LibgdxSpriteBatchWrapper spriteBatch = new LibgdxSpriteBatchWrapper();
 		PolygonSpriteBatch polygonSpriteBatch = new PolygonSpriteBatch();
-		ShapeRenderer shapeRenderer = new ShapeRenderer();
+		ShapeRenderer shapeRenderer = new LibgdxShapeRenderer();
 
 		return new LibgdxGraphics(this, spriteBatch, polygonSpriteBatch, shapeRenderer);
 	}
@@ -62,6 +65,7 @@ public abstract class GameWrapper implements ApplicationListener {
 		Mdx.locks = new JvmLocks();
 		Mdx.xml = new XmlSerializer();
 		Mdx.json = new JsonSerializer();
+		Mdx.binary = new BinarySerializer();
 		initialise(gameIdentifier);
 
 		Mdx.audio = new LibgdxAudio();
@@ -69,7 +73,8 @@ public abstract class GameWrapper implements ApplicationListener {
 		Mdx.files = new LibgdxFiles();
 		Mdx.fonts = new LibgdxFonts();
 		Mdx.graphics = createGraphicsUtils();
-		Mdx.graphicsContext = createGraphicsContext();
+		graphicsContext = createGraphicsContext();
+		Mdx.graphicsContext = graphicsContext;
 		Mdx.input = new LibgdxInput();
 		Mdx.log = new LibgdxLogger();
 		Mdx.reflect = new JvmReflection();
@@ -159,6 +164,9 @@ public abstract class GameWrapper implements ApplicationListener {
 			return;
 		}
 		gameContainer.dispose();
+		if(graphicsContext instanceof LibgdxGraphics) {
+			((LibgdxGraphics) graphicsContext).dispose();
+		}
 		Mdx.executor.dispose();
 	}
 
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.graphics;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+/**
+ * Extends {@link ShapeRenderer} to count render calls, including the flushes
+ * {@link ShapeRenderer} issues internally when its vertex buffer is full
+ */
+public class LibgdxShapeRenderer extends ShapeRenderer {
+	/**
+	 * Number of render calls since the counter was last reset
+	 */
+	public int renderCalls = 0;
+
+	@Override
+	public void end() {
+		if (getRenderer().getNumVertices() > 0) {
+			renderCalls++;
+		}
+		super.end();
+	}
+}
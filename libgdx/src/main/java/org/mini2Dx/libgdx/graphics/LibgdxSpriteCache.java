@@ -1,7 +1,6 @@
 package org.mini2Dx.libgdx.graphics;
 
 import org.mini2Dx.core.Graphics;
-import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.graphics.*;
 import org.mini2Dx.libgdx.LibgdxGraphics;
 
@@ -14,7 +13,11 @@ public class LibgdxSpriteCache implements SpriteCache {
     private boolean isDrawing;
 
     public LibgdxSpriteCache(){
-        gdxCache = new com.badlogic.gdx.graphics.g2d.SpriteCache();
+        this(1000);
+    }
+
+    public LibgdxSpriteCache(int size){
+        gdxCache = new com.badlogic.gdx.graphics.g2d.SpriteCache(size, false);
         gdxCache.setColor(((LibgdxColor)currentCustomColor).color);
     }
 
@@ -86,8 +89,8 @@ public class LibgdxSpriteCache implements SpriteCache {
 
     @Override
     public void draw(Graphics g, int cacheID) {
-        gdxCache.getProjectionMatrix().set(((LibgdxGraphics)Mdx.graphicsContext).spriteBatch.getProjectionMatrix());
-        gdxCache.getTransformMatrix().set(((LibgdxGraphics)Mdx.graphicsContext).spriteBatch.getTransformMatrix());
+        gdxCache.getProjectionMatrix().set(((LibgdxGraphics) g).spriteBatch.getProjectionMatrix());
+        gdxCache.getTransformMatrix().set(((LibgdxGraphics) g).spriteBatch.getTransformMatrix());
         gdxCache.begin();
         gdxCache.draw(cacheID);
         gdxCache.end();
@@ -95,8 +98,8 @@ public class LibgdxSpriteCache implements SpriteCache {
 
     @Override
     public void draw(Graphics g, int cacheID, int offset, int length) {
-        gdxCache.getProjectionMatrix().set(((LibgdxGraphics)Mdx.graphicsContext).spriteBatch.getProjectionMatrix());
-        gdxCache.getTransformMatrix().set(((LibgdxGraphics)Mdx.graphicsContext).spriteBatch.getTransformMatrix());
+        gdxCache.getProjectionMatrix().set(((LibgdxGraphics) g).spriteBatch.getProjectionMatrix());
+        gdxCache.getTransformMatrix().set(((LibgdxGraphics) g).spriteBatch.getTransformMatrix());
         gdxCache.begin();
         gdxCache.draw(cacheID, offset, length);
         gdxCache.end();
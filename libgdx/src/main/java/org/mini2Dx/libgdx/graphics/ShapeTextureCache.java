@@ -24,6 +24,7 @@ import org.mini2Dx.gdx.utils.ObjectMap;
  */
 public class ShapeTextureCache {
 	private ObjectMap<Integer, Texture> filledRectangleTextures;
+	private Texture whiteTexture;
 
 	/**
 	 * Constructor
@@ -52,4 +53,36 @@ public class ShapeTextureCache {
 		}
 		return filledRectangleTextures.get(bits);
 	}
+
+	/**
+	 * Returns a 1x1 white texture. Primitives can be drawn in any color by
+	 * setting vertex colors which allows them to share a single batch.
+	 *
+	 * @return A new {@link Texture} if this is the first time it has been
+	 *         requested, otherwise the cached instance
+	 */
+	public Texture getWhiteTexture() {
+		if (whiteTexture == null) {
+			Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+			pixmap.setColor(1f, 1f, 1f, 1f);
+			pixmap.fillRectangle(0, 0, 1, 1);
+			whiteTexture = new Texture(pixmap);
+			pixmap.dispose();
+		}
+		return whiteTexture;
+	}
+
+	/**
+	 * Disposes all cached textures
+	 */
+	public void dispose() {
+		for (Texture texture : filledRectangleTextures.values()) {
+			texture.dispose();
+		}
+		filledRectangleTextures.clear();
+		if (whiteTexture != null) {
+			whiteTexture.dispose();
+			whiteTexture = null;
+		}
+	}
 }
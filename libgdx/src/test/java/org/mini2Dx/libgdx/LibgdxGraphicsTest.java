@@ -17,13 +17,16 @@ package org.mini2Dx.libgdx;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.LibgdxSpriteBatchWrapper;
 import com.badlogic.gdx.graphics.g2d.PolygonSpriteBatch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import junit.framework.Assert;
 import org.jmock.Expectations;
 import org.jmock.Mockery;
+import org.jmock.api.Action;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
 import org.jmock.lib.legacy.ClassImposteriser;
 import org.junit.Before;
 import org.junit.Test;
@@ -31,7 +34,10 @@ import org.mini2Dx.core.Fonts;
 import org.mini2Dx.core.Graphics;
 import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.font.GameFont;
+import org.mini2Dx.core.graphics.SpriteCache;
 import org.mini2Dx.libgdx.game.GameWrapper;
+import org.mini2Dx.libgdx.graphics.LibgdxShader;
+import org.mini2Dx.libgdx.graphics.LibgdxShapeRenderer;
 
 /**
  * Unit tests for {@link LibgdxGraphics}
@@ -42,9 +48,11 @@ public class LibgdxGraphicsTest {
 	private GameWrapper gameWrapper;
 	private LibgdxSpriteBatchWrapper spriteBatch;
 	private PolygonSpriteBatch polygonSpriteBatch;
-	private ShapeRenderer shapeRenderer;
+	private LibgdxShapeRenderer shapeRenderer;
 	private GameFont gameFont;
 	private com.badlogic.gdx.Graphics gdxGraphics;
+	private GL20 gl;
+	private LibgdxShader defaultShader;
 
 	private Fonts fonts;
 	private Graphics graphics;
@@ -58,11 +66,14 @@ public class LibgdxGraphicsTest {
 		gameWrapper = mockery.mock(GameWrapper.class);
 		spriteBatch = mockery.mock(LibgdxSpriteBatchWrapper.class);
 		polygonSpriteBatch = mockery.mock(PolygonSpriteBatch.class);
-		shapeRenderer = mockery.mock(ShapeRenderer.class);
+		shapeRenderer = mockery.mock(LibgdxShapeRenderer.class);
 		gdxGraphics = mockery.mock(com.badlogic.gdx.Graphics.class);
+		gl = mockery.mock(GL20.class);
+		defaultShader = mockery.mock(LibgdxShader.class);
 
 		Mdx.fonts = fonts;
 		Gdx.graphics = gdxGraphics;
+		Gdx.gl = gl;
 		
 		mockery.checking(new Expectations() {
 			{
@@ -78,7 +89,12 @@ public class LibgdxGraphicsTest {
 			}
 		});
 		
-		graphics = new LibgdxGraphics(gameWrapper, spriteBatch, polygonSpriteBatch, shapeRenderer);
+		graphics = new LibgdxGraphics(gameWrapper, spriteBatch, polygonSpriteBatch, shapeRenderer) {
+			@Override
+			protected LibgdxShader createDefaultShader() {
+				return defaultShader;
+			}
+		};
 	}
 
 	@Test
@@ -111,4 +127,51 @@ public class LibgdxGraphicsTest {
 		Assert.assertNotNull(graphics.getBackgroundColor());
 	}
 
+	@Test
+	public void testDrawCallsResetEachFrame() {
+		final SpriteCache spriteCache = mockery.mock(SpriteCache.class);
+		mockery.checking(new Expectations() {
+			{
+				allowing(shapeRenderer).end();
+				//The ShapeRenderer flushed twice internally before the final flush
+				will(setRenderCalls(shapeRenderer, 3));
+				allowing(spriteBatch).end();
+				will(setRenderCalls(spriteBatch, 2));
+				ignoring(shapeRenderer);
+				ignoring(spriteBatch);
+				ignoring(gl);
+				ignoring(spriteCache);
+				ignoring(defaultShader);
+			}
+		});
+		Assert.assertEquals(0, graphics.getDrawCalls());
+
+		graphics.preRender(800, 600);
+		graphics.drawLineSegment(0f, 0f, 10f, 10f);
+		graphics.drawSpriteCache(spriteCache, 0);
+		Assert.assertEquals(0, graphics.getDrawCalls());
+		graphics.postRender();
+		//3 shape flushes, 1 sprite cache draw and 2 sprite batch flushes
+		Assert.assertEquals(6, graphics.getDrawCalls());
+
+		//The previous frame's count is reported until the next frame completes
+		graphics.preRender(800, 600);
+		Assert.assertEquals(6, graphics.getDrawCalls());
+		graphics.postRender();
+		Assert.assertEquals(0, graphics.getDrawCalls());
+	}
+
+	private static Action setRenderCalls(final Object batch, final int renderCalls) {
+		return new CustomAction("sets renderCalls to " + renderCalls) {
+			@Override
+			public Object invoke(Invocation invocation) {
+				if (batch instanceof LibgdxShapeRenderer) {
+					((LibgdxShapeRenderer) batch).renderCalls = renderCalls;
+				} else {
+					((SpriteBatch) batch).renderCalls = renderCalls;
+				}
+				return null;
+			}
+		};
+	}
 }
@@ -35,6 +35,7 @@ namespace monogame
 
         private const float _updateMaximumDelta = targetTimeStep;
         private float _timeAccumulator;
+        private readonly TimestepScheduler _timestepScheduler;
         private MonoGameConfig config;
 
         public Mini2DxGame(string gameIdentifier, GameContainer game, MonoGameConfig config)
@@ -47,6 +48,15 @@ namespace monogame
             JsonSerializer jsonSerializer = new JsonSerializer();
             jsonSerializer._init_();
             Mdx.json_ = jsonSerializer;
+            BinarySerializer binarySerializer = new BinarySerializer();
+            binarySerializer._init_();
+            Mdx.binary_ = binarySerializer;
+            _timestepScheduler = new TimestepScheduler();
+            _timestepScheduler._init_((long) (targetTimeStep * 1000000000L), (long) (_updateMaximumDelta * 1000000000L));
+            if (Mdx.timestepScheduler_ == null)
+            {
+                Mdx.timestepScheduler_ = _timestepScheduler;
+            }
 
             if(config.AllowUserResizing.HasValue)
             {
@@ -147,6 +157,15 @@ namespace monogame
         /// <param name="gameTime">Provides a snapshot of timing values.</param>
         protected override void Update(GameTime gameTime)
         {
+            Mdx.platformUtils_.markFrame();
+
+            if (Mdx.timestepMode_ == TimestepMode.ADAPTIVE_)
+            {
+                updateAdaptive(gameTime);
+                base.Update(gameTime);
+                return;
+            }
+
             float delta = (float)gameTime.ElapsedGameTime.TotalSeconds;
 
             if (delta > _updateMaximumDelta)
@@ -156,27 +175,56 @@ namespace monogame
 
             _timeAccumulator += delta;
 
+            Mdx.platformUtils_.markUpdateBegin();
             while (_timeAccumulator >= targetTimeStep)
             {
-                Mdx.platformUtils_.markUpdateBegin();
+                Mdx.profiler_.begin(Profiler.PHYSICS_);
                 ((MonoGameInput)Mdx.input_).update();
                 ((MonoGameAudio)Mdx.audio_).update();
                 game.update(targetTimeStep);
                 _timeAccumulator -= targetTimeStep;
-                Mdx.platformUtils_.markUpdateEnd();
+                Mdx.profiler_.end();
             }
+            Mdx.platformUtils_.markUpdateEnd();
+
+            Mdx.profiler_.begin(Profiler.INTERPOLATE_);
             game.interpolate(_timeAccumulator / targetTimeStep);
+            Mdx.profiler_.end();
 
             base.Update(gameTime);
         }
 
+        private void updateAdaptive(GameTime gameTime)
+        {
+            _timestepScheduler.beginFrame(gameTime.ElapsedGameTime.Ticks * 100L);
+
+            Mdx.platformUtils_.markUpdateBegin();
+            while (_timestepScheduler.nextStep())
+            {
+                Mdx.profiler_.begin(Profiler.PHYSICS_);
+                ((MonoGameInput)Mdx.input_).update();
+                ((MonoGameAudio)Mdx.audio_).update();
+                game.update(_timestepScheduler.getStepSeconds());
+                Mdx.profiler_.end();
+            }
+            Mdx.platformUtils_.markUpdateEnd();
+
+            Mdx.profiler_.begin(Profiler.INTERPOLATE_);
+            game.interpolate(_timestepScheduler.getAlpha());
+            Mdx.profiler_.end();
+
+            if (!_timestepScheduler.shouldRender())
+            {
+                SuppressDraw();
+            }
+        }
+
         /// <summary>
         /// This is called when the game should draw itself.
         /// </summary>
         /// <param name="gameTime">Provides a snapshot of timing values.</param>
         protected override void Draw(GameTime gameTime)
         {
-            Mdx.platformUtils_.markFrame();
             Mdx.graphicsContext_.preRender(Mdx.graphicsContext_.getWindowWidth(), Mdx.graphicsContext_.getWindowHeight());
             Mdx.platformUtils_.markRenderBegin();
             game.render(Mdx.graphicsContext_);
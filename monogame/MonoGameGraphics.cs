@@ -57,6 +57,8 @@ namespace monogame
         private bool _isRendering;
         private GameFont _font;
         private long _frameId;
+        private int _drawCalls, _previousFrameDrawCalls;
+        private bool _primitiveBatchingEnabled;
         internal RenderTarget2D _currentRenderTarget;
         private readonly MonoGameShapeRenderer _shapeRenderer;
         private BlendState _currentBlending = DefaultBlending;
@@ -163,6 +165,7 @@ namespace monogame
             {
                 _isRendering = false;
                 _spriteBatch.End();
+                _drawCalls++;
             }
         }
 
@@ -183,12 +186,14 @@ namespace monogame
             _gameWidth = gameWidth;
             _gameHeight = gameHeight;
             _frameId++;
+            _drawCalls = 0;
             _graphicsDevice.Clear(_backgroundColor);
         }
 
         public void postRender()
         {
             endRendering();
+            _previousFrameDrawCalls = _drawCalls;
             clearScaling();
             clearShader();
             setTranslation(0, 0);
@@ -467,6 +472,11 @@ namespace monogame
             spriteCache.draw(this, cacheId);
         }
 
+        public void drawSpriteCache(SpriteCache spriteCache, int cacheId, int offset, int length)
+        {
+            spriteCache.draw(this, cacheId, offset, length);
+        }
+
         public void drawParticleEffect(ParticleEffect effect)
         {
             throw new System.NotImplementedException();
@@ -852,5 +862,21 @@ namespace monogame
         {
             return _frameId;
         }
+
+        public bool isPrimitiveBatchingEnabled()
+        {
+            return _primitiveBatchingEnabled;
+        }
+
+        public void setPrimitiveBatchingEnabled(bool enabled)
+        {
+            //Shapes are always drawn via the SpriteBatch on MonoGame so there is nothing to switch
+            _primitiveBatchingEnabled = enabled;
+        }
+
+        public int getDrawCalls()
+        {
+            return _previousFrameDrawCalls;
+        }
     }
 }
\ No newline at end of file
@@ -280,5 +280,11 @@ namespace monogame
         {
             return new MonoGameSpriteCache(_graphicsDevice);
         }
+
+        public override SpriteCache newSpriteCache(int size)
+        {
+            //MonoGameSpriteCache grows as images are added so no capacity is reserved
+            return new MonoGameSpriteCache(_graphicsDevice);
+        }
     }
 }
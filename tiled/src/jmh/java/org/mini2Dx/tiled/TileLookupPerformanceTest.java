@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.libgdx.LibgdxFiles;
+import org.mini2Dx.tiled.tileset.ImageTilesetSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Compares resolving every tile of a large {@link TileLayer} via {@link TiledMapData#getTileLookup()}
+ * against a linear search of the map's {@link Tileset}s
+ */
+public class TileLookupPerformanceTest {
+	private static final int MAP_SIZE = 512;
+	private static final int TILE_SIZE = 16;
+	private static final int TILESET_SIZE = 256;
+
+	@State(Scope.Thread)
+	public static class TestState {
+		@Param({"lookup", "linear"})
+		public String implementation;
+
+		@Param({"1", "16", "64"})
+		public int totalTilesets;
+
+		public TiledMapData tiledMapData;
+		public TileLayer tileLayer;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			Gdx.files = new LwjglFiles();
+			Mdx.files = new LibgdxFiles();
+
+			tiledMapData = new TiledMapData(new GeneratedMapParser(totalTilesets), Mdx.files.internal("generated.tmx"));
+			tileLayer = tiledMapData.getTileLayer(0);
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	public void testResolveLayer(TestState state, Blackhole blackhole) {
+		final TileLayer tileLayer = state.tileLayer;
+		final boolean lookup = state.implementation.equals("lookup");
+		final Tile[] tileLookup = state.tiledMapData.getTileLookup();
+		final Array<Tileset> tilesets = state.tiledMapData.getTilesets();
+
+		for(int y = 0; y < tileLayer.getHeight(); y++) {
+			for(int x = 0; x < tileLayer.getWidth(); x++) {
+				final int tileId = tileLayer.getTileId(x, y);
+				if(lookup) {
+					blackhole.consume(tileLookup[tileId]);
+				} else {
+					blackhole.consume(findTile(tilesets, tileId));
+				}
+			}
+		}
+	}
+
+	private static Tile findTile(Array<Tileset> tilesets, int tileId) {
+		for(int i = 0; i < tilesets.size; i++) {
+			final Tileset tileset = tilesets.get(i);
+			if(tileset.contains(tileId)) {
+				return tileset.getTile(tileId);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Generates a {@link TileLayer} referencing tiles from every {@link Tileset} instead of parsing a file
+	 */
+	private static class GeneratedMapParser extends TiledParser {
+		private final int totalTilesets;
+
+		public GeneratedMapParser(int totalTilesets) {
+			super();
+			this.totalTilesets = totalTilesets;
+		}
+
+		@Override
+		public void parseTmx(FileHandle tmxFileHandle) {
+			notifyBeginParsing("orthogonal", null, null, null, MAP_SIZE, MAP_SIZE, TILE_SIZE, TILE_SIZE, 0);
+
+			final int tilesPerTileset = (TILESET_SIZE / TILE_SIZE) * (TILESET_SIZE / TILE_SIZE);
+			for(int i = 0; i < totalTilesets; i++) {
+				final ImageTilesetSource tilesetSource = new ImageTilesetSource(TILESET_SIZE, TILESET_SIZE,
+						TILE_SIZE, TILE_SIZE, 0, 0);
+				notifyTilesetParsed(new Tileset(1 + (i * tilesPerTileset), tilesetSource));
+			}
+
+			final Random random = new Random(1234L);
+			final int maxGid = totalTilesets * tilesPerTileset;
+			final TileLayer tileLayer = new TileLayer(MAP_SIZE, MAP_SIZE);
+			for(int x = 0; x < MAP_SIZE; x++) {
+				for(int y = 0; y < MAP_SIZE; y++) {
+					tileLayer.setTileId(x, y, 1 + random.nextInt(maxGid));
+				}
+			}
+			notifyTileLayerParsed(tileLayer);
+		}
+	}
+}
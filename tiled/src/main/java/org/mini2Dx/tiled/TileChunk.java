@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A fixed-size region of a {@link TileLayer}. Tile ids are stored with their flip flags in the upper bits.
+ *
+ * Chunks created from encoded TMX chunk data are decoded on first access (or in the background via
+ * {@link TileLayer#streamChunks(int, int, int)}) and can be evicted again as long as they have not been modified.
+ */
+class TileChunk implements Runnable {
+	private final int width, height;
+	private final String encodedData, encoding, compression;
+	private final AtomicBoolean loadQueued = new AtomicBoolean(false);
+
+	private volatile int[] tiles;
+	private int filledTiles = -1;
+	private boolean modified;
+
+	TileChunk(int width, int height) {
+		this(width, height, null, null, null);
+		tiles = new int[width * height];
+		filledTiles = 0;
+		modified = true;
+	}
+
+	TileChunk(int width, int height, int[] tiles) {
+		this(width, height, null, null, null);
+		int filled = 0;
+		for (int i = 0; i < tiles.length; i++) {
+			if (isFilled(tiles[i])) {
+				filled++;
+			}
+		}
+		this.tiles = tiles;
+		filledTiles = filled;
+		modified = true;
+	}
+
+	TileChunk(int width, int height, String encodedData, String encoding, String compression) {
+		this.width = width;
+		this.height = height;
+		this.encodedData = encodedData;
+		this.encoding = encoding;
+		this.compression = compression;
+	}
+
+	@Override
+	public void run() {
+		try {
+			getTiles();
+		} finally {
+			loadQueued.set(false);
+		}
+	}
+
+	int get(int x, int y) {
+		return getTiles()[(y * width) + x];
+	}
+
+	void set(int x, int y, int value) {
+		final int[] tiles = getTiles();
+		final int index = (y * width) + x;
+		if (tiles[index] == value) {
+			return;
+		}
+		if (!isFilled(tiles[index]) && isFilled(value)) {
+			filledTiles++;
+		} else if (isFilled(tiles[index]) && !isFilled(value)) {
+			filledTiles--;
+		}
+		tiles[index] = value;
+		modified = true;
+	}
+
+	int[] getTiles() {
+		final int[] result = tiles;
+		if (result != null) {
+			return result;
+		}
+		return load();
+	}
+
+	private synchronized int[] load() {
+		if (tiles != null) {
+			return tiles;
+		}
+		final int[] result = decode();
+		int filled = 0;
+		for (int i = 0; i < result.length; i++) {
+			if (isFilled(result[i])) {
+				filled++;
+			}
+		}
+		filledTiles = filled;
+		tiles = result;
+		return result;
+	}
+
+	private int[] decode() {
+		final int[] result = new int[width * height];
+		final TileDataReader reader = new TileDataReader(encodedData, encoding, compression);
+		try {
+			for (int i = 0; i < result.length; i++) {
+				result[i] = reader.next();
+			}
+		} finally {
+			reader.dispose();
+		}
+		return result;
+	}
+
+	/**
+	 * Marks this chunk as queued for background loading
+	 * @return False if the chunk is already loaded or queued
+	 */
+	boolean queueLoad() {
+		if (tiles != null) {
+			return false;
+		}
+		return loadQueued.compareAndSet(false, true);
+	}
+
+	/**
+	 * Releases the decoded tiles if they can be decoded again
+	 * @return True if the tiles were released
+	 */
+	synchronized boolean evict() {
+		if (modified || encodedData == null || tiles == null) {
+			return false;
+		}
+		tiles = null;
+		return true;
+	}
+
+	boolean isLoaded() {
+		return tiles != null;
+	}
+
+	/**
+	 * Returns the total non-empty tiles, decoding the chunk without retaining it if it has never been loaded
+	 * @return The total filled tiles
+	 */
+	synchronized int getFilledTiles() {
+		if (filledTiles < 0) {
+			final int[] decoded = decode();
+			int filled = 0;
+			for (int i = 0; i < decoded.length; i++) {
+				if (isFilled(decoded[i])) {
+					filled++;
+				}
+			}
+			filledTiles = filled;
+		}
+		return filledTiles;
+	}
+
+	private static boolean isFilled(int value) {
+		return (value & ~TiledParser.MASK_CLEAR) != 0;
+	}
+}
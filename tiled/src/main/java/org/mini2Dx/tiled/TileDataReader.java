@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.exception.MdxException;
+import org.mini2Dx.core.util.ZlibStream;
+import org.mini2Dx.gdx.Base64Coder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sequentially reads global tile ids (including flip flags) from encoded TMX layer or chunk data
+ */
+class TileDataReader {
+	private final String[] csv;
+	private final byte[] bytes;
+	private final GZIPInputStream gzipInputStream;
+	private final ZlibStream zlibStream;
+	private final byte[] temp = new byte[4];
+
+	private int read;
+
+	TileDataReader(String text, String encoding, String compression) {
+		if (encoding == null) { // no 'encoding' attribute means that the
+								// encoding is XML
+			throw new MdxException("Unsupported encoding (XML) for TMX Layer Data");
+		}
+		if (encoding.equals("csv")) {
+			csv = text.split(",");
+			bytes = null;
+			gzipInputStream = null;
+			zlibStream = null;
+		} else if (encoding.equals("base64")) {
+			csv = null;
+			bytes = Base64Coder.decode(text.trim());
+			if (compression == null || compression.isEmpty()) {
+				gzipInputStream = null;
+				zlibStream = null;
+			} else if (compression.equals("gzip")) {
+				try {
+					gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(bytes), bytes.length);
+				} catch (IOException e) {
+					throw new MdxException("Error Reading TMX Layer Data - IOException: " + e.getMessage());
+				}
+				zlibStream = null;
+			} else if (compression.equals("zlib")) {
+				gzipInputStream = null;
+				zlibStream = Mdx.platformUtils.decompress(bytes);
+			} else {
+				throw new MdxException("Unrecognised compression (" + compression + ") for TMX Layer Data");
+			}
+		} else {
+			// any other value of 'encoding' is one we're not aware of,
+			// probably a feature of a future version of Tiled
+			throw new MdxException("Unrecognised encoding (" + encoding + ") for TMX Layer Data");
+		}
+	}
+
+	/**
+	 * Reads the next global tile id
+	 * @return The id including the flip flags in the upper bits
+	 */
+	int next() {
+		if (csv != null) {
+			return (int) Long.parseLong(csv[read++].trim());
+		}
+		if (gzipInputStream != null) {
+			try {
+				int offset = 0;
+				while (offset < temp.length) {
+					final int result = gzipInputStream.read(temp, offset, temp.length - offset);
+					if (result < 0) {
+						throw new MdxException("Error Reading TMX Layer Data - Unexpected end of data");
+					}
+					offset += result;
+				}
+			} catch (IOException e) {
+				throw new MdxException("Error Reading TMX Layer Data.", e);
+			}
+			return toInt(temp, 0);
+		}
+		if (zlibStream != null) {
+			try {
+				zlibStream.read(temp);
+			} catch (Exception e) {
+				throw new MdxException("Error Reading TMX Layer Data.", e);
+			}
+			return toInt(temp, 0);
+		}
+		final int result = toInt(bytes, read);
+		read += 4;
+		return result;
+	}
+
+	/**
+	 * Releases any decompression resources
+	 */
+	void dispose() {
+		if (gzipInputStream != null) {
+			try {
+				gzipInputStream.close();
+			} catch (IOException e) {
+			}
+		}
+		if (zlibStream != null) {
+			zlibStream.dispose();
+		}
+	}
+
+	private static int toInt(byte[] bytes, int offset) {
+		return TiledParser.unsignedByteToInt(bytes[offset]) | TiledParser.unsignedByteToInt(bytes[offset + 1]) << 8
+				| TiledParser.unsignedByteToInt(bytes[offset + 2]) << 16
+				| TiledParser.unsignedByteToInt(bytes[offset + 3]) << 24;
+	}
+}
@@ -15,26 +15,46 @@
  ******************************************************************************/
 package org.mini2Dx.tiled;
 
+import org.mini2Dx.core.Mdx;
 import org.mini2Dx.gdx.math.MathUtils;
 
-import java.util.BitSet;
-
 /**
  * Represents a tile layer with in a {@link TiledMap}
+ *
+ * Tiles are stored in fixed-size chunks. Chunks without tiles are not allocated and chunks loaded from
+ * Tiled infinite maps are only decoded when accessed. Use {@link #streamChunks(int, int, int)} to decode chunks
+ * around a focus point in the background and release chunks that are far away.
  */
 public class TileLayer extends Layer {
-	private final int[][] tiles;
-	private final BitSet flipHorizontally;
-	private final BitSet flipVertically;
-	private final BitSet flipDiagonally;
+	/**
+	 * The default width and height of chunks in tiles
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 16;
+
+	private final int width, height;
+	private final int chunkWidth, chunkHeight;
+	private final int totalChunksX, totalChunksY;
+	private final TileChunk[] chunks;
+	private final int[] chunkRevisions;
+
+	private int focusChunkX = Integer.MIN_VALUE, focusChunkY = Integer.MIN_VALUE, focusChunkRadius = -1;
 
 	public TileLayer(int width, int height) {
+		this(width, height, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+	}
+
+	public TileLayer(int width, int height, int chunkWidth, int chunkHeight) {
 		super(LayerType.TILE);
 
-		tiles = new int[width][height];
-		flipHorizontally = new BitSet(width * height);
-		flipVertically = new BitSet(width * height);
-		flipDiagonally = new BitSet(width * height);
+		this.width = width;
+		this.height = height;
+		this.chunkWidth = chunkWidth;
+		this.chunkHeight = chunkHeight;
+
+		totalChunksX = (width + chunkWidth - 1) / chunkWidth;
+		totalChunksY = (height + chunkHeight - 1) / chunkHeight;
+		chunks = new TileChunk[totalChunksX * totalChunksY];
+		chunkRevisions = new int[chunks.length];
 	}
 
 	/**
@@ -47,7 +67,7 @@ public class TileLayer extends Layer {
 	 * @return 0 if there is no tile
 	 */
 	public int getTileId(int x, int y) {
-		return tiles[x][y];
+		return getRawTileId(x, y) & ~TiledParser.MASK_CLEAR;
 	}
 
 	/**
@@ -61,7 +81,7 @@ public class TileLayer extends Layer {
 	 *            0 if there is no tile
 	 */
 	public void setTileId(int x, int y, int id) {
-		tiles[x][y] = id;
+		setRawTileId(x, y, (getRawTileId(x, y) & TiledParser.MASK_CLEAR) | (id & ~TiledParser.MASK_CLEAR));
 	}
 	
 	/**
@@ -78,10 +98,17 @@ public class TileLayer extends Layer {
 	 * @param flipD True if the tile is flipped (anti) diagonally - rotation
 	 */
 	public void setTileId(int x, int y, int id, boolean flipH, boolean flipV, boolean flipD) {
-		tiles[x][y] = id;
-		setFlippedHorizontally(x, y, flipH);
-		setFlippedVertically(x, y, flipV);
-		setFlippedDiagonally(x, y, flipD);
+		int value = id & ~TiledParser.MASK_CLEAR;
+		if (flipH) {
+			value |= TiledParser.FLAG_FLIP_HORIZONTALLY;
+		}
+		if (flipV) {
+			value |= TiledParser.FLAG_FLIP_VERTICALLY;
+		}
+		if (flipD) {
+			value |= TiledParser.FLAG_FLIP_DIAGONALLY;
+		}
+		setRawTileId(x, y, value);
 	}
 	
 	/**
@@ -91,7 +118,7 @@ public class TileLayer extends Layer {
 	 * @return True if flipped horizontally
 	 */
 	public boolean isFlippedHorizontally(int x, int y) {
-		return flipHorizontally.get(getBitIndex(x, y));
+		return (getRawTileId(x, y) & TiledParser.FLAG_FLIP_HORIZONTALLY) != 0;
 	}
 	
 	/**
@@ -101,7 +128,7 @@ public class TileLayer extends Layer {
 	 * @param flip True if flipped horizontally
 	 */
 	public void setFlippedHorizontally(int x, int y, boolean flip) {
-		flipHorizontally.set(getBitIndex(x, y), flip);
+		setFlag(x, y, TiledParser.FLAG_FLIP_HORIZONTALLY, flip);
 	}
 	
 	/**
@@ -111,7 +138,7 @@ public class TileLayer extends Layer {
 	 * @return True if flipped vertically
 	 */
 	public boolean isFlippedVertically(int x, int y) {
-		return flipVertically.get(getBitIndex(x, y));
+		return (getRawTileId(x, y) & TiledParser.FLAG_FLIP_VERTICALLY) != 0;
 	}
 	
 	/**
@@ -121,7 +148,7 @@ public class TileLayer extends Layer {
 	 * @param flip True if flipped vertically
 	 */
 	public void setFlippedVertically(int x, int y, boolean flip) {
-		flipVertically.set(getBitIndex(x, y), flip);
+		setFlag(x, y, TiledParser.FLAG_FLIP_VERTICALLY, flip);
 	}
 	
 	/**
@@ -131,7 +158,7 @@ public class TileLayer extends Layer {
 	 * @return True if flipped diagonally
 	 */
 	public boolean isFlippedDiagonally(int x, int y) {
-		return flipDiagonally.get(getBitIndex(x, y));
+		return (getRawTileId(x, y) & TiledParser.FLAG_FLIP_DIAGONALLY) != 0;
 	}
 	
 	/**
@@ -141,7 +168,195 @@ public class TileLayer extends Layer {
 	 * @param flip True if flipped diagonally
 	 */
 	public void setFlippedDiagonally(int x, int y, boolean flip) {
-		flipDiagonally.set(getBitIndex(x, y), flip);
+		setFlag(x, y, TiledParser.FLAG_FLIP_DIAGONALLY, flip);
+	}
+
+	/**
+	 * Returns the tile id at a given coordinate including the Tiled flip flags in the upper 3 bits
+	 * @param x The x coordinate in tiles
+	 * @param y The y coordinate in tiles
+	 * @return 0 if there is no tile
+	 */
+	public int getRawTileId(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			throw new ArrayIndexOutOfBoundsException(x + "," + y + " is outside of layer bounds");
+		}
+		final TileChunk chunk = chunks[getChunkIndex(x / chunkWidth, y / chunkHeight)];
+		if (chunk == null) {
+			return 0;
+		}
+		return chunk.get(x % chunkWidth, y % chunkHeight);
+	}
+
+	void setRawTileId(int x, int y, int value) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			throw new ArrayIndexOutOfBoundsException(x + "," + y + " is outside of layer bounds");
+		}
+		final int chunkIndex = getChunkIndex(x / chunkWidth, y / chunkHeight);
+		TileChunk chunk = chunks[chunkIndex];
+		if (chunk == null) {
+			if (value == 0) {
+				return;
+			}
+			chunk = new TileChunk(chunkWidth, chunkHeight);
+			chunks[chunkIndex] = chunk;
+		}
+		chunk.set(x % chunkWidth, y % chunkHeight, value);
+		chunkRevisions[chunkIndex]++;
+	}
+
+	private void setFlag(int x, int y, int flag, boolean value) {
+		final int rawTileId = getRawTileId(x, y);
+		setRawTileId(x, y, value ? rawTileId | flag : rawTileId & ~flag);
+	}
+
+	/**
+	 * Sets the encoded Tiled data for a chunk so that it is decoded when first accessed
+	 * @param chunkX The chunk x coordinate
+	 * @param chunkY The chunk y coordinate
+	 * @param encodedData The encoded tile data
+	 * @param encoding The Tiled data encoding
+	 * @param compression The Tiled data compression or null
+	 */
+	void setEncodedChunk(int chunkX, int chunkY, String encodedData, String encoding, String compression) {
+		final int chunkIndex = getChunkIndex(chunkX, chunkY);
+		chunks[chunkIndex] = new TileChunk(chunkWidth, chunkHeight, encodedData, encoding, compression);
+		chunkRevisions[chunkIndex]++;
+	}
+
+	/**
+	 * Sets the decoded tiles for a chunk
+	 * @param chunkX The chunk x coordinate
+	 * @param chunkY The chunk y coordinate
+	 * @param tiles The raw tile ids (including flip flags) of size chunkWidth * chunkHeight
+	 */
+	void setChunkTiles(int chunkX, int chunkY, int[] tiles) {
+		final int chunkIndex = getChunkIndex(chunkX, chunkY);
+		chunks[chunkIndex] = new TileChunk(chunkWidth, chunkHeight, tiles);
+		chunkRevisions[chunkIndex]++;
+	}
+
+	/**
+	 * Returns the raw tile ids (including flip flags) of a chunk, decoding it if necessary
+	 * @param chunkX The chunk x coordinate
+	 * @param chunkY The chunk y coordinate
+	 * @return Null if no tiles have been set in the chunk
+	 */
+	int[] getChunkTiles(int chunkX, int chunkY) {
+		final TileChunk chunk = chunks[getChunkIndex(chunkX, chunkY)];
+		if (chunk == null) {
+			return null;
+		}
+		return chunk.getTiles();
+	}
+
+	/**
+	 * Decodes chunks within a radius of a focus point and releases decoded chunks further away.
+	 * Chunks are decoded via {@link Mdx#executor} when available. Chunks that have been modified are never released.
+	 * This only processes chunks when the chunk containing the focus point changes.
+	 *
+	 * @param focusX The focus x coordinate in tiles
+	 * @param focusY The focus y coordinate in tiles
+	 * @param chunkRadius The radius in chunks to keep loaded around the focus chunk
+	 */
+	public void streamChunks(int focusX, int focusY, int chunkRadius) {
+		final int chunkX = MathUtils.clamp(focusX, 0, width - 1) / chunkWidth;
+		final int chunkY = MathUtils.clamp(focusY, 0, height - 1) / chunkHeight;
+		if (chunkX == focusChunkX && chunkY == focusChunkY && chunkRadius == focusChunkRadius) {
+			return;
+		}
+		focusChunkX = chunkX;
+		focusChunkY = chunkY;
+		focusChunkRadius = chunkRadius;
+
+		//Keep an extra chunk border loaded so that moving back and forth does not thrash
+		final int evictRadius = chunkRadius + 1;
+		for (int cy = 0; cy < totalChunksY; cy++) {
+			for (int cx = 0; cx < totalChunksX; cx++) {
+				final TileChunk chunk = chunks[getChunkIndex(cx, cy)];
+				if (chunk == null) {
+					continue;
+				}
+				final int distance = Math.max(Math.abs(cx - chunkX), Math.abs(cy - chunkY));
+				if (distance > evictRadius) {
+					chunk.evict();
+				} else if (distance <= chunkRadius && chunk.queueLoad()) {
+					if (Mdx.executor != null) {
+						Mdx.executor.execute(chunk);
+					} else {
+						chunk.run();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns if the chunk at the given chunk coordinate is currently decoded in memory
+	 * @param chunkX The chunk x coordinate
+	 * @param chunkY The chunk y coordinate
+	 * @return False if the chunk is empty or not decoded
+	 */
+	public boolean isChunkLoaded(int chunkX, int chunkY) {
+		final TileChunk chunk = chunks[getChunkIndex(chunkX, chunkY)];
+		return chunk != null && chunk.isLoaded();
+	}
+
+	/**
+	 * Returns the revision of a chunk. The revision changes whenever a tile within the chunk is modified,
+	 * allowing renderers to detect when cached data for the chunk is stale.
+	 * @param chunkX The chunk x coordinate
+	 * @param chunkY The chunk y coordinate
+	 * @return 0 if the chunk has never been modified
+	 */
+	public int getChunkRevision(int chunkX, int chunkY) {
+		return chunkRevisions[getChunkIndex(chunkX, chunkY)];
+	}
+
+	/**
+	 * Returns the total chunks currently decoded in memory
+	 * @return 0 if no chunks are in memory
+	 */
+	public int getTotalLoadedChunks() {
+		int result = 0;
+		for (int i = 0; i < chunks.length; i++) {
+			if (chunks[i] != null && chunks[i].isLoaded()) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the width of chunks
+	 * @return The width in tiles
+	 */
+	public int getChunkWidth() {
+		return chunkWidth;
+	}
+
+	/**
+	 * Returns the height of chunks
+	 * @return The height in tiles
+	 */
+	public int getChunkHeight() {
+		return chunkHeight;
+	}
+
+	/**
+	 * Returns the total chunks along the x axis
+	 * @return The width in chunks
+	 */
+	public int getTotalChunksX() {
+		return totalChunksX;
+	}
+
+	/**
+	 * Returns the total chunks along the y axis
+	 * @return The height in chunks
+	 */
+	public int getTotalChunksY() {
+		return totalChunksY;
 	}
 
 	/**
@@ -149,7 +364,7 @@ public class TileLayer extends Layer {
 	 * @return The width in tiles
 	 */
 	public int getWidth() {
-		return tiles.length;
+		return width;
 	}
 
 	/**
@@ -157,11 +372,11 @@ public class TileLayer extends Layer {
 	 * @return The height in tiles
 	 */
 	public int getHeight() {
-		return tiles[0].length;
+		return height;
 	}
 	
-	private int getBitIndex(int x, int y) {
-		return (y * tiles.length) + x;
+	private int getChunkIndex(int chunkX, int chunkY) {
+		return (chunkY * totalChunksX) + chunkX;
 	}
 
 	/**
@@ -177,17 +392,7 @@ public class TileLayer extends Layer {
 	 * @return
 	 */
 	public int getTotalEmptyTiles() {
-		int result = 0;
-
-		for(int x = 0; x < getWidth(); x++) {
-			for(int y = 0; y < getHeight(); y++) {
-				if(getTileId(x, y) >= 1) {
-					continue;
-				}
-				result++;
-			}
-		}
-		return result;
+		return (getWidth() * getHeight()) - getTotalFilledTiles();
 	}
 
 	/**
@@ -196,14 +401,11 @@ public class TileLayer extends Layer {
 	 */
 	public int getTotalFilledTiles() {
 		int result = 0;
-
-		for(int x = 0; x < getWidth(); x++) {
-			for(int y = 0; y < getHeight(); y++) {
-				if(getTileId(x, y) < 1) {
-					continue;
-				}
-				result++;
+		for (int i = 0; i < chunks.length; i++) {
+			if (chunks[i] == null) {
+				continue;
 			}
+			result += chunks[i].getFilledTiles();
 		}
 		return result;
 	}
@@ -0,0 +1,450 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.tiled.renderer.AnimatedTileRenderer;
+import org.mini2Dx.tiled.renderer.StaticTileRenderer;
+import org.mini2Dx.tiled.renderer.TileFrame;
+import org.mini2Dx.tiled.tileset.ImageTilesetSource;
+import org.mini2Dx.tiled.tileset.TsxTilesetSource;
+
+import java.io.IOException;
+
+/**
+ * Parses binary maps written by {@link TiledMapCompiler} and notifies {@link TiledParserListener}s of map data.
+ *
+ * The file is read in a single operation and tile data is copied directly into {@link TileLayer} chunks
+ * without any XML parsing or decompression.
+ */
+public class TiledBinaryParser implements TiledParserNotifier {
+	/**
+	 * The file extension of binary maps
+	 */
+	public static final String FILE_EXTENSION = "tmxb";
+
+	static final int MAGIC = 0x42584D54;
+	static final int VERSION = 1;
+
+	static final int TILESET_IMAGE = 0;
+	static final int TILESET_TSX = 1;
+
+	static final int LAYER_TILE = 0;
+	static final int LAYER_OBJECT = 1;
+	static final int LAYER_GROUP = 2;
+
+	static final int OBJECT_FLAG_VISIBLE = 1;
+	static final int OBJECT_FLAG_TEMPLATE = 1 << 1;
+	static final int OBJECT_FLAG_FLIP_HORIZONTALLY = 1 << 2;
+	static final int OBJECT_FLAG_FLIP_VERTICALLY = 1 << 3;
+	static final int OBJECT_FLAG_FLIP_DIAGONALLY = 1 << 4;
+	static final int OBJECT_FLAG_WRAP_TEXT = 1 << 5;
+
+	private TiledParserListener listener;
+
+	private byte[] data;
+	private int position;
+	private String[] strings;
+
+	/**
+	 * Returns if a file is a binary map based on its file extension
+	 *
+	 * @param fileHandle
+	 *            The {@link FileHandle} to check
+	 * @return True if the file has the binary map extension
+	 */
+	public static boolean isBinaryMap(FileHandle fileHandle) {
+		return FILE_EXTENSION.equalsIgnoreCase(fileHandle.extension());
+	}
+
+	/**
+	 * Parses a binary map file
+	 *
+	 * @param fileHandle
+	 *            A {@link FileHandle} to a file written by {@link TiledMapCompiler}
+	 * @throws IOException
+	 *             Thrown if the file is not a valid binary map
+	 */
+	public void parse(FileHandle fileHandle) throws IOException {
+		data = fileHandle.readBytes();
+		position = 0;
+		try {
+			if (data.length < 8 || readInt() != MAGIC) {
+				throw new IOException(fileHandle.path() + " is not a binary Tiled map");
+			}
+			final int version = readInt();
+			if (version != VERSION) {
+				throw new IOException(fileHandle.path() + " has unsupported binary map version " + version);
+			}
+			readStrings();
+			readMap(fileHandle);
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IOException(fileHandle.path() + " is truncated");
+		} finally {
+			data = null;
+			strings = null;
+		}
+	}
+
+	private void readStrings() {
+		final int totalStrings = readInt();
+		strings = new String[totalStrings];
+
+		char[] chars = new char[64];
+		for (int i = 0; i < totalStrings; i++) {
+			final int length = readInt();
+			if (length > chars.length) {
+				chars = new char[length];
+			}
+			for (int j = 0; j < length; j++) {
+				chars[j] = (char) ((data[position] & 0xFF) | ((data[position + 1] & 0xFF) << 8));
+				position += 2;
+			}
+			strings[i] = new String(chars, 0, length);
+		}
+	}
+
+	private void readMap(FileHandle fileHandle) {
+		final String orientation = readString();
+		final String staggerAxis = readString();
+		final String staggerIndex = readString();
+
+		Color backgroundColor = null;
+		if (readByte() != 0) {
+			backgroundColor = Mdx.graphics.newColor(readFloat(), readFloat(), readFloat(), readFloat());
+		}
+		final int width = readInt();
+		final int height = readInt();
+		final int tileWidth = readInt();
+		final int tileHeight = readInt();
+		final int sideLength = readInt();
+
+		notifyBeginParsing(orientation, staggerAxis, staggerIndex, backgroundColor, width, height, tileWidth,
+				tileHeight, sideLength);
+
+		for (int i = readInt(); i > 0; i--) {
+			notifyMapPropertyParsed(readString(), readString());
+		}
+		for (int i = readInt(); i > 0; i--) {
+			readTileset(fileHandle);
+		}
+		for (int i = readInt(); i > 0; i--) {
+			readLayer(listener);
+		}
+	}
+
+	private void readTileset(FileHandle fileHandle) {
+		final int firstGid = readInt();
+		final int type = readByte();
+		final boolean objectTemplateTileset = readByte() != 0;
+
+		final Tileset tileset;
+		if (type == TILESET_TSX) {
+			final FileHandle tsxFileHandle = fileHandle.sibling(readString()).normalizedHandle();
+			final ImageTilesetSource parsedTileset = readImageTilesetSource(tsxFileHandle, false);
+			final TsxTilesetSource tilesetSource = new TsxTilesetSource(tsxFileHandle, parsedTileset);
+			tileset = new Tileset(firstGid, tilesetSource);
+
+			for (int x = 0; x < tilesetSource.getWidthInTiles(); x++) {
+				for (int y = 0; y < tilesetSource.getHeightInTiles(); y++) {
+					Tile tile = tilesetSource.getTileByPosition(x, y);
+					if (tile == null || tile.getTileRenderer() == null) {
+						continue;
+					}
+					if (tile.getTileRenderer() instanceof AnimatedTileRenderer || tile.getProperties() != null) {
+						notifyTilePropertyParsed(tile);
+					}
+				}
+			}
+		} else {
+			tileset = new Tileset(firstGid, readImageTilesetSource(fileHandle, true));
+		}
+
+		notifyTilesetParsed(tileset);
+		if (objectTemplateTileset) {
+			notifyObjectTemplateParsed(new TiledObjectTemplate(null, tileset, null));
+		}
+	}
+
+	private ImageTilesetSource readImageTilesetSource(FileHandle fileHandle, boolean notifyTiles) {
+		final String name = readString();
+		final int imageWidth = readInt();
+		final int imageHeight = readInt();
+		final int tileWidth = readInt();
+		final int tileHeight = readInt();
+		final int spacing = readInt();
+		final int margin = readInt();
+
+		final ImageTilesetSource result = new ImageTilesetSource(imageWidth, imageHeight, tileWidth, tileHeight,
+				spacing, margin);
+		result.setName(name);
+		result.setTilesetImagePath(fileHandle.sibling(readString()).normalize());
+		result.setTransparentColorValue(readString());
+
+		for (int i = readInt(); i > 0; i--) {
+			result.setProperty(readString(), readString());
+		}
+
+		for (int i = readInt(); i > 0; i--) {
+			final Tile tile = result.getTile(readInt(), 0);
+			for (int j = readInt(); j > 0; j--) {
+				tile.setProperty(readString(), readString());
+			}
+			final int totalFrames = readInt();
+			if (totalFrames > 0) {
+				final TileFrame[] frames = new TileFrame[totalFrames];
+				for (int j = 0; j < totalFrames; j++) {
+					final int tileId = readInt();
+					frames[j] = new TileFrame(readFloat(), tileId);
+				}
+				tile.setTileRenderer(new AnimatedTileRenderer(result, frames));
+			}
+			if (notifyTiles) {
+				notifyTilePropertyParsed(tile);
+			}
+		}
+
+		for (int x = 0; x < result.getWidthInTiles(); x++) {
+			for (int y = 0; y < result.getHeightInTiles(); y++) {
+				Tile tile = result.getTileByPosition(x, y);
+				if (tile == null || tile.getTileRenderer() != null) {
+					continue;
+				}
+				tile.setTileRenderer(new StaticTileRenderer(result, tile));
+			}
+		}
+		return result;
+	}
+
+	private void readLayer(TiledLayerParserListener parserListener) {
+		final int type = readByte();
+		final String name = readString();
+		final boolean visible = readByte() != 0;
+
+		final Layer layer;
+		switch (type) {
+		case LAYER_TILE:
+			layer = readTileLayer();
+			break;
+		case LAYER_OBJECT:
+			layer = readObjectGroup();
+			break;
+		case LAYER_GROUP:
+		default:
+			layer = new GroupLayer();
+			break;
+		}
+		layer.setName(name);
+		layer.setVisible(visible);
+		for (int i = readInt(); i > 0; i--) {
+			layer.setProperty(readString(), readString());
+		}
+
+		switch (type) {
+		case LAYER_TILE:
+			notifyTileLayerParsed(parserListener, (TileLayer) layer);
+			break;
+		case LAYER_OBJECT:
+			notifyObjectGroupParsed(parserListener, (TiledObjectGroup) layer);
+			break;
+		case LAYER_GROUP:
+		default:
+			final GroupLayer groupLayer = (GroupLayer) layer;
+			for (int i = readInt(); i > 0; i--) {
+				readLayer(groupLayer);
+			}
+			notifyGroupLayerParsed(parserListener, groupLayer);
+			break;
+		}
+	}
+
+	private TileLayer readTileLayer() {
+		final int width = readInt();
+		final int height = readInt();
+		final int chunkWidth = readInt();
+		final int chunkHeight = readInt();
+		final TileLayer layer = new TileLayer(width, height, chunkWidth, chunkHeight);
+
+		for (int i = readInt(); i > 0; i--) {
+			final int chunkX = readInt();
+			final int chunkY = readInt();
+			final int[] tiles = new int[chunkWidth * chunkHeight];
+			for (int j = 0; j < tiles.length; j++) {
+				tiles[j] = readInt();
+			}
+			layer.setChunkTiles(chunkX, chunkY, tiles);
+		}
+		return layer;
+	}
+
+	private TiledObjectGroup readObjectGroup() {
+		final TiledObjectGroup result = new TiledObjectGroup();
+		result.setWidth(readInt());
+		result.setHeight(readInt());
+
+		for (int i = readInt(); i > 0; i--) {
+			final int id = readInt();
+			final float x = readFloat();
+			final float y = readFloat();
+			final float width = readFloat();
+			final float height = readFloat();
+			final int flags = readByte();
+
+			final TiledObject object = new TiledObject(id, x, y, width, height,
+					(flags & OBJECT_FLAG_TEMPLATE) != 0);
+			object.setName(readString());
+			final String type = readString();
+			if (type != null) {
+				object.setType(type);
+			}
+			object.setVisible((flags & OBJECT_FLAG_VISIBLE) != 0);
+			object.setGid(readInt());
+			object.setGidFlipHorizontally((flags & OBJECT_FLAG_FLIP_HORIZONTALLY) != 0);
+			object.setGidFlipVertically((flags & OBJECT_FLAG_FLIP_VERTICALLY) != 0);
+			object.setGidFlipDiagonally((flags & OBJECT_FLAG_FLIP_DIAGONALLY) != 0);
+
+			for (int j = readInt(); j > 0; j--) {
+				object.setProperty(readString(), readString());
+			}
+
+			final TiledObjectShape shape = TiledObjectShape.values()[readByte()];
+			float[] vertices = null;
+			final int totalVertices = readInt();
+			if (totalVertices >= 0) {
+				vertices = new float[totalVertices];
+				for (int j = 0; j < totalVertices; j++) {
+					vertices[j] = readFloat();
+				}
+			}
+			object.setObjectShape(shape, vertices);
+
+			final String text = readString();
+			if (shape == TiledObjectShape.TEXT) {
+				object.setAsText(text, (flags & OBJECT_FLAG_WRAP_TEXT) != 0);
+			}
+			result.getObjects().add(object);
+		}
+		return result;
+	}
+
+	private int readByte() {
+		return data[position++] & 0xFF;
+	}
+
+	private int readInt() {
+		final int result = (data[position] & 0xFF) | ((data[position + 1] & 0xFF) << 8) |
+				((data[position + 2] & 0xFF) << 16) | ((data[position + 3] & 0xFF) << 24);
+		position += 4;
+		return result;
+	}
+
+	private float readFloat() {
+		return Float.intBitsToFloat(readInt());
+	}
+
+	private String readString() {
+		final int index = readInt();
+		if (index < 0) {
+			return null;
+		}
+		return strings[index];
+	}
+
+	@Override
+	public void setListener(TiledParserListener tiledParserListener) {
+		this.listener = tiledParserListener;
+	}
+
+	@Override
+	public void notifyBeginParsing(String orientation, String staggerAxis, String staggerIndex, Color backgroundColor,
+			int width, int height, int tileWidth, int tileHeight, int sideLength) {
+		if (listener == null) {
+			return;
+		}
+		listener.onBeginParsing(orientation, staggerAxis, staggerIndex, backgroundColor, width, height,
+				tileWidth, tileHeight, sideLength);
+	}
+
+	@Override
+	public void notifyMapPropertyParsed(String propertyName, String value) {
+		if (listener == null) {
+			return;
+		}
+		listener.onMapPropertyParsed(propertyName, value);
+	}
+
+	@Override
+	public void notifyTilePropertyParsed(Tile tile) {
+		if (listener == null) {
+			return;
+		}
+		listener.onTilePropertiesParsed(tile);
+	}
+
+	@Override
+	public void notifyTilesetParsed(Tileset parsedTileset) {
+		if (listener == null) {
+			return;
+		}
+		listener.onTilesetParsed(parsedTileset);
+	}
+
+	public void notifyTileLayerParsed(TiledLayerParserListener listener, TileLayer parsedLayer) {
+		if (listener == null) {
+			return;
+		}
+		listener.onTileLayerParsed(parsedLayer);
+	}
+
+	@Override
+	public void notifyTileLayerParsed(TileLayer parsedLayer) {
+		notifyTileLayerParsed(listener, parsedLayer);
+	}
+
+	public void notifyObjectGroupParsed(TiledLayerParserListener listener, TiledObjectGroup parsedObjectGroup) {
+		if (listener == null) {
+			return;
+		}
+		listener.onObjectGroupParsed(parsedObjectGroup);
+	}
+
+	@Override
+	public void notifyObjectGroupParsed(TiledObjectGroup parsedObjectGroup) {
+		notifyObjectGroupParsed(listener, parsedObjectGroup);
+	}
+
+	public void notifyGroupLayerParsed(TiledLayerParserListener listener, GroupLayer parsedGroupLayer) {
+		if (listener == null) {
+			return;
+		}
+		listener.onGroupLayerParsed(parsedGroupLayer);
+	}
+
+	@Override
+	public void notifyGroupLayerParsed(GroupLayer parsedGroupLayer) {
+		notifyGroupLayerParsed(listener, parsedGroupLayer);
+	}
+
+	@Override
+	public void notifyObjectTemplateParsed(TiledObjectTemplate parsedObjectTemplate) {
+		if (listener == null) {
+			return;
+		}
+		listener.onObjectTemplateParsed(parsedObjectTemplate);
+	}
+}
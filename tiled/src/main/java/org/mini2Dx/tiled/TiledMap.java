@@ -42,6 +42,11 @@ public class TiledMap {
 	 * Set to true if mini2Dx should check the viewport bounds while rendering a tile and avoid rendering it if it is outside of the bounds
 	 */
 	public static boolean CLIP_TILES_OUTSIDE_GRAPHICS_VIEWPORT = false;
+	/**
+	 * Set to true to render orthogonal tile layers from cached chunks (see {@link OrthogonalCachedTileLayerRenderer}).
+	 * Optimises CPU time for layers that rarely change at the cost of GPU memory.
+	 */
+	public static boolean CACHE_STATIC_TILE_LAYERS = false;
 
 	private final TiledMapData tiledMapData;
 
@@ -100,7 +105,11 @@ public class TiledMap {
 
 		switch (tiledMapData.getOrientation()) {
 		case ORTHOGONAL:
-			tileLayerRenderer = new OrthogonalTileLayerRenderer(this);
+			if (CACHE_STATIC_TILE_LAYERS) {
+				tileLayerRenderer = new OrthogonalCachedTileLayerRenderer(this);
+			} else {
+				tileLayerRenderer = new OrthogonalTileLayerRenderer(this);
+			}
 			break;
 		case ISOMETRIC:
 			tileLayerRenderer = new IsometricTileLayerRenderer(this);
@@ -211,6 +220,21 @@ public class TiledMap {
 		}
 	}
 
+	/**
+	 * Decodes tile layer chunks around a focus point (e.g. the player position) and releases chunks further away.
+	 * Only chunks of Tiled infinite maps are released since other layers cannot be decoded again.
+	 * 
+	 * @param focusX
+	 *            The focus x coordinate (in tiles)
+	 * @param focusY
+	 *            The focus y coordinate (in tiles)
+	 * @param chunkRadius
+	 *            The radius (in chunks) to keep loaded
+	 */
+	public void streamChunks(int focusX, int focusY, int chunkRadius) {
+		tiledMapData.streamChunks(focusX, focusY, chunkRadius);
+	}
+
 	/**
 	 * Draws the entire map at the specified coordinates
 	 * 
@@ -616,6 +640,16 @@ public class TiledMap {
 		return tiledMapData.getTile(tileId);
 	}
 
+	/**
+	 * Returns a table of {@link Tile}s indexed by tile ID (gid) for constant-time lookups when rendering.
+	 * See {@link TiledMapData#getTileLookup()}
+	 * 
+	 * @return An array where each index is a tile ID, entries are null if no {@link Tileset} contains the ID
+	 */
+	public Tile[] getTileLookup() {
+		return tiledMapData.getTileLookup();
+	}
+
 	/**
 	 * Returns the {@link Tile} at the given coordinate on a specific layer
 	 * 
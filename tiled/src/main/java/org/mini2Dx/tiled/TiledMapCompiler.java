@@ -0,0 +1,470 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled;
+
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.ByteArray;
+import org.mini2Dx.gdx.utils.ObjectIntMap;
+import org.mini2Dx.gdx.utils.ObjectMap;
+import org.mini2Dx.tiled.renderer.AnimatedTileRenderer;
+import org.mini2Dx.tiled.renderer.TileFrame;
+import org.mini2Dx.tiled.tileset.ImageTilesetSource;
+import org.mini2Dx.tiled.tileset.TilesetSource;
+import org.mini2Dx.tiled.tileset.TsxTilesetSource;
+
+import java.io.IOException;
+
+/**
+ * Compiles TMX maps (and their TSX tilesets) into a binary format that can be loaded
+ * by {@link TiledBinaryParser} without any XML parsing or decompression.
+ *
+ * Binary maps are loaded automatically by {@link TiledMap}, {@link TiledMapData} and {@link TiledMapLoader}
+ * when the file has the {@link TiledBinaryParser#FILE_EXTENSION} extension. Tileset images and TSX files are
+ * referenced relative to the binary map, so the output file should be distributed alongside them.
+ */
+public class TiledMapCompiler {
+	private final TiledParser tiledParser;
+	private final ByteArray output = new ByteArray(true, 4096);
+	private final ObjectIntMap<String> stringIndices = new ObjectIntMap<String>();
+	private final Array<String> strings = new Array<String>(true, 64, String.class);
+
+	/**
+	 * Constructor
+	 */
+	public TiledMapCompiler() {
+		this(new TiledParser());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param tiledParser
+	 *            The {@link TiledParser} to parse TMX files with
+	 */
+	public TiledMapCompiler(TiledParser tiledParser) {
+		super();
+		this.tiledParser = tiledParser;
+	}
+
+	/**
+	 * Returns the default output file for a TMX file, i.e. the same path with the binary map extension
+	 *
+	 * @param tmxFileHandle
+	 *            The {@link FileHandle} of the TMX file
+	 * @return The {@link FileHandle} of the binary map
+	 */
+	public static FileHandle getOutputFile(FileHandle tmxFileHandle) {
+		return tmxFileHandle.sibling(tmxFileHandle.nameWithoutExtension() + "." + TiledBinaryParser.FILE_EXTENSION);
+	}
+
+	/**
+	 * Compiles a TMX file into a binary map alongside it
+	 *
+	 * @param tmxFileHandle
+	 *            The {@link FileHandle} of the TMX file
+	 * @return The {@link FileHandle} of the binary map
+	 * @throws IOException
+	 *             Thrown if the binary map could not be written
+	 */
+	public FileHandle compile(FileHandle tmxFileHandle) throws IOException {
+		final FileHandle outputFileHandle = getOutputFile(tmxFileHandle);
+		compile(tmxFileHandle, outputFileHandle);
+		return outputFileHandle;
+	}
+
+	/**
+	 * Compiles a TMX file into a binary map
+	 *
+	 * @param tmxFileHandle
+	 *            The {@link FileHandle} of the TMX file
+	 * @param outputFileHandle
+	 *            The {@link FileHandle} to write the binary map to
+	 * @throws IOException
+	 *             Thrown if the binary map could not be written
+	 */
+	public void compile(FileHandle tmxFileHandle, FileHandle outputFileHandle) throws IOException {
+		final TiledMapData tiledMapData = new TiledMapData(tiledParser, tmxFileHandle);
+		try {
+			compile(tiledMapData, outputFileHandle);
+		} finally {
+			tiledMapData.dispose();
+		}
+	}
+
+	/**
+	 * Writes an already parsed map as a binary map
+	 *
+	 * @param tiledMapData
+	 *            The {@link TiledMapData} to write
+	 * @param outputFileHandle
+	 *            The {@link FileHandle} to write the binary map to
+	 * @throws IOException
+	 *             Thrown if the binary map could not be written
+	 */
+	public void compile(TiledMapData tiledMapData, FileHandle outputFileHandle) throws IOException {
+		final String outputDirectory = getDirectory(outputFileHandle.normalize());
+
+		output.clear();
+		stringIndices.clear();
+		strings.clear();
+
+		writeMap(tiledMapData, outputDirectory);
+		final int bodyLength = output.size;
+
+		writeInt(TiledBinaryParser.MAGIC);
+		writeInt(TiledBinaryParser.VERSION);
+		writeInt(strings.size);
+		for (int i = 0; i < strings.size; i++) {
+			final String value = strings.get(i);
+			writeInt(value.length());
+			for (int j = 0; j < value.length(); j++) {
+				final char c = value.charAt(j);
+				output.add((byte) c);
+				output.add((byte) (c >> 8));
+			}
+		}
+
+		//Header and string table are appended after the body, write them out first
+		final byte[] result = new byte[output.size];
+		System.arraycopy(output.items, bodyLength, result, 0, output.size - bodyLength);
+		System.arraycopy(output.items, 0, result, output.size - bodyLength, bodyLength);
+		outputFileHandle.writeBytes(result, false);
+
+		output.clear();
+		stringIndices.clear();
+		strings.clear();
+	}
+
+	private void writeMap(TiledMapData tiledMapData, String outputDirectory) {
+		writeString(tiledMapData.getOrientation().name());
+		writeString(tiledMapData.getStaggerAxis() != null ? tiledMapData.getStaggerAxis().name() : null);
+		writeString(tiledMapData.getStaggerIndex() != null ? tiledMapData.getStaggerIndex().name() : null);
+
+		final Color backgroundColor = tiledMapData.getBackgroundColor();
+		if (backgroundColor != null) {
+			writeByte(1);
+			writeFloat(backgroundColor.getRAsFloat());
+			writeFloat(backgroundColor.getGAsFloat());
+			writeFloat(backgroundColor.getBAsFloat());
+			writeFloat(backgroundColor.getAAsFloat());
+		} else {
+			writeByte(0);
+		}
+		writeInt(tiledMapData.getWidth());
+		writeInt(tiledMapData.getHeight());
+		writeInt(tiledMapData.getTileWidth());
+		writeInt(tiledMapData.getTileHeight());
+		writeInt(tiledMapData.getSideLength());
+		writeProperties(tiledMapData.getProperties());
+
+		final Array<Tileset> tilesets = tiledMapData.getTilesets();
+		writeInt(tilesets.size);
+		for (int i = 0; i < tilesets.size; i++) {
+			writeTileset(tilesets.get(i), outputDirectory);
+		}
+		writeLayers(tiledMapData.getLayers());
+	}
+
+	private void writeTileset(Tileset tileset, String outputDirectory) {
+		writeInt(tileset.getFirstGid());
+
+		final TilesetSource tilesetSource = tileset.getTilesetSource();
+		if (tilesetSource instanceof TsxTilesetSource) {
+			writeByte(TiledBinaryParser.TILESET_TSX);
+		} else if (tilesetSource instanceof ImageTilesetSource) {
+			writeByte(TiledBinaryParser.TILESET_IMAGE);
+		} else {
+			throw new UnsupportedOperationException(tilesetSource.getClass().getSimpleName() +
+					" cannot be written to a binary map");
+		}
+		writeByte(TiledMapData.OBJECT_TEMPLATE_TILESET_SOURCES.contains(tileset.getSourceInternalUuid()) ? 1 : 0);
+
+		if (tilesetSource instanceof TsxTilesetSource) {
+			final String tsxPath = ((TsxTilesetSource) tilesetSource).getTsxPath();
+			writeString(getRelativePath(outputDirectory, tsxPath));
+			writeImageTilesetSource(((TsxTilesetSource) tilesetSource).getImageTilesetSource(), getDirectory(tsxPath));
+		} else {
+			writeImageTilesetSource((ImageTilesetSource) tilesetSource, outputDirectory);
+		}
+	}
+
+	private void writeImageTilesetSource(ImageTilesetSource tilesetSource, String directory) {
+		writeString(tilesetSource.getName());
+		writeInt(tilesetSource.getWidth());
+		writeInt(tilesetSource.getHeight());
+		writeInt(tilesetSource.getTileWidth());
+		writeInt(tilesetSource.getTileHeight());
+		writeInt(tilesetSource.getSpacing());
+		writeInt(tilesetSource.getMargin());
+		writeString(getRelativePath(directory, tilesetSource.getTilesetImagePath()));
+		writeString(tilesetSource.getTransparentColorValue());
+		writeProperties(tilesetSource.getProperties());
+
+		final Array<Tile> tiles = new Array<Tile>(true, 4, Tile.class);
+		for (int x = 0; x < tilesetSource.getWidthInTiles(); x++) {
+			for (int y = 0; y < tilesetSource.getHeightInTiles(); y++) {
+				final Tile tile = tilesetSource.getTileByPosition(x, y);
+				if (tile == null) {
+					continue;
+				}
+				if (tile.getProperties() == null && !(tile.getTileRenderer() instanceof AnimatedTileRenderer)) {
+					continue;
+				}
+				tiles.add(tile);
+			}
+		}
+
+		writeInt(tiles.size);
+		for (int i = 0; i < tiles.size; i++) {
+			final Tile tile = tiles.get(i);
+			writeInt(tile.getTileId());
+			writeProperties(tile.getProperties());
+
+			if (tile.getTileRenderer() instanceof AnimatedTileRenderer) {
+				final TileFrame[] frames = ((AnimatedTileRenderer) tile.getTileRenderer()).getFrames();
+				writeInt(frames.length);
+				for (int j = 0; j < frames.length; j++) {
+					writeInt(frames[j].getTileId());
+					writeFloat(frames[j].getDuration());
+				}
+			} else {
+				writeInt(0);
+			}
+		}
+	}
+
+	private void writeLayers(Array<Layer> layers) {
+		writeInt(layers.size);
+		for (int i = 0; i < layers.size; i++) {
+			writeLayer(layers.get(i));
+		}
+	}
+
+	private void writeLayer(Layer layer) {
+		switch (layer.getLayerType()) {
+		case TILE:
+			writeByte(TiledBinaryParser.LAYER_TILE);
+			break;
+		case OBJECT:
+			writeByte(TiledBinaryParser.LAYER_OBJECT);
+			break;
+		case GROUP:
+			writeByte(TiledBinaryParser.LAYER_GROUP);
+			break;
+		default:
+			throw new UnsupportedOperationException(layer.getLayerType() + " layers cannot be written to a binary map");
+		}
+		writeString(layer.getName());
+		writeByte(layer.isVisible() ? 1 : 0);
+
+		switch (layer.getLayerType()) {
+		case TILE:
+			writeTileLayer((TileLayer) layer);
+			writeProperties(layer.getProperties());
+			break;
+		case OBJECT:
+			writeObjectGroup((TiledObjectGroup) layer);
+			writeProperties(layer.getProperties());
+			break;
+		case GROUP:
+		default:
+			writeProperties(layer.getProperties());
+			writeLayers(((GroupLayer) layer).getLayers());
+			break;
+		}
+	}
+
+	private void writeTileLayer(TileLayer layer) {
+		writeInt(layer.getWidth());
+		writeInt(layer.getHeight());
+		writeInt(layer.getChunkWidth());
+		writeInt(layer.getChunkHeight());
+
+		final int totalChunksOffset = output.size;
+		int totalChunks = 0;
+		writeInt(0);
+
+		for (int chunkY = 0; chunkY < layer.getTotalChunksY(); chunkY++) {
+			for (int chunkX = 0; chunkX < layer.getTotalChunksX(); chunkX++) {
+				final int[] tiles = layer.getChunkTiles(chunkX, chunkY);
+				if (tiles == null || isEmpty(tiles)) {
+					continue;
+				}
+				writeInt(chunkX);
+				writeInt(chunkY);
+				output.ensureCapacity(tiles.length * 4);
+				for (int i = 0; i < tiles.length; i++) {
+					writeInt(tiles[i]);
+				}
+				totalChunks++;
+			}
+		}
+		setInt(totalChunksOffset, totalChunks);
+	}
+
+	private void writeObjectGroup(TiledObjectGroup objectGroup) {
+		writeInt(objectGroup.getWidth());
+		writeInt(objectGroup.getHeight());
+
+		final Array<TiledObject> objects = objectGroup.getObjects();
+		writeInt(objects.size);
+		for (int i = 0; i < objects.size; i++) {
+			final TiledObject object = objects.get(i);
+			writeInt(object.getId());
+			writeFloat(object.getX());
+			writeFloat(object.getY());
+			writeFloat(object.getWidth());
+			writeFloat(object.getHeight());
+
+			int flags = 0;
+			if (object.isVisible()) {
+				flags |= TiledBinaryParser.OBJECT_FLAG_VISIBLE;
+			}
+			if (object.isBuiltFromTemplate()) {
+				flags |= TiledBinaryParser.OBJECT_FLAG_TEMPLATE;
+			}
+			if (object.isGidFlipHorizontally()) {
+				flags |= TiledBinaryParser.OBJECT_FLAG_FLIP_HORIZONTALLY;
+			}
+			if (object.isGidFlipVertically()) {
+				flags |= TiledBinaryParser.OBJECT_FLAG_FLIP_VERTICALLY;
+			}
+			if (object.isGidFlipDiagonally()) {
+				flags |= TiledBinaryParser.OBJECT_FLAG_FLIP_DIAGONALLY;
+			}
+			if (object.isWrapText()) {
+				flags |= TiledBinaryParser.OBJECT_FLAG_WRAP_TEXT;
+			}
+			writeByte(flags);
+
+			writeString(object.getName());
+			writeString(object.getType());
+			writeInt(object.getGid());
+			writeProperties(object.getProperties());
+
+			writeByte(object.getObjectShape().ordinal());
+			final float[] vertices = object.getVertices();
+			if (vertices != null) {
+				writeInt(vertices.length);
+				for (int j = 0; j < vertices.length; j++) {
+					writeFloat(vertices[j]);
+				}
+			} else {
+				writeInt(-1);
+			}
+			writeString(object.getText());
+		}
+	}
+
+	private void writeProperties(ObjectMap<String, String> properties) {
+		if (properties == null) {
+			writeInt(0);
+			return;
+		}
+		writeInt(properties.size);
+		for (ObjectMap.Entry<String, String> entry : properties.entries()) {
+			writeString(entry.key);
+			writeString(entry.value);
+		}
+	}
+
+	private void writeString(String value) {
+		if (value == null) {
+			writeInt(-1);
+			return;
+		}
+		int index = stringIndices.get(value, -1);
+		if (index < 0) {
+			index = strings.size;
+			strings.add(value);
+			stringIndices.put(value, index);
+		}
+		writeInt(index);
+	}
+
+	private void writeByte(int value) {
+		output.add((byte) value);
+	}
+
+	private void writeInt(int value) {
+		output.add((byte) value);
+		output.add((byte) (value >> 8));
+		output.add((byte) (value >> 16));
+		output.add((byte) (value >> 24));
+	}
+
+	private void setInt(int offset, int value) {
+		output.items[offset] = (byte) value;
+		output.items[offset + 1] = (byte) (value >> 8);
+		output.items[offset + 2] = (byte) (value >> 16);
+		output.items[offset + 3] = (byte) (value >> 24);
+	}
+
+	private void writeFloat(float value) {
+		writeInt(Float.floatToIntBits(value));
+	}
+
+	private static boolean isEmpty(int[] tiles) {
+		for (int i = 0; i < tiles.length; i++) {
+			if (tiles[i] != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String getDirectory(String path) {
+		final int index = path.lastIndexOf('/');
+		if (index < 0) {
+			return "";
+		}
+		return path.substring(0, index);
+	}
+
+	/**
+	 * Returns the path of a file relative to a directory
+	 *
+	 * @param directory
+	 *            The normalized directory path
+	 * @param path
+	 *            The normalized file path
+	 * @return A path that resolves to the file when used as a sibling of a file in the directory
+	 */
+	static String getRelativePath(String directory, String path) {
+		final String[] directorySegments = directory.isEmpty() ? new String[0] : directory.split("/");
+		final String[] pathSegments = path.split("/");
+
+		int commonSegments = 0;
+		while (commonSegments < directorySegments.length && commonSegments < pathSegments.length - 1 &&
+				directorySegments[commonSegments].equals(pathSegments[commonSegments])) {
+			commonSegments++;
+		}
+
+		final StringBuilder result = new StringBuilder();
+		for (int i = commonSegments; i < directorySegments.length; i++) {
+			result.append("../");
+		}
+		for (int i = commonSegments; i < pathSegments.length; i++) {
+			if (i > commonSegments) {
+				result.append('/');
+			}
+			result.append(pathSegments[i]);
+		}
+		return result.toString();
+	}
+}
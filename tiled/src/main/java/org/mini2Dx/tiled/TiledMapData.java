@@ -53,6 +53,9 @@ public class TiledMapData implements TiledParserListener {
 	private Array<Tile> animatedTiles;
 	private ObjectMap<String, String> properties;
 
+	private volatile Tile[] tileLookup;
+	private Tileset[] tileLookupTilesets;
+
 	/**
 	 * 
 	 * @param fileHandle
@@ -63,6 +66,7 @@ public class TiledMapData implements TiledParserListener {
 	}
 
 	/**
+	 * Note: Files with the {@link TiledBinaryParser#FILE_EXTENSION} extension are loaded as binary maps
 	 * 
 	 * @param tiledParser
 	 * @param fileHandle
@@ -72,6 +76,11 @@ public class TiledMapData implements TiledParserListener {
 		super();
 		this.fileHandle = fileHandle;
 
+		if (TiledBinaryParser.isBinaryMap(fileHandle)) {
+			parseBinary(new TiledBinaryParser(), fileHandle);
+			return;
+		}
+
 		tiledParser.setListener(this);
 		try {
 			tiledParser.parseTmx(fileHandle);
@@ -82,6 +91,30 @@ public class TiledMapData implements TiledParserListener {
 		tiledParser.setListener(null);
 	}
 
+	/**
+	 * Constructs map data from a binary map written by {@link TiledMapCompiler}
+	 * 
+	 * @param tiledBinaryParser
+	 * @param fileHandle
+	 * @throws TiledException
+	 */
+	public TiledMapData(TiledBinaryParser tiledBinaryParser, FileHandle fileHandle) {
+		super();
+		this.fileHandle = fileHandle;
+		parseBinary(tiledBinaryParser, fileHandle);
+	}
+
+	private void parseBinary(TiledBinaryParser tiledBinaryParser, FileHandle fileHandle) {
+		tiledBinaryParser.setListener(this);
+		try {
+			tiledBinaryParser.parse(fileHandle);
+		} catch (IOException e) {
+			throw new TiledParsingException(e);
+		} finally {
+			tiledBinaryParser.setListener(null);
+		}
+	}
+
 	public Array<AssetDescriptor> getDependencies() {
 		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
 		for (int i = 0; i < tilesets.size; i++) {
@@ -300,6 +333,15 @@ public class TiledMapData implements TiledParserListener {
 		properties.put(propertyName, value);
 	}
 
+	/**
+	 * Returns the properties of this map
+	 * 
+	 * @return Null if there are no properties
+	 */
+	public ObjectMap<String, String> getProperties() {
+		return properties;
+	}
+
 	@Override
 	public void onMapPropertyParsed(String propertyName, String value) {
 		setProperty(propertyName, value);
@@ -320,6 +362,7 @@ public class TiledMapData implements TiledParserListener {
 	public void onTilesetParsed(Tileset parsedTileset) {
 		if(tilesetGids.add(parsedTileset.getFirstGid())) {
 			tilesets.add(parsedTileset);
+			tileLookup = null;
 		}
 	}
 
@@ -407,6 +450,36 @@ public class TiledMapData implements TiledParserListener {
 		return (TileLayer) layers.get(index);
 	}
 
+	/**
+	 * Decodes {@link TileLayer} chunks around a focus point and releases chunks further away
+	 * 
+	 * @param focusX
+	 *            The focus x coordinate (in tiles)
+	 * @param focusY
+	 *            The focus y coordinate (in tiles)
+	 * @param chunkRadius
+	 *            The radius (in chunks) to keep loaded
+	 */
+	public void streamChunks(int focusX, int focusY, int chunkRadius) {
+		streamChunks(layers, focusX, focusY, chunkRadius);
+	}
+
+	private static void streamChunks(final Array<Layer> layers, int focusX, int focusY, int chunkRadius) {
+		for (int i = 0; i < layers.size; i++) {
+			final Layer layer = layers.get(i);
+			switch (layer.getLayerType()) {
+			case TILE:
+				((TileLayer) layer).streamChunks(focusX, focusY, chunkRadius);
+				break;
+			case GROUP:
+				streamChunks(((GroupLayer) layer).layers, focusX, focusY, chunkRadius);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
 	/**
 	 * Returns the {@link TiledObjectGroup} with the given name
 	 * 
@@ -573,12 +646,63 @@ public class TiledMapData implements TiledParserListener {
 	 * @return Null if there is no {@link Tile} with the given ID
 	 */
 	public Tile getTile(int tileId) {
-		for (int i = 0; i < tilesets.size; i++) {
-			if (tilesets.get(i).contains(tileId)) {
-				return tilesets.get(i).getTile(tileId);
+		final Tile[] tileLookup = getTileLookup();
+		if (tileId < 0 || tileId >= tileLookup.length) {
+			return null;
+		}
+		return tileLookup[tileId];
+	}
+
+	/**
+	 * Returns a table of {@link Tile}s indexed by tile ID (gid) for constant-time lookups when rendering.
+	 * The table is rebuilt when {@link Tileset}s are added, removed, replaced or reordered.
+	 * 
+	 * Note: The returned array must not be modified
+	 * 
+	 * @return An array where each index is a tile ID, entries are null if no {@link Tileset} contains the ID
+	 */
+	public Tile[] getTileLookup() {
+		final Tile[] result = tileLookup;
+		if (result != null && isTileLookupValid()) {
+			return result;
+		}
+		return buildTileLookup();
+	}
+
+	private boolean isTileLookupValid() {
+		//The tileset array is publicly mutable so compare against the tilesets the table was built from
+		final Tileset[] lookupTilesets = tileLookupTilesets;
+		if (lookupTilesets == null || lookupTilesets.length != tilesets.size) {
+			return false;
+		}
+		for (int i = 0; i < lookupTilesets.length; i++) {
+			if (lookupTilesets[i] != tilesets.get(i)) {
+				return false;
 			}
 		}
-		return null;
+		return true;
+	}
+
+	private Tile[] buildTileLookup() {
+		final int totalTilesets = tilesets.size;
+		final Tileset[] lookupTilesets = new Tileset[totalTilesets];
+		int maxGid = 0;
+		for (int i = 0; i < totalTilesets; i++) {
+			maxGid = Math.max(maxGid, tilesets.get(i).getLastGid());
+		}
+
+		final Tile[] result = new Tile[maxGid + 1];
+		//Iterate in reverse so that the first matching tileset wins, same as a linear search
+		for (int i = totalTilesets - 1; i >= 0; i--) {
+			final Tileset tileset = tilesets.get(i);
+			lookupTilesets[i] = tileset;
+			for (int gid = Math.max(1, tileset.getFirstGid()); gid <= tileset.getLastGid(); gid++) {
+				result[gid] = tileset.getTile(gid);
+			}
+		}
+		tileLookupTilesets = lookupTilesets;
+		tileLookup = result;
+		return result;
 	}
 
 	/**
@@ -807,5 +931,6 @@ public class TiledMapData implements TiledParserListener {
 		for (int i = 0; i < tilesets.size; i++) {
 			tilesets.get(i).dispose();
 		}
+		tileLookup = null;
 	}
 }
@@ -220,6 +220,16 @@ public class TiledObject {
 		return objectShape;
 	}
 
+	/**
+	 * Sets the {@link TiledObjectShape} and vertices of this object
+	 * @param objectShape The shape of the object
+	 * @param vertices The absolute vertices or null if the shape has no vertices
+	 */
+	void setObjectShape(TiledObjectShape objectShape, float [] vertices) {
+		this.objectShape = objectShape;
+		this.vertices = vertices;
+	}
+
 	/**
 	 * Marks this object as a {@link TiledObjectShape#ELLIPSE}
 	 */
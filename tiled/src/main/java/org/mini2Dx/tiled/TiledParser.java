@@ -16,11 +16,8 @@
 package org.mini2Dx.tiled;
 
 import org.mini2Dx.core.Mdx;
-import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.files.FileHandle;
 import org.mini2Dx.core.graphics.Color;
-import org.mini2Dx.core.util.ZlibStream;
-import org.mini2Dx.gdx.Base64Coder;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.ObjectMap;
 import org.mini2Dx.gdx.xml.XmlReader;
@@ -32,9 +29,7 @@ import org.mini2Dx.tiled.tileset.ImageTilesetSource;
 import org.mini2Dx.tiled.tileset.TilesetSource;
 import org.mini2Dx.tiled.tileset.TsxTilesetSource;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.zip.GZIPInputStream;
 
 /**
  * Parses Tiled XML files and notifies {@link TiledParserListener}s of map data
@@ -51,6 +46,11 @@ public class TiledParser implements TiledParserNotifier {
 	private TiledParserListener listener;
 	private final ObjectMap<String, TiledObjectTemplate> objectTemplates;
 
+	private boolean infinite;
+	private int infiniteOriginX, infiniteOriginY, infiniteWidth, infiniteHeight;
+	private int infiniteChunkWidth, infiniteChunkHeight;
+	private float objectOffsetX, objectOffsetY;
+
 	/**
 	 * Constructor
 	 */
@@ -90,6 +90,36 @@ public class TiledParser implements TiledParserNotifier {
 			backgroundColor = convertHexColorToColor(mapBackgroundColor);
 		}
 
+		infinite = root.getIntAttribute("infinite", 0) == 1;
+		infiniteOriginX = 0;
+		infiniteOriginY = 0;
+		infiniteChunkWidth = 0;
+		infiniteChunkHeight = 0;
+		if (infinite) {
+			infiniteOriginX = Integer.MAX_VALUE;
+			infiniteOriginY = Integer.MAX_VALUE;
+			infiniteWidth = Integer.MIN_VALUE;
+			infiniteHeight = Integer.MIN_VALUE;
+			computeInfiniteBounds(root);
+
+			if (infiniteChunkWidth <= 0) {
+				infiniteOriginX = 0;
+				infiniteOriginY = 0;
+				infiniteWidth = mapWidth;
+				infiniteHeight = mapHeight;
+				infiniteChunkWidth = TileLayer.DEFAULT_CHUNK_SIZE;
+				infiniteChunkHeight = TileLayer.DEFAULT_CHUNK_SIZE;
+			} else {
+				infiniteWidth -= infiniteOriginX;
+				infiniteHeight -= infiniteOriginY;
+			}
+			//Tile (0,0) of each layer is the top-left of the top-left chunk
+			mapWidth = infiniteWidth;
+			mapHeight = infiniteHeight;
+		}
+		objectOffsetX = infiniteOriginX * tileWidth;
+		objectOffsetY = infiniteOriginY * tileHeight;
+
 		notifyBeginParsing(mapOrientation, staggerAxis, staggerIndex, backgroundColor, mapWidth, mapHeight, tileWidth, tileHeight, sideLength);
 
 		Element properties = root.getChildByName("properties");
@@ -350,99 +380,35 @@ public class TiledParser implements TiledParserNotifier {
 			int width = element.getIntAttribute("width", 0);
 			int height = element.getIntAttribute("height", 0);
 			boolean visible = element.getIntAttribute("visible", 1) == 1;
-			TileLayer layer = new TileLayer(width, height);
-			layer.setVisible(visible);
-			layer.setName(name);
 
 			Element data = element.getChildByName("data");
 			String encoding = data.getAttribute("encoding", null);
 			String compression = data.getAttribute("compression", null);
-			if (encoding == null) { // no 'encoding' attribute means that the
-									// encoding is XML
-				throw new MdxException("Unsupported encoding (XML) for TMX Layer Data");
-			}
-			if (encoding.equals("csv")) {
-				String[] array = data.getText().split(",");
-				for (int y = 0; y < height; y++) {
-					for (int x = 0; x < width; x++) {
-						int id = (int) Long.parseLong(array[y * width + x].trim());
-						id = id & ~MASK_CLEAR;
-						layer.setTileId(x, y, id);
-					}
-				}
-			} else {
-				if (encoding.equals("base64")) {
-					byte[] bytes = Base64Coder.decode(data.getText());
-					if (compression == null) {
-						int read = 0;
-						for (int y = 0; y < height; y++) {
-							for (int x = 0; x < width; x++) {
-
-								int id = unsignedByteToInt(bytes[read++]) | unsignedByteToInt(bytes[read++]) << 8
-										| unsignedByteToInt(bytes[read++]) << 16
-										| unsignedByteToInt(bytes[read++]) << 24;
-								boolean flipHorizontally = (id & FLAG_FLIP_HORIZONTALLY) != 0;
-							    boolean flipVertically = (id & FLAG_FLIP_VERTICALLY) != 0;
-							    boolean flipDiagonally = (id & FLAG_FLIP_DIAGONALLY) != 0;
-								id = id & ~MASK_CLEAR;
-								layer.setTileId(x, y, id, flipHorizontally, flipVertically, flipDiagonally);
-							}
-						}
-					} else if (compression.equals("gzip")) {
-						GZIPInputStream GZIS = null;
-						try {
-							GZIS = new GZIPInputStream(new ByteArrayInputStream(bytes), bytes.length);
-						} catch (IOException e) {
-							throw new MdxException(
-									"Error Reading TMX Layer Data - IOException: " + e.getMessage());
-						}
 
-						byte[] temp = new byte[4];
-						for (int y = 0; y < height; y++) {
-							for (int x = 0; x < width; x++) {
-								try {
-									GZIS.read(temp, 0, 4);
-									int id = unsignedByteToInt(temp[0]) | unsignedByteToInt(temp[1]) << 8
-											| unsignedByteToInt(temp[2]) << 16 | unsignedByteToInt(temp[3]) << 24;
-									boolean flipHorizontally = (id & FLAG_FLIP_HORIZONTALLY) != 0;
-								    boolean flipVertically = (id & FLAG_FLIP_VERTICALLY) != 0;
-								    boolean flipDiagonally = (id & FLAG_FLIP_DIAGONALLY) != 0;
-									id = id & ~MASK_CLEAR;
-									layer.setTileId(x, y, id, flipHorizontally, flipVertically, flipDiagonally);
-								} catch (IOException e) {
-									throw new MdxException("Error Reading TMX Layer Data.", e);
-								}
-							}
-						}
-					} else if (compression.equals("zlib")) {
-						ZlibStream zlibStream = Mdx.platformUtils.decompress(bytes);
-
-						byte[] temp = new byte[4];
-
-						for (int y = 0; y < height; y++) {
-							for (int x = 0; x < width; x++) {
-								try {
-									zlibStream.read(temp);
-									int id = unsignedByteToInt(temp[0]) | unsignedByteToInt(temp[1]) << 8
-											| unsignedByteToInt(temp[2]) << 16 | unsignedByteToInt(temp[3]) << 24;
-									boolean flipHorizontally = (id & FLAG_FLIP_HORIZONTALLY) != 0;
-								    boolean flipVertically = (id & FLAG_FLIP_VERTICALLY) != 0;
-								    boolean flipDiagonally = (id & FLAG_FLIP_DIAGONALLY) != 0;
-									id = id & ~MASK_CLEAR;
-									layer.setTileId(x, y, id, flipHorizontally, flipVertically, flipDiagonally);
-
-								} catch (Exception e) {
-									throw new MdxException("Error Reading TMX Layer Data.", e);
-								}
+			final TileLayer layer;
+			if (infinite) {
+				layer = new TileLayer(infiniteWidth, infiniteHeight, infiniteChunkWidth, infiniteChunkHeight);
+				loadTileChunks(layer, data, encoding, compression);
+			} else {
+				layer = new TileLayer(width, height);
+				TileDataReader reader = new TileDataReader(data.getText(), encoding, compression);
+				try {
+					for (int y = 0; y < height; y++) {
+						for (int x = 0; x < width; x++) {
+							int id = reader.next();
+							if (id == 0) {
+								continue;
 							}
+							layer.setRawTileId(x, y, id);
 						}
 					}
-				} else {
-					// any other value of 'encoding' is one we're not aware of,
-					// probably a feature of a future version of Tiled
-					throw new MdxException("Unrecognised encoding (" + encoding + ") for TMX Layer Data");
+				} finally {
+					reader.dispose();
 				}
 			}
+			layer.setVisible(visible);
+			layer.setName(name);
+
 			Element properties = element.getChildByName("properties");
 			if (properties != null) {
 				for (Element property : properties.getChildrenByName("property")) {
@@ -460,6 +426,72 @@ public class TiledParser implements TiledParserNotifier {
 		return null;
 	}
 
+	private void loadTileChunks(TileLayer layer, Element data, String encoding, String compression) {
+		for (Element chunk : data.getChildrenByName("chunk")) {
+			int x = chunk.getIntAttribute("x", 0) - infiniteOriginX;
+			int y = chunk.getIntAttribute("y", 0) - infiniteOriginY;
+			int width = chunk.getIntAttribute("width", 0);
+			int height = chunk.getIntAttribute("height", 0);
+
+			if (width == layer.getChunkWidth() && height == layer.getChunkHeight() &&
+					x % width == 0 && y % height == 0) {
+				//Decoding is deferred until the chunk is accessed
+				layer.setEncodedChunk(x / width, y / height, chunk.getText(), encoding, compression);
+				continue;
+			}
+
+			TileDataReader reader = new TileDataReader(chunk.getText(), encoding, compression);
+			try {
+				for (int tileY = 0; tileY < height; tileY++) {
+					for (int tileX = 0; tileX < width; tileX++) {
+						int id = reader.next();
+						if (id == 0) {
+							continue;
+						}
+						layer.setRawTileId(x + tileX, y + tileY, id);
+					}
+				}
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Computes the bounds of all chunks in an infinite map so that all tile layers share the same origin
+	 * @param element The map or group element to search
+	 */
+	private void computeInfiniteBounds(Element element) {
+		for (int i = 0, j = element.getChildCount(); i < j; i++) {
+			Element child = element.getChild(i);
+			if (child.getName().equals("group")) {
+				computeInfiniteBounds(child);
+				continue;
+			}
+			if (!child.getName().equals("layer")) {
+				continue;
+			}
+			Element data = child.getChildByName("data");
+			if (data == null) {
+				continue;
+			}
+			for (Element chunk : data.getChildrenByName("chunk")) {
+				int x = chunk.getIntAttribute("x", 0);
+				int y = chunk.getIntAttribute("y", 0);
+				int width = chunk.getIntAttribute("width", 0);
+				int height = chunk.getIntAttribute("height", 0);
+				if (infiniteChunkWidth <= 0) {
+					infiniteChunkWidth = width;
+					infiniteChunkHeight = height;
+				}
+				infiniteOriginX = Math.min(infiniteOriginX, x);
+				infiniteOriginY = Math.min(infiniteOriginY, y);
+				infiniteWidth = Math.max(infiniteWidth, x + width);
+				infiniteHeight = Math.max(infiniteHeight, y + height);
+			}
+		}
+	}
+
 	protected TiledObjectGroup loadObjectGroup(TiledLayerParserListener parserListener, Element element, FileHandle tmxFile) throws IOException {
 		if (element.getName().equals("objectgroup")) {
 			String name = element.getAttribute("name", null);
@@ -492,8 +524,8 @@ public class TiledParser implements TiledParserNotifier {
 	protected TiledObject loadObject(Element element, FileHandle tmxFile) throws IOException {
 		if (element.getName().equals("object")) {
 			int id = element.getIntAttribute("id", -1);
-			float x = element.getFloatAttribute("x", 0);
-			float y = element.getFloatAttribute("y", 0);
+			float x = element.getFloatAttribute("x", 0) - objectOffsetX;
+			float y = element.getFloatAttribute("y", 0) - objectOffsetY;
 
 			String template = element.getAttribute("template", null);
 
@@ -628,7 +660,17 @@ public class TiledParser implements TiledParserNotifier {
 
 		final TiledObject tiledObject;
 		if(objectElement != null) {
-			tiledObject = loadObject(objectElement, txFile);
+			//Template positions are not relative to the map origin
+			final float mapObjectOffsetX = objectOffsetX;
+			final float mapObjectOffsetY = objectOffsetY;
+			objectOffsetX = 0f;
+			objectOffsetY = 0f;
+			try {
+				tiledObject = loadObject(objectElement, txFile);
+			} finally {
+				objectOffsetX = mapObjectOffsetX;
+				objectOffsetY = mapObjectOffsetY;
+			}
 		} else {
 			tiledObject = null;
 		}
@@ -324,6 +324,15 @@ public class Tileset implements Disposable {
 		return firstGid;
 	}
 
+	/**
+	 * Returns the last tile ID (gid) of this tileset
+	 * 
+	 * @return The gid of the last tile
+	 */
+	public int getLastGid() {
+		return lastGid;
+	}
+
 	/**
 	 * Returns the {@link TilesetSource} UUID generated by mini2Dx
 	 * @return A non-null String
@@ -331,4 +340,12 @@ public class Tileset implements Disposable {
 	public String getSourceInternalUuid() {
 		return tilesetSource.getInternalUuid();
 	}
+
+	/**
+	 * Returns the {@link TilesetSource} backing this tileset
+	 * @return A non-null {@link TilesetSource}
+	 */
+	public TilesetSource getTilesetSource() {
+		return tilesetSource;
+	}
 }
@@ -371,6 +371,21 @@ public enum TileMergeMode {
 					startY * tiledMap.getTileHeight(), tiledMap.getTileWidth() + (maxXTiles * tiledMap.getTileWidth()),
 					tiledMap.getTileHeight() + (maxYTiles * tiledMap.getTileHeight()));
 		}
+	},
+	/**
+	 * Greedy meshing over bitsets of the whole layer. Finds the longest row of mergable tiles then expands
+	 * down while the rows below match. {@link TiledCollisionMapper} processes the layer in strips
+	 * in parallel and produces fewer, larger collisions than the other modes on large maps.
+	 * When merging from a single start tile this behaves the same as {@link #X_THEN_Y}.
+	 */
+	GREEDY_MESH {
+		@Override
+		public <T extends Positionable> T merge(TiledCollisionFactory<T> collisionFactory,
+												TiledCollisionMerger collisionMerger, int startX, int startY, int maxColumns, int maxRows,
+												byte[][] collisions, TileLayer layer, TiledMap tiledMap) {
+			return X_THEN_Y.merge(collisionFactory, collisionMerger, startX, startY, maxColumns, maxRows, collisions,
+					layer, tiledMap);
+		}
 	};
 
 	public abstract <T extends Positionable> T merge(TiledCollisionFactory<T> collisionFactory,
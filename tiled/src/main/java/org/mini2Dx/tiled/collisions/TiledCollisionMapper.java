@@ -19,6 +19,8 @@ import org.mini2Dx.core.collision.QuadTree;
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.geom.Positionable;
 import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.IntArray;
+import org.mini2Dx.tiled.Tile;
 import org.mini2Dx.tiled.TileLayer;
 import org.mini2Dx.tiled.TiledMap;
 import org.mini2Dx.tiled.TiledObject;
@@ -29,6 +31,11 @@ import org.mini2Dx.tiled.collisions.merger.TileIdCollisionMerger;
  * Utility class for converting {@link TiledMap} data into collision data.
  */
 public class TiledCollisionMapper<T extends Positionable> {
+	/**
+	 * The height in tiles of the strips processed in parallel by {@link TileMergeMode#GREEDY_MESH}
+	 */
+	public static int GREEDY_MESH_STRIP_HEIGHT = 64;
+
 	private final TileMergeMode mergeMode;
 	private final TiledCollisionFactory<T> collisionFactory;
 	private final TiledCollisionMerger collisionMerger;
@@ -194,23 +201,9 @@ public class TiledCollisionMapper<T extends Positionable> {
 	 *            in the layer is treated as a collision.
 	 */
 	public void mapCollisionsByLayer(QuadTree<T> quadTree, TiledMap tiledMap, int layerIndex) {
-		if (layerIndex < 0) {
-			return;
-		}
-		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (layer.getTileId(x, y) > 0) {
-					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(x, y)),
-							x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(), tiledMap.getTileWidth(),
-							tiledMap.getTileHeight());
-					if (collision == null) {
-						continue;
-					}
-					quadTree.add(collision);
-				}
-			}
-		}
+		Array<T> results = new Array<T>();
+		mapCollisionsByLayer(results, tiledMap, layerIndex);
+		quadTree.addAll(results);
 	}
 
 	/**
@@ -226,23 +219,9 @@ public class TiledCollisionMapper<T extends Positionable> {
 	 *            drawn in the layer is treated as a collision.
 	 */
 	public void mapEmptySpacesByLayer(QuadTree<T> quadTree, TiledMap tiledMap, int layerIndex) {
-		if (layerIndex < 0) {
-			return;
-		}
-		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (layer.getTileId(x, y) == 0) {
-					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(x, y)),
-							x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(), tiledMap.getTileWidth(),
-							tiledMap.getTileHeight());
-					if (collision == null) {
-						continue;
-					}
-					quadTree.add(collision);
-				}
-			}
-		}
+		Array<T> results = new Array<T>();
+		mapEmptySpacesByLayer(results, tiledMap, layerIndex);
+		quadTree.addAll(results);
 	}
 
 	/**
@@ -262,10 +241,12 @@ public class TiledCollisionMapper<T extends Positionable> {
 			return;
 		}
 		TileLayer layer = tiledMap.getTileLayer(layerIndex);
+		final Tile[] tileLookup = tiledMap.getTileLookup();
 		for (int x = 0; x < layer.getWidth(); x++) {
 			for (int y = 0; y < layer.getHeight(); y++) {
-				if (layer.getTileId(x, y) > 0) {
-					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(x, y)),
+				final int tileId = layer.getTileId(x, y);
+				if (tileId > 0) {
+					T collision = collisionFactory.createCollision(tiledMap, tileId < tileLookup.length ? tileLookup[tileId] : null,
 							x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(), tiledMap.getTileWidth(),
 							tiledMap.getTileHeight());
 					if (collision == null) {
@@ -297,7 +278,7 @@ public class TiledCollisionMapper<T extends Positionable> {
 		for (int x = 0; x < layer.getWidth(); x++) {
 			for (int y = 0; y < layer.getHeight(); y++) {
 				if (layer.getTileId(x, y) == 0) {
-					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(x, y)),
+					T collision = collisionFactory.createCollision(tiledMap, null,
 							x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(), tiledMap.getTileWidth(),
 							tiledMap.getTileHeight());
 					if (collision == null) {
@@ -386,18 +367,9 @@ public class TiledCollisionMapper<T extends Positionable> {
 	 *            object is treated as a collision.
 	 */
 	public void mapCollisionsByObjectGroup(QuadTree<T> quadTree, TiledMap tiledMap, String groupName) {
-		TiledObjectGroup objectGroup = tiledMap.getObjectGroup(groupName);
-		if (objectGroup == null) {
-			return;
-		}
-
-		for (TiledObject tiledObject : objectGroup.getObjects()) {
-			T collision = collisionFactory.createCollision(tiledMap, tiledObject);
-			if (collision == null) {
-				continue;
-			}
-			quadTree.add(collision);
-		}
+		Array<T> results = new Array<T>();
+		mapCollisionsByObjectGroup(results, tiledMap, groupName);
+		quadTree.addAll(results);
 	}
 
 	/**
@@ -416,24 +388,9 @@ public class TiledCollisionMapper<T extends Positionable> {
 	 */
 	public void mapCollisionsByObjectGroup(QuadTree<T> quadTree, TiledMap tiledMap, String groupName,
 			String objectType) {
-		TiledObjectGroup objectGroup = tiledMap.getObjectGroup(groupName);
-		if (objectGroup == null) {
-			return;
-		}
-
-		for (TiledObject tiledObject : objectGroup.getObjects()) {
-			if (tiledObject.getType() == null) {
-				continue;
-			}
-			if (!tiledObject.getType().equalsIgnoreCase(objectType)) {
-				continue;
-			}
-			T collision = collisionFactory.createCollision(tiledMap, tiledObject);
-			if (collision == null) {
-				continue;
-			}
-			quadTree.add(collision);
-		}
+		Array<T> results = new Array<T>();
+		mapCollisionsByObjectGroup(results, tiledMap, groupName, objectType);
+		quadTree.addAll(results);
 	}
 
 	/**
@@ -554,31 +511,9 @@ public class TiledCollisionMapper<T extends Positionable> {
 	 */
 	public void mapAndMergeCollisionsByLayer(QuadTree<T> quadTree, TiledMap tiledMap, final int layerIndex,
 			final int maxColumns, final int maxRows) {
-		if (layerIndex < 0) {
-			return;
-		}
-		if (maxColumns < 0) {
-			throw new MdxException("maxColumns cannot be less than 1");
-		}
-		if (maxRows < 0) {
-			throw new MdxException("maxRows cannot be less than 1");
-		}
-
-		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		byte[][] collisions = mapCollisionsByLayer(tiledMap, layer);
-
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (collisions[x][y] == 0) {
-					continue;
-				}
-				T collision = mergeCollisions(x, y, maxColumns, maxRows, collisions, layer, tiledMap);
-				if (collision == null) {
-					continue;
-				}
-				quadTree.add(collision);
-			}
-		}
+		Array<T> results = new Array<T>();
+		mapAndMergeCollisionsByLayer(results, tiledMap, layerIndex, maxColumns, maxRows);
+		quadTree.addAll(results);
 	}
 
 	/**
@@ -637,31 +572,9 @@ public class TiledCollisionMapper<T extends Positionable> {
 	 */
 	public void mapAndMergeEmptySpacesByLayer(QuadTree<T> quadTree, TiledMap tiledMap, final int layerIndex,
 			final int maxColumns, final int maxRows) {
-		if (layerIndex < 0) {
-			return;
-		}
-		if (maxColumns < 0) {
-			throw new MdxException("maxColumns cannot be less than 1");
-		}
-		if (maxRows < 0) {
-			throw new MdxException("maxRows cannot be less than 1");
-		}
-
-		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		byte[][] emptySpaces = mapEmptySpacesByLayer(tiledMap, layer);
-
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (emptySpaces[x][y] == 0) {
-					continue;
-				}
-				T collision = mergeCollisions(x, y, maxColumns, maxRows, emptySpaces, layer, tiledMap);
-				if (collision == null) {
-					continue;
-				}
-				quadTree.add(collision);
-			}
-		}
+		Array<T> results = new Array<T>();
+		mapAndMergeEmptySpacesByLayer(results, tiledMap, layerIndex, maxColumns, maxRows);
+		quadTree.addAll(results);
 	}
 
 	/**
@@ -731,6 +644,10 @@ public class TiledCollisionMapper<T extends Positionable> {
 		}
 
 		TileLayer layer = tiledMap.getTileLayer(layerIndex);
+		if (mergeMode == TileMergeMode.GREEDY_MESH) {
+			meshCollisions(results, tiledMap, layer, false, maxColumns, maxRows);
+			return;
+		}
 		byte[][] collisions = mapCollisionsByLayer(tiledMap, layer);
 
 		for (int x = 0; x < layer.getWidth(); x++) {
@@ -814,6 +731,10 @@ public class TiledCollisionMapper<T extends Positionable> {
 		}
 
 		TileLayer layer = tiledMap.getTileLayer(layerIndex);
+		if (mergeMode == TileMergeMode.GREEDY_MESH) {
+			meshCollisions(results, tiledMap, layer, true, maxColumns, maxRows);
+			return;
+		}
 		byte[][] emptySpaces = mapEmptySpacesByLayer(tiledMap, layer);
 
 		for (int x = 0; x < layer.getWidth(); x++) {
@@ -830,6 +751,25 @@ public class TiledCollisionMapper<T extends Positionable> {
 		}
 	}
 
+	private void meshCollisions(Array<T> results, TiledMap tiledMap, TileLayer layer, boolean emptySpaces,
+			final int maxColumns, final int maxRows) {
+		final IntArray rectangles = new TiledCollisionMesher(tiledMap, layer, collisionMerger, emptySpaces,
+				maxColumns, maxRows, GREEDY_MESH_STRIP_HEIGHT).mesh();
+
+		//Collisions are created on the calling thread as factories are not required to be thread-safe
+		for (int i = 0; i < rectangles.size; i += 4) {
+			final int x = rectangles.get(i);
+			final int y = rectangles.get(i + 1);
+			T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(x, y)),
+					x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(),
+					rectangles.get(i + 2) * tiledMap.getTileWidth(), rectangles.get(i + 3) * tiledMap.getTileHeight());
+			if (collision == null) {
+				continue;
+			}
+			results.add(collision);
+		}
+	}
+
 	protected T mergeCollisions(final int startX, final int startY, final int maxColumns, final int maxRows,
 			byte[][] collisions, TileLayer layer, TiledMap tiledMap) {
 		return mergeMode.merge(collisionFactory, collisionMerger, startX, startY, maxColumns, maxRows, collisions,
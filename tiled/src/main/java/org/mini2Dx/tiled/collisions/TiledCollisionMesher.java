@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.collisions;
+
+import org.mini2Dx.core.executor.ParallelFor;
+import org.mini2Dx.gdx.utils.IntArray;
+import org.mini2Dx.gdx.utils.IntIntMap;
+import org.mini2Dx.tiled.Tile;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+import org.mini2Dx.tiled.collisions.merger.AllCollisionMerger;
+
+/**
+ * Decomposes the collisions (or empty spaces) of a {@link TileLayer} into rectangles for {@link TileMergeMode#GREEDY_MESH}.
+ *
+ * Each row is stored as a bitset. Rectangles are found by taking the longest run of set bits from the first
+ * set bit in a row and expanding it downwards while the rows below contain the same run. The layer is split
+ * into horizontal strips that are meshed in parallel using {@link ParallelFor}.
+ * Rectangles that end on a strip boundary are then stitched to rectangles with the same extents that start
+ * on the other side of the boundary.
+ */
+class TiledCollisionMesher extends ParallelFor {
+	private static final int VALUES_PER_RECTANGLE = 4;
+
+	private final TiledMap tiledMap;
+	private final TileLayer layer;
+	private final TiledCollisionMerger collisionMerger;
+	private final boolean emptySpaces, mergeAll;
+	private final int maxColumns, maxRows;
+	private final int wordsPerRow, stripHeight, totalStrips;
+	private final Tile[] tileLookup;
+	private final IntArray[] stripRectangles;
+
+	TiledCollisionMesher(TiledMap tiledMap, TileLayer layer, TiledCollisionMerger collisionMerger, boolean emptySpaces,
+			int maxColumns, int maxRows, int stripHeight) {
+		super(getTotalStrips(layer, stripHeight));
+		this.tiledMap = tiledMap;
+		this.layer = layer;
+		this.collisionMerger = collisionMerger;
+		this.emptySpaces = emptySpaces;
+		this.mergeAll = collisionMerger instanceof AllCollisionMerger;
+		this.maxColumns = maxColumns;
+		this.maxRows = maxRows;
+		this.stripHeight = Math.max(1, stripHeight);
+
+		wordsPerRow = (layer.getWidth() + 63) >>> 6;
+		totalStrips = (layer.getHeight() + this.stripHeight - 1) / this.stripHeight;
+		stripRectangles = new IntArray[totalStrips];
+		//Build the lookup table before any worker threads access it
+		tileLookup = tiledMap.getTileLookup();
+	}
+
+	private static int getTotalStrips(TileLayer layer, int stripHeight) {
+		stripHeight = Math.max(1, stripHeight);
+		return (layer.getHeight() + stripHeight - 1) / stripHeight;
+	}
+
+	/**
+	 * Meshes the layer and blocks until complete
+	 * @return The rectangles stored as x, y, width, height in tiles, in row order
+	 */
+	IntArray mesh() {
+		execute();
+		return stitch();
+	}
+
+	@Override
+	protected void iterate(int strip, int slot) {
+		stripRectangles[strip] = meshStrip(strip);
+	}
+
+	private IntArray meshStrip(int strip) {
+		final int fromY = strip * stripHeight;
+		final int totalRows = Math.min(layer.getHeight(), fromY + stripHeight) - fromY;
+		final int layerWidth = layer.getWidth();
+		final long[] bits = new long[totalRows * wordsPerRow];
+
+		for (int row = 0; row < totalRows; row++) {
+			final int rowOffset = row * wordsPerRow;
+			for (int x = 0; x < layerWidth; x++) {
+				if ((layer.getTileId(x, fromY + row) == 0) == emptySpaces) {
+					bits[rowOffset + (x >>> 6)] |= 1L << (x & 63);
+				}
+			}
+		}
+
+		final IntArray result = new IntArray();
+		for (int row = 0; row < totalRows; row++) {
+			final int rowOffset = row * wordsPerRow;
+			final int startY = fromY + row;
+
+			for (int word = 0; word < wordsPerRow; word++) {
+				long value;
+				while ((value = bits[rowOffset + word]) != 0L) {
+					final int startX = (word << 6) + Long.numberOfTrailingZeros(value);
+					final Tile startTile = getTile(startX, startY);
+
+					final int columnLimit = maxColumns >= layerWidth - startX ? layerWidth : startX + maxColumns;
+					final int run = getRunLength(bits, rowOffset, startX, columnLimit);
+					int width = 1;
+					while (width < run && isMergable(startTile, startX, startY, startX + width, startY)) {
+						width++;
+					}
+
+					final int rowLimit = Math.min(totalRows - row, maxRows);
+					int height = 1;
+					while (height < rowLimit && isRangeSet(bits, (row + height) * wordsPerRow, startX, width) &&
+							isRowMergable(startTile, startX, startY, width, startY + height)) {
+						height++;
+					}
+
+					for (int y = 0; y < height; y++) {
+						clearRange(bits, (row + y) * wordsPerRow, startX, width);
+					}
+					result.add(startX, startY, width, height);
+				}
+			}
+		}
+		return result;
+	}
+
+	private IntArray stitch() {
+		final IntArray result = new IntArray();
+		IntIntMap openRectangles = new IntIntMap();
+		IntIntMap nextOpenRectangles = new IntIntMap();
+
+		for (int strip = 0; strip < totalStrips; strip++) {
+			final int stripTop = strip * stripHeight;
+			final int stripBottom = Math.min(layer.getHeight(), stripTop + stripHeight);
+			final IntArray rectangles = stripRectangles[strip];
+			nextOpenRectangles.clear();
+
+			for (int i = 0; i < rectangles.size; i += VALUES_PER_RECTANGLE) {
+				final int x = rectangles.get(i);
+				final int y = rectangles.get(i + 1);
+				final int width = rectangles.get(i + 2);
+				final int height = rectangles.get(i + 3);
+
+				int index = -1;
+				if (y == stripTop) {
+					final int candidate = openRectangles.remove(x, -1);
+					if (candidate >= 0 && canStitch(result, candidate, x, y, width, height)) {
+						result.incr(candidate + 3, height);
+						index = candidate;
+					}
+				}
+				if (index < 0) {
+					index = result.size;
+					result.add(x, y, width, height);
+				}
+				if (y + height == stripBottom) {
+					nextOpenRectangles.put(x, index);
+				}
+			}
+
+			final IntIntMap swap = openRectangles;
+			openRectangles = nextOpenRectangles;
+			nextOpenRectangles = swap;
+		}
+		return result;
+	}
+
+	private boolean canStitch(IntArray result, int candidate, int x, int y, int width, int height) {
+		if (result.get(candidate + 2) != width) {
+			return false;
+		}
+		final int candidateHeight = result.get(candidate + 3);
+		if (candidateHeight > maxRows - height) {
+			return false;
+		}
+		if (mergeAll) {
+			return true;
+		}
+		final int startY = result.get(candidate + 1);
+		final Tile startTile = getTile(x, startY);
+		for (int row = 0; row < height; row++) {
+			if (!isRowMergable(startTile, x, startY, width, y + row)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isRowMergable(Tile startTile, int startX, int startY, int width, int y) {
+		if (mergeAll) {
+			return true;
+		}
+		for (int x = 0; x < width; x++) {
+			if (!collisionMerger.isMergable(tiledMap, layer, startTile, startX, startY, startX + x, y)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isMergable(Tile startTile, int startX, int startY, int x, int y) {
+		if (mergeAll) {
+			return true;
+		}
+		return collisionMerger.isMergable(tiledMap, layer, startTile, startX, startY, x, y);
+	}
+
+	private Tile getTile(int x, int y) {
+		final int tileId = layer.getTileId(x, y);
+		if (tileId < 1 || tileId >= tileLookup.length) {
+			return null;
+		}
+		return tileLookup[tileId];
+	}
+
+	/**
+	 * Returns the number of consecutive set bits in a row starting at a given bit
+	 */
+	private static int getRunLength(long[] bits, int rowOffset, int startX, int limit) {
+		int x = startX;
+		while (x < limit) {
+			final int bit = x & 63;
+			final int run = Math.min(Long.numberOfTrailingZeros(~(bits[rowOffset + (x >>> 6)] >>> bit)), 64 - bit);
+			x += run;
+			if (run < 64 - bit) {
+				break;
+			}
+		}
+		return Math.min(x, limit) - startX;
+	}
+
+	private static boolean isRangeSet(long[] bits, int rowOffset, int startX, int width) {
+		final int endX = startX + width;
+		int x = startX;
+		while (x < endX) {
+			final int bit = x & 63;
+			final int count = Math.min(64 - bit, endX - x);
+			final long mask = count == 64 ? -1L : ((1L << count) - 1L) << bit;
+			if ((bits[rowOffset + (x >>> 6)] & mask) != mask) {
+				return false;
+			}
+			x += count;
+		}
+		return true;
+	}
+
+	private static void clearRange(long[] bits, int rowOffset, int startX, int width) {
+		final int endX = startX + width;
+		int x = startX;
+		while (x < endX) {
+			final int bit = x & 63;
+			final int count = Math.min(64 - bit, endX - x);
+			final long mask = count == 64 ? -1L : ((1L << count) - 1L) << bit;
+			bits[rowOffset + (x >>> 6)] &= ~mask;
+			x += count;
+		}
+	}
+}
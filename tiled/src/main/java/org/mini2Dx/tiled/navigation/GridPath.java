@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+import org.mini2Dx.gdx.utils.IntArray;
+
+/**
+ * Stores the cells of a path found by a {@link Pathfinder}, from start to goal (inclusive).
+ *
+ * Instances can be reused between searches to avoid allocation.
+ */
+public class GridPath {
+	private final IntArray points = new IntArray();
+	private int cost;
+
+	/**
+	 * Removes all cells from the path
+	 */
+	public void clear() {
+		points.clear();
+		cost = 0;
+	}
+
+	void add(int x, int y) {
+		points.add(x);
+		points.add(y);
+	}
+
+	void reverse() {
+		final int[] items = points.items;
+		for (int i = 0, j = points.size - 2; i < j; i += 2, j -= 2) {
+			final int x = items[i];
+			final int y = items[i + 1];
+			items[i] = items[j];
+			items[i + 1] = items[j + 1];
+			items[j] = x;
+			items[j + 1] = y;
+		}
+	}
+
+	void setCost(int cost) {
+		this.cost = cost;
+	}
+
+	/**
+	 * Returns the x coordinate of a cell in the path
+	 * @param index The index of the cell
+	 * @return The x coordinate
+	 */
+	public int getX(int index) {
+		return points.get(index * 2);
+	}
+
+	/**
+	 * Returns the y coordinate of a cell in the path
+	 * @param index The index of the cell
+	 * @return The y coordinate
+	 */
+	public int getY(int index) {
+		return points.get((index * 2) + 1);
+	}
+
+	/**
+	 * Returns the total cells in the path including the start and goal
+	 * @return 0 if no path was found
+	 */
+	public int getLength() {
+		return points.size / 2;
+	}
+
+	/**
+	 * Returns the cost of the path. Straight moves cost 10 and diagonal moves cost 14.
+	 * @return 0 if the path is empty
+	 */
+	public int getCost() {
+		return cost;
+	}
+
+	public boolean isEmpty() {
+		return points.size == 0;
+	}
+}
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+import org.mini2Dx.gdx.utils.IntArray;
+
+/**
+ * A* search over a {@link NavigationGrid}.
+ *
+ * All search state is stored in arrays sized to the grid on construction so
+ * searches do not allocate. Cells are marked with a search stamp instead of
+ * clearing the arrays between searches. Diagonal moves are only allowed when
+ * both adjacent orthogonal cells are walkable so that paths never cut corners.
+ */
+public class GridPathfinder implements Pathfinder {
+	static final int STRAIGHT_COST = 10;
+	static final int DIAGONAL_COST = 14;
+
+	protected final NavigationGrid grid;
+	protected final boolean allowDiagonal;
+
+	private final int width;
+	private final SearchState search;
+
+	protected int minX, minY, maxX, maxY;
+	protected int goalX, goalY, goalNode;
+
+	/**
+	 * Constructor. Allows diagonal movement.
+	 * @param grid The {@link NavigationGrid} to search
+	 */
+	public GridPathfinder(NavigationGrid grid) {
+		this(grid, true);
+	}
+
+	/**
+	 * Constructor
+	 * @param grid The {@link NavigationGrid} to search
+	 * @param allowDiagonal True if diagonal moves are allowed
+	 */
+	public GridPathfinder(NavigationGrid grid, boolean allowDiagonal) {
+		this.grid = grid;
+		this.allowDiagonal = allowDiagonal;
+		this.width = grid.getWidth();
+
+		this.search = new SearchState(grid.getWidth() * grid.getHeight());
+	}
+
+	@Override
+	public boolean findPath(int startX, int startY, int goalX, int goalY, GridPath result) {
+		return findPath(startX, startY, goalX, goalY, 0, 0, grid.getWidth(), grid.getHeight(), result);
+	}
+
+	/**
+	 * Finds a path that stays within a region of the grid
+	 * @param startX The x coordinate of the start cell
+	 * @param startY The y coordinate of the start cell
+	 * @param goalX The x coordinate of the goal cell
+	 * @param goalY The y coordinate of the goal cell
+	 * @param minX The minimum x coordinate of the region (inclusive)
+	 * @param minY The minimum y coordinate of the region (inclusive)
+	 * @param maxX The maximum x coordinate of the region (exclusive)
+	 * @param maxY The maximum y coordinate of the region (exclusive)
+	 * @param result The {@link GridPath} to store the path in
+	 * @return False if no path exists within the region
+	 */
+	boolean findPath(int startX, int startY, int goalX, int goalY, int minX, int minY, int maxX, int maxY, GridPath result) {
+		result.clear();
+		beginSearch(minX, minY, maxX, maxY);
+		if (!isWalkable(startX, startY) || !isWalkable(goalX, goalY)) {
+			return false;
+		}
+		this.goalX = goalX;
+		this.goalY = goalY;
+		this.goalNode = toNode(goalX, goalY);
+
+		search.open(toNode(startX, startY), -1, 0, heuristic(startX, startY));
+		while (!search.isEmpty()) {
+			final int node = search.pop();
+			if (node == goalNode) {
+				buildPath(node, result);
+				return true;
+			}
+			expand(node, node % width, node / width);
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the cost of the shortest path from a cell to each target cell within a region of the grid
+	 * @param startX The x coordinate of the start cell
+	 * @param startY The y coordinate of the start cell
+	 * @param minX The minimum x coordinate of the region (inclusive)
+	 * @param minY The minimum y coordinate of the region (inclusive)
+	 * @param maxX The maximum x coordinate of the region (exclusive)
+	 * @param maxY The maximum y coordinate of the region (exclusive)
+	 * @param targets The target cells as y * grid width + x
+	 * @param result The array to store costs in, -1 for unreachable targets
+	 * @param offset The index in result to store the first cost at
+	 */
+	void computeCosts(int startX, int startY, int minX, int minY, int maxX, int maxY, IntArray targets, int[] result, int offset) {
+		beginSearch(minX, minY, maxX, maxY);
+		goalNode = -1;
+		if (isWalkable(startX, startY)) {
+			search.open(toNode(startX, startY), -1, 0, 0);
+			while (!search.isEmpty()) {
+				final int node = search.pop();
+				expandAll(node, node % width, node / width);
+			}
+		}
+		for (int i = 0; i < targets.size; i++) {
+			final int target = targets.get(i);
+			result[offset + i] = search.isClosed(target) ? search.getCost(target) : -1;
+		}
+	}
+
+	/**
+	 * Adds the successors of a closed cell to the open list
+	 * @param node The cell index
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 */
+	protected void expand(int node, int x, int y) {
+		expandAll(node, x, y);
+	}
+
+	private void expandAll(int node, int x, int y) {
+		final boolean left = isWalkable(x - 1, y);
+		final boolean right = isWalkable(x + 1, y);
+		final boolean up = isWalkable(x, y - 1);
+		final boolean down = isWalkable(x, y + 1);
+
+		if (left) {
+			relax(node, x - 1, y, STRAIGHT_COST);
+		}
+		if (right) {
+			relax(node, x + 1, y, STRAIGHT_COST);
+		}
+		if (up) {
+			relax(node, x, y - 1, STRAIGHT_COST);
+		}
+		if (down) {
+			relax(node, x, y + 1, STRAIGHT_COST);
+		}
+		if (!allowDiagonal) {
+			return;
+		}
+		if (left && up && isWalkable(x - 1, y - 1)) {
+			relax(node, x - 1, y - 1, DIAGONAL_COST);
+		}
+		if (right && up && isWalkable(x + 1, y - 1)) {
+			relax(node, x + 1, y - 1, DIAGONAL_COST);
+		}
+		if (left && down && isWalkable(x - 1, y + 1)) {
+			relax(node, x - 1, y + 1, DIAGONAL_COST);
+		}
+		if (right && down && isWalkable(x + 1, y + 1)) {
+			relax(node, x + 1, y + 1, DIAGONAL_COST);
+		}
+	}
+
+	/**
+	 * Opens a successor of a cell or updates it if a cheaper route was found
+	 * @param node The cell index of the predecessor
+	 * @param x The x coordinate of the successor
+	 * @param y The y coordinate of the successor
+	 * @param moveCost The cost of moving from the predecessor to the successor
+	 */
+	protected final void relax(int node, int x, int y, int moveCost) {
+		search.relax(node, toNode(x, y), moveCost, heuristic(x, y));
+	}
+
+	/**
+	 * Returns if a cell is walkable and within the current search region
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return False if the cell is blocked or outside the search region
+	 */
+	protected final boolean isWalkable(int x, int y) {
+		return x >= minX && y >= minY && x < maxX && y < maxY && grid.isWalkable(x, y);
+	}
+
+	protected final int getParent(int node) {
+		return search.getParent(node);
+	}
+
+	protected final int toNode(int x, int y) {
+		return (y * width) + x;
+	}
+
+	protected final int heuristic(int x, int y) {
+		if (goalNode < 0) {
+			return 0;
+		}
+		return distance(x, y, goalX, goalY, allowDiagonal);
+	}
+
+	static int distance(int x1, int y1, int x2, int y2, boolean allowDiagonal) {
+		final int deltaX = Math.abs(x1 - x2);
+		final int deltaY = Math.abs(y1 - y2);
+		if (!allowDiagonal) {
+			return STRAIGHT_COST * (deltaX + deltaY);
+		}
+		return (STRAIGHT_COST * (deltaX + deltaY)) + ((DIAGONAL_COST - (2 * STRAIGHT_COST)) * Math.min(deltaX, deltaY));
+	}
+
+	private void beginSearch(int minX, int minY, int maxX, int maxY) {
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+		search.begin();
+	}
+
+	private void buildPath(int node, GridPath result) {
+		result.setCost(search.getCost(node));
+
+		int x = node % width;
+		int y = node / width;
+		result.add(x, y);
+
+		int parent = search.getParent(node);
+		while (parent >= 0) {
+			final int parentX = parent % width;
+			final int parentY = parent / width;
+			final int stepX = Integer.signum(parentX - x);
+			final int stepY = Integer.signum(parentY - y);
+			// Jump points are connected by straight or diagonal lines
+			while (x != parentX || y != parentY) {
+				x += stepX;
+				y += stepY;
+				result.add(x, y);
+			}
+			parent = search.getParent(parent);
+		}
+		result.reverse();
+	}
+
+	@Override
+	public void prepare() {
+	}
+
+	@Override
+	public Pathfinder createWorker() {
+		return new GridPathfinder(grid, allowDiagonal);
+	}
+
+	public NavigationGrid getGrid() {
+		return grid;
+	}
+
+	public boolean isDiagonalAllowed() {
+		return allowDiagonal;
+	}
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+/**
+ * The abstract graph shared by {@link HierarchicalPathfinder} instances.
+ *
+ * The grid is divided into {@link NavigationCluster}s. Each run of walkable
+ * cells along the border between two clusters is an entrance with one
+ * transition cell on each side (two for long entrances). Transition cells in
+ * the same cluster are connected by their shortest in-cluster path cost.
+ *
+ * When a cell changes, its cluster is marked dirty and on the next
+ * {@link #update(GridPathfinder)} only the dirty clusters and their
+ * neighbours are rebuilt.
+ */
+class HierarchicalGraph implements NavigationGridListener {
+	static final int ENTRANCE_SPLIT_LENGTH = 6;
+
+	final NavigationGrid grid;
+	final boolean allowDiagonal;
+	final int clusterSize;
+	final int totalClustersX, totalClustersY;
+	final NavigationCluster[] clusters;
+
+	/**
+	 * The cell of each abstract node as y * grid width + x
+	 */
+	int[] nodeCells = new int[0];
+	/**
+	 * The cluster index of each abstract node
+	 */
+	int[] nodeClusters = new int[0];
+	int totalNodes;
+	int maxClusterNodes;
+
+	private final boolean[] affectedClusters;
+	private boolean dirty = true;
+
+	HierarchicalGraph(NavigationGrid grid, int clusterSize, boolean allowDiagonal) {
+		this.grid = grid;
+		this.clusterSize = clusterSize;
+		this.allowDiagonal = allowDiagonal;
+		this.totalClustersX = (grid.getWidth() + clusterSize - 1) / clusterSize;
+		this.totalClustersY = (grid.getHeight() + clusterSize - 1) / clusterSize;
+
+		clusters = new NavigationCluster[totalClustersX * totalClustersY];
+		affectedClusters = new boolean[clusters.length];
+		for (int clusterY = 0; clusterY < totalClustersY; clusterY++) {
+			for (int clusterX = 0; clusterX < totalClustersX; clusterX++) {
+				final int minX = clusterX * clusterSize;
+				final int minY = clusterY * clusterSize;
+				clusters[(clusterY * totalClustersX) + clusterX] = new NavigationCluster(minX, minY,
+						Math.min(grid.getWidth(), minX + clusterSize), Math.min(grid.getHeight(), minY + clusterSize));
+			}
+		}
+		grid.addListener(this);
+	}
+
+	@Override
+	public void walkableChanged(NavigationGrid grid, int x, int y) {
+		clusters[getClusterIndex(x, y)].dirty = true;
+		dirty = true;
+	}
+
+	int getClusterIndex(int x, int y) {
+		return ((y / clusterSize) * totalClustersX) + (x / clusterSize);
+	}
+
+	boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * Rebuilds dirty clusters and their neighbours
+	 * @param pathfinder The {@link GridPathfinder} to compute in-cluster costs with
+	 */
+	void update(GridPathfinder pathfinder) {
+		if (!dirty) {
+			return;
+		}
+		for (int i = 0; i < clusters.length; i++) {
+			affectedClusters[i] = false;
+		}
+		for (int clusterY = 0; clusterY < totalClustersY; clusterY++) {
+			for (int clusterX = 0; clusterX < totalClustersX; clusterX++) {
+				final int index = (clusterY * totalClustersX) + clusterX;
+				if (!clusters[index].dirty) {
+					continue;
+				}
+				// Entrances on shared borders change the transition cells of both clusters
+				affectedClusters[index] = true;
+				if (clusterX > 0) {
+					affectedClusters[index - 1] = true;
+				}
+				if (clusterX < totalClustersX - 1) {
+					affectedClusters[index + 1] = true;
+				}
+				if (clusterY > 0) {
+					affectedClusters[index - totalClustersX] = true;
+				}
+				if (clusterY < totalClustersY - 1) {
+					affectedClusters[index + totalClustersX] = true;
+				}
+			}
+		}
+
+		for (int i = 0; i < clusters.length; i++) {
+			if (affectedClusters[i]) {
+				clusters[i].clearNodes();
+			}
+		}
+		for (int clusterY = 0; clusterY < totalClustersY; clusterY++) {
+			for (int clusterX = 0; clusterX < totalClustersX; clusterX++) {
+				final int index = (clusterY * totalClustersX) + clusterX;
+				if (!affectedClusters[index]) {
+					continue;
+				}
+				// Unaffected neighbours receive the same transition cells they already have
+				final NavigationCluster cluster = clusters[index];
+				if (clusterX > 0) {
+					addHorizontalEntrances(clusters[index - 1], cluster);
+				}
+				if (clusterX < totalClustersX - 1) {
+					addHorizontalEntrances(cluster, clusters[index + 1]);
+				}
+				if (clusterY > 0) {
+					addVerticalEntrances(clusters[index - totalClustersX], cluster);
+				}
+				if (clusterY < totalClustersY - 1) {
+					addVerticalEntrances(cluster, clusters[index + totalClustersX]);
+				}
+			}
+		}
+		for (int i = 0; i < clusters.length; i++) {
+			if (affectedClusters[i]) {
+				computeCosts(clusters[i], pathfinder);
+			}
+			clusters[i].dirty = false;
+		}
+
+		totalNodes = 0;
+		maxClusterNodes = 0;
+		for (int i = 0; i < clusters.length; i++) {
+			clusters[i].nodeOffset = totalNodes;
+			totalNodes += clusters[i].nodes.size;
+			maxClusterNodes = Math.max(maxClusterNodes, clusters[i].nodes.size);
+		}
+		if (nodeCells.length < totalNodes) {
+			nodeCells = new int[totalNodes];
+			nodeClusters = new int[totalNodes];
+		}
+		for (int i = 0; i < clusters.length; i++) {
+			final NavigationCluster cluster = clusters[i];
+			for (int j = 0; j < cluster.nodes.size; j++) {
+				nodeCells[cluster.nodeOffset + j] = cluster.nodes.get(j);
+				nodeClusters[cluster.nodeOffset + j] = i;
+			}
+		}
+		dirty = false;
+	}
+
+	private void addHorizontalEntrances(NavigationCluster left, NavigationCluster right) {
+		final int x = left.maxX - 1;
+		int entranceStart = -1;
+		for (int y = left.minY; y <= left.maxY; y++) {
+			if (y < left.maxY && grid.isWalkable(x, y) && grid.isWalkable(x + 1, y)) {
+				if (entranceStart < 0) {
+					entranceStart = y;
+				}
+				continue;
+			}
+			if (entranceStart < 0) {
+				continue;
+			}
+			final int length = y - entranceStart;
+			if (length >= ENTRANCE_SPLIT_LENGTH) {
+				addTransition(left, right, x, entranceStart, 1, 0);
+				addTransition(left, right, x, y - 1, 1, 0);
+			} else {
+				addTransition(left, right, x, entranceStart + (length / 2), 1, 0);
+			}
+			entranceStart = -1;
+		}
+	}
+
+	private void addVerticalEntrances(NavigationCluster top, NavigationCluster bottom) {
+		final int y = top.maxY - 1;
+		int entranceStart = -1;
+		for (int x = top.minX; x <= top.maxX; x++) {
+			if (x < top.maxX && grid.isWalkable(x, y) && grid.isWalkable(x, y + 1)) {
+				if (entranceStart < 0) {
+					entranceStart = x;
+				}
+				continue;
+			}
+			if (entranceStart < 0) {
+				continue;
+			}
+			final int length = x - entranceStart;
+			if (length >= ENTRANCE_SPLIT_LENGTH) {
+				addTransition(top, bottom, entranceStart, y, 0, 1);
+				addTransition(top, bottom, x - 1, y, 0, 1);
+			} else {
+				addTransition(top, bottom, entranceStart + (length / 2), y, 0, 1);
+			}
+			entranceStart = -1;
+		}
+	}
+
+	private void addTransition(NavigationCluster first, NavigationCluster second, int x, int y, int deltaX, int deltaY) {
+		first.addNode(toCell(x, y));
+		second.addNode(toCell(x + deltaX, y + deltaY));
+	}
+
+	private void computeCosts(NavigationCluster cluster, GridPathfinder pathfinder) {
+		final int totalNodes = cluster.nodes.size;
+		if (cluster.costs.length < totalNodes * totalNodes) {
+			cluster.costs = new int[totalNodes * totalNodes];
+		}
+		for (int i = 0; i < totalNodes; i++) {
+			final int cell = cluster.nodes.get(i);
+			pathfinder.computeCosts(cell % grid.getWidth(), cell / grid.getWidth(), cluster.minX, cluster.minY,
+					cluster.maxX, cluster.maxY, cluster.nodes, cluster.costs, i * totalNodes);
+		}
+	}
+
+	int toCell(int x, int y) {
+		return (y * grid.getWidth()) + x;
+	}
+}
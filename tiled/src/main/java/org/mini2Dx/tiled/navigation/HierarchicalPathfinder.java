@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+import org.mini2Dx.gdx.utils.IntArray;
+
+/**
+ * Hierarchical pathfinding (HPA*) over a {@link NavigationGrid}.
+ *
+ * The grid is divided into square clusters connected by entrances along
+ * their borders. Paths are first searched over the much smaller graph of
+ * entrances and then refined into cells one cluster at a time. Paths are
+ * near-optimal, typically within a few percent of the cost found by
+ * {@link GridPathfinder}.
+ *
+ * Changes to the {@link NavigationGrid} mark the affected clusters as dirty
+ * and only those clusters are rebuilt before the next search.
+ */
+public class HierarchicalPathfinder implements Pathfinder {
+	public static int DEFAULT_CLUSTER_SIZE = 16;
+
+	private final HierarchicalGraph graph;
+	private final boolean owner;
+	private final GridPathfinder gridPathfinder;
+	private final SearchState search = new SearchState(0);
+	private final GridPath segment = new GridPath();
+	private final IntArray abstractPath = new IntArray();
+
+	private int[] startCosts = new int[0];
+	private int[] goalCosts = new int[0];
+	private NavigationCluster startCluster, goalCluster;
+	private int goalX, goalY;
+
+	/**
+	 * Constructor. Uses {@link #DEFAULT_CLUSTER_SIZE} and allows diagonal movement.
+	 * @param grid The {@link NavigationGrid} to search
+	 */
+	public HierarchicalPathfinder(NavigationGrid grid) {
+		this(grid, DEFAULT_CLUSTER_SIZE, true);
+	}
+
+	/**
+	 * Constructor
+	 * @param grid The {@link NavigationGrid} to search
+	 * @param clusterSize The width and height of each cluster in cells
+	 * @param allowDiagonal True if diagonal moves are allowed
+	 */
+	public HierarchicalPathfinder(NavigationGrid grid, int clusterSize, boolean allowDiagonal) {
+		this(new HierarchicalGraph(grid, clusterSize, allowDiagonal), true);
+	}
+
+	private HierarchicalPathfinder(HierarchicalGraph graph, boolean owner) {
+		this.graph = graph;
+		this.owner = owner;
+		this.gridPathfinder = new GridPathfinder(graph.grid, graph.allowDiagonal);
+	}
+
+	@Override
+	public boolean findPath(int startX, int startY, int goalX, int goalY, GridPath result) {
+		if (owner) {
+			graph.update(gridPathfinder);
+		}
+		result.clear();
+
+		final NavigationGrid grid = graph.grid;
+		if (!grid.isWalkable(startX, startY) || !grid.isWalkable(goalX, goalY)) {
+			return false;
+		}
+		startCluster = graph.clusters[graph.getClusterIndex(startX, startY)];
+		goalCluster = graph.clusters[graph.getClusterIndex(goalX, goalY)];
+		if (startCluster == goalCluster && gridPathfinder.findPath(startX, startY, goalX, goalY,
+				startCluster.minX, startCluster.minY, startCluster.maxX, startCluster.maxY, result)) {
+			return true;
+		}
+		this.goalX = goalX;
+		this.goalY = goalY;
+
+		if (startCosts.length < graph.maxClusterNodes) {
+			startCosts = new int[graph.maxClusterNodes];
+			goalCosts = new int[graph.maxClusterNodes];
+		}
+		gridPathfinder.computeCosts(startX, startY, startCluster.minX, startCluster.minY,
+				startCluster.maxX, startCluster.maxY, startCluster.nodes, startCosts, 0);
+		gridPathfinder.computeCosts(goalX, goalY, goalCluster.minX, goalCluster.minY,
+				goalCluster.maxX, goalCluster.maxY, goalCluster.nodes, goalCosts, 0);
+
+		if (!searchAbstractPath(startX, startY)) {
+			return false;
+		}
+		refinePath(result);
+		return true;
+	}
+
+	private boolean searchAbstractPath(int startX, int startY) {
+		final int startNode = graph.totalNodes;
+		final int goalNode = graph.totalNodes + 1;
+
+		search.ensureCapacity(graph.totalNodes + 2);
+		search.begin();
+		search.open(startNode, -1, 0, distanceToGoal(graph.toCell(startX, startY)));
+
+		while (!search.isEmpty()) {
+			final int node = search.pop();
+			if (node == goalNode) {
+				abstractPath.clear();
+				abstractPath.add(graph.toCell(goalX, goalY));
+				int parent = search.getParent(node);
+				while (parent != startNode) {
+					abstractPath.add(graph.nodeCells[parent]);
+					parent = search.getParent(parent);
+				}
+				abstractPath.add(graph.toCell(startX, startY));
+				abstractPath.reverse();
+				return true;
+			}
+			if (node == startNode) {
+				for (int i = 0; i < startCluster.nodes.size; i++) {
+					if (startCosts[i] >= 0) {
+						relax(node, startCluster.nodeOffset + i, startCosts[i]);
+					}
+				}
+				continue;
+			}
+			expand(node, goalNode);
+		}
+		return false;
+	}
+
+	private void expand(int node, int goalNode) {
+		final NavigationCluster cluster = graph.clusters[graph.nodeClusters[node]];
+		final int totalNodes = cluster.nodes.size;
+		final int index = node - cluster.nodeOffset;
+		for (int i = 0; i < totalNodes; i++) {
+			final int cost = cluster.costs[(index * totalNodes) + i];
+			if (i != index && cost >= 0) {
+				relax(node, cluster.nodeOffset + i, cost);
+			}
+		}
+		if (cluster == goalCluster && goalCosts[index] >= 0) {
+			search.relax(node, goalNode, goalCosts[index], 0);
+		}
+
+		final int cell = graph.nodeCells[node];
+		final int x = cell % graph.grid.getWidth();
+		final int y = cell / graph.grid.getWidth();
+		relaxTransition(node, cluster, x - 1, y);
+		relaxTransition(node, cluster, x + 1, y);
+		relaxTransition(node, cluster, x, y - 1);
+		relaxTransition(node, cluster, x, y + 1);
+	}
+
+	private void relaxTransition(int node, NavigationCluster cluster, int x, int y) {
+		if (cluster.contains(x, y) || !graph.grid.isWalkable(x, y)) {
+			return;
+		}
+		final NavigationCluster neighbour = graph.clusters[graph.getClusterIndex(x, y)];
+		final int index = neighbour.getNodeIndex(graph.toCell(x, y));
+		if (index < 0) {
+			return;
+		}
+		relax(node, neighbour.nodeOffset + index, GridPathfinder.STRAIGHT_COST);
+	}
+
+	private void relax(int node, int successor, int moveCost) {
+		search.relax(node, successor, moveCost, distanceToGoal(graph.nodeCells[successor]));
+	}
+
+	private int distanceToGoal(int cell) {
+		final int width = graph.grid.getWidth();
+		return GridPathfinder.distance(cell % width, cell / width, goalX, goalY, graph.allowDiagonal);
+	}
+
+	private void refinePath(GridPath result) {
+		final int width = graph.grid.getWidth();
+		int cost = 0;
+
+		result.add(abstractPath.get(0) % width, abstractPath.get(0) / width);
+		for (int i = 1; i < abstractPath.size; i++) {
+			final int fromX = abstractPath.get(i - 1) % width;
+			final int fromY = abstractPath.get(i - 1) / width;
+			final int toX = abstractPath.get(i) % width;
+			final int toY = abstractPath.get(i) / width;
+
+			final NavigationCluster cluster = graph.clusters[graph.getClusterIndex(fromX, fromY)];
+			if (!cluster.contains(toX, toY)) {
+				// Transition between clusters
+				result.add(toX, toY);
+				cost += GridPathfinder.STRAIGHT_COST;
+				continue;
+			}
+			gridPathfinder.findPath(fromX, fromY, toX, toY, cluster.minX, cluster.minY, cluster.maxX, cluster.maxY, segment);
+			for (int j = 1; j < segment.getLength(); j++) {
+				result.add(segment.getX(j), segment.getY(j));
+			}
+			cost += segment.getCost();
+		}
+		result.setCost(cost);
+	}
+
+	@Override
+	public void prepare() {
+		graph.update(gridPathfinder);
+	}
+
+	/**
+	 * Creates a pathfinder that shares this instance's cluster graph.
+	 * Workers do not rebuild the graph so {@link #prepare()} must be called on this instance after the grid changes.
+	 * @return A new {@link HierarchicalPathfinder}
+	 */
+	@Override
+	public Pathfinder createWorker() {
+		return new HierarchicalPathfinder(graph, false);
+	}
+
+	public NavigationGrid getGrid() {
+		return graph.grid;
+	}
+
+	public int getClusterSize() {
+		return graph.clusterSize;
+	}
+}
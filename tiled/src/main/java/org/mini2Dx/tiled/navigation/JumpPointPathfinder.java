@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+/**
+ * Jump Point Search over a {@link NavigationGrid}.
+ *
+ * Produces paths of the same cost as {@link GridPathfinder} with diagonal
+ * movement enabled but only opens cells where the path may change direction,
+ * which greatly reduces the open list size on maps with large open areas.
+ * As with {@link GridPathfinder}, diagonal moves never cut corners.
+ */
+public class JumpPointPathfinder extends GridPathfinder {
+
+	public JumpPointPathfinder(NavigationGrid grid) {
+		super(grid, true);
+	}
+
+	@Override
+	protected void expand(int node, int x, int y) {
+		final int parent = getParent(node);
+		if (parent < 0) {
+			expandStart(node, x, y);
+			return;
+		}
+		final int deltaX = Integer.signum(x - (parent % grid.getWidth()));
+		final int deltaY = Integer.signum(y - (parent / grid.getWidth()));
+
+		if (deltaX != 0 && deltaY != 0) {
+			final boolean nextX = isWalkable(x + deltaX, y);
+			final boolean nextY = isWalkable(x, y + deltaY);
+			if (nextY) {
+				jump(node, x, y, 0, deltaY);
+			}
+			if (nextX) {
+				jump(node, x, y, deltaX, 0);
+			}
+			if (nextX && nextY) {
+				jump(node, x, y, deltaX, deltaY);
+			}
+		} else if (deltaX != 0) {
+			final boolean next = isWalkable(x + deltaX, y);
+			final boolean down = isWalkable(x, y + 1);
+			final boolean up = isWalkable(x, y - 1);
+			if (next) {
+				jump(node, x, y, deltaX, 0);
+				if (down) {
+					jump(node, x, y, deltaX, 1);
+				}
+				if (up) {
+					jump(node, x, y, deltaX, -1);
+				}
+			}
+			if (down) {
+				jump(node, x, y, 0, 1);
+			}
+			if (up) {
+				jump(node, x, y, 0, -1);
+			}
+		} else {
+			final boolean next = isWalkable(x, y + deltaY);
+			final boolean right = isWalkable(x + 1, y);
+			final boolean left = isWalkable(x - 1, y);
+			if (next) {
+				jump(node, x, y, 0, deltaY);
+				if (right) {
+					jump(node, x, y, 1, deltaY);
+				}
+				if (left) {
+					jump(node, x, y, -1, deltaY);
+				}
+			}
+			if (right) {
+				jump(node, x, y, 1, 0);
+			}
+			if (left) {
+				jump(node, x, y, -1, 0);
+			}
+		}
+	}
+
+	private void expandStart(int node, int x, int y) {
+		final boolean left = isWalkable(x - 1, y);
+		final boolean right = isWalkable(x + 1, y);
+		final boolean up = isWalkable(x, y - 1);
+		final boolean down = isWalkable(x, y + 1);
+
+		if (left) {
+			jump(node, x, y, -1, 0);
+		}
+		if (right) {
+			jump(node, x, y, 1, 0);
+		}
+		if (up) {
+			jump(node, x, y, 0, -1);
+		}
+		if (down) {
+			jump(node, x, y, 0, 1);
+		}
+		if (left && up) {
+			jump(node, x, y, -1, -1);
+		}
+		if (right && up) {
+			jump(node, x, y, 1, -1);
+		}
+		if (left && down) {
+			jump(node, x, y, -1, 1);
+		}
+		if (right && down) {
+			jump(node, x, y, 1, 1);
+		}
+	}
+
+	private void jump(int node, int x, int y, int deltaX, int deltaY) {
+		final int jumpPoint = findJumpPoint(x + deltaX, y + deltaY, deltaX, deltaY);
+		if (jumpPoint < 0) {
+			return;
+		}
+		final int jumpX = jumpPoint % grid.getWidth();
+		final int jumpY = jumpPoint / grid.getWidth();
+		relax(node, jumpX, jumpY, distance(x, y, jumpX, jumpY, true));
+	}
+
+	private int findJumpPoint(int x, int y, int deltaX, int deltaY) {
+		while (true) {
+			if (!isWalkable(x, y)) {
+				return -1;
+			}
+			if (x == goalX && y == goalY) {
+				return toNode(x, y);
+			}
+			if (deltaX != 0 && deltaY != 0) {
+				if (findJumpPoint(x + deltaX, y, deltaX, 0) >= 0 || findJumpPoint(x, y + deltaY, 0, deltaY) >= 0) {
+					return toNode(x, y);
+				}
+				if (!isWalkable(x + deltaX, y) || !isWalkable(x, y + deltaY)) {
+					return -1;
+				}
+			} else if (deltaX != 0) {
+				if ((isWalkable(x, y - 1) && !isWalkable(x - deltaX, y - 1)) ||
+						(isWalkable(x, y + 1) && !isWalkable(x - deltaX, y + 1))) {
+					return toNode(x, y);
+				}
+			} else {
+				if ((isWalkable(x - 1, y) && !isWalkable(x - 1, y - deltaY)) ||
+						(isWalkable(x + 1, y) && !isWalkable(x + 1, y - deltaY))) {
+					return toNode(x, y);
+				}
+			}
+			x += deltaX;
+			y += deltaY;
+		}
+	}
+
+	@Override
+	public Pathfinder createWorker() {
+		return new JumpPointPathfinder(grid);
+	}
+}
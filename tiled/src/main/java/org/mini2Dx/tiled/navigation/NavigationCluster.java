@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+import org.mini2Dx.gdx.utils.IntArray;
+import org.mini2Dx.gdx.utils.IntIntMap;
+
+/**
+ * A rectangular region of a {@link NavigationGrid} used by {@link HierarchicalPathfinder}.
+ *
+ * Stores the transition cells on the cluster's borders and the cost of
+ * moving between each pair of them without leaving the cluster.
+ */
+class NavigationCluster {
+	final int minX, minY, maxX, maxY;
+	/**
+	 * Transition cells as y * grid width + x
+	 */
+	final IntArray nodes = new IntArray();
+	final IntIntMap nodeIndices = new IntIntMap();
+
+	/**
+	 * Costs between transition cells indexed by from * total nodes + to, -1 if unreachable
+	 */
+	int[] costs = new int[0];
+	/**
+	 * The index of the first transition cell in the abstract graph
+	 */
+	int nodeOffset;
+	boolean dirty = true;
+
+	NavigationCluster(int minX, int minY, int maxX, int maxY) {
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+	}
+
+	void addNode(int node) {
+		if (nodeIndices.containsKey(node)) {
+			return;
+		}
+		nodeIndices.put(node, nodes.size);
+		nodes.add(node);
+	}
+
+	void clearNodes() {
+		nodes.clear();
+		nodeIndices.clear();
+	}
+
+	int getNodeIndex(int node) {
+		return nodeIndices.get(node, -1);
+	}
+
+	boolean contains(int x, int y) {
+		return x >= minX && y >= minY && x < maxX && y < maxY;
+	}
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.tiled.TiledMap;
+import org.mini2Dx.tiled.collisions.TiledCollisionMapper;
+
+/**
+ * Stores the walkability of each cell of a tile grid as packed bits.
+ *
+ * Grids are usually created from the output of
+ * {@link TiledCollisionMapper#mapCollisionsByLayer(TiledMap, String)} where
+ * cells containing a collision are not walkable. Changes made via
+ * {@link #setWalkable(int, int, boolean)} are forwarded to registered
+ * {@link NavigationGridListener}s so that pathfinders can update
+ * incrementally.
+ *
+ * Note: Grids can be read concurrently but must not be modified while paths
+ * are being searched on other threads.
+ */
+public class NavigationGrid {
+	private final int width, height;
+	private final int wordsPerRow;
+	private final long[] walkable;
+	private final Array<NavigationGridListener> listeners = new Array<NavigationGridListener>(false, 2);
+
+	private int revision;
+
+	/**
+	 * Constructor. All cells are initially not walkable.
+	 * @param width The width of the grid in cells
+	 * @param height The height of the grid in cells
+	 */
+	public NavigationGrid(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.wordsPerRow = (width + 63) >> 6;
+		this.walkable = new long[wordsPerRow * height];
+	}
+
+	/**
+	 * Creates a grid from a collision map indexed by [x][y]
+	 * @param collisions The collision map where 1 marks a cell that is not walkable
+	 * @return A new {@link NavigationGrid}
+	 */
+	public static NavigationGrid fromCollisions(byte[][] collisions) {
+		final int width = collisions.length;
+		final int height = width > 0 ? collisions[0].length : 0;
+		final NavigationGrid result = new NavigationGrid(width, height);
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				if (collisions[x][y] == 0) {
+					result.setWalkableBit(x, y, true);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a grid from a {@link TiledMap} layer where any cell containing a tile is not walkable
+	 * @param tiledMap The {@link TiledMap} to read from
+	 * @param layerName The name of the collision layer
+	 * @return A new {@link NavigationGrid}
+	 */
+	public static NavigationGrid fromTiledMap(TiledMap tiledMap, String layerName) {
+		return fromCollisions(TiledCollisionMapper.mapCollisionsByLayer(tiledMap, layerName));
+	}
+
+	/**
+	 * Returns if a cell is walkable
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return False if the cell is not walkable or is outside of the grid
+	 */
+	public boolean isWalkable(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return false;
+		}
+		return (walkable[(y * wordsPerRow) + (x >> 6)] & (1L << (x & 63))) != 0L;
+	}
+
+	/**
+	 * Sets if a cell is walkable and notifies listeners if the value changed
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @param walkable True if the cell is walkable
+	 */
+	public void setWalkable(int x, int y, boolean walkable) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return;
+		}
+		if (isWalkable(x, y) == walkable) {
+			return;
+		}
+		setWalkableBit(x, y, walkable);
+		revision++;
+
+		for (int i = listeners.size - 1; i >= 0; i--) {
+			listeners.get(i).walkableChanged(this, x, y);
+		}
+	}
+
+	private void setWalkableBit(int x, int y, boolean walkable) {
+		final int index = (y * wordsPerRow) + (x >> 6);
+		if (walkable) {
+			this.walkable[index] |= 1L << (x & 63);
+		} else {
+			this.walkable[index] &= ~(1L << (x & 63));
+		}
+	}
+
+	public void addListener(NavigationGridListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(NavigationGridListener listener) {
+		listeners.removeValue(listener, true);
+	}
+
+	/**
+	 * Returns the revision of the grid. This is incremented each time a cell changes.
+	 * @return 0 if the grid has not been modified since creation
+	 */
+	public int getRevision() {
+		return revision;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+}
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+/**
+ * Common interface for listening to walkability changes on a {@link NavigationGrid}
+ */
+public interface NavigationGridListener {
+
+	/**
+	 * Called when the walkability of a cell changes
+	 * @param grid The {@link NavigationGrid} that changed
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 */
+	public void walkableChanged(NavigationGrid grid, int x, int y);
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+/**
+ * A path search solved by {@link PathRequestBatch}. Instances can be reused between batches.
+ */
+public class PathRequest {
+	private final GridPath path = new GridPath();
+
+	private int startX, startY, goalX, goalY;
+	private boolean found;
+
+	public PathRequest() {
+	}
+
+	public PathRequest(int startX, int startY, int goalX, int goalY) {
+		set(startX, startY, goalX, goalY);
+	}
+
+	/**
+	 * Sets the start and goal cells and clears the previous result
+	 * @param startX The x coordinate of the start cell
+	 * @param startY The y coordinate of the start cell
+	 * @param goalX The x coordinate of the goal cell
+	 * @param goalY The y coordinate of the goal cell
+	 */
+	public void set(int startX, int startY, int goalX, int goalY) {
+		this.startX = startX;
+		this.startY = startY;
+		this.goalX = goalX;
+		this.goalY = goalY;
+		this.found = false;
+		path.clear();
+	}
+
+	void solve(Pathfinder pathfinder) {
+		found = pathfinder.findPath(startX, startY, goalX, goalY, path);
+	}
+
+	public int getStartX() {
+		return startX;
+	}
+
+	public int getStartY() {
+		return startY;
+	}
+
+	public int getGoalX() {
+		return goalX;
+	}
+
+	public int getGoalY() {
+		return goalY;
+	}
+
+	/**
+	 * Returns if a path was found by the last batch
+	 * @return False if no path exists or the request has not been solved
+	 */
+	public boolean isFound() {
+		return found;
+	}
+
+	/**
+	 * Returns the path found by the last batch
+	 * @return An empty {@link GridPath} if no path was found
+	 */
+	public GridPath getPath() {
+		return path;
+	}
+}
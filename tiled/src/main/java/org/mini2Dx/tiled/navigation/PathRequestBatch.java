@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+import org.mini2Dx.core.executor.ParallelFor;
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * Solves many {@link PathRequest}s at once using {@link ParallelFor}.
+ *
+ * The calling thread searches with the batch's {@link Pathfinder} and each
+ * helper thread searches with its own worker from
+ * {@link Pathfinder#createWorker()}. Workers are kept between batches so
+ * that solving a batch does not allocate search state. The
+ * {@link NavigationGrid} must not be modified while a batch is solving.
+ */
+public class PathRequestBatch {
+	private final Pathfinder pathfinder;
+	private Pathfinder[] workers = new Pathfinder[0];
+
+	/**
+	 * Constructor
+	 * @param pathfinder The {@link Pathfinder} used on the calling thread and to create workers from
+	 */
+	public PathRequestBatch(Pathfinder pathfinder) {
+		this.pathfinder = pathfinder;
+	}
+
+	/**
+	 * Solves all requests and blocks until they are complete
+	 * @param requests The {@link PathRequest}s to solve
+	 */
+	public void solve(final Array<PathRequest> requests) {
+		if (requests.size == 0) {
+			return;
+		}
+		pathfinder.prepare();
+		if (workers.length < ParallelFor.getMaxThreads()) {
+			final Pathfinder[] previousWorkers = workers;
+			workers = new Pathfinder[ParallelFor.getMaxThreads()];
+			System.arraycopy(previousWorkers, 0, workers, 0, previousWorkers.length);
+			workers[0] = pathfinder;
+		}
+		new ParallelFor(requests.size) {
+			@Override
+			protected void iterate(int index, int slot) {
+				requests.get(index).solve(getWorker(slot));
+			}
+		}.execute();
+	}
+
+	private Pathfinder getWorker(int slot) {
+		if (workers[slot] == null) {
+			workers[slot] = pathfinder.createWorker();
+		}
+		return workers[slot];
+	}
+
+	public Pathfinder getPathfinder() {
+		return pathfinder;
+	}
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+/**
+ * Common interface for pathfinding over a {@link NavigationGrid}.
+ *
+ * Implementations reuse their search state between calls and are not thread
+ * safe. Use {@link #createWorker()} to obtain an instance for another thread.
+ */
+public interface Pathfinder {
+
+	/**
+	 * Finds a path between two cells
+	 * @param startX The x coordinate of the start cell
+	 * @param startY The y coordinate of the start cell
+	 * @param goalX The x coordinate of the goal cell
+	 * @param goalY The y coordinate of the goal cell
+	 * @param result The {@link GridPath} to store the path in. This is cleared before searching.
+	 * @return False if no path exists
+	 */
+	public boolean findPath(int startX, int startY, int goalX, int goalY, GridPath result);
+
+	/**
+	 * Updates any data shared with workers. Called before searches are spread across threads.
+	 */
+	public void prepare();
+
+	/**
+	 * Creates a pathfinder with its own search state that shares read-only data with this instance
+	 * @return A new {@link Pathfinder} for use on another thread
+	 */
+	public Pathfinder createWorker();
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+/**
+ * Reusable A* bookkeeping for nodes identified by index: path costs, parents
+ * and an indexed binary heap ordered by estimated total cost.
+ *
+ * Nodes are marked open or closed with a per-search stamp so that arrays
+ * only need to be cleared when the stamp wraps around.
+ */
+class SearchState {
+	private int[] costs = new int[0];
+	private int[] parents = new int[0];
+	private int[] states = new int[0];
+	private int[] heap = new int[0];
+	private int[] heapCosts = new int[0];
+	private int[] heapIndices = new int[0];
+
+	private int heapSize;
+	private int openStamp = 0;
+	private int closedStamp = 1;
+
+	SearchState(int totalNodes) {
+		ensureCapacity(totalNodes);
+	}
+
+	/**
+	 * Grows the arrays if required. Must be called before {@link #begin()}.
+	 * @param totalNodes The total nodes that may be searched
+	 */
+	void ensureCapacity(int totalNodes) {
+		if (costs.length >= totalNodes) {
+			return;
+		}
+		costs = new int[totalNodes];
+		parents = new int[totalNodes];
+		states = new int[totalNodes];
+		heap = new int[totalNodes];
+		heapCosts = new int[totalNodes];
+		heapIndices = new int[totalNodes];
+		openStamp = 0;
+		closedStamp = 1;
+	}
+
+	void begin() {
+		heapSize = 0;
+		if (closedStamp >= Integer.MAX_VALUE - 2) {
+			for (int i = 0; i < states.length; i++) {
+				states[i] = 0;
+			}
+			openStamp = 0;
+			closedStamp = 1;
+		}
+		openStamp += 2;
+		closedStamp += 2;
+	}
+
+	/**
+	 * Opens a node or updates it if a cheaper route was found
+	 * @param node The predecessor node
+	 * @param successor The successor node
+	 * @param moveCost The cost of moving from the predecessor to the successor
+	 * @param heuristic The estimated cost from the successor to the goal
+	 */
+	void relax(int node, int successor, int moveCost, int heuristic) {
+		final int state = states[successor];
+		if (state == closedStamp) {
+			return;
+		}
+		final int cost = costs[node] + moveCost;
+		if (state == openStamp) {
+			if (cost >= costs[successor]) {
+				return;
+			}
+			costs[successor] = cost;
+			parents[successor] = node;
+			final int index = heapIndices[successor];
+			heapCosts[index] = cost + heuristic;
+			siftUp(index);
+			return;
+		}
+		open(successor, node, cost, cost + heuristic);
+	}
+
+	void open(int node, int parent, int cost, int estimate) {
+		states[node] = openStamp;
+		costs[node] = cost;
+		parents[node] = parent;
+
+		heap[heapSize] = node;
+		heapCosts[heapSize] = estimate;
+		heapIndices[node] = heapSize;
+		heapSize++;
+		siftUp(heapSize - 1);
+	}
+
+	/**
+	 * Removes the node with the lowest estimated cost from the open list and closes it
+	 * @return The node index
+	 */
+	int pop() {
+		final int result = heap[0];
+		heapSize--;
+		if (heapSize > 0) {
+			move(heapSize, 0);
+			siftDown(0);
+		}
+		states[result] = closedStamp;
+		return result;
+	}
+
+	boolean isEmpty() {
+		return heapSize == 0;
+	}
+
+	boolean isClosed(int node) {
+		return states[node] == closedStamp;
+	}
+
+	int getCost(int node) {
+		return costs[node];
+	}
+
+	int getParent(int node) {
+		return parents[node];
+	}
+
+	private void siftUp(int index) {
+		final int node = heap[index];
+		final int cost = heapCosts[index];
+		while (index > 0) {
+			final int parentIndex = (index - 1) >> 1;
+			if (heapCosts[parentIndex] <= cost) {
+				break;
+			}
+			move(parentIndex, index);
+			index = parentIndex;
+		}
+		heap[index] = node;
+		heapCosts[index] = cost;
+		heapIndices[node] = index;
+	}
+
+	private void siftDown(int index) {
+		final int node = heap[index];
+		final int cost = heapCosts[index];
+		while (true) {
+			int childIndex = (index << 1) + 1;
+			if (childIndex >= heapSize) {
+				break;
+			}
+			if (childIndex + 1 < heapSize && heapCosts[childIndex + 1] < heapCosts[childIndex]) {
+				childIndex++;
+			}
+			if (heapCosts[childIndex] >= cost) {
+				break;
+			}
+			move(childIndex, index);
+			index = childIndex;
+		}
+		heap[index] = node;
+		heapCosts[index] = cost;
+		heapIndices[node] = index;
+	}
+
+	private void move(int from, int to) {
+		heap[to] = heap[from];
+		heapCosts[to] = heapCosts[from];
+		heapIndices[heap[to]] = to;
+	}
+}
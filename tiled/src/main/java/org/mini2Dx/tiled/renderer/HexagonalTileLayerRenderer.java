@@ -17,9 +17,9 @@ package org.mini2Dx.tiled.renderer;
 
 import org.mini2Dx.core.Graphics;
 import org.mini2Dx.gdx.math.MathUtils;
+import org.mini2Dx.tiled.Tile;
 import org.mini2Dx.tiled.TileLayer;
 import org.mini2Dx.tiled.TiledMap;
-import org.mini2Dx.tiled.Tileset;
 
 /**
  * Renders hexagonal {@link TileLayer}s
@@ -76,6 +76,7 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 
 	private void drawStaggeredXLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX,
 			int startTileY, int widthInTiles, int heightInTiles) {
+		final Tile[] tileLookup = tiledMap.getTileLookup();
 		for (int y = 0; y < heightInTiles; y++) {
 			switch (tiledMap.getStaggerIndex()) {
 			case EVEN: {
@@ -89,7 +90,7 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 					}
 					int tileRenderX = renderX + (x * threeQuarterHexWidth);
 					int tileRenderY = renderY + (y * hexHeight);
-					renderTile(g, tileId, tileRenderX, tileRenderY);
+					renderTile(g, tileLookup, tileId, tileRenderX, tileRenderY);
 				}
 				for (int x = row2Offset; x < widthInTiles; x += 2) {
 					int tileId = layer.getTileId(x + startTileX, y + startTileY);
@@ -99,7 +100,7 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 					}
 					int tileRenderX = renderX + (x * threeQuarterHexWidth);
 					int tileRenderY = renderY + (y * hexHeight) + halfHexHeight;
-					renderTile(g, tileId, tileRenderX, tileRenderY);
+					renderTile(g, tileLookup, tileId, tileRenderX, tileRenderY);
 				}
 				break;
 			}
@@ -115,7 +116,7 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 					}
 					int tileRenderX = renderX + (x * threeQuarterHexWidth);
 					int tileRenderY = renderY + (y * hexHeight);
-					renderTile(g, tileId, tileRenderX, tileRenderY);
+					renderTile(g, tileLookup, tileId, tileRenderX, tileRenderY);
 				}
 				for (int x = row2Offset; x < widthInTiles; x += 2) {
 					int tileId = layer.getTileId(x + startTileX, y + startTileY);
@@ -125,7 +126,7 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 					}
 					int tileRenderX = renderX + (x * threeQuarterHexWidth);
 					int tileRenderY = renderY + (y * hexHeight) + halfHexHeight;
-					renderTile(g, tileId, tileRenderX, tileRenderY);
+					renderTile(g, tileLookup, tileId, tileRenderX, tileRenderY);
 				}
 				break;
 			}
@@ -135,6 +136,7 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 
 	private void drawStaggeredYLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX,
 			int startTileY, int widthInTiles, int heightInTiles) {
+		final Tile[] tileLookup = tiledMap.getTileLookup();
 		for (int y = 0; y < heightInTiles; y++) {
 			int tileRenderY = renderY + (y * threeQuarterHexHeight);
 
@@ -163,19 +165,20 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 				}
 				}
 
-				renderTile(g, tileId, tileRenderX, tileRenderY);
+				renderTile(g, tileLookup, tileId, tileRenderX, tileRenderY);
 			}
 		}
 	}
 
-	private void renderTile(Graphics g, int tileId, int tileRenderX, int tileRenderY) {
-		for (int i = 0; i < tiledMap.getTilesets().size; i++) {
-			Tileset tileset = tiledMap.getTilesets().get(i);
-			if (tileset.contains(tileId)) {
-				tileset.getTile(tileId).draw(g, tileRenderX, tileRenderY);
-				break;
-			}
+	private void renderTile(Graphics g, Tile[] tileLookup, int tileId, int tileRenderX, int tileRenderY) {
+		if (tileId >= tileLookup.length) {
+			return;
+		}
+		final Tile tile = tileLookup[tileId];
+		if (tile == null) {
+			return;
 		}
+		tile.draw(g, tileRenderX, tileRenderY);
 	}
 
 	@Override
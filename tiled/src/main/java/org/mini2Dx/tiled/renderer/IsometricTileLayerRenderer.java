@@ -17,9 +17,9 @@ package org.mini2Dx.tiled.renderer;
 
 import org.mini2Dx.core.Graphics;
 import org.mini2Dx.gdx.math.MathUtils;
+import org.mini2Dx.tiled.Tile;
 import org.mini2Dx.tiled.TileLayer;
 import org.mini2Dx.tiled.TiledMap;
-import org.mini2Dx.tiled.Tileset;
 
 /**
  * Renders isometric {@link TileLayer}s
@@ -48,6 +48,7 @@ public class IsometricTileLayerRenderer implements TileLayerRenderer {
 	private void renderLayer(Graphics g, TileLayer layer, int renderX,
 			int renderY, int startTileX, int startTileY, int widthInTiles,
 			int heightInTiles) {
+		final Tile[] tileLookup = tiledMap.getTileLookup();
 		int totalRows = widthInTiles + heightInTiles;
 		
 		for(int row = 0; row < totalRows - 1; row++) {
@@ -61,19 +62,16 @@ public class IsometricTileLayerRenderer implements TileLayerRenderer {
 				
 				int tileId = layer.getTileId(startTileX + relativeTileX, 
 						startTileY + relativeTileY);
-				if (tileId < 1) {
+				if (tileId < 1 || tileId >= tileLookup.length) {
 					continue;
 				}
 				
 				int tileRenderX = MathUtils.round(renderX + ((relativeTileX - relativeTileY) * halfTileWidth));
 				int tileRenderY = MathUtils.round(renderY + ((relativeTileX + relativeTileY) * halfTileHeight));
 				
-				for (int i = 0; i < tiledMap.getTilesets().size; i++) {
-					Tileset tileset = tiledMap.getTilesets().get(i);
-					if (tileset.contains(tileId)) {
-						tileset.getTile(tileId).draw(g, tileRenderX, tileRenderY);
-						break;
-					}
+				final Tile tile = tileLookup[tileId];
+				if (tile != null) {
+					tile.draw(g, tileRenderX, tileRenderY);
 				}
 			}
 		}
@@ -0,0 +1,388 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.renderer;
+
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.graphics.Sprite;
+import org.mini2Dx.core.graphics.SpriteCache;
+import org.mini2Dx.gdx.utils.IntArray;
+import org.mini2Dx.gdx.utils.ObjectMap;
+import org.mini2Dx.tiled.Tile;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+
+/**
+ * Renders orthogonal {@link TileLayer}s by baking each chunk of the layer into a {@link SpriteCache}
+ *
+ * Chunks are baked when first drawn and rebaked only when their tiles change (see {@link TileLayer#getChunkRevision(int, int)}).
+ * Chunks outside of the requested tile area or the {@link Graphics} viewport are skipped. Tiles using an
+ * {@link AnimatedTileRenderer} are not baked and are drawn over the cached tiles each frame.
+ *
+ * Note: {@link Graphics#setTint(org.mini2Dx.core.graphics.Color)} is not applied to cached tiles
+ */
+public class OrthogonalCachedTileLayerRenderer implements TileLayerRenderer {
+	private final TiledMap tiledMap;
+	private final ObjectMap<TileLayer, CachedTileLayer> cachedLayers = new ObjectMap<TileLayer, CachedTileLayer>();
+
+	public OrthogonalCachedTileLayerRenderer(TiledMap tiledMap) {
+		super();
+		this.tiledMap = tiledMap;
+	}
+
+	@Override
+	public void drawLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX, int startTileY,
+						  int widthInTiles, int heightInTiles) {
+		CachedTileLayer cachedLayer = cachedLayers.get(layer);
+		if (cachedLayer == null) {
+			cachedLayer = new CachedTileLayer(layer);
+			cachedLayers.put(layer, cachedLayer);
+		}
+		cachedLayer.draw(g, renderX - (startTileX * tiledMap.getTileWidth()), renderY - (startTileY * tiledMap.getTileHeight()),
+				startTileX, startTileY, widthInTiles, heightInTiles);
+	}
+
+	@Override
+	public void dispose() {
+		for (CachedTileLayer cachedLayer : cachedLayers.values()) {
+			cachedLayer.dispose();
+		}
+		cachedLayers.clear();
+	}
+
+	public TiledMap getTiledMap() {
+		return tiledMap;
+	}
+
+	private class CachedTileLayer {
+		private final TileLayer layer;
+		private final int chunkWidth, chunkHeight;
+		private final int[] cacheIds, cacheCapacities, bakedRevisions;
+		private final int[][] tileOffsets;
+		private final IntArray[] animatedTiles;
+
+		private SpriteCache spriteCache;
+		private int spriteCacheSize, totalCachedSprites;
+		private int lastCacheChunk = -1;
+
+		public CachedTileLayer(TileLayer layer) {
+			this.layer = layer;
+			this.chunkWidth = layer.getChunkWidth();
+			this.chunkHeight = layer.getChunkHeight();
+
+			final int totalChunks = layer.getTotalChunksX() * layer.getTotalChunksY();
+			cacheIds = new int[totalChunks];
+			cacheCapacities = new int[totalChunks];
+			bakedRevisions = new int[totalChunks];
+			tileOffsets = new int[totalChunks][];
+			animatedTiles = new IntArray[totalChunks];
+			invalidate();
+		}
+
+		public void draw(Graphics g, int layerRenderX, int layerRenderY, int startTileX, int startTileY,
+						 int widthInTiles, int heightInTiles) {
+			final int minTileX = Math.max(0, startTileX);
+			final int minTileY = Math.max(0, startTileY);
+			final int maxTileX = Math.min(layer.getWidth(), startTileX + widthInTiles);
+			final int maxTileY = Math.min(layer.getHeight(), startTileY + heightInTiles);
+			if (minTileX >= maxTileX || minTileY >= maxTileY) {
+				return;
+			}
+
+			final int tileWidth = tiledMap.getTileWidth();
+			final int tileHeight = tiledMap.getTileHeight();
+			final boolean cullToViewport = g.getRotation() == 0f;
+			final float viewportMinX = g.getTranslationX() - layerRenderX;
+			final float viewportMinY = g.getTranslationY() - layerRenderY;
+			final float viewportMaxX = viewportMinX + g.getViewportWidth();
+			final float viewportMaxY = viewportMinY + g.getViewportHeight();
+
+			final int minChunkX = minTileX / chunkWidth;
+			final int minChunkY = minTileY / chunkHeight;
+			final int maxChunkX = (maxTileX - 1) / chunkWidth;
+			final int maxChunkY = (maxTileY - 1) / chunkHeight;
+
+			g.translate(-layerRenderX, -layerRenderY);
+			for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+				for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+					if (cullToViewport && !isChunkInViewport(chunkX, chunkY, tileWidth, tileHeight,
+							viewportMinX, viewportMinY, viewportMaxX, viewportMaxY)) {
+						continue;
+					}
+					drawChunk(g, chunkX, chunkY, minTileX, minTileY, maxTileX, maxTileY);
+				}
+			}
+			g.translate(layerRenderX, layerRenderY);
+
+			for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+				for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+					final IntArray chunkAnimatedTiles = animatedTiles[getChunkIndex(chunkX, chunkY)];
+					if (chunkAnimatedTiles == null || chunkAnimatedTiles.size == 0) {
+						continue;
+					}
+					if (cullToViewport && !isChunkInViewport(chunkX, chunkY, tileWidth, tileHeight,
+							viewportMinX, viewportMinY, viewportMaxX, viewportMaxY)) {
+						continue;
+					}
+					drawAnimatedTiles(g, chunkX, chunkY, chunkAnimatedTiles, layerRenderX, layerRenderY,
+							minTileX, minTileY, maxTileX, maxTileY);
+				}
+			}
+		}
+
+		private void drawChunk(Graphics g, int chunkX, int chunkY, int minTileX, int minTileY, int maxTileX, int maxTileY) {
+			final int chunkIndex = getChunkIndex(chunkX, chunkY);
+			if (bakedRevisions[chunkIndex] != layer.getChunkRevision(chunkX, chunkY)) {
+				bake(chunkX, chunkY);
+			}
+			final int cacheId = cacheIds[chunkIndex];
+			if (cacheId < 0) {
+				return;
+			}
+
+			final int chunkTileX = chunkX * chunkWidth;
+			final int chunkTileY = chunkY * chunkHeight;
+			final int fromX = Math.max(minTileX, chunkTileX) - chunkTileX;
+			final int fromY = Math.max(minTileY, chunkTileY) - chunkTileY;
+			final int toX = Math.min(maxTileX, chunkTileX + chunkWidth) - chunkTileX;
+			final int toY = Math.min(maxTileY, chunkTileY + chunkHeight) - chunkTileY;
+
+			final int[] offsets = tileOffsets[chunkIndex];
+			if (offsets[chunkWidth * chunkHeight] == 0) {
+				return;
+			}
+			if (fromX == 0 && fromY == 0 && toX == Math.min(chunkWidth, layer.getWidth() - chunkTileX) &&
+					toY == Math.min(chunkHeight, layer.getHeight() - chunkTileY)) {
+				g.drawSpriteCache(spriteCache, cacheId);
+				return;
+			}
+			//Chunk is partially inside the requested area, tiles are cached row by row so draw each row's subset
+			for (int y = fromY; y < toY; y++) {
+				final int offset = offsets[(y * chunkWidth) + fromX];
+				final int length = offsets[(y * chunkWidth) + toX] - offset;
+				if (length > 0) {
+					g.drawSpriteCache(spriteCache, cacheId, offset, length);
+				}
+			}
+		}
+
+		private void drawAnimatedTiles(Graphics g, int chunkX, int chunkY, IntArray chunkAnimatedTiles,
+									   int layerRenderX, int layerRenderY, int minTileX, int minTileY, int maxTileX, int maxTileY) {
+			final Tile[] tileLookup = tiledMap.getTileLookup();
+			for (int i = 0; i < chunkAnimatedTiles.size; i++) {
+				final int localIndex = chunkAnimatedTiles.get(i);
+				final int x = (chunkX * chunkWidth) + (localIndex % chunkWidth);
+				final int y = (chunkY * chunkHeight) + (localIndex / chunkWidth);
+				if (x < minTileX || y < minTileY || x >= maxTileX || y >= maxTileY) {
+					continue;
+				}
+				final int tileId = layer.getTileId(x, y);
+				if (tileId < 1 || tileId >= tileLookup.length || tileLookup[tileId] == null) {
+					continue;
+				}
+				tileLookup[tileId].draw(g, layerRenderX + (x * tiledMap.getTileWidth()), layerRenderY + (y * tiledMap.getTileHeight()),
+						layer.isFlippedHorizontally(x, y), layer.isFlippedVertically(x, y), layer.isFlippedDiagonally(x, y));
+			}
+		}
+
+		private void bake(int chunkX, int chunkY) {
+			final int chunkIndex = getChunkIndex(chunkX, chunkY);
+			final int chunkTileX = chunkX * chunkWidth;
+			final int chunkTileY = chunkY * chunkHeight;
+			final int maxX = Math.min(chunkWidth, layer.getWidth() - chunkTileX);
+			final int maxY = Math.min(chunkHeight, layer.getHeight() - chunkTileY);
+			final Tile[] tileLookup = tiledMap.getTileLookup();
+
+			int[] offsets = tileOffsets[chunkIndex];
+			if (offsets == null) {
+				offsets = new int[(chunkWidth * chunkHeight) + 1];
+				tileOffsets[chunkIndex] = offsets;
+			}
+			IntArray chunkAnimatedTiles = animatedTiles[chunkIndex];
+			if (chunkAnimatedTiles != null) {
+				chunkAnimatedTiles.clear();
+			}
+
+			//Record the cache offset of each tile so that subsets of the chunk can be drawn
+			int totalSprites = 0;
+			for (int y = 0; y < chunkHeight; y++) {
+				for (int x = 0; x < chunkWidth; x++) {
+					final int localIndex = (y * chunkWidth) + x;
+					offsets[localIndex] = totalSprites;
+					if (x >= maxX || y >= maxY) {
+						continue;
+					}
+					final Tile tile = getTile(tileLookup, chunkTileX + x, chunkTileY + y);
+					if (tile == null) {
+						continue;
+					}
+					if (tile.getTileRenderer() instanceof AnimatedTileRenderer) {
+						if (chunkAnimatedTiles == null) {
+							chunkAnimatedTiles = new IntArray();
+							animatedTiles[chunkIndex] = chunkAnimatedTiles;
+						}
+						chunkAnimatedTiles.add(localIndex);
+						continue;
+					}
+					if (tile.getTileRenderer().getCurrentTileImage() == null) {
+						continue;
+					}
+					totalSprites++;
+				}
+			}
+			offsets[chunkWidth * chunkHeight] = totalSprites;
+
+			final boolean caching = beginCache(chunkIndex, totalSprites);
+			bakedRevisions[chunkIndex] = layer.getChunkRevision(chunkX, chunkY);
+			if (!caching) {
+				return;
+			}
+			for (int y = 0; y < maxY; y++) {
+				for (int x = 0; x < maxX; x++) {
+					final int tileX = chunkTileX + x;
+					final int tileY = chunkTileY + y;
+					final Tile tile = getTile(tileLookup, tileX, tileY);
+					if (tile == null || tile.getTileRenderer() instanceof AnimatedTileRenderer) {
+						continue;
+					}
+					final Sprite tileImage = tile.getTileRenderer().getCurrentTileImage();
+					if (tileImage == null) {
+						continue;
+					}
+					addToCache(tileImage, tileX * tiledMap.getTileWidth(), tileY * tiledMap.getTileHeight(),
+							layer.isFlippedHorizontally(tileX, tileY), layer.isFlippedVertically(tileX, tileY),
+							layer.isFlippedDiagonally(tileX, tileY));
+				}
+			}
+			cacheIds[chunkIndex] = spriteCache.endCache();
+		}
+
+		/**
+		 * Begins (re)defining the cache for a chunk, reallocating the {@link SpriteCache} if the chunk no longer fits
+		 * @return False if there is nothing to cache for the chunk
+		 */
+		private boolean beginCache(int chunkIndex, int totalSprites) {
+			final int cacheId = cacheIds[chunkIndex];
+			if (cacheId < 0) {
+				if (totalSprites == 0) {
+					return false;
+				}
+				if (spriteCache == null || totalCachedSprites + totalSprites > spriteCacheSize) {
+					reallocate(totalSprites);
+				}
+				spriteCache.beginCache();
+				cacheCapacities[chunkIndex] = totalSprites;
+				totalCachedSprites += totalSprites;
+				lastCacheChunk = chunkIndex;
+				return true;
+			}
+			if (totalSprites <= cacheCapacities[chunkIndex]) {
+				spriteCache.beginCache(cacheId);
+				return true;
+			}
+			//Only the most recently created cache can grow in place
+			if (chunkIndex == lastCacheChunk &&
+					totalCachedSprites - cacheCapacities[chunkIndex] + totalSprites <= spriteCacheSize) {
+				spriteCache.beginCache(cacheId);
+				totalCachedSprites += totalSprites - cacheCapacities[chunkIndex];
+				cacheCapacities[chunkIndex] = totalSprites;
+				return true;
+			}
+			reallocate(totalSprites);
+			spriteCache.beginCache();
+			cacheCapacities[chunkIndex] = totalSprites;
+			totalCachedSprites += totalSprites;
+			lastCacheChunk = chunkIndex;
+			return true;
+		}
+
+		/**
+		 * Clears all cached chunks, growing the {@link SpriteCache} to fit every tile on the layer if required.
+		 * Other chunks are rebaked as they are drawn.
+		 */
+		private void reallocate(int requiredSprites) {
+			final int requiredSize = Math.max(layer.getTotalFilledTiles(), requiredSprites) + (chunkWidth * chunkHeight);
+			if (spriteCache == null || requiredSize > spriteCacheSize) {
+				if (spriteCache != null) {
+					spriteCache.dispose();
+				}
+				spriteCache = Mdx.graphics.newSpriteCache(requiredSize);
+				spriteCacheSize = requiredSize;
+			} else {
+				spriteCache.clear();
+			}
+			invalidate();
+		}
+
+		private void invalidate() {
+			for (int i = 0; i < cacheIds.length; i++) {
+				cacheIds[i] = -1;
+				cacheCapacities[i] = 0;
+				bakedRevisions[i] = -1;
+			}
+			totalCachedSprites = 0;
+			lastCacheChunk = -1;
+		}
+
+		private void addToCache(Sprite tileImage, float x, float y, boolean flipH, boolean flipV, boolean flipD) {
+			final float previousX = tileImage.getX();
+			final float previousY = tileImage.getY();
+			final boolean previousFlipX = tileImage.isFlipX();
+			final boolean previousFlipY = tileImage.isFlipY();
+
+			tileImage.setPosition(x, y);
+			StaticTileRenderer.applyTileFlip(tileImage, flipH, flipV, flipD);
+			spriteCache.add(tileImage);
+
+			tileImage.setRotation(0f);
+			tileImage.setFlip(previousFlipX, previousFlipY);
+			tileImage.setPosition(previousX, previousY);
+		}
+
+		private Tile getTile(Tile[] tileLookup, int x, int y) {
+			final int tileId = layer.getTileId(x, y);
+			if (tileId < 1 || tileId >= tileLookup.length) {
+				return null;
+			}
+			final Tile tile = tileLookup[tileId];
+			if (tile == null || tile.getTileRenderer() == null) {
+				return null;
+			}
+			return tile;
+		}
+
+		private boolean isChunkInViewport(int chunkX, int chunkY, int tileWidth, int tileHeight,
+										  float viewportMinX, float viewportMinY, float viewportMaxX, float viewportMaxY) {
+			final float chunkMinX = chunkX * chunkWidth * tileWidth;
+			final float chunkMinY = chunkY * chunkHeight * tileHeight;
+			final float chunkMaxX = chunkMinX + (chunkWidth * tileWidth);
+			final float chunkMaxY = chunkMinY + (chunkHeight * tileHeight);
+			return chunkMaxX >= viewportMinX && chunkMinX <= viewportMaxX &&
+					chunkMaxY >= viewportMinY && chunkMinY <= viewportMaxY;
+		}
+
+		private int getChunkIndex(int chunkX, int chunkY) {
+			return (chunkY * layer.getTotalChunksX()) + chunkX;
+		}
+
+		public void dispose() {
+			if (spriteCache != null) {
+				spriteCache.dispose();
+				spriteCache = null;
+			}
+		}
+	}
+}
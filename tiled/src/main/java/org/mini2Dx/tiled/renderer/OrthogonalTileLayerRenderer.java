@@ -75,11 +75,17 @@ public class OrthogonalTileLayerRenderer implements TileLayerRenderer {
 
 	private void renderLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX, int startTileY,
 			int widthInTiles, int heightInTiles) {
+		final Tile[] tileLookup = tiledMap.getTileLookup();
+
 		for (int y = startTileY; y < startTileY + heightInTiles && y < layer.getHeight(); y++) {
 			for (int x = startTileX; x < startTileX + widthInTiles && x < layer.getWidth(); x++) {
 				int tileId = layer.getTileId(x, y);
 
-				if (tileId < 1) {
+				if (tileId < 1 || tileId >= tileLookup.length) {
+					continue;
+				}
+				final Tile tile = tileLookup[tileId];
+				if (tile == null) {
 					continue;
 				}
 				boolean flipHorizontally = layer.isFlippedHorizontally(x, y);
@@ -104,13 +110,7 @@ public class OrthogonalTileLayerRenderer implements TileLayerRenderer {
 					}
 				}
 
-				for (int i = 0; i < tiledMap.getTilesets().size; i++) {
-					Tileset tileset = tiledMap.getTilesets().get(i);
-					if (tileset.contains(tileId)) {
-						tileset.getTile(tileId).draw(g, tileRenderX, tileRenderY, flipHorizontally, flipVertically, flipDiagonally);
-						break;
-					}
-				}
+				tile.draw(g, tileRenderX, tileRenderY, flipHorizontally, flipVertically, flipDiagonally);
 			}
 		}
 	}
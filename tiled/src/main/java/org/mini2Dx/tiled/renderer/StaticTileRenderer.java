@@ -62,6 +62,20 @@ public class StaticTileRenderer implements TileRenderer {
 		boolean previousFlipX = tileImage.isFlipX();
 		boolean previousFlipY = tileImage.isFlipY();
 
+		applyTileFlip(tileImage, flipH, flipV, flipD);
+
+		g.drawSprite(tileImage, renderX, renderY);
+		tileImage.setRotation(0f);
+		tileImage.setFlip(previousFlipX, previousFlipY);
+	}
+
+	/**
+	 * Applies Tiled flip flags to a tile image. The caller is responsible for restoring rotation and flip afterwards.
+	 */
+	static void applyTileFlip(Sprite tileImage, boolean flipH, boolean flipV, boolean flipD) {
+		boolean previousFlipX = tileImage.isFlipX();
+		boolean previousFlipY = tileImage.isFlipY();
+
 		if(flipD) {
 			if (flipH && flipV) {
 				tileImage.setRotation(90f);
@@ -77,9 +91,5 @@ public class StaticTileRenderer implements TileRenderer {
 		} else {
 			tileImage.setFlip(flipH, flipV);
 		}
-
-		g.drawSprite(tileImage, renderX, renderY);
-		tileImage.setRotation(0f);
-		tileImage.setFlip(previousFlipX, previousFlipY);
 	}
 }
@@ -62,7 +62,26 @@ public class TsxTilesetSource extends TilesetSource {
 		tileset = TILESETS.get(this.tsxPath);
 		TILESET_REFS.get(this.tsxPath).incrementAndGet();
 	}
-	
+
+	/**
+	 * Constructs a source from a TSX tileset that has already been parsed, e.g. from a binary map.
+	 * If the TSX file has already been loaded, the existing tileset data is shared instead.
+	 *
+	 * @param tsxFileHandle The {@link FileHandle} of the TSX file
+	 * @param parsedTileset The parsed tileset data
+	 */
+	public TsxTilesetSource(FileHandle tsxFileHandle, ImageTilesetSource parsedTileset) {
+		super();
+		this.tsxPath = tsxFileHandle.normalize();
+
+		if (!TILESETS.containsKey(this.tsxPath)) {
+			TILESETS.put(this.tsxPath, parsedTileset);
+			TILESET_REFS.put(this.tsxPath, new AtomicInteger(0));
+		}
+		tileset = TILESETS.get(this.tsxPath);
+		TILESET_REFS.get(this.tsxPath).incrementAndGet();
+	}
+
 	@Override
 	public Array<AssetDescriptor> getDependencies(FileHandle tmxPath) {
 		return tileset.getDependencies(tmxPath);
@@ -182,6 +201,14 @@ public class TsxTilesetSource extends TilesetSource {
 		return tsxPath;
 	}
 
+	/**
+	 * Returns the tileset data loaded from the TSX file
+	 * @return Null if the TSX file could not be parsed
+	 */
+	public ImageTilesetSource getImageTilesetSource() {
+		return tileset;
+	}
+
 	@Override
 	public void dispose() {
 		int remainingRefs = TILESET_REFS.get(tsxPath).decrementAndGet();
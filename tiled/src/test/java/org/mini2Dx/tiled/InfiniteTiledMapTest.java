@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.libgdx.LibgdxFiles;
+import org.mini2Dx.libgdx.LibgdxGraphicsUtils;
+import org.mini2Dx.libgdx.LibgdxPlatformUtils;
+import org.mini2Dx.tiled.exception.TiledException;
+
+/**
+ * Unit tests for {@link TiledMap}s using the Tiled infinite map format
+ */
+public class InfiniteTiledMapTest {
+	private TiledMap tiledMap;
+
+	@Before
+	public void setUp() throws TiledException {
+		Gdx.files = new LwjglFiles();
+		Mdx.files = new LibgdxFiles();
+		Mdx.graphics = new LibgdxGraphicsUtils();
+		Mdx.platformUtils = new LibgdxPlatformUtils() {
+			@Override
+			public boolean isGameThread() {
+				return false;
+			}
+		};
+		Mdx.executor = null;
+
+		FileHandle file = Mdx.files.internal(Thread.currentThread().getContextClassLoader()
+				.getResource("infinite.tmx").getFile().replaceAll("%20", " "));
+		tiledMap = new TiledMap(file, false);
+	}
+
+	@Test
+	public void testBounds() {
+		Assert.assertEquals(64, tiledMap.getWidth());
+		Assert.assertEquals(32, tiledMap.getHeight());
+
+		TileLayer ground = tiledMap.getTileLayer("Ground");
+		Assert.assertEquals(64, ground.getWidth());
+		Assert.assertEquals(32, ground.getHeight());
+		Assert.assertEquals(16, ground.getChunkWidth());
+		Assert.assertEquals(16, ground.getChunkHeight());
+	}
+
+	@Test
+	public void testChunksDecodedOnAccess() {
+		TileLayer ground = tiledMap.getTileLayer("Ground");
+		Assert.assertEquals(0, ground.getTotalLoadedChunks());
+
+		Assert.assertEquals(5, ground.getTileId(1, 2));
+		Assert.assertEquals(1, ground.getTotalLoadedChunks());
+
+		Assert.assertEquals(7, ground.getTileId(19, 20));
+		Assert.assertTrue(ground.isFlippedHorizontally(19, 20));
+		Assert.assertFalse(ground.isFlippedVertically(19, 20));
+		Assert.assertEquals(3, ground.getTileId(48, 16));
+		Assert.assertEquals(0, ground.getTileId(40, 0));
+		Assert.assertEquals(3, ground.getTotalFilledTiles());
+
+		TileLayer upper = tiledMap.getTileLayer("Upper");
+		Assert.assertEquals(9, upper.getTileId(16, 0));
+	}
+
+	@Test
+	public void testStreamChunks() {
+		TileLayer ground = tiledMap.getTileLayer("Ground");
+
+		tiledMap.streamChunks(0, 0, 0);
+		Assert.assertTrue(ground.isChunkLoaded(0, 0));
+		Assert.assertFalse(ground.isChunkLoaded(3, 1));
+
+		tiledMap.streamChunks(63, 31, 0);
+		Assert.assertFalse(ground.isChunkLoaded(0, 0));
+		Assert.assertTrue(ground.isChunkLoaded(3, 1));
+		Assert.assertFalse(tiledMap.getTileLayer("Upper").isChunkLoaded(1, 0));
+	}
+
+	@Test
+	public void testObjectsOffsetToMapOrigin() {
+		TiledObject tiledObject = tiledMap.getObjectGroup("Objects").getObjects().get(0);
+		Assert.assertEquals(256f, tiledObject.getX(), 0.01f);
+		Assert.assertEquals(64f, tiledObject.getY(), 0.01f);
+	}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+
+/**
+ * Unit tests for {@link TileLayer}
+ */
+public class TileLayerTest {
+
+	@Before
+	public void setUp() {
+		Mdx.executor = null;
+	}
+
+	@Test
+	public void testSetTileId() {
+		final TileLayer tileLayer = new TileLayer(40, 20);
+		Assert.assertEquals(40, tileLayer.getWidth());
+		Assert.assertEquals(20, tileLayer.getHeight());
+		Assert.assertEquals(3, tileLayer.getTotalChunksX());
+		Assert.assertEquals(2, tileLayer.getTotalChunksY());
+		Assert.assertEquals(0, tileLayer.getTotalLoadedChunks());
+		Assert.assertEquals(0, tileLayer.getTileId(39, 19));
+
+		tileLayer.setTileId(39, 19, 12);
+		Assert.assertEquals(12, tileLayer.getTileId(39, 19));
+		Assert.assertEquals(1, tileLayer.getTotalLoadedChunks());
+		Assert.assertTrue(tileLayer.isChunkLoaded(2, 1));
+
+		//Clearing an empty chunk does not allocate it
+		tileLayer.setTileId(0, 0, 0);
+		Assert.assertEquals(1, tileLayer.getTotalLoadedChunks());
+	}
+
+	@Test
+	public void testFlipFlags() {
+		final TileLayer tileLayer = new TileLayer(16, 16);
+		tileLayer.setTileId(3, 4, 7, true, false, true);
+		Assert.assertEquals(7, tileLayer.getTileId(3, 4));
+		Assert.assertTrue(tileLayer.isFlippedHorizontally(3, 4));
+		Assert.assertFalse(tileLayer.isFlippedVertically(3, 4));
+		Assert.assertTrue(tileLayer.isFlippedDiagonally(3, 4));
+
+		tileLayer.setTileId(3, 4, 8);
+		Assert.assertEquals(8, tileLayer.getTileId(3, 4));
+		Assert.assertTrue(tileLayer.isFlippedHorizontally(3, 4));
+
+		tileLayer.setFlippedHorizontally(3, 4, false);
+		tileLayer.setFlippedVertically(3, 4, true);
+		Assert.assertFalse(tileLayer.isFlippedHorizontally(3, 4));
+		Assert.assertTrue(tileLayer.isFlippedVertically(3, 4));
+		Assert.assertEquals(8, tileLayer.getTileId(3, 4));
+	}
+
+	@Test
+	public void testChunkRevision() {
+		final TileLayer tileLayer = new TileLayer(32, 32);
+		Assert.assertEquals(0, tileLayer.getChunkRevision(0, 0));
+		Assert.assertEquals(0, tileLayer.getChunkRevision(1, 1));
+
+		tileLayer.setTileId(0, 0, 0);
+		Assert.assertEquals(0, tileLayer.getChunkRevision(0, 0));
+
+		tileLayer.setTileId(17, 18, 5);
+		Assert.assertEquals(0, tileLayer.getChunkRevision(0, 0));
+		final int revision = tileLayer.getChunkRevision(1, 1);
+		Assert.assertNotEquals(0, revision);
+
+		tileLayer.setFlippedHorizontally(17, 18, true);
+		Assert.assertNotEquals(revision, tileLayer.getChunkRevision(1, 1));
+		Assert.assertEquals(0, tileLayer.getChunkRevision(1, 0));
+	}
+
+	@Test
+	public void testFilledTiles() {
+		final TileLayer tileLayer = new TileLayer(32, 32);
+		Assert.assertTrue(tileLayer.isMostlyEmptyTiles());
+		Assert.assertEquals(32 * 32, tileLayer.getTotalEmptyTiles());
+
+		tileLayer.setTileId(0, 0, 1);
+		tileLayer.setTileId(31, 31, 1);
+		tileLayer.setTileId(31, 31, 2, true, true, true);
+		Assert.assertEquals(2, tileLayer.getTotalFilledTiles());
+
+		tileLayer.setTileId(0, 0, 0);
+		Assert.assertEquals(1, tileLayer.getTotalFilledTiles());
+		Assert.assertEquals((32 * 32) - 1, tileLayer.getTotalEmptyTiles());
+	}
+
+	@Test
+	public void testEncodedChunk() {
+		final StringBuilder csv = new StringBuilder();
+		for (int i = 0; i < 16 * 16; i++) {
+			if (i > 0) {
+				csv.append(',');
+			}
+			csv.append(i == 17 ? "2147483653" : "0");
+		}
+		final TileLayer tileLayer = new TileLayer(64, 16);
+		tileLayer.setEncodedChunk(0, 0, csv.toString(), "csv", null);
+		tileLayer.setEncodedChunk(3, 0, csv.toString(), "csv", null);
+		Assert.assertEquals(0, tileLayer.getTotalLoadedChunks());
+
+		//Counting does not keep chunks in memory
+		Assert.assertEquals(2, tileLayer.getTotalFilledTiles());
+		Assert.assertEquals(0, tileLayer.getTotalLoadedChunks());
+
+		Assert.assertEquals(5, tileLayer.getTileId(49, 1));
+		Assert.assertTrue(tileLayer.isFlippedHorizontally(49, 1));
+		Assert.assertTrue(tileLayer.isChunkLoaded(3, 0));
+
+		tileLayer.streamChunks(0, 0, 1);
+		Assert.assertTrue(tileLayer.isChunkLoaded(0, 0));
+		Assert.assertFalse(tileLayer.isChunkLoaded(3, 0));
+
+		//Modified chunks are kept in memory
+		tileLayer.setTileId(0, 0, 4);
+		tileLayer.streamChunks(63, 0, 1);
+		Assert.assertTrue(tileLayer.isChunkLoaded(0, 0));
+		Assert.assertTrue(tileLayer.isChunkLoaded(3, 0));
+		Assert.assertEquals(4, tileLayer.getTileId(0, 0));
+		Assert.assertEquals(5, tileLayer.getTileId(1, 1));
+	}
+}
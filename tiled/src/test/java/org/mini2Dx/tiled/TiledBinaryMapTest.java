@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.ObjectMap;
+import org.mini2Dx.libgdx.LibgdxFiles;
+import org.mini2Dx.libgdx.LibgdxGraphicsUtils;
+import org.mini2Dx.libgdx.LibgdxPlatformUtils;
+import org.mini2Dx.tiled.exception.TiledParsingException;
+import org.mini2Dx.tiled.renderer.AnimatedTileRenderer;
+import org.mini2Dx.tiled.renderer.TileFrame;
+import org.mini2Dx.tiled.tileset.ImageTilesetSource;
+import org.mini2Dx.tiled.tileset.TilesetSource;
+import org.mini2Dx.tiled.tileset.TsxTilesetSource;
+
+/**
+ * Unit tests for {@link TiledMapCompiler} and {@link TiledBinaryParser}
+ */
+public class TiledBinaryMapTest {
+	private final TiledMapCompiler compiler = new TiledMapCompiler();
+
+	@Before
+	public void setUp() {
+		Gdx.files = new LwjglFiles();
+		Mdx.files = new LibgdxFiles();
+		Mdx.graphics = new LibgdxGraphicsUtils();
+		Mdx.platformUtils = new LibgdxPlatformUtils() {
+			@Override
+			public boolean isGameThread() {
+				return false;
+			}
+		};
+		Mdx.executor = null;
+	}
+
+	@Test
+	public void testOrthogonalMap() throws Exception {
+		assertCompiledMapEquals("orthogonal.tmx");
+	}
+
+	@Test
+	public void testTsxMap() throws Exception {
+		assertCompiledMapEquals("orthogonal_tsx.tmx");
+	}
+
+	@Test
+	public void testIsometricMap() throws Exception {
+		assertCompiledMapEquals("isometric.tmx");
+	}
+
+	@Test
+	public void testHexagonalMap() throws Exception {
+		assertCompiledMapEquals("hexagonal_x.tmx");
+	}
+
+	@Test
+	public void testInfiniteMap() throws Exception {
+		assertCompiledMapEquals("infinite.tmx");
+	}
+
+	@Test
+	public void testTiledMapLoadsBinaryMap() throws Exception {
+		final FileHandle binaryFile = compiler.compile(getFile("orthogonal.tmx"));
+		final TiledMap tiledMap = new TiledMap(binaryFile, false);
+		Assert.assertEquals("SUCCESS", tiledMap.getProperty("testMapProperty"));
+		Assert.assertEquals("SUCCESS", tiledMap.getTileLayer("Collisions").getProperty("testLayerProperty"));
+		Assert.assertEquals("SUCCESS", tiledMap.getTilesets().get(0).getProperty("testTilesetProperty"));
+		Assert.assertEquals("SUCCESS", tiledMap.getTilesets().get(0).getTile(0, 0).getProperty("testTileProperty"));
+		tiledMap.dispose();
+	}
+
+	@Test(expected = TiledParsingException.class)
+	public void testInvalidBinaryMap() throws Exception {
+		final FileHandle binaryFile = getFile("orthogonal.tmx").sibling("invalid." + TiledBinaryParser.FILE_EXTENSION);
+		binaryFile.writeBytes(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }, false);
+		new TiledMapData(binaryFile);
+	}
+
+	@Test
+	public void testGetRelativePath() {
+		Assert.assertEquals("tileset.png", TiledMapCompiler.getRelativePath("/maps", "/maps/tileset.png"));
+		Assert.assertEquals("../images/tileset.png", TiledMapCompiler.getRelativePath("/maps/level1", "/maps/images/tileset.png"));
+		Assert.assertEquals("images/tileset.png", TiledMapCompiler.getRelativePath("", "images/tileset.png"));
+		Assert.assertEquals("../tileset.png", TiledMapCompiler.getRelativePath("maps", "tileset.png"));
+	}
+
+	private void assertCompiledMapEquals(String filename) throws Exception {
+		final FileHandle tmxFile = getFile(filename);
+		final FileHandle binaryFile = compiler.compile(tmxFile);
+		Assert.assertTrue(TiledBinaryParser.isBinaryMap(binaryFile));
+
+		//Load the binary map first so that shared TSX tilesets are decoded from the binary data
+		final TiledMapData actual = new TiledMapData(binaryFile);
+		final TiledMapData expected = new TiledMapData(tmxFile);
+
+		Assert.assertEquals(expected.getOrientation(), actual.getOrientation());
+		Assert.assertEquals(expected.getStaggerAxis(), actual.getStaggerAxis());
+		Assert.assertEquals(expected.getStaggerIndex(), actual.getStaggerIndex());
+		Assert.assertEquals(expected.getSideLength(), actual.getSideLength());
+		Assert.assertEquals(expected.getWidth(), actual.getWidth());
+		Assert.assertEquals(expected.getHeight(), actual.getHeight());
+		Assert.assertEquals(expected.getTileWidth(), actual.getTileWidth());
+		Assert.assertEquals(expected.getTileHeight(), actual.getTileHeight());
+		Assert.assertEquals(expected.getPixelWidth(), actual.getPixelWidth());
+		Assert.assertEquals(expected.getPixelHeight(), actual.getPixelHeight());
+		Assert.assertEquals(expected.getBackgroundColor() == null, actual.getBackgroundColor() == null);
+		if (expected.getBackgroundColor() != null) {
+			Assert.assertEquals(expected.getBackgroundColor().getRAsFloat(), actual.getBackgroundColor().getRAsFloat(), 0.001f);
+			Assert.assertEquals(expected.getBackgroundColor().getGAsFloat(), actual.getBackgroundColor().getGAsFloat(), 0.001f);
+			Assert.assertEquals(expected.getBackgroundColor().getBAsFloat(), actual.getBackgroundColor().getBAsFloat(), 0.001f);
+		}
+		assertPropertiesEqual(expected.getProperties(), actual.getProperties());
+		Assert.assertEquals(expected.getDependencies().size, actual.getDependencies().size);
+		for (int i = 0; i < expected.getDependencies().size; i++) {
+			Assert.assertEquals(expected.getDependencies().get(i).getFilePath(), actual.getDependencies().get(i).getFilePath());
+		}
+		Assert.assertEquals(expected.getAnimatedTiles() == null ? 0 : expected.getAnimatedTiles().size,
+				actual.getAnimatedTiles() == null ? 0 : actual.getAnimatedTiles().size);
+
+		Assert.assertEquals(expected.getTilesets().size, actual.getTilesets().size);
+		for (int i = 0; i < expected.getTilesets().size; i++) {
+			assertTilesetEquals(expected.getTilesets().get(i), actual.getTilesets().get(i));
+		}
+		assertLayersEqual(expected.getLayers(), actual.getLayers());
+
+		expected.dispose();
+		actual.dispose();
+	}
+
+	private void assertTilesetEquals(Tileset expected, Tileset actual) throws Exception {
+		Assert.assertEquals(expected.getFirstGid(), actual.getFirstGid());
+		Assert.assertEquals(expected.getSourceInternalUuid(), actual.getSourceInternalUuid());
+		Assert.assertEquals(expected.getTilesetSource().getClass(), actual.getTilesetSource().getClass());
+
+		if (actual.getTilesetSource() instanceof TsxTilesetSource) {
+			final TsxTilesetSource tsxTilesetSource = (TsxTilesetSource) actual.getTilesetSource();
+			final ImageTilesetSource parsedTileset = new TiledParser().parseTsx(Mdx.files.internal(tsxTilesetSource.getTsxPath()));
+			assertTilesetSourceEquals(parsedTileset, tsxTilesetSource.getImageTilesetSource());
+		} else {
+			assertTilesetSourceEquals(expected.getTilesetSource(), actual.getTilesetSource());
+		}
+	}
+
+	private void assertTilesetSourceEquals(TilesetSource expected, TilesetSource actual) {
+		Assert.assertEquals(expected.getInternalUuid(), actual.getInternalUuid());
+		Assert.assertEquals(expected.getWidth(), actual.getWidth());
+		Assert.assertEquals(expected.getHeight(), actual.getHeight());
+		Assert.assertEquals(expected.getTileWidth(), actual.getTileWidth());
+		Assert.assertEquals(expected.getTileHeight(), actual.getTileHeight());
+		Assert.assertEquals(expected.getSpacing(), actual.getSpacing());
+		Assert.assertEquals(expected.getMargin(), actual.getMargin());
+		assertPropertiesEqual(expected.getProperties(), actual.getProperties());
+
+		for (int x = 0; x < expected.getWidthInTiles(); x++) {
+			for (int y = 0; y < expected.getHeightInTiles(); y++) {
+				final Tile expectedTile = expected.getTileByPosition(x, y);
+				final Tile actualTile = actual.getTileByPosition(x, y);
+				Assert.assertEquals(expectedTile.getTileId(), actualTile.getTileId());
+				assertPropertiesEqual(expectedTile.getProperties(), actualTile.getProperties());
+				Assert.assertEquals(expectedTile.getTileRenderer().getClass(), actualTile.getTileRenderer().getClass());
+				if (expectedTile.getTileRenderer() instanceof AnimatedTileRenderer) {
+					final TileFrame[] expectedFrames = ((AnimatedTileRenderer) expectedTile.getTileRenderer()).getFrames();
+					final TileFrame[] actualFrames = ((AnimatedTileRenderer) actualTile.getTileRenderer()).getFrames();
+					Assert.assertEquals(expectedFrames.length, actualFrames.length);
+					for (int i = 0; i < expectedFrames.length; i++) {
+						Assert.assertEquals(expectedFrames[i].getTileId(), actualFrames[i].getTileId());
+						Assert.assertEquals(expectedFrames[i].getDuration(), actualFrames[i].getDuration(), 0f);
+					}
+				}
+			}
+		}
+	}
+
+	private void assertLayersEqual(Array<Layer> expected, Array<Layer> actual) {
+		Assert.assertEquals(expected.size, actual.size);
+		for (int i = 0; i < expected.size; i++) {
+			final Layer expectedLayer = expected.get(i);
+			final Layer actualLayer = actual.get(i);
+			Assert.assertEquals(expectedLayer.getLayerType(), actualLayer.getLayerType());
+			Assert.assertEquals(expectedLayer.getName(), actualLayer.getName());
+			Assert.assertEquals(expectedLayer.getIndex(), actualLayer.getIndex());
+			Assert.assertEquals(expectedLayer.isVisible(), actualLayer.isVisible());
+			assertPropertiesEqual(expectedLayer.getProperties(), actualLayer.getProperties());
+
+			switch (expectedLayer.getLayerType()) {
+			case TILE:
+				assertTileLayerEquals((TileLayer) expectedLayer, (TileLayer) actualLayer);
+				break;
+			case OBJECT:
+				assertObjectGroupEquals((TiledObjectGroup) expectedLayer, (TiledObjectGroup) actualLayer);
+				break;
+			case GROUP:
+				assertLayersEqual(((GroupLayer) expectedLayer).getLayers(), ((GroupLayer) actualLayer).getLayers());
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	private void assertTileLayerEquals(TileLayer expected, TileLayer actual) {
+		Assert.assertEquals(expected.getWidth(), actual.getWidth());
+		Assert.assertEquals(expected.getHeight(), actual.getHeight());
+		Assert.assertEquals(expected.getChunkWidth(), actual.getChunkWidth());
+		Assert.assertEquals(expected.getChunkHeight(), actual.getChunkHeight());
+		Assert.assertEquals(expected.getTotalFilledTiles(), actual.getTotalFilledTiles());
+		for (int x = 0; x < expected.getWidth(); x++) {
+			for (int y = 0; y < expected.getHeight(); y++) {
+				Assert.assertEquals(expected.getRawTileId(x, y), actual.getRawTileId(x, y));
+			}
+		}
+	}
+
+	private void assertObjectGroupEquals(TiledObjectGroup expected, TiledObjectGroup actual) {
+		Assert.assertEquals(expected.getObjects().size, actual.getObjects().size);
+		for (int i = 0; i < expected.getObjects().size; i++) {
+			final TiledObject expectedObject = expected.getObjects().get(i);
+			final TiledObject actualObject = actual.getObjects().get(i);
+			Assert.assertEquals(expectedObject.getId(), actualObject.getId());
+			Assert.assertEquals(expectedObject.getName(), actualObject.getName());
+			Assert.assertEquals(expectedObject.getType(), actualObject.getType());
+			Assert.assertEquals(expectedObject.getX(), actualObject.getX(), 0f);
+			Assert.assertEquals(expectedObject.getY(), actualObject.getY(), 0f);
+			Assert.assertEquals(expectedObject.getWidth(), actualObject.getWidth(), 0f);
+			Assert.assertEquals(expectedObject.getHeight(), actualObject.getHeight(), 0f);
+			Assert.assertEquals(expectedObject.isVisible(), actualObject.isVisible());
+			Assert.assertEquals(expectedObject.isBuiltFromTemplate(), actualObject.isBuiltFromTemplate());
+			Assert.assertEquals(expectedObject.getGid(), actualObject.getGid());
+			Assert.assertEquals(expectedObject.isGidFlipHorizontally(), actualObject.isGidFlipHorizontally());
+			Assert.assertEquals(expectedObject.isGidFlipVertically(), actualObject.isGidFlipVertically());
+			Assert.assertEquals(expectedObject.isGidFlipDiagonally(), actualObject.isGidFlipDiagonally());
+			Assert.assertEquals(expectedObject.getObjectShape(), actualObject.getObjectShape());
+			Assert.assertArrayEquals(expectedObject.getVertices(), actualObject.getVertices(), 0f);
+			Assert.assertEquals(expectedObject.getText(), actualObject.getText());
+			Assert.assertEquals(expectedObject.isWrapText(), actualObject.isWrapText());
+			assertPropertiesEqual(expectedObject.getProperties(), actualObject.getProperties());
+		}
+	}
+
+	private void assertPropertiesEqual(ObjectMap<String, String> expected, ObjectMap<String, String> actual) {
+		Assert.assertEquals(expected == null || expected.size == 0, actual == null || actual.size == 0);
+		if (expected == null) {
+			return;
+		}
+		for (ObjectMap.Entry<String, String> entry : expected.entries()) {
+			Assert.assertEquals(entry.value, actual.get(entry.key));
+		}
+	}
+
+	private FileHandle getFile(String filename) {
+		return Mdx.files.internal(Thread.currentThread().getContextClassLoader()
+				.getResource(filename).getFile().replaceAll("%20", " "));
+	}
+}
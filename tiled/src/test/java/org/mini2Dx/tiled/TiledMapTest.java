@@ -77,6 +77,39 @@ public class TiledMapTest {
 		Assert.assertEquals("SUCCESS", tiledMap.getTilesets().get(0).getTile(0, 0).getProperty("testTileProperty"));
 	}
 
+	@Test
+	public void testGetTileLookup() {
+		final Tile[] tileLookup = tiledMap.getTileLookup();
+		Assert.assertNull(tileLookup[0]);
+
+		for (int i = 0; i < tiledMap.getTilesets().size; i++) {
+			final Tileset tileset = tiledMap.getTilesets().get(i);
+			Assert.assertTrue(tileLookup.length > tileset.getLastGid());
+
+			for (int gid = tileset.getFirstGid(); gid <= tileset.getLastGid(); gid++) {
+				Assert.assertSame(tileset.getTile(gid), tileLookup[gid]);
+				Assert.assertSame(tileset.getTile(gid), tiledMap.getTile(gid));
+			}
+		}
+		Assert.assertNull(tiledMap.getTile(tileLookup.length));
+	}
+
+	@Test
+	public void testGetTileLookupAfterTilesetReplaced() {
+		final Tile[] tileLookup = tiledMap.getTileLookup();
+		final Tileset tileset = tiledMap.getTilesets().get(0);
+		final Tileset replacement = new Tileset(tileLookup.length, tileset.getTilesetSource());
+		tiledMap.getTilesets().set(0, replacement);
+
+		final Tile[] result = tiledMap.getTileLookup();
+		Assert.assertNotSame(tileLookup, result);
+		Assert.assertTrue(result.length > replacement.getLastGid());
+		Assert.assertNull(result[tileset.getFirstGid()]);
+		for (int gid = replacement.getFirstGid(); gid <= replacement.getLastGid(); gid++) {
+			Assert.assertSame(replacement.getTile(gid), tiledMap.getTile(gid));
+		}
+	}
+
 	@Test
 	public void testGetOrientation() {
 		Assert.assertEquals(Orientation.ORTHOGONAL, tiledMap.getOrientation());
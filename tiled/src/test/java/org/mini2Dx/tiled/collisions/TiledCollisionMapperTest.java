@@ -18,11 +18,13 @@ package org.mini2Dx.tiled.collisions;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
 import junit.framework.Assert;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mini2Dx.core.JvmLocks;
 import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.executor.ParallelFor;
 import org.mini2Dx.core.collision.CollisionBox;
 import org.mini2Dx.core.collision.PointQuadTree;
 import org.mini2Dx.core.collision.QuadTree;
@@ -33,6 +35,7 @@ import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.libgdx.LibgdxFiles;
 import org.mini2Dx.libgdx.LibgdxGraphicsUtils;
 import org.mini2Dx.libgdx.LibgdxPlatformUtils;
+import org.mini2Dx.libgdx.LibgdxTaskExecutor;
 import org.mini2Dx.tiled.TiledMap;
 import org.mini2Dx.tiled.collisions.merger.AllCollisionMerger;
 import org.mini2Dx.tiled.exception.TiledException;
@@ -44,6 +47,7 @@ public class TiledCollisionMapperTest {
 	private static TiledMap tiledMap;
 
 	private TiledCollisionMapper<CollisionBox> collisionBoxMapper;
+	private LibgdxTaskExecutor executor;
 
 	@BeforeClass
 	public static void loadMap() throws TiledException {
@@ -65,9 +69,17 @@ public class TiledCollisionMapperTest {
 
 	@Before
 	public void setUp() {
+		executor = new LibgdxTaskExecutor(ParallelFor.getMaxThreads());
+		Mdx.executor = executor;
 		collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory());
 	}
 
+	@After
+	public void teardown() {
+		Mdx.executor = null;
+		executor.dispose();
+	}
+
 	@Test
 	public void testMapCollisionsByLayer() {
 		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
@@ -232,6 +244,78 @@ public class TiledCollisionMapperTest {
 		Assert.assertEquals(19, collisions.size);
 	}
 
+	@Test
+	public void testMapAndMergeCollisionsByLayerWithGreedyMesh() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory(), new AllCollisionMerger(),
+				TileMergeMode.GREEDY_MESH);
+
+		Array<CollisionBox> collisions = new Array<CollisionBox>();
+		collisionBoxMapper.mapAndMergeCollisionsByLayer(collisions, tiledMap, collisionLayerIndex);
+		Assert.assertTrue(collisions.size <= 4);
+		assertCoverage(TiledCollisionMapper.mapCollisionsByLayer(tiledMap, collisionLayerIndex), collisions);
+	}
+
+	@Test
+	public void testMapAndMergeEmptySpacesByLayerWithGreedyMeshStrips() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory(), new AllCollisionMerger(),
+				TileMergeMode.GREEDY_MESH);
+
+		final int previousStripHeight = TiledCollisionMapper.GREEDY_MESH_STRIP_HEIGHT;
+		try {
+			Array<CollisionBox> expected = new Array<CollisionBox>();
+			collisionBoxMapper.mapAndMergeEmptySpacesByLayer(expected, tiledMap, collisionLayerIndex);
+
+			TiledCollisionMapper.GREEDY_MESH_STRIP_HEIGHT = 1;
+			Array<CollisionBox> stitched = new Array<CollisionBox>();
+			collisionBoxMapper.mapAndMergeEmptySpacesByLayer(stitched, tiledMap, collisionLayerIndex);
+
+			Assert.assertTrue(expected.size < 19);
+			byte[][] emptySpaces = TiledCollisionMapper.mapEmptySpacesByLayer(tiledMap, collisionLayerIndex);
+			assertCoverage(emptySpaces, expected);
+			assertCoverage(emptySpaces, stitched);
+		} finally {
+			TiledCollisionMapper.GREEDY_MESH_STRIP_HEIGHT = previousStripHeight;
+		}
+	}
+
+	@Test
+	public void testMapAndMergeCollisionsByLayerWithGreedyMeshMaxSize() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory(), new AllCollisionMerger(),
+				TileMergeMode.GREEDY_MESH);
+
+		Array<CollisionBox> collisions = new Array<CollisionBox>();
+		collisionBoxMapper.mapAndMergeEmptySpacesByLayer(collisions, tiledMap, collisionLayerIndex, 2, 3);
+		for (CollisionBox collision : collisions) {
+			Assert.assertTrue(collision.getWidth() <= tiledMap.getTileWidth() * 2f);
+			Assert.assertTrue(collision.getHeight() <= tiledMap.getTileHeight() * 3f);
+		}
+		assertCoverage(TiledCollisionMapper.mapEmptySpacesByLayer(tiledMap, collisionLayerIndex), collisions);
+	}
+
+	private void assertCoverage(byte[][] expected, Array<CollisionBox> collisions) {
+		byte[][] covered = new byte[expected.length][expected[0].length];
+		for (CollisionBox collision : collisions) {
+			int startX = (int) (collision.getX() / tiledMap.getTileWidth());
+			int startY = (int) (collision.getY() / tiledMap.getTileHeight());
+			int width = (int) (collision.getWidth() / tiledMap.getTileWidth());
+			int height = (int) (collision.getHeight() / tiledMap.getTileHeight());
+			for (int x = startX; x < startX + width; x++) {
+				for (int y = startY; y < startY + height; y++) {
+					Assert.assertEquals(0, covered[x][y]);
+					covered[x][y] = 1;
+				}
+			}
+		}
+		for (int x = 0; x < expected.length; x++) {
+			for (int y = 0; y < expected[x].length; y++) {
+				Assert.assertEquals(expected[x][y], covered[x][y]);
+			}
+		}
+	}
+
 	private void assertCollisionAt(int tileX, int tileY, QuadTree<?> quadTree, TiledMap tiledMap) {
 		Array<?> collisions = quadTree.getElementsWithinArea(new Rectangle(tileX * tiledMap.getTileWidth(),
 				tileY * tiledMap.getTileHeight(), tiledMap.getTileWidth() - 1f, tiledMap.getTileHeight() - 1f));
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.navigation;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import junit.framework.Assert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mini2Dx.core.JvmLocks;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.executor.ParallelFor;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.libgdx.LibgdxFiles;
+import org.mini2Dx.libgdx.LibgdxGraphicsUtils;
+import org.mini2Dx.libgdx.LibgdxPlatformUtils;
+import org.mini2Dx.libgdx.LibgdxTaskExecutor;
+import org.mini2Dx.tiled.TiledMap;
+import org.mini2Dx.tiled.exception.TiledException;
+
+/**
+ * Unit tests for {@link GridPathfinder}, {@link JumpPointPathfinder},
+ * {@link HierarchicalPathfinder} and {@link PathRequestBatch}
+ */
+public class PathfinderTest {
+	private static final int WALL_X = 16;
+	private static final int WALL_GAP_Y = 30;
+
+	private static TiledMap tiledMap;
+
+	private NavigationGrid grid;
+	private LibgdxTaskExecutor executor;
+
+	@BeforeClass
+	public static void loadMap() throws TiledException {
+		Gdx.files = new LwjglFiles();
+		Mdx.files = new LibgdxFiles();
+		Mdx.graphics = new LibgdxGraphicsUtils();
+		Mdx.locks = new JvmLocks();
+		Mdx.platformUtils = new LibgdxPlatformUtils() {
+			@Override
+			public boolean isGameThread() {
+				return false;
+			}
+		};
+
+		FileHandle file = Mdx.files.internal(Thread.currentThread().getContextClassLoader()
+				.getResource("orthogonal.tmx").getFile().replaceAll("%20", " "));
+		tiledMap = new TiledMap(file, false);
+	}
+
+	@Before
+	public void setUp() {
+		executor = new LibgdxTaskExecutor(ParallelFor.getMaxThreads());
+		Mdx.executor = executor;
+		// 32x32 grid split by a wall with a single gap near the bottom
+		grid = new NavigationGrid(32, 32);
+		for (int x = 0; x < grid.getWidth(); x++) {
+			for (int y = 0; y < grid.getHeight(); y++) {
+				grid.setWalkable(x, y, x != WALL_X || y == WALL_GAP_Y);
+			}
+		}
+	}
+
+	@After
+	public void teardown() {
+		Mdx.executor = null;
+		executor.dispose();
+	}
+
+	@Test
+	public void testFromTiledMap() {
+		NavigationGrid mapGrid = NavigationGrid.fromTiledMap(tiledMap, "Collisions");
+		Assert.assertEquals(10, mapGrid.getWidth());
+		Assert.assertEquals(8, mapGrid.getHeight());
+		Assert.assertFalse(mapGrid.isWalkable(6, 3));
+		Assert.assertFalse(mapGrid.isWalkable(5, 4));
+		Assert.assertFalse(mapGrid.isWalkable(1, 5));
+		Assert.assertTrue(mapGrid.isWalkable(0, 0));
+		Assert.assertTrue(mapGrid.isWalkable(9, 7));
+		Assert.assertFalse(mapGrid.isWalkable(-1, 0));
+		Assert.assertFalse(mapGrid.isWalkable(10, 0));
+
+		GridPath path = new GridPath();
+		Assert.assertTrue(new JumpPointPathfinder(mapGrid).findPath(0, 7, 9, 0, path));
+		assertValidPath(mapGrid, path, 0, 7, 9, 0);
+	}
+
+	@Test
+	public void testGridPathfinder() {
+		GridPath path = new GridPath();
+		Assert.assertTrue(new GridPathfinder(grid).findPath(2, 2, 30, 2, path));
+		assertValidPath(grid, path, 2, 2, 30, 2);
+		Assert.assertEquals(684, path.getCost());
+
+		Assert.assertTrue(new GridPathfinder(grid, false).findPath(2, 2, 2, 5, path));
+		Assert.assertEquals(30, path.getCost());
+		Assert.assertEquals(4, path.getLength());
+
+		Assert.assertFalse(new GridPathfinder(grid).findPath(2, 2, WALL_X, 2, path));
+		Assert.assertTrue(path.isEmpty());
+	}
+
+	@Test
+	public void testJumpPointPathfinder() {
+		GridPathfinder gridPathfinder = new GridPathfinder(grid);
+		JumpPointPathfinder jumpPointPathfinder = new JumpPointPathfinder(grid);
+		GridPath expected = new GridPath();
+		GridPath actual = new GridPath();
+
+		final int[][] queries = new int[][] { { 2, 2, 30, 2 }, { 0, 0, 31, 31 }, { 17, 31, 3, 29 }, { 5, 5, 5, 5 } };
+		for (int[] query : queries) {
+			Assert.assertTrue(gridPathfinder.findPath(query[0], query[1], query[2], query[3], expected));
+			Assert.assertTrue(jumpPointPathfinder.findPath(query[0], query[1], query[2], query[3], actual));
+			assertValidPath(grid, actual, query[0], query[1], query[2], query[3]);
+			Assert.assertEquals(expected.getCost(), actual.getCost());
+		}
+	}
+
+	@Test
+	public void testHierarchicalPathfinder() {
+		HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(grid, 8, true);
+		GridPath path = new GridPath();
+
+		Assert.assertTrue(pathfinder.findPath(2, 2, 30, 2, path));
+		assertValidPath(grid, path, 2, 2, 30, 2);
+		Assert.assertTrue(path.getCost() >= 684);
+
+		Assert.assertTrue(pathfinder.findPath(1, 1, 3, 3, path));
+		Assert.assertEquals(28, path.getCost());
+	}
+
+	@Test
+	public void testHierarchicalPathfinderIncrementalUpdate() {
+		HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(grid, 8, false);
+		GridPath path = new GridPath();
+		Assert.assertTrue(pathfinder.findPath(2, 2, 30, 2, path));
+
+		grid.setWalkable(WALL_X, WALL_GAP_Y, false);
+		Assert.assertFalse(pathfinder.findPath(2, 2, 30, 2, path));
+
+		grid.setWalkable(WALL_X, 1, true);
+		Assert.assertTrue(pathfinder.findPath(2, 2, 30, 2, path));
+		assertValidPath(grid, path, 2, 2, 30, 2);
+		Assert.assertEquals(300, path.getCost());
+	}
+
+	@Test
+	public void testPathRequestBatch() {
+		PathRequestBatch batch = new PathRequestBatch(new HierarchicalPathfinder(grid, 8, true));
+
+		Array<PathRequest> requests = new Array<PathRequest>();
+		for (int i = 0; i < 32; i++) {
+			requests.add(new PathRequest(i % 8, i, 31 - (i % 8), 31 - i));
+		}
+		requests.add(new PathRequest(0, 0, WALL_X, 0));
+		batch.solve(requests);
+
+		assertBatchSolved(requests);
+		Assert.assertFalse(requests.peek().isFound());
+	}
+
+	@Test
+	public void testPathRequestBatchReusesWorkers() {
+		PathRequestBatch batch = new PathRequestBatch(new JumpPointPathfinder(grid));
+
+		for (int solve = 0; solve < 3; solve++) {
+			Array<PathRequest> requests = new Array<PathRequest>();
+			for (int i = 0; i < 32; i++) {
+				requests.add(new PathRequest(31 - i, (i + solve) % 32, i, 31 - ((i + solve) % 32)));
+			}
+			batch.solve(requests);
+			assertBatchSolved(requests);
+		}
+	}
+
+	private void assertBatchSolved(Array<PathRequest> requests) {
+		GridPathfinder gridPathfinder = new GridPathfinder(grid);
+		GridPath expected = new GridPath();
+
+		for (int i = 0; i < requests.size; i++) {
+			PathRequest request = requests.get(i);
+			boolean found = gridPathfinder.findPath(request.getStartX(), request.getStartY(),
+					request.getGoalX(), request.getGoalY(), expected);
+			Assert.assertEquals(found, request.isFound());
+			if (found) {
+				assertValidPath(grid, request.getPath(), request.getStartX(), request.getStartY(),
+						request.getGoalX(), request.getGoalY());
+			}
+		}
+	}
+
+	private static void assertValidPath(NavigationGrid grid, GridPath path, int startX, int startY, int goalX, int goalY) {
+		Assert.assertEquals(startX, path.getX(0));
+		Assert.assertEquals(startY, path.getY(0));
+		Assert.assertEquals(goalX, path.getX(path.getLength() - 1));
+		Assert.assertEquals(goalY, path.getY(path.getLength() - 1));
+
+		int cost = 0;
+		for (int i = 0; i < path.getLength(); i++) {
+			Assert.assertTrue(grid.isWalkable(path.getX(i), path.getY(i)));
+			if (i == 0) {
+				continue;
+			}
+			final int deltaX = path.getX(i) - path.getX(i - 1);
+			final int deltaY = path.getY(i) - path.getY(i - 1);
+			Assert.assertTrue(Math.abs(deltaX) <= 1 && Math.abs(deltaY) <= 1);
+			if (deltaX != 0 && deltaY != 0) {
+				Assert.assertTrue(grid.isWalkable(path.getX(i - 1) + deltaX, path.getY(i - 1)));
+				Assert.assertTrue(grid.isWalkable(path.getX(i - 1), path.getY(i - 1) + deltaY));
+				cost += GridPathfinder.DIAGONAL_COST;
+			} else {
+				cost += GridPathfinder.STRAIGHT_COST;
+			}
+		}
+		Assert.assertEquals(cost, path.getCost());
+	}
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.tiled.renderer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.core.graphics.Sprite;
+import org.mini2Dx.core.graphics.SpriteCache;
+import org.mini2Dx.libgdx.LibgdxFiles;
+import org.mini2Dx.libgdx.LibgdxGraphicsUtils;
+import org.mini2Dx.libgdx.LibgdxPlatformUtils;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+import org.mini2Dx.tiled.exception.TiledException;
+
+/**
+ * Unit tests for {@link OrthogonalCachedTileLayerRenderer}
+ */
+public class OrthogonalCachedTileLayerRendererTest {
+	private final Mockery mockery = new Mockery();
+
+	private Graphics g;
+	private SpriteCache spriteCache;
+	private Sprite tileImage;
+
+	private TiledMap tiledMap;
+	private TileLayer tileLayer;
+	private OrthogonalCachedTileLayerRenderer renderer;
+
+	@Before
+	public void setUp() throws TiledException {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		g = mockery.mock(Graphics.class);
+		spriteCache = mockery.mock(SpriteCache.class);
+		tileImage = mockery.mock(Sprite.class);
+
+		Gdx.files = new LwjglFiles();
+		Mdx.files = new LibgdxFiles();
+		Mdx.graphics = new LibgdxGraphicsUtils() {
+			@Override
+			public SpriteCache newSpriteCache(int size) {
+				return spriteCache;
+			}
+		};
+		Mdx.platformUtils = new LibgdxPlatformUtils() {
+			@Override
+			public boolean isGameThread() {
+				return false;
+			}
+		};
+		Mdx.executor = null;
+
+		FileHandle file = Mdx.files.internal(Thread.currentThread().getContextClassLoader()
+				.getResource("orthogonal.tmx").getFile().replaceAll("%20", " "));
+		tiledMap = new TiledMap(file, false);
+
+		final TileRenderer tileRenderer = new TileRenderer() {
+			@Override
+			public void update(float delta) {
+			}
+
+			@Override
+			public void draw(Graphics g, int renderX, int renderY) {
+			}
+
+			@Override
+			public void draw(Graphics g, int renderX, int renderY, boolean flipH, boolean flipV, boolean flipD) {
+			}
+
+			@Override
+			public Sprite getCurrentTileImage() {
+				return tileImage;
+			}
+
+			@Override
+			public void dispose() {
+			}
+		};
+		for(int tileId = 1; tileId <= 3; tileId++) {
+			tiledMap.getTileLookup()[tileId].setTileRenderer(tileRenderer);
+		}
+
+		//Replace the layer contents with 3 known tiles, all within the first chunk
+		tileLayer = tiledMap.getTileLayer("Ground");
+		for(int x = 0; x < tileLayer.getWidth(); x++) {
+			for(int y = 0; y < tileLayer.getHeight(); y++) {
+				tileLayer.setTileId(x, y, 0);
+			}
+		}
+		tileLayer.setTileId(0, 0, 1);
+		tileLayer.setTileId(1, 0, 2);
+		tileLayer.setTileId(2, 1, 3);
+
+		renderer = new OrthogonalCachedTileLayerRenderer(tiledMap);
+
+		mockery.checking(new Expectations() {
+			{
+				ignoring(tileImage);
+				allowing(g).getRotation();
+				will(returnValue(0f));
+				allowing(g).getTranslationX();
+				will(returnValue(0f));
+				allowing(g).getTranslationY();
+				will(returnValue(0f));
+				allowing(g).getViewportWidth();
+				will(returnValue(320f));
+				allowing(g).getViewportHeight();
+				will(returnValue(256f));
+				allowing(g).translate(with(any(Float.class)), with(any(Float.class)));
+			}
+		});
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+	}
+
+	@Test
+	public void testCacheBuiltOnFirstDraw() {
+		mockery.checking(new Expectations() {
+			{
+				oneOf(spriteCache).beginCache();
+				exactly(3).of(spriteCache).add(tileImage);
+				oneOf(spriteCache).endCache();
+				will(returnValue(0));
+				oneOf(g).drawSpriteCache(spriteCache, 0);
+			}
+		});
+		drawLayer();
+	}
+
+	@Test
+	public void testUnchangedChunkRedrawnFromCache() {
+		mockery.checking(new Expectations() {
+			{
+				oneOf(spriteCache).beginCache();
+				exactly(3).of(spriteCache).add(tileImage);
+				oneOf(spriteCache).endCache();
+				will(returnValue(0));
+				exactly(3).of(g).drawSpriteCache(spriteCache, 0);
+			}
+		});
+		drawLayer();
+		drawLayer();
+		drawLayer();
+	}
+
+	@Test
+	public void testChangedChunkRebaked() {
+		mockery.checking(new Expectations() {
+			{
+				oneOf(spriteCache).beginCache();
+				exactly(3).of(spriteCache).add(tileImage);
+				oneOf(spriteCache).endCache();
+				will(returnValue(0));
+				oneOf(g).drawSpriteCache(spriteCache, 0);
+			}
+		});
+		drawLayer();
+		mockery.assertIsSatisfied();
+
+		//The chunk grows in place as it is the most recently created cache
+		tileLayer.setTileId(5, 5, 2);
+		mockery.checking(new Expectations() {
+			{
+				oneOf(spriteCache).beginCache(0);
+				exactly(4).of(spriteCache).add(tileImage);
+				oneOf(spriteCache).endCache();
+				will(returnValue(0));
+				oneOf(g).drawSpriteCache(spriteCache, 0);
+			}
+		});
+		drawLayer();
+	}
+
+	@Test
+	public void testPartialChunkDrawnByRow() {
+		mockery.checking(new Expectations() {
+			{
+				oneOf(spriteCache).beginCache();
+				exactly(3).of(spriteCache).add(tileImage);
+				oneOf(spriteCache).endCache();
+				will(returnValue(0));
+				oneOf(g).drawSpriteCache(spriteCache, 0, 1, 1);
+				oneOf(g).drawSpriteCache(spriteCache, 0, 2, 1);
+			}
+		});
+		renderer.drawLayer(g, tileLayer, 0, 0, 1, 0, 2, 2);
+	}
+
+	private void drawLayer() {
+		renderer.drawLayer(g, tileLayer, 0, 0, 0, 0, tileLayer.getWidth(), tileLayer.getHeight());
+	}
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright 2019 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.uats.desktop;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.libgdx.LibgdxFiles;
+import org.mini2Dx.libgdx.LibgdxGraphicsUtils;
+import org.mini2Dx.libgdx.LibgdxPlatformUtils;
+import org.mini2Dx.tiled.TiledMapCompiler;
+
+import java.io.IOException;
+
+/**
+ * Compiles TMX files into binary maps. Each argument is either a TMX file or a directory to search
+ * recursively for TMX files. The binary maps are written alongside the TMX files.
+ */
+public class TiledMapCompilerLauncher {
+
+	public static void main(String [] args) throws IOException {
+		Gdx.files = new LwjglFiles();
+		Mdx.files = new LibgdxFiles();
+		Mdx.graphics = new LibgdxGraphicsUtils();
+		Mdx.platformUtils = new LibgdxPlatformUtils() {
+			@Override
+			public boolean isGameThread() {
+				return false;
+			}
+		};
+
+		final TiledMapCompiler compiler = new TiledMapCompiler();
+		for (String path : args) {
+			compile(compiler, Mdx.files.internal(path));
+		}
+	}
+
+	private static void compile(TiledMapCompiler compiler, FileHandle fileHandle) throws IOException {
+		if (fileHandle.isDirectory()) {
+			for (FileHandle child : fileHandle.list()) {
+				compile(compiler, child);
+			}
+			return;
+		}
+		if (!fileHandle.extension().equalsIgnoreCase("tmx")) {
+			return;
+		}
+		final FileHandle outputFileHandle = compiler.compile(fileHandle);
+		System.out.println("Compiled " + fileHandle.path() + " to " + outputFileHandle.path());
+	}
+}